@@ -139,6 +139,8 @@ public class Dataset extends ProtectedTimeType {
         public int runId;
         public int labelId = -1;
         public boolean isRecalculation;
+        // the run was uploaded asynchronously and its ingestion job tracks processing of the dataset
+        public boolean isIngestion;
 
         public EventNew() {
         }
@@ -166,6 +168,7 @@ public class Dataset extends ProtectedTimeType {
                     ", runId=" + runId +
                     ", labelId=" + labelId +
                     ", isRecalculation=" + isRecalculation +
+                    ", isIngestion=" + isIngestion +
                     '}';
         }
     }
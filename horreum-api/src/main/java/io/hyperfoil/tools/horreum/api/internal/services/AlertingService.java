@@ -170,6 +170,20 @@ public interface AlertingService {
         public Integer errors;
         @NotNull
         public Collection<Dataset.Info> datasetsWithoutValue;
+        // Datasets with the same fingerprint form a series; series are recalculated in parallel
+        @NotNull
+        public List<DatapointRecalculationPartition> partitions = new ArrayList<>();
+    }
+
+    class DatapointRecalculationPartition {
+        @NotNull
+        public String fingerprint;
+        @JsonProperty(required = true)
+        public int totalDatasets;
+        @JsonProperty(required = true)
+        public int completedDatasets;
+        @JsonProperty(required = true)
+        public boolean done;
     }
 
     class DatapointLastTimestamp {
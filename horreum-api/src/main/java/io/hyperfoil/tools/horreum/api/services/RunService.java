@@ -1,5 +1,7 @@
 package io.hyperfoil.tools.horreum.api.services;
 
+import java.io.InputStream;
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 
@@ -76,8 +78,8 @@ public interface RunService {
     @Operation(description = "Get Run data by Run ID")
     @Parameters(value = {
             @Parameter(name = "id", in = ParameterIn.PATH, description = "Run ID", example = "202"),
-            @Parameter(name = "schemaUri", in = ParameterIn.QUERY, description = "FIlter by Schmea URI", example = "uri:my-benchmark:0.1")
-
+            @Parameter(name = "schemaUri", in = ParameterIn.QUERY, description = "FIlter by Schmea URI", example = "uri:my-benchmark:0.1"),
+            @Parameter(name = "path", in = ParameterIn.QUERY, description = "JSON Pointer to the subtree of the payload to return", example = "/results/0")
     })
     @APIResponses(value = {
             @APIResponse(responseCode = "200", description = "Run payload", content = {
@@ -85,7 +87,8 @@ public interface RunService {
             })
     })
     Object getData(@PathParam("id") int id,
-            @QueryParam("schemaUri") String schemaUri);
+            @QueryParam("schemaUri") String schemaUri,
+            @QueryParam("path") String path);
 
     @GET
     @Path("{id}/labelValues")
@@ -132,8 +135,8 @@ public interface RunService {
     @Operation(description = "Get Run  meta data by Run ID")
     @Parameters(value = {
             @Parameter(name = "id", in = ParameterIn.PATH, description = "Run ID", example = "202"),
-            @Parameter(name = "schemaUri", in = ParameterIn.QUERY, description = "Filter by Schmea URI", example = "uri:my-benchmark:0.1")
-
+            @Parameter(name = "schemaUri", in = ParameterIn.QUERY, description = "Filter by Schmea URI", example = "uri:my-benchmark:0.1"),
+            @Parameter(name = "path", in = ParameterIn.QUERY, description = "JSON Pointer to the subtree of the meta data to return", example = "/environment")
     })
     @APIResponses(value = {
             @APIResponse(responseCode = "200", description = "Run payload", content = {
@@ -141,7 +144,8 @@ public interface RunService {
             })
     })
     Object getMetadata(@PathParam("id") int id,
-            @QueryParam("schemaUri") String schemaUri);
+            @QueryParam("schemaUri") String schemaUri,
+            @QueryParam("path") String path);
 
     @POST
     @Path("{id}/updateAccess")
@@ -220,12 +224,14 @@ public interface RunService {
             @Parameter(name = "access", description = "New Access level", example = "0"),
             @Parameter(name = "schema", in = ParameterIn.QUERY, description = "Schema URI", example = "uri:my-benchmark:0.2"),
             @Parameter(name = "description", description = "Run description", example = "AWS runs"),
+            @Parameter(name = "async", description = "Persist the uploaded Runs and transform them in the background, "
+                    + "returning ingestion job IDs instead of Run IDs", example = "true"),
 
     })
     @APIResponses(value = {
             @APIResponse(responseCode = "202", description = "The request has been accepted for processing. Returns a list of created run IDs if available, "
                     + "or an empty list if processing is still ongoing. Label values and change detection processing " +
-                    "is performed asynchronously.", content = @Content(mediaType = MediaType.TEXT_PLAIN, schema = @Schema(type = SchemaType.STRING, example = "101,102,103"), example = "101,102,103")),
+                    "is performed asynchronously. With async=true returns a list of ingestion job IDs.", content = @Content(mediaType = MediaType.TEXT_PLAIN, schema = @Schema(type = SchemaType.STRING, example = "101,102,103"), example = "101,102,103")),
             @APIResponse(responseCode = "204", description = "Data is valid but no run was created", content = @Content(mediaType = MediaType.TEXT_PLAIN)),
             @APIResponse(responseCode = "400", description = "Some fields are missing or invalid", content = @Content(mediaType = MediaType.TEXT_PLAIN))
     })
@@ -236,6 +242,7 @@ public interface RunService {
             @QueryParam("access") Access access,
             @QueryParam("schema") String schemaUri,
             @QueryParam("description") String description,
+            @QueryParam("async") boolean async,
             @RequestBody(required = true) String data);
 
     @POST
@@ -256,9 +263,41 @@ public interface RunService {
             @QueryParam("access") Access access,
             @QueryParam("schema") String schemaUri,
             @QueryParam("description") String description,
+            @QueryParam("async") boolean async,
             @RestForm("data") FileUpload data,
             @RestForm("metadata") FileUpload metadata);
 
+    @GET
+    @Path("ingestion/{id}")
+    @Operation(description = "Get the state of an asynchronous Run upload and the time spent in each processing stage")
+    @Parameters(value = {
+            @Parameter(name = "id", description = "Ingestion job ID returned by an upload with async=true", example = "101"),
+    })
+    RunIngestion getIngestion(@PathParam("id") long id);
+
+    @POST
+    @Path("bulk")
+    @Consumes({ MediaType.APPLICATION_JSON, "application/x-ndjson" })
+    @RequestBody(content = {
+            @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(type = SchemaType.ARRAY, implementation = Run.class)),
+            @Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = Run.class))
+    }, required = true)
+    @Operation(description = "Upload many Runs of a Test at once, as a JSON array or one Run per line. "
+            + "The Runs are persisted in chunks and transformed in the background.")
+    @Parameters(value = {
+            @Parameter(name = "test", required = true, description = "Test name or ID", example = "my-benchmark"),
+            @Parameter(name = "owner", description = "Owner of the Runs, overrides the owner of each Run", example = "perf-team"),
+            @Parameter(name = "access", description = "Access level of the Runs, overrides the access of each Run", example = "PUBLIC"),
+    })
+    @APIResponses(value = {
+            @APIResponse(responseCode = "200", description = "Result for each uploaded Run, in the order of the upload", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(type = SchemaType.ARRAY, implementation = BulkRunResult.class))),
+            @APIResponse(responseCode = "400", description = "The test is missing", content = @Content(mediaType = MediaType.TEXT_PLAIN))
+    })
+    List<BulkRunResult> addBulk(@QueryParam("test") String testNameOrId,
+            @QueryParam("owner") String owner,
+            @QueryParam("access") Access access,
+            InputStream runs);
+
     @GET
     @Path("autocomplete")
     @ApiIgnore
@@ -276,7 +315,8 @@ public interface RunService {
             @Parameter(name = "limit", description = "limit the number of results", example = "20"),
             @Parameter(name = "page", description = "filter by page number of a paginated list of Tests", example = "2"),
             @Parameter(name = "sort", description = "Field name to sort results", example = "name"),
-            @Parameter(name = "direction", description = "Sort direction", example = "Ascending")
+            @Parameter(name = "direction", description = "Sort direction", example = "Ascending"),
+            @Parameter(name = "after", description = "Cursor returned in the previous page as 'next', replaces 'page' when sorting by start, stop or id", example = "1698013206000000:101")
     })
     RunsSummary listAllRuns(@QueryParam("query") String query,
             @QueryParam("matchAll") boolean matchAll,
@@ -285,7 +325,8 @@ public interface RunService {
             @QueryParam("limit") Integer limit,
             @QueryParam("page") Integer page,
             @QueryParam("sort") String sort,
-            @QueryParam("direction") SortDirection direction);
+            @QueryParam("direction") SortDirection direction,
+            @QueryParam("after") String after);
 
     @GET
     @Path("count")
@@ -440,6 +481,61 @@ public interface RunService {
         @NotNull
         @Schema(description = "List of Run Summaries")
         public List<RunSummary> runs;
+        @Schema(description = "Cursor for the next page, present when the page is full and the Runs are sorted by start, stop or id", example = "1698013206000000:101")
+        public String next;
+    }
+
+    enum IngestionStatus {
+        QUEUED,
+        PROCESSING,
+        DONE,
+        FAILED
+    }
+
+    @Schema(type = SchemaType.OBJECT, description = "State of an asynchronous Run upload; durations are null until the stage completes")
+    class RunIngestion {
+        @JsonProperty(required = true)
+        @Schema(description = "Ingestion job ID", example = "101")
+        public long id;
+        @JsonProperty(required = true)
+        @Schema(description = "Test ID the Run is uploaded to", example = "101")
+        public int testId;
+        @Schema(description = "Run ID", example = "202")
+        public Integer runId;
+        @NotNull
+        @Schema(required = true, description = "QUEUED until the transformation starts, PROCESSING until all Datasets have "
+                + "their label values calculated and are validated", example = "DONE")
+        public IngestionStatus status;
+        @Schema(description = "Reason of the failure", example = "Cannot parse start time from null")
+        public String error;
+        @NotNull
+        @Schema(implementation = Instant.class, type = SchemaType.INTEGER, format = "int64", description = "Upload received timestamp", example = "1704965908267")
+        public Instant received;
+        @Schema(description = "Milliseconds spent persisting the Run, since the upload was received", example = "35")
+        public Long persist;
+        @Schema(description = "Milliseconds the Run waited in the queue before the transformation", example = "12")
+        public Long queue;
+        @Schema(description = "Milliseconds spent transforming the Run into Datasets", example = "240")
+        public Long transform;
+        @Schema(description = "Milliseconds until label values of all Datasets were calculated, since the transformation", example = "80")
+        public Long labels;
+        @Schema(description = "Milliseconds until all Datasets were validated, since their label values were calculated", example = "15")
+        public Long validation;
+        @Schema(description = "Milliseconds since the upload was received until the job was done or failed", example = "382")
+        public Long total;
+    }
+
+    @Schema(type = SchemaType.OBJECT, description = "Result of a Run in a bulk upload, either the IDs or the error are set")
+    class BulkRunResult {
+        @JsonProperty(required = true)
+        @Schema(description = "Position of the Run in the upload, starting at 0", example = "0")
+        public int index;
+        @Schema(description = "Run ID", example = "202")
+        public Integer runId;
+        @Schema(description = "ID of the ingestion job transforming the Run", example = "101")
+        public Long jobId;
+        @Schema(description = "Reason why the Run was not persisted", example = "Missing start or stop timestamp")
+        public String error;
     }
 
     class RunCount {
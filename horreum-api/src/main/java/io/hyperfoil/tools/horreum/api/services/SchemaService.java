@@ -216,6 +216,14 @@ public interface SchemaService {
     @Operation(description = "Import an previously exported Schema either as a new Schema or to update an existing Schema")
     void importSchema(ObjectNode config);
 
+    @GET
+    @Path("{id}/revalidate")
+    @Operation(description = "Get revalidation status for Schema")
+    @Parameters(value = {
+            @Parameter(name = "id", description = "Schema ID to retrieve revalidation status for", example = "101"),
+    })
+    RevalidationStatus getRevalidationStatus(@PathParam("id") int id);
+
     class SchemaQueryResult {
         @NotNull
         @org.eclipse.microprofile.openapi.annotations.media.Schema(description = "Array of Schemas")
@@ -234,6 +242,33 @@ public interface SchemaService {
         }
     }
 
+    class RevalidationStatus {
+        @JsonProperty(required = true)
+        @org.eclipse.microprofile.openapi.annotations.media.Schema(description = "Revalidation timestamp", example = "1698013206000")
+        public long timestamp;
+        @JsonProperty(required = true)
+        @org.eclipse.microprofile.openapi.annotations.media.Schema(description = "Total number of Runs being revalidated", example = "152")
+        public long totalRuns;
+        @JsonProperty(required = true)
+        @org.eclipse.microprofile.openapi.annotations.media.Schema(description = "Number of revalidated Runs", example = "93")
+        public long finishedRuns;
+        @JsonProperty(required = true)
+        @org.eclipse.microprofile.openapi.annotations.media.Schema(description = "Total number of Datasets being revalidated", example = "304")
+        public long totalDatasets;
+        @JsonProperty(required = true)
+        @org.eclipse.microprofile.openapi.annotations.media.Schema(description = "Number of revalidated Datasets", example = "186")
+        public long finishedDatasets;
+
+        public RevalidationStatus() {
+        }
+
+        public RevalidationStatus(long totalRuns, long totalDatasets) {
+            this.timestamp = System.currentTimeMillis();
+            this.totalRuns = totalRuns;
+            this.totalDatasets = totalDatasets;
+        }
+    }
+
     @org.eclipse.microprofile.openapi.annotations.media.Schema(name = "LabelLocation", type = SchemaType.OBJECT)
     abstract class LabelLocation {
         @org.eclipse.microprofile.openapi.annotations.media.Schema(type = SchemaType.STRING, implementation = String.class, description = "Location of Label usage", example = "VIEW")
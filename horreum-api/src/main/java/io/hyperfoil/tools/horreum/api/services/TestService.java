@@ -14,6 +14,7 @@ import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
 
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.enums.ParameterIn;
@@ -208,6 +209,47 @@ public interface TestService {
             @QueryParam("exclude") @Separator(",") List<String> exclude,
             @QueryParam("multiFilter") @DefaultValue("false") boolean multiFilter);
 
+    @GET
+    @Path("{id}/labelValues/export")
+    @Produces("application/x-ndjson")
+    @Operation(description = "Export all Label Values for a Test as newline delimited JSON, one line per Dataset ordered by start, runId and datasetId")
+    @Parameters(value = {
+            @Parameter(name = "id", description = "Test ID to export Label Values for", example = "101"),
+            @Parameter(name = "filtering", description = "Retrieve values for Filtering Labels", example = "true"),
+            @Parameter(name = "metrics", description = "Retrieve values for Metric Labels", example = "false"),
+            @Parameter(name = "filter", description = "either a required json sub-document or path expression", examples = {
+                    @ExampleObject(name = "object", value = "{labelName:necessaryValue,...}", description = "json object that must exist in the values object"),
+                    @ExampleObject(name = "string", value = "$.count ? (@ < 20 && @ > 10)", description = "valid filtering jsonpath that returns null if not found (not predicates)")
+            }),
+            @Parameter(name = "before", description = "ISO-like date time string or epoch millis", example = "1970-01-01T00:00:00+00:00 or an integer"),
+            @Parameter(name = "after", description = "ISO-like date time string or epoch millis", example = "1970-01-01T00:00:00+00:00 or an integer"),
+            @Parameter(name = "include", description = "label name(s) to include in the result as scalar or comma separated", examples = {
+                    @ExampleObject(name = "single", value = "id", description = "including a single label"),
+                    @ExampleObject(name = "multiple", value = "id,count", description = "including multiple labels")
+            }),
+            @Parameter(name = "exclude", description = "label name(s) to exclude from the result as scalar or comma separated", examples = {
+                    @ExampleObject(name = "single", value = "id", description = "excluding a single label"),
+                    @ExampleObject(name = "multiple", value = "id,count", description = "excluding multiple labels")
+            }),
+            @Parameter(name = "multiFilter", description = "enable filtering for multiple values with an array of values", example = "true"),
+            @Parameter(name = "cursor", description = "start:runId:datasetId of the last exported Dataset, the export continues after it", example = "1698013206000:101:102"),
+            @Parameter(name = "limit", description = "the maximum number of Datasets to export", example = "1000")
+    })
+    @APIResponses(value = { @APIResponse(responseCode = "200", content = {
+            @Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = ExportedLabelValues.class)) }) })
+    Response exportLabelValues(
+            @PathParam("id") int testId,
+            @QueryParam("filter") @DefaultValue("{}") String filter,
+            @QueryParam("before") @DefaultValue("") String before,
+            @QueryParam("after") @DefaultValue("") String after,
+            @QueryParam("filtering") @DefaultValue("true") boolean filtering,
+            @QueryParam("metrics") @DefaultValue("true") boolean metrics,
+            @QueryParam("include") @Separator(",") List<String> include,
+            @QueryParam("exclude") @Separator(",") List<String> exclude,
+            @QueryParam("multiFilter") @DefaultValue("false") boolean multiFilter,
+            @QueryParam("cursor") String cursor,
+            @QueryParam("limit") Integer limit);
+
     @GET
     @Path("{id}/filteringLabelValues")
     @Operation(description = "List all unique Label Values for a Test")
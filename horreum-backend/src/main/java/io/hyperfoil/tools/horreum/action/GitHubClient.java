@@ -24,7 +24,10 @@ public class GitHubClient {
                 .setFollowRedirects(false)
                 .setMaxPoolSize(1) // we won't use more than 1 connection to prevent GitHub rate limiting
                 .setConnectTimeout(2_000) // only wait 2s
-                .setKeepAlive(false);
+                // reuse the connection for subsequent actions rather than paying TCP+TLS setup on each
+                .setKeepAlive(true)
+                .setKeepAliveTimeout(60)
+                .setMetricsName("horreum-action-github");
         httpClient = WebClient.create(vertx, new WebClientOptions(options).setProtocolVersion(HttpVersion.HTTP_1_1));
     }
 
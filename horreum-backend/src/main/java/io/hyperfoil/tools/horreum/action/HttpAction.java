@@ -39,6 +39,9 @@ public class HttpAction implements ActionPlugin {
     @ConfigProperty(name = "horreum.hook.maxConnections", defaultValue = "20")
     int maxConnections;
 
+    @ConfigProperty(name = "horreum.hook.keepAliveTimeout", defaultValue = "60")
+    int keepAliveTimeout;
+
     WebClient http1xClient;
 
     @PostConstruct()
@@ -47,7 +50,10 @@ public class HttpAction implements ActionPlugin {
                 .setFollowRedirects(false)
                 .setMaxPoolSize(maxConnections)
                 .setConnectTimeout(2_000) // only wait 2s
-                .setKeepAlive(false);
+                // the pool size applies per host, idle connections are kept for subsequent hooks
+                .setKeepAlive(true)
+                .setKeepAliveTimeout(keepAliveTimeout)
+                .setMetricsName("horreum-action-http");
         if (insecureTls) {
             options.setVerifyHost(false);
             options.setTrustAll(true);
@@ -1,76 +1,183 @@
 package io.hyperfoil.tools.horreum.bus;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.jboss.logging.Logger;
 
 import io.hyperfoil.tools.horreum.svc.Util;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
 import io.quarkus.runtime.Startup;
-import io.vertx.core.Vertx;
+import io.quarkus.virtual.threads.VirtualThreads;
 
+/**
+ * Executes blocking tasks so that tasks for the same test run one at a time, in submission order. Each test has
+ * its own FIFO queue; a fixed number of workers take turns on the tests with pending tasks, executing a single task
+ * before moving the test to the back of the line, so that a busy test cannot starve the others.
+ */
 @Startup
 @ApplicationScoped
 public class BlockingTaskDispatcher {
     private static final Logger log = Logger.getLogger(BlockingTaskDispatcher.class);
+
+    @ConfigProperty(name = "horreum.dispatcher.pool-size", defaultValue = "8")
+    int poolSize;
+
+    @ConfigProperty(name = "horreum.dispatcher.virtual-threads", defaultValue = "false")
+    boolean virtualThreads;
+
     @Inject
-    Vertx vertx;
+    @VirtualThreads
+    ExecutorService virtualThreadExecutor;
 
     private final ConcurrentMap<Integer, TaskQueue> taskQueues = new ConcurrentHashMap<>();
+    // tests with pending tasks that are not being executed right now, in the order they will be served
+    private final BlockingQueue<TaskQueue> ready = new LinkedBlockingQueue<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running = true;
+
+    @PostConstruct
+    void start() {
+        int workerCount = Math.max(1, poolSize);
+        for (int i = 0; i < workerCount; ++i) {
+            if (virtualThreads) {
+                virtualThreadExecutor.execute(this::work);
+            } else {
+                Thread thread = new Thread(this::work, "horreum-dispatcher-" + i);
+                thread.setDaemon(true);
+                thread.start();
+                workers.add(thread);
+            }
+        }
+        log.debugf("Started %d %s dispatcher workers", workerCount, virtualThreads ? "virtual" : "platform");
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        workers.forEach(Thread::interrupt);
+        // virtual workers are stopped through the poison pills
+        for (int i = 0; i < Math.max(1, poolSize); ++i) {
+            ready.add(TaskQueue.STOP);
+        }
+    }
 
     public void executeForTest(int testId, Runnable runnable) {
-        Runnable task = Util.wrapForBlockingExecution(runnable);
-        vertx.executeBlocking(promise -> {
+        enqueue(testId, Util.wrapForBlockingExecution(runnable));
+    }
+
+    void enqueue(int testId, Runnable task) {
+        TaskQueue queue = taskQueues.computeIfAbsent(testId, TaskQueue::new);
+        if (queue.add(task)) {
+            ready.add(queue);
+        }
+    }
+
+    private void work() {
+        while (running) {
+            TaskQueue queue;
             try {
-                TaskQueue queue = taskQueues.computeIfAbsent(testId, TaskQueue::new);
-                queue.executeOrAdd(task);
-            } catch (Exception e) {
-                log.error("Failed to execute blocking task", e);
+                queue = ready.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (queue == TaskQueue.STOP) {
+                return;
+            }
+            try {
+                queue.runNext();
             } finally {
-                promise.complete();
+                if (queue.reschedule()) {
+                    ready.add(queue);
+                }
             }
-        });
+        }
     }
-
 }
 
 class TaskQueue {
     private static final Logger log = Logger.getLogger(TaskQueue.class);
+    static final TaskQueue STOP = new TaskQueue(-1);
+
     private final int testId;
-    private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
-    private final ReentrantLock lock = new ReentrantLock();
+    private final Queue<Task> queue = new ArrayDeque<>();
+    private final Timer waitTimer;
+    // true when the queue is waiting for a worker or being executed
+    private boolean scheduled;
 
-    public TaskQueue(int testId) {
+    TaskQueue(int testId) {
         this.testId = testId;
+        if (testId >= 0) {
+            String test = String.valueOf(testId);
+            Gauge.builder("horreum.dispatcher.queue.depth", this, TaskQueue::size).tag("test", test)
+                    .description("Tasks waiting for execution").register(Metrics.globalRegistry);
+            waitTimer = Timer.builder("horreum.dispatcher.wait").tag("test", test)
+                    .description("Time tasks spent waiting in the queue").register(Metrics.globalRegistry);
+        } else {
+            waitTimer = null;
+        }
     }
 
-    public void executeOrAdd(Runnable runnable) {
-        queue.add(runnable);
-        do {
-            if (lock.tryLock()) {
-                log.debugf("This thread is going to execute tasks (%d) for test %d, lock level %d", queue.size(), testId,
-                        lock.getHoldCount());
-                try {
-                    while (!queue.isEmpty()) {
-                        Runnable task = queue.poll();
-                        task.run();
-                    }
-                } catch (Throwable t) {
-                    log.errorf(t, "Error executing task in the queue for test %d", testId);
-                } finally {
-                    log.debugf("Finished executing tasks for test %d", testId);
-                    lock.unlock();
-                }
-            } else {
-                log.debugf("There's another thread executing the tasks (%d) for test %d", queue.size(), testId);
-                return;
-            }
-        } while (!queue.isEmpty());
+    /**
+     * @return true if the queue was idle and has to be scheduled for execution
+     */
+    synchronized boolean add(Runnable runnable) {
+        queue.add(new Task(runnable, System.nanoTime()));
+        if (scheduled) {
+            return false;
+        }
+        scheduled = true;
+        return true;
+    }
+
+    /**
+     * @return true if there are more tasks and the queue has to be scheduled again
+     */
+    synchronized boolean reschedule() {
+        scheduled = !queue.isEmpty();
+        return scheduled;
+    }
+
+    synchronized int size() {
+        return queue.size();
+    }
+
+    void runNext() {
+        Task task;
+        int remaining;
+        synchronized (this) {
+            task = queue.poll();
+            remaining = queue.size();
+        }
+        if (task == null) {
+            return;
+        }
+        waitTimer.record(System.nanoTime() - task.submitted(), TimeUnit.NANOSECONDS);
+        log.debugf("Executing task for test %d, %d tasks remaining", testId, remaining);
+        try {
+            task.runnable().run();
+        } catch (Throwable t) {
+            log.errorf(t, "Error executing task in the queue for test %d", testId);
+        }
+    }
+
+    private record Task(Runnable runnable, long submitted) {
     }
 }
@@ -3,6 +3,8 @@ package io.hyperfoil.tools.horreum.changedetection;
 import java.util.List;
 import java.util.function.Consumer;
 
+import org.apache.commons.math3.stat.descriptive.StatisticalSummary;
+
 import com.fasterxml.jackson.databind.JsonNode;
 
 import io.hyperfoil.tools.horreum.api.data.ConditionConfig;
@@ -18,6 +20,24 @@ public interface ChangeDetectionModel {
     void analyze(List<DataPointDAO> dataPoints, JsonNode configuration, Consumer<ChangeDAO> changeConsumer)
             throws ChangeDetectionException;
 
+    /**
+     * Analyzes the series incrementally: only the most recent datapoints (newest first, at most {@link #window(JsonNode)})
+     * are passed individually, the datapoints preceding them (since last change) are summarized in statistics.
+     * Models that use the whole series must not override this method.
+     */
+    default void analyze(List<DataPointDAO> recent, StatisticalSummary previous, JsonNode configuration,
+            Consumer<ChangeDAO> changeConsumer) throws ChangeDetectionException {
+        analyze(recent, configuration, changeConsumer);
+    }
+
+    /**
+     * Number of most recent datapoints the model needs to inspect individually,
+     * or {@link Integer#MAX_VALUE} if it requires the whole series.
+     */
+    default int window(JsonNode configuration) throws ChangeDetectionException {
+        return Integer.MAX_VALUE;
+    }
+
     ModelType getType();
 
 }
@@ -0,0 +1,236 @@
+package io.hyperfoil.tools.horreum.changedetection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+
+import org.apache.commons.math3.special.Beta;
+
+/**
+ * E-Divisive change point detection with significance testing, following the implementation in Hunter.
+ * <p>
+ * The series is scanned in overlapping windows; in each window the split maximizing the energy statistic is
+ * accepted as long as the difference between the two segments is significant according to Student's t-test.
+ * Change points found in all windows are then merged by repeatedly dropping the weakest one until all remaining
+ * change points pass the configured thresholds.
+ */
+final class EDivisive {
+    private final double[] series;
+    // prefix sums of values shifted by their mean, for O(1) mean and variance of any segment;
+    // the shift limits the loss of precision when the variance is small compared to the values
+    private final double shift;
+    private final double[] sum;
+    private final double[] sumSq;
+
+    private record Split(int index, double q) {
+    }
+
+    record ChangePoint(int index, double meanBefore, double meanAfter, double pValue) {
+        /**
+         * @return relative change of the mean, in percent, from the segment before to the segment after the change
+         */
+        double forwardChangePercent() {
+            return 100 * (meanAfter - meanBefore) / meanBefore;
+        }
+    }
+
+    private EDivisive(double[] series) {
+        this.series = series;
+        this.shift = Arrays.stream(series).average().orElse(0);
+        this.sum = new double[series.length + 1];
+        this.sumSq = new double[series.length + 1];
+        for (int i = 0; i < series.length; ++i) {
+            double x = series[i] - shift;
+            sum[i + 1] = sum[i] + x;
+            sumSq[i + 1] = sumSq[i] + x * x;
+        }
+    }
+
+    /**
+     * @param series values ordered from the oldest to the newest
+     * @param windowLength length of the window scanned at once
+     * @param maxPValue maximum p-value for a change point to be reported
+     * @param minMagnitude minimum relative change of the mean (0.1 = 10%) for a change point to be reported
+     * @return change points ordered by their index; the index points to the first value after the change
+     */
+    static List<ChangePoint> computeChangePoints(double[] series, int windowLength, double maxPValue,
+            double minMagnitude) {
+        EDivisive eDivisive = new EDivisive(series);
+        int[] candidates = eDivisive.split(Math.max(windowLength, 2), maxPValue * 10);
+        return eDivisive.merge(candidates, maxPValue, minMagnitude);
+    }
+
+    private int[] split(int windowLength, double maxPValue) {
+        TreeSet<Integer> indices = new TreeSet<>();
+        int step = windowLength / 2;
+        int start = 0;
+        while (start < series.length) {
+            int end = Math.min(start + windowLength, series.length);
+            int last = 0;
+            for (int index : eDivisive(start, end, maxPValue)) {
+                indices.add(index);
+                last = Math.max(last, index);
+            }
+            start = Math.max(last, start + step);
+        }
+        return indices.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Runs the E-Divisive algorithm on the {@code [start, end)} range of the series.
+     */
+    private List<Integer> eDivisive(int start, int end, double maxPValue) {
+        List<Integer> found = new ArrayList<>();
+        TreeSet<Integer> bounds = new TreeSet<>();
+        bounds.add(start);
+        bounds.add(end);
+        while (true) {
+            Split best = null;
+            int bestFrom = -1, bestTo = -1;
+            Integer from = bounds.first();
+            for (Integer to = bounds.higher(from); to != null; from = to, to = bounds.higher(to)) {
+                if (to - from < 3) {
+                    continue;
+                }
+                Split split = bestSplit(from, to);
+                if (best == null || split.q > best.q) {
+                    best = split;
+                    bestFrom = from;
+                    bestTo = to;
+                }
+            }
+            if (best == null || pValue(bestFrom, best.index, bestTo) > maxPValue) {
+                return found;
+            }
+            found.add(best.index);
+            bounds.add(best.index);
+        }
+    }
+
+    /**
+     * Finds the split of {@code [from, to)} maximizing the energy statistic. Sums of pairwise distances are updated
+     * incrementally while moving the split point, making the search quadratic in the length of the range.
+     */
+    private Split bestSplit(int from, int to) {
+        int n = to - from;
+        // sum of distances from each element to all the other elements in the range
+        double[] rowSums = new double[n];
+        double total = 0;
+        for (int i = 0; i < n; ++i) {
+            double xi = series[from + i];
+            for (int j = i + 1; j < n; ++j) {
+                double d = Math.abs(xi - series[from + j]);
+                rowSums[i] += d;
+                rowSums[j] += d;
+                total += d;
+            }
+        }
+        double left = 0; // sum of distances within [from, from + tau)
+        double right = total; // sum of distances within [from + tau, to)
+        double bestQ = Double.NEGATIVE_INFINITY;
+        int bestIndex = -1;
+        for (int tau = 1; tau < n; ++tau) {
+            // move element tau - 1 from the right segment to the left one
+            double xt = series[from + tau - 1];
+            double toLeft = 0;
+            for (int i = 0; i < tau - 1; ++i) {
+                toLeft += Math.abs(xt - series[from + i]);
+            }
+            left += toLeft;
+            right -= rowSums[tau - 1] - toLeft;
+            double cross = total - left - right;
+            int m = tau, k = n - tau;
+            double within = (m > 1 ? 2 * left / (m * (m - 1.0)) : 0) + (k > 1 ? 2 * right / (k * (k - 1.0)) : 0);
+            double q = (double) m * k / n * (2 * cross / ((double) m * k) - within);
+            if (q > bestQ) {
+                bestQ = q;
+                bestIndex = from + tau;
+            }
+        }
+        return new Split(bestIndex, bestQ);
+    }
+
+    private List<ChangePoint> merge(int[] candidates, double maxPValue, double minMagnitude) {
+        int count = candidates.length;
+        // bounds[i + 1] is the candidate i, bounds[0] and bounds[count + 1] are the ends of the series
+        int[] bounds = new int[count + 2];
+        System.arraycopy(candidates, 0, bounds, 1, count);
+        bounds[count + 1] = series.length;
+        double[] pValues = new double[count + 2];
+        boolean[] weak = new boolean[count + 2];
+        for (int i = 1; i <= count; ++i) {
+            test(bounds, i, pValues, weak, maxPValue, minMagnitude);
+        }
+        while (count > 0) {
+            int weakest = -1;
+            for (int i = 1; i <= count; ++i) {
+                if (weak[i] && (weakest < 0 || pValues[i] > pValues[weakest])) {
+                    weakest = i;
+                }
+            }
+            if (weakest < 0) {
+                break;
+            }
+            int tail = count + 2 - weakest - 1;
+            System.arraycopy(bounds, weakest + 1, bounds, weakest, tail);
+            System.arraycopy(pValues, weakest + 1, pValues, weakest, tail);
+            System.arraycopy(weak, weakest + 1, weak, weakest, tail);
+            --count;
+            // only the neighbours of the removed change point have their segments changed
+            if (weakest - 1 >= 1) {
+                test(bounds, weakest - 1, pValues, weak, maxPValue, minMagnitude);
+            }
+            if (weakest <= count) {
+                test(bounds, weakest, pValues, weak, maxPValue, minMagnitude);
+            }
+        }
+        List<ChangePoint> changePoints = new ArrayList<>(count);
+        for (int i = 1; i <= count; ++i) {
+            changePoints.add(new ChangePoint(bounds[i], mean(bounds[i - 1], bounds[i]), mean(bounds[i], bounds[i + 1]),
+                    pValues[i]));
+        }
+        return changePoints;
+    }
+
+    private void test(int[] bounds, int i, double[] pValues, boolean[] weak, double maxPValue, double minMagnitude) {
+        double p = pValue(bounds[i - 1], bounds[i], bounds[i + 1]);
+        double before = mean(bounds[i - 1], bounds[i]);
+        double after = mean(bounds[i], bounds[i + 1]);
+        double magnitude = before != 0 ? Math.abs((after - before) / before) : Double.POSITIVE_INFINITY;
+        pValues[i] = p;
+        weak[i] = p > maxPValue || magnitude < minMagnitude;
+    }
+
+    private double mean(int from, int to) {
+        return shift + (sum[to] - sum[from]) / (to - from);
+    }
+
+    /**
+     * Two-sided Student's t-test with equal variances comparing {@code [from, split)} and {@code [split, to)}.
+     * Segment variances are population variances, as in Hunter.
+     */
+    private double pValue(int from, int split, int to) {
+        int n1 = split - from, n2 = to - split;
+        if (n1 + n2 <= 2) {
+            return 1;
+        }
+        double mean1 = mean(from, split), mean2 = mean(split, to);
+        double var1 = variance(from, split, mean1 - shift);
+        double var2 = variance(split, to, mean2 - shift);
+        int df = n1 + n2 - 2;
+        double pooled = ((n1 - 1) * var1 + (n2 - 1) * var2) / df;
+        double denominator = Math.sqrt(pooled * (1.0 / n1 + 1.0 / n2));
+        if (denominator == 0 || Double.isNaN(denominator)) {
+            return mean1 == mean2 ? 1 : 0;
+        }
+        double t = (mean1 - mean2) / denominator;
+        // P(|T| > t) for T ~ t(df) expressed through the regularized incomplete beta function
+        return Beta.regularizedBeta(df / (df + t * t), df / 2.0, 0.5);
+    }
+
+    private double variance(int from, int to, double shiftedMean) {
+        int n = to - from;
+        return n > 1 ? Math.max(0, (sumSq[to] - sumSq[from]) / n - shiftedMean * shiftedMean) : 0;
+    }
+}
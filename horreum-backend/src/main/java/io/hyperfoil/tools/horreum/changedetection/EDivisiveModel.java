@@ -0,0 +1,82 @@
+package io.hyperfoil.tools.horreum.changedetection;
+
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.function.Consumer;
+
+import jakarta.enterprise.context.ApplicationScoped;
+
+import org.jboss.logging.Logger;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+
+import io.hyperfoil.tools.horreum.api.data.ConditionConfig;
+import io.hyperfoil.tools.horreum.api.data.changeDetection.ChangeDetectionModelType;
+import io.hyperfoil.tools.horreum.entity.alerting.ChangeDAO;
+import io.hyperfoil.tools.horreum.entity.alerting.DataPointDAO;
+
+@ApplicationScoped
+public class EDivisiveModel implements ChangeDetectionModel {
+    private static final Logger log = Logger.getLogger(EDivisiveModel.class);
+
+    // same defaults as Hunter
+    static final int WINDOW_LENGTH = 50;
+    static final double MAX_P_VALUE = 0.001;
+    static final double MIN_MAGNITUDE = 0.0;
+
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss Z")
+            .withZone(ZoneOffset.UTC);
+
+    @Override
+    public ConditionConfig config() {
+        ConditionConfig conditionConfig = new ConditionConfig(ChangeDetectionModelType.names.EDIVISIVE, "eDivisive",
+                "This model uses the eDivisive algorithm to determine change points in a continual series.");
+        conditionConfig.defaults.put("model", new TextNode(ChangeDetectionModelType.names.EDIVISIVE));
+
+        return conditionConfig;
+    }
+
+    @Override
+    public ChangeDetectionModelType type() {
+        return ChangeDetectionModelType.EDIVISIVE;
+    }
+
+    @Override
+    public void analyze(List<DataPointDAO> dataPoints, JsonNode configuration, Consumer<ChangeDAO> changeConsumer)
+            throws ChangeDetectionException {
+        int size = dataPoints.size();
+        // datapoints are ordered from the most recent one, the algorithm expects the oldest one first
+        double[] series = new double[size];
+        for (int i = 0; i < size; ++i) {
+            series[i] = dataPoints.get(size - 1 - i).value;
+        }
+
+        List<EDivisive.ChangePoint> changePoints = EDivisive.computeChangePoints(series, WINDOW_LENGTH, MAX_P_VALUE,
+                MIN_MAGNITUDE);
+        if (changePoints.isEmpty()) {
+            log.debugf("No change points were detected in %d datapoints", size);
+            return;
+        }
+        for (EDivisive.ChangePoint changePoint : changePoints) {
+            DataPointDAO dataPoint = dataPoints.get(size - 1 - changePoint.index());
+            String change = String.format("%+.1f%%", changePoint.forwardChangePercent());
+            String timestamp = TIMESTAMP_FORMAT.format(dataPoint.timestamp);
+
+            log.debugf("Found change point `%s` at `%s` for dataset: %d", change, timestamp, dataPoint.getDatasetId());
+
+            ChangeDAO changeDAO = ChangeDAO.fromDatapoint(dataPoint);
+            changeDAO.description = String.format("eDivisive change `%s` at `%s` for dataset: %d", change, timestamp,
+                    dataPoint.getDatasetId());
+
+            log.trace(changeDAO.description);
+            changeConsumer.accept(changeDAO);
+        }
+    }
+
+    @Override
+    public ModelType getType() {
+        return ModelType.BULK;
+    }
+}
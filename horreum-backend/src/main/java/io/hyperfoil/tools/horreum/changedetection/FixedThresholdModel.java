@@ -80,6 +80,12 @@ public class FixedThresholdModel implements ChangeDetectionModel {
 
     }
 
+    @Override
+    public int window(JsonNode configuration) {
+        // only the last datapoint is checked against the bounds
+        return 1;
+    }
+
     @Override
     public ModelType getType() {
         return ModelType.CONTINOUS;
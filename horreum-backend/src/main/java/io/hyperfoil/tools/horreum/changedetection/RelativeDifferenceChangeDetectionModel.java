@@ -6,6 +6,7 @@ import java.util.function.Consumer;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
+import org.apache.commons.math3.stat.descriptive.StatisticalSummary;
 import org.apache.commons.math3.stat.descriptive.SummaryStatistics;
 import org.jboss.logging.Logger;
 
@@ -64,81 +65,94 @@ public class RelativeDifferenceChangeDetectionModel implements ChangeDetectionMo
     @Override
     public void analyze(List<DataPointDAO> dataPoints, JsonNode configuration, Consumer<ChangeDAO> changeConsumer)
             throws ChangeDetectionException {
-        DataPointDAO dataPoint = dataPoints.get(0);
+        int window = Math.min(window(configuration), dataPoints.size());
+        SummaryStatistics previousStats = new SummaryStatistics();
+        dataPoints.stream().skip(window).mapToDouble(dp -> dp.value).forEach(previousStats::addValue);
+        analyze(dataPoints.subList(0, window), previousStats, configuration, changeConsumer);
+    }
 
-        try {
-            RelativeDifferenceDetectionConfig config = mapper.treeToValue(configuration,
-                    RelativeDifferenceDetectionConfig.class);
+    @Override
+    public void analyze(List<DataPointDAO> recent, StatisticalSummary previousStats, JsonNode configuration,
+            Consumer<ChangeDAO> changeConsumer) throws ChangeDetectionException {
+        DataPointDAO dataPoint = recent.get(0);
+        RelativeDifferenceDetectionConfig config = parseConfig(configuration, dataPoint.variable.id);
+
+        int window = Math.max(1, config.window);
+        int minPrevious = Math.max(window, config.minPrevious);
+
+        if (recent.size() < window || previousStats.getN() < minPrevious) {
+            log.debugf("Too few (%d) previous datapoints for variable %d, skipping analysis", previousStats.getN(),
+                    dataPoint.variable.id);
+            return;
+        }
 
-            int window = Math.max(1, config.window);
-            int minPrevious = Math.max(window, config.minPrevious);
+        double filteredValue;
+        switch (config.filter) {
+            case "min":
+                //noinspection OptionalGetWithoutIsPresent
+                filteredValue = recent.stream().limit(window).mapToDouble(dp -> dp.value).min().getAsDouble();
+                break;
+            case "max":
+                //noinspection OptionalGetWithoutIsPresent
+                filteredValue = recent.stream().limit(window).mapToDouble(dp -> dp.value).max().getAsDouble();
+                break;
+            case "mean":
+                SummaryStatistics windowStats = new SummaryStatistics();
+                recent.stream().limit(window).mapToDouble(dp -> dp.value).forEach(windowStats::addValue);
+                filteredValue = windowStats.getMean();
+                break;
+            default:
+                String errMsg = String.format("Unsupported option 'filter'='%s' for variable %d, skipping analysis.",
+                        config.filter, dataPoint.variable.id);
+                log.error(errMsg);
+                throw new ChangeDetectionException(errMsg);
+        }
 
-            if (dataPoints.size() < minPrevious + window) {
-                log.debugf("Too few (%d) previous datapoints for variable %d, skipping analysis", dataPoints.size() - window,
-                        dataPoint.variable.id);
-                return;
-            }
-            SummaryStatistics previousStats = new SummaryStatistics();
-            dataPoints.stream().skip(window).mapToDouble(dp -> dp.value).forEach(previousStats::addValue);
-
-            double filteredValue;
-            switch (config.filter) {
-                case "min":
-                    //noinspection OptionalGetWithoutIsPresent
-                    filteredValue = dataPoints.stream().limit(window).mapToDouble(dp -> dp.value).min().getAsDouble();
-                    break;
-                case "max":
-                    //noinspection OptionalGetWithoutIsPresent
-                    filteredValue = dataPoints.stream().limit(window).mapToDouble(dp -> dp.value).max().getAsDouble();
+        double ratio = filteredValue / previousStats.getMean();
+        log.tracef("Previous mean %f, filtered value %f, ratio %f", previousStats.getMean(), filteredValue, ratio);
+        if (ratio < 1 - config.threshold || ratio > 1 + config.threshold) {
+            DataPointDAO dp = null;
+            // We cannot know which datapoint is first with the regression; as a heuristic approach
+            // we'll select first datapoint with value lower than mean (if this is a drop, e.g. throughput)
+            // or above the mean (if this is an increase, e.g. memory usage).
+            for (int i = window - 1; i >= 0; --i) {
+                dp = recent.get(i);
+                if (ratio < 1 && dp.value < previousStats.getMean()) {
                     break;
-                case "mean":
-                    SummaryStatistics windowStats = new SummaryStatistics();
-                    dataPoints.stream().limit(window).mapToDouble(dp -> dp.value).forEach(windowStats::addValue);
-                    filteredValue = windowStats.getMean();
+                } else if (ratio > 1 && dp.value > previousStats.getMean()) {
                     break;
-                default:
-                    String errMsg = String.format("Unsupported option 'filter'='%s' for variable %d, skipping analysis.",
-                            config.filter, dataPoint.variable.id);
-                    log.error(errMsg);
-                    throw new ChangeDetectionException(errMsg);
-            }
-
-            double ratio = filteredValue / previousStats.getMean();
-            log.tracef("Previous mean %f, filtered value %f, ratio %f", previousStats.getMean(), filteredValue, ratio);
-            if (ratio < 1 - config.threshold || ratio > 1 + config.threshold) {
-                DataPointDAO dp = null;
-                // We cannot know which datapoint is first with the regression; as a heuristic approach
-                // we'll select first datapoint with value lower than mean (if this is a drop, e.g. throughput)
-                // or above the mean (if this is an increase, e.g. memory usage).
-                for (int i = window - 1; i >= 0; --i) {
-                    dp = dataPoints.get(i);
-                    if (ratio < 1 && dp.value < previousStats.getMean()) {
-                        break;
-                    } else if (ratio > 1 && dp.value > previousStats.getMean()) {
-                        break;
-                    }
                 }
-                assert dp != null;
-                ChangeDAO change = ChangeDAO.fromDatapoint(dp);
-                DataPointDAO prevDataPoint = dataPoints.get(window - 1);
-                DataPointDAO lastDataPoint = dataPoints.get(0);
-                change.description = String.format(
-                        "Datasets %d/%d (%s) - %d/%d (%s): %s %f, previous mean %f (stddev %f), relative change %.2f%%",
-                        prevDataPoint.dataset.run.id, prevDataPoint.dataset.ordinal, prevDataPoint.timestamp,
-                        lastDataPoint.dataset.run.id, lastDataPoint.dataset.ordinal, lastDataPoint.timestamp,
-                        config.filter, filteredValue, previousStats.getMean(), previousStats.getStandardDeviation(),
-                        100 * (ratio - 1));
-
-                log.debug(change.description);
-                changeConsumer.accept(change);
             }
+            assert dp != null;
+            ChangeDAO change = ChangeDAO.fromDatapoint(dp);
+            DataPointDAO prevDataPoint = recent.get(window - 1);
+            DataPointDAO lastDataPoint = recent.get(0);
+            change.description = String.format(
+                    "Datasets %d/%d (%s) - %d/%d (%s): %s %f, previous mean %f (stddev %f), relative change %.2f%%",
+                    prevDataPoint.dataset.run.id, prevDataPoint.dataset.ordinal, prevDataPoint.timestamp,
+                    lastDataPoint.dataset.run.id, lastDataPoint.dataset.ordinal, lastDataPoint.timestamp,
+                    config.filter, filteredValue, previousStats.getMean(), previousStats.getStandardDeviation(),
+                    100 * (ratio - 1));
+
+            log.debug(change.description);
+            changeConsumer.accept(change);
+        }
+    }
+
+    @Override
+    public int window(JsonNode configuration) throws ChangeDetectionException {
+        return Math.max(1, parseConfig(configuration, null).window);
+    }
 
+    private RelativeDifferenceDetectionConfig parseConfig(JsonNode configuration, Integer variableId)
+            throws ChangeDetectionException {
+        try {
+            return mapper.treeToValue(configuration, RelativeDifferenceDetectionConfig.class);
         } catch (JsonProcessingException e) {
-            String errMsg = String.format("Failed to parse configuration for variable %d", dataPoint.variable.id);
+            String errMsg = String.format("Failed to parse configuration for variable %d", variableId);
             log.error(errMsg, e);
             throw new ChangeDetectionException(errMsg, e);
         }
-
     }
 
     @Override
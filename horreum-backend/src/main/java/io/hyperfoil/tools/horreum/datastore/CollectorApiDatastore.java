@@ -36,6 +36,9 @@ public class CollectorApiDatastore implements Datastore {
     @Inject
     ObjectMapper mapper;
 
+    @Inject
+    DatastoreClients clients;
+
     @Override
     public DatastoreResponse handleRun(JsonNode payload,
             JsonNode metaData,
@@ -51,8 +54,10 @@ public class CollectorApiDatastore implements Datastore {
 
         final CollectorApiDatastoreConfig jsonDatastoreConfig = getCollectorApiDatastoreConfig(configuration, mapper);
 
-        HttpClient client = HttpClient.newHttpClient();
-        try {
+        // the JDK client pools connections itself and has no close() before Java 21
+        try (DatastoreClients.Lease<HttpClient> client = clients.acquire(configuration, HttpClient.class,
+                config -> HttpClient.newBuilder().build(), c -> {
+                })) {
             String tag = payload.get("tag").asText();
             String imgName = payload.get("imgName").asText();
             String newerThan = payload.get("newerThan").asText().replace(" ", "%20"); // Handle spaces in dates
@@ -69,7 +74,8 @@ public class CollectorApiDatastore implements Datastore {
             builder.header("Content-Type", "application/json")
                     .header("token", jsonDatastoreConfig.apiKey);
             HttpRequest request = builder.build();
-            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> response = client
+                    .limited(() -> client.client().send(request, HttpResponse.BodyHandlers.ofString()));
             if (response.statusCode() != Response.Status.OK.getStatusCode()) {
                 log.error("Collector API returned " + response.statusCode() + " body : " + response.body());
                 throw ServiceException
@@ -88,7 +94,7 @@ public class CollectorApiDatastore implements Datastore {
     }
 
     private static void verifyPayload(ObjectMapper mapper, CollectorApiDatastoreConfig jsonDatastoreConfig,
-            HttpClient client, String tag, String newerThan, String olderThan)
+            DatastoreClients.Lease<HttpClient> client, String tag, String newerThan, String olderThan)
             throws IOException, InterruptedException {
         // Verify that the tag is in the distinct list of tags
         URI tagsUri = URI.create(jsonDatastoreConfig.url + "/tags/distinct");
@@ -96,7 +102,8 @@ public class CollectorApiDatastore implements Datastore {
         HttpRequest tagsRequest = tagsBuilder
                 .header("Content-Type", "application/json")
                 .header("token", jsonDatastoreConfig.apiKey).build();
-        HttpResponse<String> response = client.send(tagsRequest, HttpResponse.BodyHandlers.ofString());
+        HttpResponse<String> response = client
+                .limited(() -> client.client().send(tagsRequest, HttpResponse.BodyHandlers.ofString()));
         String[] distinctTags;
         try {
             distinctTags = mapper.readValue(response.body(), String[].class);
@@ -0,0 +1,223 @@
+package io.hyperfoil.tools.horreum.datastore;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import io.hyperfoil.tools.horreum.entity.backend.DatastoreConfigDAO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import io.quarkus.scheduler.Scheduled;
+
+/**
+ * Registry of long-lived HTTP clients used to reach the datastores. A client is created for each datastore
+ * configuration and keeps its connections alive between uploads; it is replaced when the configuration changes
+ * and closed when it has not been used for the idle timeout. Clients are leased, a client that is replaced
+ * while an upload uses it is closed only after the lease is released.
+ */
+@ApplicationScoped
+public class DatastoreClients {
+    private static final Logger log = Logger.getLogger(DatastoreClients.class);
+
+    @ConfigProperty(name = "horreum.datastore.client.max-connections-per-host", defaultValue = "10")
+    int maxConnectionsPerHost = 10;
+
+    @ConfigProperty(name = "horreum.datastore.client.idle-timeout", defaultValue = "5m")
+    Duration idleTimeout = Duration.ofMinutes(5);
+
+    private final Map<Object, Entry<?>> clients = new ConcurrentHashMap<>();
+    private Counter created;
+    private Counter closedIdle;
+    private Counter closedInvalidated;
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("horreum.datastore.clients", clients, Map::size)
+                .description("Datastore HTTP clients in the registry").register(Metrics.globalRegistry);
+        Gauge.builder("horreum.datastore.clients.leased", this, DatastoreClients::leased)
+                .description("Datastore HTTP clients currently used by uploads").register(Metrics.globalRegistry);
+        created = Counter.builder("horreum.datastore.clients.created")
+                .description("Datastore HTTP clients created").register(Metrics.globalRegistry);
+        closedIdle = Counter.builder("horreum.datastore.clients.closed").tag("reason", "idle")
+                .description("Datastore HTTP clients closed after the idle timeout").register(Metrics.globalRegistry);
+        closedInvalidated = Counter.builder("horreum.datastore.clients.closed").tag("reason", "invalidated")
+                .description("Datastore HTTP clients closed after a configuration change")
+                .register(Metrics.globalRegistry);
+    }
+
+    public int maxConnectionsPerHost() {
+        return maxConnectionsPerHost;
+    }
+
+    public Duration idleTimeout() {
+        return idleTimeout;
+    }
+
+    /**
+     * Leases the client for the datastore, creating it if there is none or if the configuration has changed
+     * since it was created.
+     *
+     * @param factory creates the client from the datastore configuration
+     * @param closer releases the client once it is not used anymore
+     */
+    public <T> Lease<T> acquire(DatastoreConfigDAO config, Class<T> type, Function<ObjectNode, T> factory,
+            Consumer<T> closer) {
+        Object key = config.id != null ? config.id : config.name;
+        @SuppressWarnings("unchecked")
+        Entry<T> entry = (Entry<T>) clients.compute(key, (k, existing) -> {
+            if (existing != null && type.isInstance(existing.client)
+                    && existing.configuration.equals(config.configuration)) {
+                existing.leases.incrementAndGet();
+                return existing;
+            }
+            Entry<T> newEntry = new Entry<>(factory.apply(config.configuration), config.configuration.deepCopy(),
+                    closer, maxConnectionsPerHost);
+            newEntry.leases.incrementAndGet();
+            if (existing != null) {
+                existing.retire(closedInvalidated);
+            }
+            if (created != null) {
+                created.increment();
+            }
+            log.debugf("Created %s for datastore %s", type.getSimpleName(), config.name);
+            return newEntry;
+        });
+        return new Lease<>(entry);
+    }
+
+    /**
+     * Drops the client of the datastore, e.g. when its configuration has been updated or the datastore deleted.
+     */
+    public void invalidate(Integer datastoreId) {
+        clients.computeIfPresent(datastoreId, (k, entry) -> {
+            entry.retire(closedInvalidated);
+            return null;
+        });
+    }
+
+    @Scheduled(every = "1m", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void evictIdle() {
+        long deadline = System.nanoTime() - idleTimeout.toNanos();
+        clients.forEach((key, candidate) -> clients.computeIfPresent(key, (k, entry) -> {
+            if (entry == candidate && entry.leases.get() == 0 && entry.lastUsed - deadline < 0) {
+                entry.retire(closedIdle);
+                return null;
+            }
+            return entry;
+        }));
+    }
+
+    @PreDestroy
+    void closeAll() {
+        clients.values().forEach(entry -> entry.retire(null));
+        clients.clear();
+    }
+
+    private int leased() {
+        return clients.values().stream().mapToInt(entry -> entry.leases.get()).sum();
+    }
+
+    private static class Entry<T> {
+        final T client;
+        final ObjectNode configuration;
+        final Consumer<T> closer;
+        final Semaphore requests;
+        final AtomicInteger leases = new AtomicInteger();
+        final AtomicBoolean closed = new AtomicBoolean();
+        volatile boolean retired;
+        volatile Counter reason;
+        volatile long lastUsed = System.nanoTime();
+
+        Entry(T client, ObjectNode configuration, Consumer<T> closer, int maxRequests) {
+            this.client = client;
+            this.configuration = configuration;
+            this.closer = closer;
+            this.requests = new Semaphore(Math.max(1, maxRequests));
+        }
+
+        void retire(Counter reason) {
+            this.reason = reason;
+            retired = true;
+            if (leases.get() == 0) {
+                close();
+            }
+        }
+
+        void release() {
+            lastUsed = System.nanoTime();
+            if (leases.decrementAndGet() == 0 && retired) {
+                close();
+            }
+        }
+
+        private void close() {
+            if (closed.compareAndSet(false, true)) {
+                if (reason != null) {
+                    reason.increment();
+                }
+                try {
+                    closer.accept(client);
+                } catch (Exception e) {
+                    log.errorf("Error closing datastore client: %s", e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Use of a client by a single upload; closing the lease returns the client to the registry.
+     */
+    public static final class Lease<T> implements AutoCloseable {
+        private final Entry<T> entry;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Lease(Entry<T> entry) {
+            this.entry = entry;
+        }
+
+        public T client() {
+            return entry.client;
+        }
+
+        /**
+         * Sends a request while limiting the number of concurrent requests to the host, for clients that do not
+         * bound their connection pool themselves.
+         */
+        public <R> R limited(Request<R> request) throws IOException, InterruptedException {
+            entry.requests.acquire();
+            try {
+                return request.send();
+            } finally {
+                entry.requests.release();
+            }
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                entry.release();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface Request<R> {
+        R send() throws IOException, InterruptedException;
+    }
+}
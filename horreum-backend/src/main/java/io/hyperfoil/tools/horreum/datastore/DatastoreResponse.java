@@ -1,13 +1,57 @@
 package io.hyperfoil.tools.horreum.datastore;
 
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
 
-public class DatastoreResponse {
+public class DatastoreResponse implements AutoCloseable {
     public final JsonNode payload;
     public final JsonNode metadata;
+    private final Stream<JsonNode> runs;
 
     public DatastoreResponse(JsonNode payload, JsonNode metadata) {
         this.payload = payload;
         this.metadata = metadata;
+        this.runs = null;
+    }
+
+    /**
+     * Response with multiple runs that are produced lazily, e.g. fetched page by page from the datastore.
+     * The stream is closed, releasing any resources held in the datastore, when the response is closed.
+     */
+    public DatastoreResponse(Stream<JsonNode> runs, JsonNode metadata) {
+        this.payload = null;
+        this.metadata = metadata;
+        this.runs = runs;
+    }
+
+    /**
+     * @return true if the response holds multiple runs, either as an array payload or as a stream
+     */
+    public boolean isMultiple() {
+        return runs != null || payload instanceof ArrayNode;
+    }
+
+    /**
+     * Runs in the response; if these are streamed from the datastore they can be iterated only once.
+     */
+    public Iterator<JsonNode> runs() {
+        if (runs != null) {
+            return runs.iterator();
+        } else if (payload instanceof ArrayNode) {
+            return payload.iterator();
+        } else {
+            return List.of(payload).iterator();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (runs != null) {
+            runs.close();
+        }
     }
 }
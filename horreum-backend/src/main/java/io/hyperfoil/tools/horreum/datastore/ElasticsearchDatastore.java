@@ -1,10 +1,18 @@
 package io.hyperfoil.tools.horreum.datastore;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
@@ -33,16 +41,20 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.hyperfoil.tools.horreum.api.data.datastore.DatastoreType;
 import io.hyperfoil.tools.horreum.api.data.datastore.ElasticsearchDatastoreConfig;
 import io.hyperfoil.tools.horreum.entity.backend.DatastoreConfigDAO;
+import io.hyperfoil.tools.horreum.svc.ServiceException;
 
 @ApplicationScoped
 public class ElasticsearchDatastore implements Datastore {
 
     protected static final Logger log = Logger.getLogger(ElasticsearchDatastore.class);
+    static final int PAGE_SIZE = 1000;
+    private static final String KEEP_ALIVE = "1m";
 
     @Inject
     ObjectMapper mapper;
 
-    Map<String, RestClient> hostCache = new ConcurrentHashMap<>();
+    @Inject
+    DatastoreClients clients;
 
     @Override
     public DatastoreResponse handleRun(JsonNode payload,
@@ -51,186 +63,210 @@ public class ElasticsearchDatastore implements Datastore {
             Optional<String> schemaUriOptional)
             throws BadRequestException {
 
-        RestClient restClient = null;
+        if (metaData != null) {
+            log.warn("Empty request: " + metaData.toString());
+            throw new BadRequestException("Empty request: " + metaData);
+        }
+        metaData = payload;
 
+        final ElasticsearchDatastoreConfig elasticsearchDatastoreConfig;
         try {
-
-            if (metaData != null) {
-                log.warn("Empty request: " + metaData.toString());
-                throw new BadRequestException("Empty request: " + metaData);
-            }
-            metaData = payload;
-
-            final ElasticsearchDatastoreConfig elasticsearchDatastoreConfig = mapper.treeToValue(configuration.configuration,
+            elasticsearchDatastoreConfig = mapper.treeToValue(configuration.configuration,
                     ElasticsearchDatastoreConfig.class);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException(e);
+        }
+        if (elasticsearchDatastoreConfig == null) {
+            throw new RuntimeException("Could not find elasticsearch datastore: " + configuration.name);
+        }
 
-            if (elasticsearchDatastoreConfig != null) {
-
-                RestClientBuilder builder = RestClient.builder(HttpHost.create(elasticsearchDatastoreConfig.url));
-                if (elasticsearchDatastoreConfig.apiKey != null) {
-                    builder.setDefaultHeaders(new Header[] {
-                            new BasicHeader("Authorization", "ApiKey " + elasticsearchDatastoreConfig.apiKey)
-                    });
-                } else {
-                    final CredentialsProvider credentialsProvider = new BasicCredentialsProvider();
-                    credentialsProvider.setCredentials(AuthScope.ANY,
-                            new UsernamePasswordCredentials(elasticsearchDatastoreConfig.username,
-                                    elasticsearchDatastoreConfig.password));
-
-                    builder.setHttpClientConfigCallback(httpClientBuilder -> httpClientBuilder
-                            .setDefaultCredentialsProvider(credentialsProvider));
-                }
-
-                restClient = builder.build();
-
-                if (restClient == null) {
-                    log.warn("Could not find elasticsearch datastore: " + configuration.name);
-                    throw new BadRequestException("Could not find elasticsearch datastore: " + configuration.name);
-                }
-
-                ElasticRequest apiRequest;
-                try {
-                    apiRequest = mapper.treeToValue(payload, ElasticRequest.class);
-                } catch (JsonProcessingException e) {
-                    String msg = String.format("Could not parse request: %s, %s", metaData.toString(), e.getMessage());
-                    log.warn(msg);
-                    throw new BadRequestException(msg);
-                }
-
-                Request request;
-                String finalString;
-                String schemaUri;
-                ArrayNode elasticResults;
-                ArrayNode extractedResults;
-
-                switch (apiRequest.type) {
-                    case DOC:
-                        request = new Request(
-                                "GET",
-                                "/" + apiRequest.index + "/_doc/" + apiRequest.query.textValue());
-
-                        try {
-                            finalString = extracted(restClient, request);
-                        } catch (IOException e) {
-                            String msg = String.format("Could not query doc request: %s, %s", metaData.toString(),
-                                    e.getMessage());
-                            log.warn(msg);
-                            throw new BadRequestException(msg);
-                        }
-
-                        return new DatastoreResponse(mapper.readTree(finalString).get("_source"), payload);
-                    case SEARCH:
-                        schemaUri = schemaUriOptional.orElse(null);
-                        if (schemaUri == null) {
-                            throw new BadRequestException("Schema is required for search requests");
-                        }
-
-                        request = new Request(
-                                "GET",
-                                "/" + apiRequest.index + "/_search");
-                        request.addParameter("size", "1000");
-                        request.setJsonEntity(mapper.writeValueAsString(apiRequest.query));
-                        finalString = extracted(restClient, request);
-
-                        elasticResults = (ArrayNode) mapper.readTree(finalString).get("hits").get("hits");
-                        extractedResults = mapper.createArrayNode();
-
-                        elasticResults.forEach(jsonNode -> extractedResults
-                                .add(((ObjectNode) jsonNode.get("_source")).put("$schema", schemaUri)));
-
-                        return new DatastoreResponse(extractedResults, payload);
-
-                    case MULTI_INDEX:
-                        schemaUri = schemaUriOptional.orElse(null);
-                        if (schemaUri == null) {
-                            throw new BadRequestException("Schema is required for search requests");
-                        }
+        ElasticRequest apiRequest;
+        try {
+            apiRequest = mapper.treeToValue(payload, ElasticRequest.class);
+        } catch (JsonProcessingException e) {
+            String msg = String.format("Could not parse request: %s, %s", metaData.toString(), e.getMessage());
+            log.warn(msg);
+            throw new BadRequestException(msg);
+        }
+        if (apiRequest.type == null) {
+            throw new BadRequestException("Invalid request type: " + apiRequest.type);
+        }
 
-                        //TODO: error handling
-                        final MultiIndexQuery multiIndexQuery = mapper.treeToValue(apiRequest.query, MultiIndexQuery.class);
+        String schemaUri = schemaUriOptional.orElse(null);
+        if (apiRequest.type != RequestType.DOC && schemaUri == null) {
+            throw new BadRequestException("Schema is required for search requests");
+        }
+        MultiIndexQuery multiIndexQuery = null;
+        if (apiRequest.type == RequestType.MULTI_INDEX) {
+            try {
+                multiIndexQuery = mapper.treeToValue(apiRequest.query, MultiIndexQuery.class);
+            } catch (JsonProcessingException e) {
+                throw new BadRequestException("Could not parse multi-index query: " + e.getMessage());
+            }
+            if (multiIndexQuery == null || multiIndexQuery.targetIndex == null || multiIndexQuery.docField == null) {
+                throw new BadRequestException("Multi-index query requires targetIndex and docField");
+            }
+        }
 
-                        //1st retrieve the list of docs from 1st Index
-                        request = new Request(
+        DatastoreClients.Lease<RestClient> lease = clients.acquire(configuration, RestClient.class,
+                config -> createClient(elasticsearchDatastoreConfig), ElasticsearchDatastore::close);
+        RestClient restClient = lease.client();
+        // the lease passes to the response stream for searches, which page through the hits lazily
+        boolean releaseClient = true;
+        try {
+            switch (apiRequest.type) {
+                case DOC:
+                    JsonNode doc;
+                    try {
+                        doc = read(restClient, new Request(
                                 "GET",
-                                "/" + apiRequest.index + "/_search");
-
-                        request.setJsonEntity(mapper.writeValueAsString(multiIndexQuery.metaQuery));
-                        finalString = extracted(restClient, request);
-
-                        elasticResults = (ArrayNode) mapper.readTree(finalString).get("hits").get("hits");
-                        extractedResults = mapper.createArrayNode();
-
-                        //2nd retrieve the docs from 2nd Index and combine into a single result with metadata and doc contents
-                        final RestClient finalRestClient = restClient; //copy of restClient for use in lambda
-
-                        elasticResults.forEach(jsonNode -> {
-
-                            ObjectNode result = ((ObjectNode) jsonNode.get("_source")).put("$schema", schemaUri);
-                            String docString = """
-                                    {
-                                        "error": "Could not retrieve doc from secondary index"
-                                        "msg": "ERR_MSG"
-                                    }
-                                    """;
-
-                            var subRequest = new Request(
-                                    "GET",
-                                    "/" + multiIndexQuery.targetIndex + "/_doc/"
-                                            + jsonNode.get("_source").get(multiIndexQuery.docField).textValue());
-
-                            try {
-                                docString = extracted(finalRestClient, subRequest);
-
-                            } catch (IOException e) {
-
-                                docString.replaceAll("ERR_MSG", e.getMessage());
-                                String msg = String.format("Could not query doc request: index: %s; docID: %s (%s)",
-                                        multiIndexQuery.targetIndex, multiIndexQuery.docField, e.getMessage());
-                                log.error(msg);
-                            }
-
-                            try {
-                                result.put("$doc", mapper.readTree(docString));
-                            } catch (JsonProcessingException e) {
-                                docString.replaceAll("ERR_MSG", e.getMessage());
-                                String msg = String.format("Could not parse doc result: %s, %s", docString, e.getMessage());
-                                log.error(msg);
-                            }
+                                "/" + apiRequest.index + "/_doc/" + apiRequest.query.textValue()));
+                    } catch (IOException e) {
+                        String msg = String.format("Could not query doc request: %s, %s", metaData.toString(),
+                                e.getMessage());
+                        log.warn(msg);
+                        throw new BadRequestException(msg);
+                    }
+                    return new DatastoreResponse(doc.get("_source"), payload);
+                case SEARCH:
+                    Stream<JsonNode> hits = search(restClient, apiRequest.index, apiRequest.query)
+                            .flatMap(page -> StreamSupport.stream(page.spliterator(), false))
+                            .<JsonNode> map(hit -> ((ObjectNode) hit.get("_source")).put("$schema", schemaUri))
+                            .onClose(lease::close);
+                    releaseClient = false;
+                    return new DatastoreResponse(hits, payload);
+                case MULTI_INDEX:
+                    //1st page through the docs from 1st Index, 2nd retrieve the docs referenced by each page from
+                    // 2nd Index and combine them into results with metadata and doc contents
+                    final MultiIndexQuery finalQuery = multiIndexQuery;
+                    Stream<JsonNode> results = search(restClient, apiRequest.index, multiIndexQuery.metaQuery)
+                            .flatMap(page -> joinDocs(restClient, finalQuery, page, schemaUri).stream())
+                            .onClose(lease::close);
+                    releaseClient = false;
+                    return new DatastoreResponse(results, payload);
+                default:
+                    throw new BadRequestException("Invalid request type: " + apiRequest.type);
+            }
+        } finally {
+            if (releaseClient) {
+                lease.close();
+            }
+        }
+    }
 
-                            extractedResults.add(result);
+    private RestClient createClient(ElasticsearchDatastoreConfig config) {
+        RestClientBuilder builder = RestClient.builder(HttpHost.create(config.url));
+        final CredentialsProvider credentialsProvider;
+        if (config.apiKey != null) {
+            builder.setDefaultHeaders(new Header[] {
+                    new BasicHeader("Authorization", "ApiKey " + config.apiKey)
+            });
+            credentialsProvider = null;
+        } else {
+            credentialsProvider = new BasicCredentialsProvider();
+            credentialsProvider.setCredentials(AuthScope.ANY,
+                    new UsernamePasswordCredentials(config.username, config.password));
+        }
+        // the client is shared by uploads, connections to the host are pooled and kept alive between them
+        int maxConnections = clients.maxConnectionsPerHost();
+        long keepAlive = clients.idleTimeout().toMillis();
+        builder.setHttpClientConfigCallback(httpClientBuilder -> httpClientBuilder
+                .setDefaultCredentialsProvider(credentialsProvider)
+                .setMaxConnPerRoute(maxConnections)
+                .setMaxConnTotal(maxConnections)
+                .setKeepAliveStrategy((response, context) -> keepAlive));
+        return builder.build();
+    }
 
-                        });
+    private static void close(RestClient restClient) {
+        try {
+            restClient.close();
+        } catch (IOException e) {
+            log.errorf("Error closing rest client: %s", e.getMessage());
+        }
+    }
 
-                        return new DatastoreResponse(extractedResults, payload);
+    /**
+     * Opens a point in time on the index and returns the pages of hits matching the query. The pages are fetched
+     * lazily with {@code search_after}; closing the stream releases the point in time.
+     */
+    private Stream<ArrayNode> search(RestClient restClient, String index, JsonNode query) {
+        if (query != null && !query.isNull() && !query.isObject()) {
+            throw new BadRequestException("Search query must be an object: " + query);
+        }
+        PitSearch search;
+        try {
+            search = new PitSearch(restClient, index, (ObjectNode) query);
+        } catch (IOException e) {
+            String msg = String.format("Could not open point in time on index %s: %s", index, e.getMessage());
+            log.warn(msg);
+            throw new BadRequestException(msg);
+        }
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(search, Spliterator.ORDERED | Spliterator.NONNULL),
+                false).onClose(search::close);
+    }
 
-                    default:
-                        throw new BadRequestException("Invalid request type: " + apiRequest.type);
+    /**
+     * Fetches the documents referenced by a page of hits with a single {@code _mget} request.
+     */
+    private List<JsonNode> joinDocs(RestClient restClient, MultiIndexQuery query, ArrayNode page, String schemaUri) {
+        ArrayNode ids = mapper.createArrayNode();
+        for (JsonNode hit : page) {
+            JsonNode id = hit.path("_source").path(query.docField);
+            if (id.isValueNode()) {
+                ids.add(id.asText());
+            }
+        }
+        Map<String, JsonNode> docs = new HashMap<>();
+        String error = null;
+        if (!ids.isEmpty()) {
+            Request request = new Request("POST", "/" + query.targetIndex + "/_mget");
+            try {
+                request.setJsonEntity(mapper.writeValueAsString(mapper.createObjectNode().set("ids", ids)));
+                for (JsonNode doc : read(restClient, request).path("docs")) {
+                    docs.put(doc.path("_id").asText(), doc);
                 }
-            } else {
-                throw new RuntimeException("Could not find elasticsearch datastore: " + configuration.name);
+            } catch (IOException e) {
+                error = e.getMessage();
+                log.errorf("Could not query docs request: index: %s; %d docs (%s)", query.targetIndex, ids.size(),
+                        e.getMessage());
             }
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException(e);
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        } finally {
-            if (restClient != null) {
-                try {
-                    restClient.close();
-                } catch (IOException e) {
-                    log.errorf("Error closing rest client: %s", e.getMessage());
+        }
+        List<JsonNode> results = new ArrayList<>(page.size());
+        for (JsonNode hit : page) {
+            ObjectNode result = ((ObjectNode) hit.get("_source")).put("$schema", schemaUri);
+            JsonNode id = result.path(query.docField);
+            JsonNode doc = id.isValueNode() ? docs.get(id.asText()) : null;
+            if (doc != null && doc.path("found").asBoolean(false)) {
+                result.set("$doc", doc);
+            } else {
+                String msg;
+                if (error != null) {
+                    msg = error;
+                } else if (!id.isValueNode()) {
+                    msg = "Missing doc field " + query.docField;
+                } else if (doc != null && doc.has("error")) {
+                    msg = doc.get("error").toString();
+                } else {
+                    msg = "Doc " + id.asText() + " not found";
+                }
+                if (error == null) {
+                    log.errorf("Could not retrieve doc: index: %s; docID: %s (%s)", query.targetIndex, id.asText(), msg);
                 }
+                result.putObject("$doc")
+                        .put("error", "Could not retrieve doc from secondary index")
+                        .put("msg", msg);
             }
+            results.add(result);
         }
+        return results;
     }
 
-    private static String extracted(RestClient restClient, Request request) throws IOException {
+    private JsonNode read(RestClient restClient, Request request) throws IOException {
         Response response = restClient.performRequest(request);
-
-        ByteArrayOutputStream stream = new ByteArrayOutputStream();
-        response.getEntity().writeTo(stream);
-
-        return new String(stream.toByteArray());
+        try (InputStream stream = response.getEntity().getContent()) {
+            return mapper.readTree(stream);
+        }
     }
 
     @Override
@@ -271,6 +307,122 @@ public class ElasticsearchDatastore implements Datastore {
         public JsonNode metaQuery;
     }
 
+    /**
+     * Pages through the hits of a search using a point in time and {@code search_after}, so that the result set
+     * is not limited by {@code index.max_result_window}. The {@code size} and {@code from} of the query limit
+     * the whole result set rather than a single page.
+     */
+    private class PitSearch implements Iterator<ArrayNode> {
+        private final RestClient restClient;
+        private final ObjectNode body;
+        private String pitId;
+        private long remaining;
+        private long skip;
+        private ArrayNode next;
+        private boolean done;
+        private boolean closed;
+
+        PitSearch(RestClient restClient, String index, ObjectNode query) throws IOException {
+            this.restClient = restClient;
+            this.body = query == null ? mapper.createObjectNode() : query.deepCopy();
+            JsonNode size = body.remove("size");
+            remaining = size != null && size.canConvertToLong() ? size.asLong() : Long.MAX_VALUE;
+            JsonNode from = body.remove("from");
+            skip = from != null && from.canConvertToLong() ? Math.max(0, from.asLong()) : 0;
+            body.remove("pit");
+            body.remove("search_after");
+            if (!body.has("sort")) {
+                // with a point in time this is the most efficient order; other sorts get it as an implicit tiebreaker
+                body.putArray("sort").addObject().put("_shard_doc", "asc");
+            }
+            Request request = new Request("POST", "/" + index + "/_pit");
+            request.addParameter("keep_alive", KEEP_ALIVE);
+            pitId = read(restClient, request).path("id").textValue();
+            if (pitId == null) {
+                throw new IOException("No point in time id returned for index " + index);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !done) {
+                next = fetch();
+            }
+            return next != null;
+        }
+
+        @Override
+        public ArrayNode next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            ArrayNode page = next;
+            next = null;
+            return page;
+        }
+
+        private ArrayNode fetch() {
+            while (remaining > 0) {
+                int size = (int) Math.min(PAGE_SIZE, remaining + skip);
+                body.put("size", size);
+                body.putObject("pit").put("id", pitId).put("keep_alive", KEEP_ALIVE);
+                JsonNode response;
+                try {
+                    Request request = new Request("POST", "/_search");
+                    request.setJsonEntity(mapper.writeValueAsString(body));
+                    response = read(restClient, request);
+                } catch (IOException e) {
+                    // the stream might not be closed when the failure propagates to the client
+                    close();
+                    String msg = String.format("Could not fetch search results: %s", e.getMessage());
+                    log.warn(msg);
+                    throw ServiceException.badRequest(msg);
+                }
+                // the id of the point in time may change between requests
+                pitId = response.path("pit_id").asText(pitId);
+                JsonNode hits = response.path("hits").path("hits");
+                if (!hits.isArray() || hits.isEmpty()) {
+                    break;
+                }
+                if (hits.size() < size) {
+                    done = true;
+                }
+                body.set("search_after", hits.get(hits.size() - 1).get("sort"));
+                ArrayNode page = mapper.createArrayNode();
+                for (JsonNode hit : hits) {
+                    if (skip > 0) {
+                        --skip;
+                    } else if (page.size() < remaining) {
+                        page.add(hit);
+                    }
+                }
+                remaining -= page.size();
+                if (!page.isEmpty()) {
+                    return page;
+                } else if (done) {
+                    return null;
+                }
+            }
+            done = true;
+            return null;
+        }
+
+        void close() {
+            done = true;
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                Request request = new Request("DELETE", "/_pit");
+                request.setJsonEntity(mapper.writeValueAsString(mapper.createObjectNode().put("id", pitId)));
+                restClient.performRequest(request);
+            } catch (IOException e) {
+                log.warnf("Could not close point in time: %s", e.getMessage());
+            }
+        }
+    }
+
     private enum RequestType {
         DOC,
         SEARCH,
@@ -31,6 +31,12 @@ public class FingerprintDAO extends PanacheEntityBase {
     @Column(columnDefinition = "jsonb")
     public JsonNode fingerprint;
 
+    /**
+     * Canonical hash of the fingerprint, used to look up datasets with the same fingerprint through an index.
+     */
+    @Column(name = "fp_hash")
+    public Integer fpHash;
+
     @Override
     public String toString() {
         return "FP{" +
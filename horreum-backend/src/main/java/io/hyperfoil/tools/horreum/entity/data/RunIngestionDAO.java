@@ -0,0 +1,61 @@
+package io.hyperfoil.tools.horreum.entity.data;
+
+import static jakarta.persistence.GenerationType.SEQUENCE;
+
+import java.time.Instant;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.validation.constraints.NotNull;
+
+import io.hyperfoil.tools.horreum.api.services.RunService;
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+
+/**
+ * Tracks a Run uploaded asynchronously, from the upload until all its datasets are processed.
+ * Timestamps of the stages are set as the Run progresses through the pipeline.
+ */
+@Entity(name = "run_ingestion")
+public class RunIngestionDAO extends PanacheEntityBase {
+    @Id
+    @SequenceGenerator(name = "runIngestionIdGenerator", sequenceName = "run_ingestion_seq")
+    @GeneratedValue(strategy = SEQUENCE, generator = "runIngestionIdGenerator")
+    public Long id;
+
+    @NotNull
+    public int testId;
+
+    public Integer runId;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    public RunService.IngestionStatus status;
+
+    public String error;
+
+    @NotNull
+    public Instant received;
+
+    public Instant persisted;
+
+    public Instant transformStarted;
+
+    public Instant transformed;
+
+    public Instant labelsCalculated;
+
+    public Instant validated;
+
+    /** Time the job was done or failed */
+    public Instant finished;
+
+    /** Number of datasets created by the transformation */
+    public int datasets;
+
+    /** Number of datasets that have been validated */
+    public int processed;
+}
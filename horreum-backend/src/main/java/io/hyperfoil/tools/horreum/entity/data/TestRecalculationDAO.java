@@ -0,0 +1,56 @@
+package io.hyperfoil.tools.horreum.entity.data;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.validation.constraints.NotNull;
+
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+
+/**
+ * Recalculation of all datasets of a Test. Runs are processed in order of their start; the position
+ * of the last run such that all runs before it are processed is recorded, so that the job can be resumed
+ * by any node if the node that runs it stops.
+ */
+@Entity(name = "test_recalculation")
+public class TestRecalculationDAO extends PanacheEntityBase {
+    @Id
+    public Integer testId;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    public Status status;
+
+    public long totalRuns;
+
+    public long finished;
+
+    /** Number of datasets created by the runs processed so far */
+    public long datasets;
+
+    @Column(columnDefinition = "timestamp")
+    public Instant lastStart;
+
+    public Integer lastRunId;
+
+    @NotNull
+    public Instant started;
+
+    /** Last time the node running the job reported progress */
+    @NotNull
+    public Instant updated;
+
+    public Instant completed;
+
+    public String error;
+
+    public enum Status {
+        RUNNING,
+        DONE,
+        FAILED
+    }
+}
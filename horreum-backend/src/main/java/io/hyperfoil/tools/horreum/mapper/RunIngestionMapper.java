@@ -0,0 +1,31 @@
+package io.hyperfoil.tools.horreum.mapper;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import io.hyperfoil.tools.horreum.api.services.RunService;
+import io.hyperfoil.tools.horreum.entity.data.RunIngestionDAO;
+
+public class RunIngestionMapper {
+
+    public static RunService.RunIngestion from(RunIngestionDAO ri) {
+        RunService.RunIngestion dto = new RunService.RunIngestion();
+        dto.id = ri.id;
+        dto.testId = ri.testId;
+        dto.runId = ri.runId;
+        dto.status = ri.status;
+        dto.error = ri.error;
+        dto.received = ri.received;
+        dto.persist = millis(ri.received, ri.persisted);
+        dto.queue = millis(ri.persisted, ri.transformStarted);
+        dto.transform = millis(ri.transformStarted, ri.transformed);
+        dto.labels = millis(ri.transformed, ri.labelsCalculated);
+        dto.validation = millis(ri.labelsCalculated, ri.validated);
+        dto.total = millis(ri.received, ri.finished);
+        return dto;
+    }
+
+    private static Long millis(Instant from, Instant to) {
+        return from == null || to == null ? null : Duration.between(from, to).toMillis();
+    }
+}
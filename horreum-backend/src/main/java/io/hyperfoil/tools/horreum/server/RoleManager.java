@@ -6,8 +6,10 @@ import java.util.List;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
+import jakarta.transaction.Status;
 import jakarta.transaction.SystemException;
 import jakarta.transaction.TransactionManager;
+import jakarta.transaction.TransactionSynchronizationRegistry;
 
 import io.hyperfoil.tools.horreum.svc.Roles;
 import io.quarkus.logging.Log;
@@ -19,6 +21,8 @@ public class RoleManager {
     static final String SET_ROLES = "SELECT current_setting('horreum.userroles', true), set_config('horreum.userroles', ?, true)";
     static final CloseMe NOOP = () -> {
     };
+    // key of the transaction resource holding the roles set on the current transaction
+    private static final Object CURRENT_ROLES = RoleManager.class.getName() + ".currentRoles";
 
     @Inject
     EntityManager em;
@@ -26,6 +30,9 @@ public class RoleManager {
     @Inject
     TransactionManager txManager;
 
+    @Inject
+    TransactionSynchronizationRegistry txRegistry;
+
     String setRoles(Iterable<String> roles) {
         return setRoles(String.join(",", roles));
     }
@@ -34,7 +41,15 @@ public class RoleManager {
         if (roles == null || roles.isEmpty() || Roles.HORREUM_SYSTEM.equals(roles)) {
             return "";
         }
+        // nested invocations mostly set the same roles, skip the round trip to the database
+        boolean inTransaction = txRegistry.getTransactionStatus() == Status.STATUS_ACTIVE;
+        if (inTransaction && roles.equals(txRegistry.getResource(CURRENT_ROLES))) {
+            return roles;
+        }
         Object[] row = (Object[]) em.createNativeQuery(SET_ROLES).setParameter(1, roles).getSingleResult();
+        if (inTransaction) {
+            txRegistry.putResource(CURRENT_ROLES, roles);
+        }
 
         if (Log.isDebugEnabled()) { // enabe with: `quarkus.log.category."io.hyperfoil.tools.horreum.server.RoleManager".level=DEBUG`
             try {
@@ -16,14 +16,20 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.annotation.security.PermitAll;
 import jakarta.annotation.security.RolesAllowed;
 import jakarta.enterprise.context.ApplicationScoped;
@@ -38,6 +44,7 @@ import jakarta.transaction.Transactional;
 import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.core.Response;
 
+import org.apache.commons.math3.stat.descriptive.SummaryStatistics;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.hibernate.Hibernate;
 import org.hibernate.Session;
@@ -176,14 +183,13 @@ public class AlertingServiceImpl implements AlertingService {
             EXTRACT(EPOCH FROM timestamp) * 1000 AS timestamp
          FROM datapoint dp
          LEFT JOIN fingerprint fp ON fp.dataset_id = dp.dataset_id
-         WHERE
-            ((fp.fingerprint IS NULL AND (?1)::jsonb IS NULL) OR json_equals(fp.fingerprint, (?1)::jsonb))
-            AND variable_id = ANY(?2)
+         WHERE variable_id = ANY(?1) AND %s
          ORDER BY variable_id, timestamp DESC
          """;
    //@formatter:on
     private static final Instant LONG_TIME_AGO = Instant.ofEpochSecond(0);
     private static final Instant VERY_DISTANT_FUTURE = Instant.parse("2666-06-06T06:06:06.00Z");
+    private static final int DATAPOINT_BATCH_SIZE = 50;
 
     @Inject
     TestServiceImpl testService;
@@ -200,6 +206,12 @@ public class AlertingServiceImpl implements AlertingService {
     @ConfigProperty(name = "horreum.alerting.updateLabel.retries", defaultValue = "5")
     Integer labelCalcRetries;
 
+    @ConfigProperty(name = "horreum.alerting.recalculation.parallelism", defaultValue = "4")
+    int recalculationParallelism;
+
+    @ConfigProperty(name = "horreum.alerting.recalculation.deferred-detection", defaultValue = "true")
+    boolean deferredDetection;
+
     @Inject
     TransactionManager tm;
 
@@ -230,15 +242,38 @@ public class AlertingServiceImpl implements AlertingService {
     // at the timestamp.
     private final ConcurrentMap<VarAndFingerprint, UpTo> validUpTo = new ConcurrentHashMap<>();
 
+    // State of incremental change detection, valid only when it matches validUpTo. It is rebuilt from
+    // the full series after reboot or whenever datapoints or changes are modified out of order.
+    private final ConcurrentMap<VarAndFingerprint, DetectionState> detectionStates = new ConcurrentHashMap<>();
+
+    private ExecutorService recalculationExecutor;
+
     static {
         System.setProperty("polyglot.engine.WarnInterpreterOnly", "false");
     }
 
+    @PostConstruct
+    void init() {
+        AtomicInteger counter = new AtomicInteger();
+        recalculationExecutor = Executors.newFixedThreadPool(Math.max(1, recalculationParallelism), runnable -> {
+            Thread thread = new Thread(runnable, "horreum-recalculation-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        recalculationExecutor.shutdownNow();
+    }
+
     @WithRoles(extras = Roles.HORREUM_SYSTEM)
     @Transactional
     public void onLabelsUpdated(Dataset.LabelsUpdatedEvent event) {
         boolean sendNotifications;
-        DataPointDAO.delete("dataset.id", event.datasetId);
+        if (DataPointDAO.delete("dataset.id", event.datasetId) > 0) {
+            invalidateDetectionStates(event.testId);
+        }
         DatasetDAO dataset = DatasetDAO.findById(event.datasetId);
         if (dataset == null) {
             // The run is not committed yet?
@@ -381,6 +416,7 @@ public class AlertingServiceImpl implements AlertingService {
             } else
                 em.merge(variable);
         }
+        invalidateDetectionStates(test.id);
     }
 
     void importMissingDataRules(TestExport test) {
@@ -508,7 +544,7 @@ public class AlertingServiceImpl implements AlertingService {
                         logCalculationMessage(dataset, PersistentLogDAO.ERROR,
                                 "Cannot turn %s into a floating-point value for variable %s", data.value, data.fullName());
                         if (recalculation != null) {
-                            recalculation.errors++;
+                            recalculation.errors.incrementAndGet();
                         }
                         missingValueVariables.add(data.fullName());
                     } else {
@@ -520,6 +556,9 @@ public class AlertingServiceImpl implements AlertingService {
                         code),
                 output -> logCalculationMessage(dataset, PersistentLogDAO.DEBUG,
                         "Output while calculating variable: <pre>%s</pre>", output));
+        if (recalculation != null && recalculation.deferDetection) {
+            flushDataPoints(dataset, notify, recalculation);
+        }
         if (!missingValueVariables.isEmpty()) {
             MissingValuesEvent event = new MissingValuesEvent(dataset.getInfo(), missingValueVariables, notify);
             if (mediator.testMode())
@@ -545,12 +584,17 @@ public class AlertingServiceImpl implements AlertingService {
             dataPoint.dataset = dataset;
             dataPoint.timestamp = timestamp;
             dataPoint.value = value;
-            dataPoint.persistAndFlush();
+            if (!recalculation.deferDetection) {
+                dataPoint.persistAndFlush();
+            }
         } else {
             dataPoint = DataPointDAO.find("dataset = :dataset and variable = :variable",
                     Parameters.with("dataset", dataset).and("variable", variableDAO)).firstResult();
         }
-        if (dataPoint != null) {
+        if (dataPoint != null && recalculation.deferDetection) {
+            // inserted with the other datapoints of the dataset, see flushDataPoints
+            recalculation.pendingDataPoints.add(dataPoint);
+        } else if (dataPoint != null) {
             DataPoint.Event event = new DataPoint.Event(DataPointMapper.from(dataPoint), dataset.testid, notify);
             onNewDataPoint(event, recalculation.lastDatapoint); //Test failure if we do not start a new thread and new tx
 
@@ -563,6 +607,54 @@ public class AlertingServiceImpl implements AlertingService {
         }
     }
 
+    /*
+     * With deferred detection the datapoints of the dataset are inserted together and not analyzed one by one,
+     * only the start of each series is recorded and the series is analyzed when the whole recalculation is done,
+     * see runDeferredChangeDetection.
+     */
+    private void flushDataPoints(DatasetDAO dataset, boolean notify, Recalculation recalculation) {
+        List<DataPointDAO> dataPoints = recalculation.pendingDataPoints;
+        if (dataPoints.isEmpty()) {
+            return;
+        }
+        try {
+            if (recalculation.clearDatapoints) {
+                insertDataPoints(dataPoints);
+            }
+            JsonNode fingerprint = FingerprintDAO.<FingerprintDAO> findByIdOptional(dataset.id)
+                    .map(fp -> fp.fingerprint).orElse(null);
+            for (DataPointDAO dataPoint : dataPoints) {
+                VarAndFingerprint key = new VarAndFingerprint(dataPoint.variable.id, fingerprint);
+                invalidateUpTo(key, dataPoint.timestamp);
+                recalculation.seriesStart.merge(key, dataPoint.timestamp, (t1, t2) -> t1.isBefore(t2) ? t1 : t2);
+                if (mediator.testMode()) {
+                    DataPoint.Event event = new DataPoint.Event(DataPointMapper.from(dataPoint), dataset.testid, notify);
+                    Util.registerTxSynchronization(tm,
+                            txStatus -> mediator.publishEvent(AsyncEventChannels.DATAPOINT_NEW, dataset.testid, event));
+                }
+            }
+        } finally {
+            dataPoints.clear();
+        }
+    }
+
+    /*
+     * Datapoints are written in JDBC batches rather than flushing the entities one by one; the identifiers
+     * are still assigned by the id generator of DataPointDAO.
+     */
+    private void insertDataPoints(List<DataPointDAO> dataPoints) {
+        Integer batchSize = session.getJdbcBatchSize();
+        session.setJdbcBatchSize(DATAPOINT_BATCH_SIZE);
+        try {
+            for (DataPointDAO dataPoint : dataPoints) {
+                session.persist(dataPoint);
+            }
+            session.flush();
+        } finally {
+            session.setJdbcBatchSize(batchSize);
+        }
+    }
+
     private void logCalculationMessage(DatasetDAO dataSet, int level, String format, Object... args) {
         logCalculationMessage(dataSet.testid, dataSet.id, level, format, args);
     }
@@ -608,13 +700,7 @@ public class AlertingServiceImpl implements AlertingService {
                 VarAndFingerprint key = new VarAndFingerprint(variable.id, fingerprint);
                 log.debugf("Invalidating variable %d FP %s timestamp %s, current value is %s", variable.id, fingerprint,
                         dataPoint.timestamp, validUpTo.get(key));
-                validUpTo.compute(key, (ignored, current) -> {
-                    if (current == null || !dataPoint.timestamp.isAfter(current.timestamp)) {
-                        return new UpTo(dataPoint.timestamp, false);
-                    } else {
-                        return current;
-                    }
-                });
+                invalidateUpTo(key, dataPoint.timestamp);
                 runChangeDetection(VariableDAO.findById(variable.id), fingerprint, event.notify, true, lastDatapoint);
             } else {
                 log.warnf("Could not process new datapoint for dataset %d at %s, could not find variable by id %d ",
@@ -634,66 +720,99 @@ public class AlertingServiceImpl implements AlertingService {
 
     private void runChangeDetection(VariableDAO variable, JsonNode fingerprint, boolean notify, boolean expectExists,
             boolean lastDatapoint) {
-        UpTo valid = validUpTo.get(new VarAndFingerprint(variable.id, fingerprint));
-        Instant nextTimestamp = session.createNativeQuery(
-                "SELECT MIN(timestamp) FROM datapoint dp LEFT JOIN fingerprint fp ON dp.dataset_id = fp.dataset_id " +
-                        "WHERE dp.variable_id = ?1 AND (timestamp > ?2 OR (timestamp = ?2 AND ?3)) AND json_equals(fp.fingerprint, ?4)",
-                Instant.class)
-                .setParameter(1, variable.id)
-                .setParameter(2, valid != null ? valid.timestamp : LONG_TIME_AGO, StandardBasicTypes.INSTANT)
-                .setParameter(3, valid == null || !valid.inclusive)
-                .setParameter(4, fingerprint, JsonBinaryType.INSTANCE)
-                .getResultStream().filter(Objects::nonNull).findFirst().orElse(null);
-        if (nextTimestamp == null) {
-            log.debugf("No further datapoints for change detection");
-            return;
+        VarAndFingerprint key = new VarAndFingerprint(variable.id, fingerprint);
+        UpTo valid = validUpTo.get(key);
+        DetectionState state = detectionStates.get(key);
+        List<ChangeDetectionDAO> detections = null;
+        int capacity = 0;
+        Instant nextTimestamp = null;
+        Instant changeTimestamp = LONG_TIME_AGO;
+        List<DataPointDAO> dataPoints = null;
+        SummaryStatistics older = new SummaryStatistics();
+        if (state != null && state.isValid(valid)) {
+            // Incremental analysis: a single query loads the next datapoint together with those the models look at,
+            // the older datapoints since last change are represented by the statistics kept in the state.
+            dataPoints = findNextDataPoints(variable, fingerprint, state.changeTimestamp, state.upTo,
+                    state.capacity + state.recentIds.size());
+            if (dataPoints.isEmpty()) {
+                log.debugf("No further datapoints for change detection");
+                return;
+            } else if (state.isPrecededBy(dataPoints)) {
+                detections = state.detections;
+                capacity = state.capacity;
+                nextTimestamp = dataPoints.get(0).timestamp;
+                changeTimestamp = state.changeTimestamp;
+                older = state.older.copy();
+                for (DataPointDAO dp : dataPoints.subList(Math.min(capacity, dataPoints.size()), dataPoints.size())) {
+                    if (state.recentIds.contains(dp.id)) {
+                        older.addValue(dp.value);
+                    }
+                }
+                dataPoints = dataPoints.subList(0, Math.min(capacity, dataPoints.size()));
+            } else {
+                log.debugf("Change detection state for variable %d, fingerprint %s is stale", variable.id, fingerprint);
+                dataPoints = null;
+            }
         }
-
-        // this should happen only after reboot, let's start with last change
-        if (valid != null) {
-            int numDeleted = session.createNativeQuery("DELETE FROM change cc WHERE cc.id IN (" +
-                    "SELECT id FROM change c LEFT JOIN fingerprint fp ON c.dataset_id = fp.dataset_id " +
-                    "WHERE NOT c.confirmed AND c.variable_id = ?1 AND (c.timestamp > ?2 OR (c.timestamp = ?2 AND ?3)) " +
-                    "AND json_equals(fp.fingerprint, ?4))", int.class)
+        if (dataPoints == null) {
+            var nextQuery = session.createNativeQuery(
+                    "SELECT MIN(timestamp) FROM datapoint dp LEFT JOIN fingerprint fp ON dp.dataset_id = fp.dataset_id " +
+                            "WHERE dp.variable_id = ?1 AND (timestamp > ?2 OR (timestamp = ?2 AND ?3)) AND " +
+                            Util.fingerprintCondition(fingerprint, 4),
+                    Instant.class)
                     .setParameter(1, variable.id)
-                    .setParameter(2, valid.timestamp, StandardBasicTypes.INSTANT)
-                    .setParameter(3, !valid.inclusive)
-                    .setParameter(4, fingerprint, JsonBinaryType.INSTANCE)
-                    .executeUpdate();
-            log.debugf("Deleted %d changes %s %s for variable %d, fingerprint %s", numDeleted, valid.inclusive ? ">" : ">=",
-                    valid.timestamp, variable.id, fingerprint);
-        }
-
-        var changeQuery = session
-                .createQuery("SELECT c FROM Change c LEFT JOIN Fingerprint fp ON c.dataset.id = fp.dataset.id " +
-                        "WHERE c.variable = ?1 AND (c.timestamp < ?2 OR (c.timestamp = ?2 AND ?3 = TRUE)) AND " +
-                        "TRUE = function('json_equals', fp.fingerprint, ?4) " +
-                        "ORDER by c.timestamp DESC", ChangeDAO.class);
-        changeQuery
-                .setParameter(1, variable)
-                .setParameter(2, valid != null ? valid.timestamp : VERY_DISTANT_FUTURE)
-                .setParameter(3, valid == null || valid.inclusive)
-                .setParameter(4, fingerprint, JsonBinaryType.INSTANCE);
-        ChangeDAO lastChange = changeQuery.setMaxResults(1).getResultStream().findFirst().orElse(null);
+                    .setParameter(2, valid != null ? valid.timestamp : LONG_TIME_AGO, StandardBasicTypes.INSTANT)
+                    .setParameter(3, valid == null || !valid.inclusive);
+            Util.setFingerprintParameters(nextQuery, fingerprint, 4);
+            nextTimestamp = nextQuery.getResultStream().filter(Objects::nonNull).findFirst().orElse(null);
+            if (nextTimestamp == null) {
+                log.debugf("No further datapoints for change detection");
+                return;
+            }
+            detections = ChangeDetectionDAO.<ChangeDetectionDAO> find("variable", variable).list();
+            capacity = detectionWindow(detections);
+
+            // this should happen only after reboot, let's start with last change
+            if (valid != null) {
+                var deleteQuery = session.createNativeQuery("DELETE FROM change cc WHERE cc.id IN (" +
+                        "SELECT id FROM change c LEFT JOIN fingerprint fp ON c.dataset_id = fp.dataset_id " +
+                        "WHERE NOT c.confirmed AND c.variable_id = ?1 AND (c.timestamp > ?2 OR (c.timestamp = ?2 AND ?3)) " +
+                        "AND " + Util.fingerprintCondition(fingerprint, 4) + ")", int.class)
+                        .setParameter(1, variable.id)
+                        .setParameter(2, valid.timestamp, StandardBasicTypes.INSTANT)
+                        .setParameter(3, !valid.inclusive);
+                Util.setFingerprintParameters(deleteQuery, fingerprint, 4);
+                int numDeleted = deleteQuery.executeUpdate();
+                log.debugf("Deleted %d changes %s %s for variable %d, fingerprint %s", numDeleted, valid.inclusive ? ">" : ">=",
+                        valid.timestamp, variable.id, fingerprint);
+            }
 
-        Instant changeTimestamp = LONG_TIME_AGO;
-        if (lastChange != null) {
-            log.debugf("Filtering DP between %s (change %d) and %s", lastChange.timestamp, lastChange.id, nextTimestamp);
-            changeTimestamp = lastChange.timestamp;
-        }
+            var changeQuery = session
+                    .createQuery("SELECT c FROM Change c LEFT JOIN Fingerprint fp ON c.dataset.id = fp.dataset.id " +
+                            "WHERE c.variable = ?1 AND (c.timestamp < ?2 OR (c.timestamp = ?2 AND ?3 = TRUE)) AND " +
+                            Util.fingerprintHqlCondition(fingerprint, 4) + " " +
+                            "ORDER by c.timestamp DESC", ChangeDAO.class);
+            changeQuery
+                    .setParameter(1, variable)
+                    .setParameter(2, valid != null ? valid.timestamp : VERY_DISTANT_FUTURE)
+                    .setParameter(3, valid == null || valid.inclusive);
+            Util.setFingerprintParameters(changeQuery, fingerprint, 4);
+            ChangeDAO lastChange = changeQuery.setMaxResults(1).getResultStream().findFirst().orElse(null);
+
+            if (lastChange != null) {
+                log.debugf("Filtering DP between %s (change %d) and %s", lastChange.timestamp, lastChange.id, nextTimestamp);
+                changeTimestamp = lastChange.timestamp;
+            }
 
-        List<DataPointDAO> dataPoints = session.createQuery(
-                "SELECT dp FROM DataPoint dp LEFT JOIN Fingerprint fp ON dp.dataset.id = fp.dataset.id " +
-                        "JOIN dp.dataset " + // ignore datapoints (that were not deleted yet) from deleted datasets
-                        "WHERE dp.variable = ?1 AND dp.timestamp BETWEEN ?2 AND ?3 " +
-                        "AND TRUE = function('json_equals', fp.fingerprint, ?4) " +
-                        "ORDER BY dp.timestamp DESC, dp.dataset.id DESC",
-                DataPointDAO.class)
-                .setParameter(1, variable)
-                .setParameter(2, changeTimestamp)
-                .setParameter(3, nextTimestamp)
-                .setParameter(4, fingerprint, JsonBinaryType.INSTANCE)
-                .getResultList();
+            dataPoints = findDataPoints(variable, fingerprint, changeTimestamp, nextTimestamp, Integer.MAX_VALUE);
+            if (dataPoints.size() > capacity) {
+                for (DataPointDAO dp : dataPoints.subList(capacity, dataPoints.size())) {
+                    older.addValue(dp.value);
+                }
+                dataPoints = dataPoints.subList(0, capacity);
+            }
+        }
+        AtomicReference<Instant> newChangeTimestamp = new AtomicReference<>();
         // Last datapoint is already in the list
         if (dataPoints.isEmpty()) {
             if (expectExists) {
@@ -701,7 +820,9 @@ public class AlertingServiceImpl implements AlertingService {
             }
         } else {
             int datasetId = dataPoints.get(0).getDatasetId();
-            for (ChangeDetectionDAO detection : ChangeDetectionDAO.<ChangeDetectionDAO> find("variable", variable).list()) {
+            List<DataPointDAO> series = dataPoints;
+            SummaryStatistics olderStats = older;
+            for (ChangeDetectionDAO detection : detections) {
                 ChangeDetectionModel model = modelResolver.getModel(ChangeDetectionModelType.fromString(detection.model));
                 if (model == null) {
                     logChangeDetectionMessage(variable.testId, datasetId, PersistentLogDAO.ERROR,
@@ -710,49 +831,286 @@ public class AlertingServiceImpl implements AlertingService {
                 }
                 //Only run bulk models on the last datapoint, otherwise run on every datapoint
                 if (model.getType() == ModelType.CONTINOUS || (model.getType() == ModelType.BULK && lastDatapoint)) {
-                    try {
-                        model.analyze(dataPoints, detection.config, change -> {
-                            logChangeDetectionMessage(variable.testId, datasetId, PersistentLogDAO.DEBUG,
-                                    "Change %s detected using datapoints %s", change, reversedAndLimited(dataPoints));
-                            DatasetDAO.Info info = session
-                                    .createNativeQuery(
-                                            "SELECT id, runid as \"runId\", ordinal, testid as \"testId\" FROM dataset WHERE id = ?1",
-                                            Tuple.class)
-                                    .setParameter(1, change.dataset.id)
-                                    .setTupleTransformer((tuples, aliases) -> {
-                                        DatasetDAO.Info i = new DatasetDAO.Info();
-                                        i.id = (int) tuples[0];
-                                        i.runId = (int) tuples[1];
-                                        i.ordinal = (int) tuples[2];
-                                        i.testId = (int) tuples[3];
-                                        return i;
-                                    }).getSingleResult();
-                            em.persist(change);
-                            Hibernate.initialize(change.dataset.run.id);
-                            String testName = TestDAO.<TestDAO> findByIdOptional(variable.testId).map(test -> test.name)
-                                    .orElse("<unknown>");
-                            Change.Event event = new Change.Event(ChangeMapper.from(change), testName,
-                                    DatasetMapper.fromInfo(info), notify);
-                            if (mediator.testMode())
-                                Util.registerTxSynchronization(tm, txStatus -> mediator
-                                        .publishEvent(AsyncEventChannels.CHANGE_NEW, change.dataset.testid, event));
-                            mediator.executeBlocking(() -> mediator.newChange(event));
-                        });
-                    } catch (ChangeDetectionException e) {
-                        new ChangeDetectionLogDAO(variable, fingerprint, PersistentLogDAO.ERROR, e.getLocalizedMessage())
-                                .persist();
-                        log.error("An error occurred while running change detection!", e);
-                    }
+                    analyze(variable, fingerprint, detection, model, series, olderStats, notify, newChangeTimestamp);
                 }
             }
         }
+        Instant upTo = nextTimestamp;
+        DetectionState newState = DetectionState.next(variable.testId, detections, capacity, upTo, changeTimestamp,
+                newChangeTimestamp.get(), dataPoints, older);
         Util.doAfterCommit(tm, () -> {
-            validateUpTo(variable, fingerprint, nextTimestamp);
+            validateUpTo(variable, fingerprint, upTo);
+            updateDetectionState(key, upTo, newState);
             //assume not last datapoint if we have found more
             messageBus.executeForTest(variable.testId, () -> tryRunChangeDetection(variable, fingerprint, notify, false));
         });
     }
 
+    // Runs the model on the datapoints since last change (newest first) and persists the changes it finds
+    private boolean analyze(VariableDAO variable, JsonNode fingerprint, ChangeDetectionDAO detection,
+            ChangeDetectionModel model, List<DataPointDAO> series, SummaryStatistics olderStats, boolean notify,
+            AtomicReference<Instant> newChangeTimestamp) {
+        int datasetId = series.get(0).getDatasetId();
+        try {
+            int window = Math.min(model.window(detection.config), series.size());
+            SummaryStatistics previous = olderStats.copy();
+            series.subList(window, series.size()).forEach(dp -> previous.addValue(dp.value));
+            model.analyze(series.subList(0, window), previous, detection.config, change -> {
+                logChangeDetectionMessage(variable.testId, datasetId, PersistentLogDAO.DEBUG,
+                        "Change %s detected using datapoints %s", change, reversedAndLimited(series));
+                DatasetDAO.Info info = session
+                        .createNativeQuery(
+                                "SELECT id, runid as \"runId\", ordinal, testid as \"testId\" FROM dataset WHERE id = ?1",
+                                Tuple.class)
+                        .setParameter(1, change.dataset.id)
+                        .setTupleTransformer((tuples, aliases) -> {
+                            DatasetDAO.Info i = new DatasetDAO.Info();
+                            i.id = (int) tuples[0];
+                            i.runId = (int) tuples[1];
+                            i.ordinal = (int) tuples[2];
+                            i.testId = (int) tuples[3];
+                            return i;
+                        }).getSingleResult();
+                em.persist(change);
+                newChangeTimestamp.accumulateAndGet(change.timestamp,
+                        (prev, ts) -> prev == null || ts.isAfter(prev) ? ts : prev);
+                Hibernate.initialize(change.dataset.run.id);
+                String testName = TestDAO.<TestDAO> findByIdOptional(variable.testId).map(test -> test.name)
+                        .orElse("<unknown>");
+                Change.Event event = new Change.Event(ChangeMapper.from(change), testName,
+                        DatasetMapper.fromInfo(info), notify);
+                if (mediator.testMode())
+                    Util.registerTxSynchronization(tm, txStatus -> mediator
+                            .publishEvent(AsyncEventChannels.CHANGE_NEW, change.dataset.testid, event));
+                mediator.executeBlocking(() -> mediator.newChange(event));
+            });
+            return true;
+        } catch (ChangeDetectionException e) {
+            new ChangeDetectionLogDAO(variable, fingerprint, PersistentLogDAO.ERROR, e.getLocalizedMessage())
+                    .persist();
+            log.error("An error occurred while running change detection!", e);
+            return false;
+        }
+    }
+
+    /*
+     * Change detection after a recalculation inserted the datapoints of the series starting at given timestamp.
+     * Rather than running the models after each datapoint, and loading the series since last change every time,
+     * the series is loaded once and replayed in memory: at each timestamp the continuous models see the same
+     * datapoints as in the incremental detection, therefore these find the same changes. Bulk models run once
+     * over the complete series.
+     */
+    @WithRoles(extras = Roles.HORREUM_SYSTEM)
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    void runDeferredChangeDetection(int variableId, JsonNode fingerprint, Instant from, boolean notify) {
+        VariableDAO variable = VariableDAO.findById(variableId);
+        if (variable == null) {
+            log.debugf("Variable %d was removed, skipping change detection", variableId);
+            return;
+        }
+        var deleteQuery = session.createNativeQuery("DELETE FROM change cc WHERE cc.id IN (" +
+                "SELECT id FROM change c LEFT JOIN fingerprint fp ON c.dataset_id = fp.dataset_id " +
+                "WHERE NOT c.confirmed AND c.variable_id = ?1 AND c.timestamp >= ?2 " +
+                "AND " + Util.fingerprintCondition(fingerprint, 3) + ")", int.class)
+                .setParameter(1, variable.id)
+                .setParameter(2, from, StandardBasicTypes.INSTANT);
+        Util.setFingerprintParameters(deleteQuery, fingerprint, 3);
+        int numDeleted = deleteQuery.executeUpdate();
+        log.debugf("Deleted %d changes >= %s for variable %d, fingerprint %s", numDeleted, from, variable.id, fingerprint);
+
+        var lastChangeQuery = session.createQuery("SELECT c.timestamp FROM Change c " +
+                "LEFT JOIN Fingerprint fp ON c.dataset.id = fp.dataset.id " +
+                "WHERE c.variable = ?1 AND c.timestamp < ?2 AND " + Util.fingerprintHqlCondition(fingerprint, 3) + " " +
+                "ORDER by c.timestamp DESC", Instant.class)
+                .setParameter(1, variable)
+                .setParameter(2, from);
+        Util.setFingerprintParameters(lastChangeQuery, fingerprint, 3);
+        Instant changeTimestamp = lastChangeQuery.setMaxResults(1).getResultStream().findFirst().orElse(LONG_TIME_AGO);
+        // confirmed changes are kept and restart the series as well
+        var confirmedQuery = session.createQuery("SELECT c.timestamp FROM Change c " +
+                "LEFT JOIN Fingerprint fp ON c.dataset.id = fp.dataset.id " +
+                "WHERE c.variable = ?1 AND c.timestamp >= ?2 AND " + Util.fingerprintHqlCondition(fingerprint, 3) + " " +
+                "ORDER by c.timestamp", Instant.class)
+                .setParameter(1, variable)
+                .setParameter(2, from);
+        Util.setFingerprintParameters(confirmedQuery, fingerprint, 3);
+        List<Instant> confirmedChanges = confirmedQuery.getResultList();
+
+        // oldest first
+        List<DataPointDAO> series = new ArrayList<>(
+                findDataPoints(variable, fingerprint, changeTimestamp, VERY_DISTANT_FUTURE, Integer.MAX_VALUE));
+        Collections.reverse(series);
+        if (series.isEmpty()) {
+            return;
+        }
+
+        List<ChangeDetectionDAO> detections = ChangeDetectionDAO.<ChangeDetectionDAO> find("variable", variable).list();
+        List<ChangeDetectionModel> models = new ArrayList<>(detections.size());
+        // Number of most recent datapoints the continuous models need to see
+        int capacity = 1;
+        for (ChangeDetectionDAO detection : detections) {
+            ChangeDetectionModel model = modelResolver.getModel(ChangeDetectionModelType.fromString(detection.model));
+            if (model == null) {
+                logChangeDetectionMessage(variable.testId, series.get(series.size() - 1).getDatasetId(),
+                        PersistentLogDAO.ERROR, "Cannot find change detection model %s", detection.model);
+            } else if (model.getType() == ModelType.CONTINOUS) {
+                try {
+                    capacity = Math.max(capacity, model.window(detection.config));
+                } catch (ChangeDetectionException e) {
+                    // the error is reported when running the analysis
+                    capacity = Integer.MAX_VALUE;
+                }
+            }
+            models.add(model);
+        }
+
+        int start = 0; // first datapoint since last change
+        int olderEnd = 0; // datapoints between start and olderEnd are summarized in statistics
+        SummaryStatistics older = new SummaryStatistics();
+        int nextConfirmed = 0;
+        AtomicReference<Instant> newChangeTimestamp = new AtomicReference<>();
+        for (int end = 0; end < series.size();) {
+            Instant timestamp = series.get(end).timestamp;
+            while (end < series.size() && series.get(end).timestamp.equals(timestamp)) {
+                ++end;
+            }
+            if (timestamp.isBefore(from)) {
+                continue;
+            }
+            while (nextConfirmed < confirmedChanges.size() && confirmedChanges.get(nextConfirmed).isBefore(timestamp)) {
+                changeTimestamp = later(changeTimestamp, confirmedChanges.get(nextConfirmed++));
+            }
+            if (newChangeTimestamp.get() != null) {
+                changeTimestamp = later(changeTimestamp, newChangeTimestamp.getAndSet(null));
+            }
+            if (series.get(start).timestamp.isBefore(changeTimestamp)) {
+                // the series restarts at the change
+                while (series.get(start).timestamp.isBefore(changeTimestamp)) {
+                    ++start;
+                }
+                olderEnd = start;
+                older = new SummaryStatistics();
+            }
+            boolean lastDatapoint = end == series.size();
+            List<DataPointDAO> recent;
+            SummaryStatistics olderStats;
+            if (lastDatapoint) {
+                recent = new ArrayList<>(series.subList(start, end));
+                olderStats = new SummaryStatistics();
+            } else {
+                int recentStart = Math.max(start, end - capacity);
+                while (olderEnd < recentStart) {
+                    older.addValue(series.get(olderEnd++).value);
+                }
+                recent = new ArrayList<>(series.subList(recentStart, end));
+                olderStats = older;
+            }
+            Collections.reverse(recent);
+            for (int i = 0; i < detections.size(); ++i) {
+                ChangeDetectionModel model = models.get(i);
+                //Only run bulk models on the last datapoint, otherwise run on every datapoint
+                if (model != null && (model.getType() == ModelType.CONTINOUS || lastDatapoint)
+                        && !analyze(variable, fingerprint, detections.get(i), model, recent, olderStats, notify,
+                                newChangeTimestamp)) {
+                    // do not report the same error for each datapoint
+                    models.set(i, null);
+                }
+            }
+        }
+        Instant upTo = series.get(series.size() - 1).timestamp;
+        VarAndFingerprint key = new VarAndFingerprint(variable.id, fingerprint);
+        Util.doAfterCommit(tm, () -> {
+            validateUpTo(variable, fingerprint, upTo);
+            detectionStates.remove(key);
+            // pick up datapoints added while the series was analyzed
+            messageBus.executeForTest(variable.testId, () -> tryRunChangeDetection(variable, fingerprint, notify, false));
+        });
+    }
+
+    private static Instant later(Instant t1, Instant t2) {
+        return t1.isAfter(t2) ? t1 : t2;
+    }
+
+    private List<DataPointDAO> findDataPoints(VariableDAO variable, JsonNode fingerprint, Instant from, Instant to,
+            int limit) {
+        var query = session.createQuery(
+                "SELECT dp FROM DataPoint dp LEFT JOIN Fingerprint fp ON dp.dataset.id = fp.dataset.id " +
+                        "JOIN dp.dataset " + // ignore datapoints (that were not deleted yet) from deleted datasets
+                        "WHERE dp.variable = ?1 AND dp.timestamp BETWEEN ?2 AND ?3 " +
+                        "AND " + Util.fingerprintHqlCondition(fingerprint, 4) + " " +
+                        "ORDER BY dp.timestamp DESC, dp.dataset.id DESC",
+                DataPointDAO.class)
+                .setParameter(1, variable)
+                .setParameter(2, from)
+                .setParameter(3, to)
+                .setMaxResults(limit);
+        Util.setFingerprintParameters(query, fingerprint, 4);
+        return query.getResultList();
+    }
+
+    // Datapoints since the timestamp up to the first datapoint after given timestamp (inclusive), newest first
+    private List<DataPointDAO> findNextDataPoints(VariableDAO variable, JsonNode fingerprint, Instant from, Instant after,
+            int limit) {
+        var query = session.createQuery(
+                "SELECT dp FROM DataPoint dp LEFT JOIN Fingerprint fp ON dp.dataset.id = fp.dataset.id " +
+                        "JOIN dp.dataset " + // ignore datapoints (that were not deleted yet) from deleted datasets
+                        "WHERE dp.variable = ?1 AND dp.timestamp >= ?2 AND dp.timestamp <= (" +
+                        "SELECT MIN(dp2.timestamp) FROM DataPoint dp2 " +
+                        "LEFT JOIN Fingerprint fp2 ON dp2.dataset.id = fp2.dataset.id " +
+                        "JOIN dp2.dataset WHERE dp2.variable = ?1 AND dp2.timestamp > ?3 " +
+                        "AND " + Util.fingerprintHqlCondition("fp2", fingerprint, 4) + ") " +
+                        "AND " + Util.fingerprintHqlCondition(fingerprint, 4) + " " +
+                        "ORDER BY dp.timestamp DESC, dp.dataset.id DESC",
+                DataPointDAO.class)
+                .setParameter(1, variable)
+                .setParameter(2, from)
+                .setParameter(3, after)
+                .setMaxResults(limit);
+        Util.setFingerprintParameters(query, fingerprint, 4);
+        return query.getResultList();
+    }
+
+    // Number of most recent datapoints any of the models needs to see, the rest can be summarized in statistics
+    private int detectionWindow(List<ChangeDetectionDAO> detections) {
+        int window = 1;
+        for (ChangeDetectionDAO detection : detections) {
+            try {
+                ChangeDetectionModel model = modelResolver.getModel(ChangeDetectionModelType.fromString(detection.model));
+                if (model != null) {
+                    window = Math.max(window, model.window(detection.config));
+                }
+            } catch (ChangeDetectionException | IllegalStateException e) {
+                // the error is reported when running the analysis on the whole series
+                return Integer.MAX_VALUE;
+            }
+        }
+        return window;
+    }
+
+    private void updateDetectionState(VarAndFingerprint key, Instant timestamp, DetectionState state) {
+        UpTo upTo = validUpTo.get(key);
+        if (state != null && upTo != null && upTo.inclusive && upTo.timestamp.equals(timestamp)) {
+            detectionStates.put(key, state);
+        } else {
+            detectionStates.remove(key);
+        }
+    }
+
+    private void invalidateDetectionStates(int testId) {
+        detectionStates.values().removeIf(state -> state.testId == testId);
+    }
+
+    private void invalidateUpTo(VarAndFingerprint key, Instant timestamp) {
+        validUpTo.compute(key, (ignored, current) -> {
+            if (current == null || !timestamp.isAfter(current.timestamp)) {
+                detectionStates.remove(key);
+                return new UpTo(timestamp, false);
+            } else {
+                return current;
+            }
+        });
+    }
+
     private void validateUpTo(VariableDAO variable, JsonNode fingerprint, Instant timestamp) {
         validUpTo.compute(new VarAndFingerprint(variable.id, fingerprint), (ignored, current) -> {
             log.debugf("Attempt %s, valid up to %s, ", timestamp, current);
@@ -836,12 +1194,15 @@ public class AlertingServiceImpl implements AlertingService {
                 }, PanacheEntityBase::delete);
                 current.persist();
             }, current -> {
+                detectionStates.keySet().removeIf(key -> key.varId == current.id);
                 DataPointDAO.delete("variable.id", current.id);
                 ChangeDAO.delete("variable.id", current.id);
                 current.delete();
             });
 
             em.flush();
+            // window of the change detection models might have changed
+            invalidateDetectionStates(testId);
         } catch (PersistenceException e) {
             log.error("Failed to update variables", e);
             throw new WebApplicationException(e, Response.serverError().build());
@@ -952,16 +1313,15 @@ public class AlertingServiceImpl implements AlertingService {
             List<ChangeDAO> changes = ChangeDAO.list("variable", v);
             return changes.stream().map(ChangeMapper::from).collect(Collectors.toList());
         }
-        List<ChangeDAO> changes = session.createNativeQuery("""
+        var query = session.createNativeQuery("""
                 SELECT change.*
                 FROM change
                 JOIN fingerprint fp ON change.dataset_id = fp.dataset_id
                 WHERE variable_id = ?1
-                   AND json_equals(fp.fingerprint, ?2)
-                """, ChangeDAO.class)
-                .setParameter(1, varId)
-                .setParameter(2, fp, JsonBinaryType.INSTANCE)
-                .getResultList();
+                   AND\s""" + Util.fingerprintCondition(fp, 2), ChangeDAO.class)
+                .setParameter(1, varId);
+        Util.setFingerprintParameters(query, fp, 2);
+        List<ChangeDAO> changes = query.getResultList();
         return changes.stream().map(ChangeMapper::from).collect(Collectors.toList());
     }
 
@@ -992,9 +1352,14 @@ public class AlertingServiceImpl implements AlertingService {
     @RolesAllowed(Roles.TESTER)
     @Transactional
     public void deleteChange(int id) {
-        if (!ChangeDAO.deleteById(id)) {
+        ChangeDAO change = ChangeDAO.findById(id);
+        if (change == null) {
             throw ServiceException.notFound("Change not found");
         }
+        int varId = change.variable.id;
+        change.delete();
+        // the series continues from a previous change now
+        detectionStates.keySet().removeIf(key -> key.varId == varId);
     }
 
     @Override
@@ -1028,6 +1393,7 @@ public class AlertingServiceImpl implements AlertingService {
             previous = recalcProgress.putIfAbsent(testId, recalculation);
         }
         recalculation.clearDatapoints = clearDatapoints;
+        recalculation.deferDetection = deferredDetection;
 
         try {
             log.debugf("Updating fingerprints for test %d", testId);
@@ -1038,25 +1404,22 @@ public class AlertingServiceImpl implements AlertingService {
             //TODO:: determine if we should clear datapoints
             recalculation.datasets = getDatasetsForRecalculation(testId, from, to, clearDatapoints);
             int numRuns = recalculation.datasets.size();
-            log.debugf("Starting recalculation of test %d, %d runs", testId, numRuns);
-            int completed = 0;
+            // Datasets with different fingerprints form independent series, these are recalculated in parallel.
+            // Within a series the datasets are processed in order of their start.
+            Map<String, List<Integer>> series = new LinkedHashMap<>();
+            recalculation.datasets.forEach((datasetId, fingerprint) -> series
+                    .computeIfAbsent(fingerprint, fp -> new ArrayList<>()).add(datasetId));
+            recalculation.partitions = series.entrySet().stream()
+                    .map(entry -> new RecalculationPartition(entry.getKey(), entry.getValue())).toList();
+            log.debugf("Starting recalculation of test %d, %d runs in %d series", testId, numRuns, series.size());
             recalcProgress.put(testId, recalculation);
-            //TODO:: this could be more streamlined
-            Map<String, Integer> lastDatapoints = new HashMap<>();
-            recalculation.datasets.entrySet().forEach(entry -> lastDatapoints.put(entry.getValue(), entry.getKey()));
-            Set<Integer> lastDatapointSet = lastDatapoints.values().stream().collect(Collectors.toSet());
-            for (int datasetId : recalculation.datasets.keySet()) {
-                // Since the evaluation might take few moments and we're dealing potentially with thousands
-                // of runs we'll process each run in a separate transaction
-                if (lastDatapointSet.contains(datasetId)) {
-                    recalculation.lastDatapoint = true;
-                } else {
-                    recalculation.lastDatapoint = false;
-                }
-                recalculateForDataset(datasetId, notify, debug, recalculation);
-                recalculation.progress = 100 * ++completed / numRuns;
-            }
-
+            AtomicInteger completed = new AtomicInteger();
+            CompletableFuture<?>[] futures = recalculation.partitions.stream()
+                    .map(partition -> CompletableFuture.runAsync(Util.wrapForBlockingExecution(
+                            () -> recalculatePartition(partition, notify, debug, recalculation, completed, numRuns)),
+                            recalculationExecutor))
+                    .toArray(CompletableFuture[]::new);
+            CompletableFuture.allOf(futures).join();
         } catch (Throwable t) {
             log.error("Recalculation failed", t);
             throw t;
@@ -1087,6 +1450,7 @@ public class AlertingServiceImpl implements AlertingService {
         if (clearDatapoints) {
             DataPointDAO.delete("dataset.id in ?1", datasetIDs);
         }
+        invalidateDetectionStates(testId);
         ChangeDAO.delete("dataset.id in ?1 AND confirmed = false", datasetIDs);
         if (!ids.isEmpty()) {
             // Due to RLS policies we cannot add a record to a dataset we don't own
@@ -1096,6 +1460,25 @@ public class AlertingServiceImpl implements AlertingService {
         return ids;
     }
 
+    private void recalculatePartition(RecalculationPartition partition, boolean notify, boolean debug,
+            Recalculation recalculation, AtomicInteger completed, int numRuns) {
+        Recalculation seriesRecalculation = new Recalculation(recalculation);
+        try {
+            for (int i = 0; i < partition.datasetIds.size(); ++i) {
+                // Since the evaluation might take few moments and we're dealing potentially with thousands
+                // of runs we'll process each run in a separate transaction
+                seriesRecalculation.lastDatapoint = i == partition.datasetIds.size() - 1;
+                recalculateForDataset(partition.datasetIds.get(i), notify, debug, seriesRecalculation);
+                partition.completed.incrementAndGet();
+                recalculation.progress = 100 * completed.incrementAndGet() / numRuns;
+            }
+            seriesRecalculation.seriesStart.forEach(
+                    (key, from) -> runDeferredChangeDetection(key.varId, key.fingerprint, from, notify));
+        } finally {
+            partition.done = true;
+        }
+    }
+
     @WithRoles(extras = Roles.HORREUM_SYSTEM)
     @Transactional(Transactional.TxType.REQUIRES_NEW)
     void recalculateForDataset(Integer datasetId, boolean notify, boolean debug, Recalculation recalculation) {
@@ -1116,9 +1499,17 @@ public class AlertingServiceImpl implements AlertingService {
         status.done = recalculation == null || recalculation.done;
         if (recalculation != null) {
             status.totalDatasets = recalculation.datasets.size();
-            status.errors = recalculation.errors;
+            status.errors = recalculation.errors.get();
             status.datasetsWithoutValue = recalculation.datasetsWithoutValue.values().stream().map(DatasetMapper::fromInfo)
                     .collect(Collectors.toList());
+            for (RecalculationPartition partition : recalculation.partitions) {
+                DatapointRecalculationPartition partitionStatus = new DatapointRecalculationPartition();
+                partitionStatus.fingerprint = partition.fingerprint;
+                partitionStatus.totalDatasets = partition.datasetIds.size();
+                partitionStatus.completedDatasets = partition.completed.get();
+                partitionStatus.done = partition.done;
+                status.partitions.add(partitionStatus);
+            }
         }
         return status;
     }
@@ -1153,14 +1544,15 @@ public class AlertingServiceImpl implements AlertingService {
     @WithRoles
     @PermitAll
     public List<DatapointLastTimestamp> findLastDatapoints(LastDatapointsParams params) {
-        //noinspection unchecked
-        return em.createNativeQuery(FIND_LAST_DATAPOINTS)
+        JsonNode fingerprint = Util.parseFingerprint(params.fingerprint);
+        NativeQuery query = em.createNativeQuery(FIND_LAST_DATAPOINTS.formatted(Util.fingerprintCondition(fingerprint, 2)))
                 .unwrap(NativeQuery.class)
-                .setParameter(1, Util.parseFingerprint(params.fingerprint), JsonBinaryType.INSTANCE)
-                .setParameter(2, params.variables, IntArrayType.INSTANCE)
-                .setTupleTransformer((tuples, aliases) -> {
-                    return new DatapointLastTimestamp((int) tuples[0], (Number) tuples[1]);
-                }).getResultList();
+                .setParameter(1, params.variables, IntArrayType.INSTANCE);
+        Util.setFingerprintParameters(query, fingerprint, 2);
+        //noinspection unchecked
+        return query.setTupleTransformer((tuples, aliases) -> {
+            return new DatapointLastTimestamp((int) tuples[0], (Number) tuples[1]);
+        }).getResultList();
     }
 
     @Override
@@ -1203,6 +1595,7 @@ public class AlertingServiceImpl implements AlertingService {
         test.fingerprintFilter = "";
         test.fingerprintFilter = update.fingerprintFilter;
         test.persistAndFlush();
+        invalidateDetectionStates(testId);
     }
 
     private ArrayNode toJsonArray(List<String> labels) {
@@ -1354,16 +1747,48 @@ public class AlertingServiceImpl implements AlertingService {
         }
     }
 
+    @WithRoles(extras = Roles.HORREUM_SYSTEM)
+    @Transactional
+    void onDatasetsDeleted(List<Integer> datasetIds) {
+        log.debugf("Removing changes for datasets %s", datasetIds);
+        int[] ids = datasetIds.stream().mapToInt(Integer::intValue).toArray();
+        Set<Integer> variableIds = variablesOfDatasets(ids);
+        long deleted = session.createNativeQuery("DELETE FROM change WHERE dataset_id = ANY(?1) AND NOT confirmed", int.class)
+                .setParameter(1, ids, IntArrayType.INSTANCE).executeUpdate();
+        deleted += session.createNativeQuery("DELETE FROM datapoint WHERE dataset_id = ANY(?1)", int.class)
+                .setParameter(1, ids, IntArrayType.INSTANCE).executeUpdate();
+        if (deleted > 0) {
+            detectionStates.keySet().removeIf(key -> variableIds.contains(key.varId));
+        }
+        //Need to make sure we delete MissingDataRuleResults when datasets are removed
+        session.createNativeQuery("DELETE FROM missingdata_ruleresult WHERE dataset_id = ANY(?1)", int.class)
+                .setParameter(1, ids, IntArrayType.INSTANCE).executeUpdate();
+    }
+
     @WithRoles(extras = Roles.HORREUM_SYSTEM)
     @Transactional
     void onDatasetDeleted(int datasetId) {
         log.debugf("Removing changes for dataset %d", datasetId);
-        ChangeDAO.delete("dataset.id = ?1 AND confirmed = false", datasetId);
-        DataPointDAO.delete("dataset.id", datasetId);
+        Set<Integer> variableIds = variablesOfDatasets(new int[] { datasetId });
+        long deleted = ChangeDAO.delete("dataset.id = ?1 AND confirmed = false", datasetId);
+        deleted += DataPointDAO.delete("dataset.id", datasetId);
+        if (deleted > 0) {
+            detectionStates.keySet().removeIf(key -> variableIds.contains(key.varId));
+        }
         //Need to make sure we delete MissingDataRuleResults when datasets are removed
         MissingDataRuleResultDAO.deleteForDataset(datasetId);
     }
 
+    // variables with datapoints or unconfirmed changes in these datasets, their series change when the datasets go away
+    private Set<Integer> variablesOfDatasets(int[] datasetIds) {
+        List<Integer> variableIds = session.createNativeQuery(
+                "SELECT variable_id FROM datapoint WHERE dataset_id = ANY(?1) " +
+                        "UNION SELECT variable_id FROM change WHERE dataset_id = ANY(?1) AND NOT confirmed",
+                Integer.class)
+                .setParameter(1, datasetIds, IntArrayType.INSTANCE).getResultList();
+        return new HashSet<>(variableIds);
+    }
+
     @WithRoles(extras = Roles.HORREUM_SYSTEM)
     @Transactional
     void onTestDeleted(int testId) {
@@ -1375,6 +1800,7 @@ public class AlertingServiceImpl implements AlertingService {
         }
         MissingDataRuleDAO.delete("test.id", testId);
         em.flush();
+        invalidateDetectionStates(testId);
     }
 
     @Transactional
@@ -1400,14 +1826,46 @@ public class AlertingServiceImpl implements AlertingService {
     // a method in AlertingServiceImpl the interceptors would not be invoked.
     public static class Recalculation {
         Map<Integer, String> datasets = Collections.emptyMap();
-        int progress;
-        boolean done;
-        public int errors;
+        List<RecalculationPartition> partitions = Collections.emptyList();
+        volatile int progress;
+        volatile boolean done;
+        public final AtomicInteger errors;
 
         boolean lastDatapoint;
         boolean clearDatapoints;
+        // change detection runs once the whole series is recalculated
+        boolean deferDetection;
+
+        final Map<Integer, DatasetDAO.Info> datasetsWithoutValue;
+        // datapoints of the current dataset that are not inserted yet
+        final List<DataPointDAO> pendingDataPoints = new ArrayList<>();
+        // earliest recalculated datapoint of each series
+        final Map<VarAndFingerprint, Instant> seriesStart = new HashMap<>();
+
+        public Recalculation() {
+            errors = new AtomicInteger();
+            datasetsWithoutValue = new ConcurrentHashMap<>();
+        }
 
-        Map<Integer, DatasetDAO.Info> datasetsWithoutValue = new HashMap<>();
+        // Recalculation of a single series, errors and datasets without value are reported to the whole recalculation
+        Recalculation(Recalculation parent) {
+            errors = parent.errors;
+            datasetsWithoutValue = parent.datasetsWithoutValue;
+            clearDatapoints = parent.clearDatapoints;
+            deferDetection = parent.deferDetection;
+        }
+    }
+
+    static final class RecalculationPartition {
+        final String fingerprint;
+        final List<Integer> datasetIds;
+        final AtomicInteger completed = new AtomicInteger();
+        volatile boolean done;
+
+        RecalculationPartition(String fingerprint, List<Integer> datasetIds) {
+            this.fingerprint = fingerprint;
+            this.datasetIds = datasetIds;
+        }
     }
 
     static final class VarAndFingerprint {
@@ -1435,6 +1893,61 @@ public class AlertingServiceImpl implements AlertingService {
         }
     }
 
+    private static class DetectionState {
+        final int testId;
+        // change detection settings of the variable, the state is invalidated when these are modified
+        final List<ChangeDetectionDAO> detections;
+        final int capacity;
+        final Instant upTo;
+        final Instant changeTimestamp;
+        // IDs of the most recent datapoints since last change, newest first
+        final List<Integer> recentIds;
+        // statistics of datapoints since last change that precede the most recent ones
+        final SummaryStatistics older;
+
+        private DetectionState(int testId, List<ChangeDetectionDAO> detections, int capacity, Instant upTo,
+                Instant changeTimestamp, List<Integer> recentIds, SummaryStatistics older) {
+            this.testId = testId;
+            this.detections = detections;
+            this.capacity = capacity;
+            this.upTo = upTo;
+            this.changeTimestamp = changeTimestamp;
+            this.recentIds = recentIds;
+            this.older = older;
+        }
+
+        static DetectionState next(int testId, List<ChangeDetectionDAO> detections, int capacity, Instant upTo,
+                Instant changeTimestamp, Instant newChangeTimestamp, List<DataPointDAO> dataPoints, SummaryStatistics older) {
+            if (capacity == Integer.MAX_VALUE || dataPoints.isEmpty()) {
+                return null;
+            }
+            if (newChangeTimestamp == null || !newChangeTimestamp.isAfter(changeTimestamp)) {
+                return new DetectionState(testId, detections, capacity, upTo, changeTimestamp,
+                        dataPoints.stream().map(dp -> dp.id).toList(), older);
+            }
+            // the series restarts at the new change
+            List<Integer> recentIds = dataPoints.stream().takeWhile(dp -> !dp.timestamp.isBefore(newChangeTimestamp))
+                    .map(dp -> dp.id).toList();
+            if (recentIds.size() == dataPoints.size() && older.getN() > 0) {
+                // some datapoints with the same timestamp as the change were summarized, we need to rebuild the state
+                return null;
+            }
+            return new DetectionState(testId, detections, capacity, upTo, newChangeTimestamp, recentIds,
+                    new SummaryStatistics());
+        }
+
+        boolean isValid(UpTo valid) {
+            return valid != null && valid.inclusive && upTo.equals(valid.timestamp);
+        }
+
+        // Datapoints known at the time the state was created must be intact
+        boolean isPrecededBy(List<DataPointDAO> dataPoints) {
+            List<Integer> known = dataPoints.stream().filter(dp -> !dp.timestamp.isAfter(upTo)).limit(recentIds.size())
+                    .map(dp -> dp.id).toList();
+            return known.equals(recentIds);
+        }
+    }
+
     private static class UpTo {
         final Instant timestamp;
         final boolean inclusive;
@@ -107,7 +107,8 @@ public class ChangesServiceImpl implements ChangesService {
             sql.append(") SELECT dp.* FROM dp ");
             if (fingerprint != null) {
                 sql.append(
-                        "LEFT JOIN fingerprint fp ON fp.dataset_id = dp.dataset_id WHERE json_equals(fp.fingerprint, (?4)::jsonb) ");
+                        "LEFT JOIN fingerprint fp ON fp.dataset_id = dp.dataset_id WHERE "
+                                + Util.fingerprintCondition(fingerprint, 4) + " ");
             }
             sql.append("ORDER BY timestamp ASC");
             NativeQuery<DataPointDAO> nativeQuery = em.unwrap(Session.class)
@@ -116,7 +117,7 @@ public class ChangesServiceImpl implements ChangesService {
                     .setParameter(2, query.range.from)
                     .setParameter(3, query.range.to);
             if (fingerprint != null) {
-                nativeQuery.setParameter(4, fingerprint.toString());
+                Util.setFingerprintParameters(nativeQuery, fingerprint, 4);
             }
             List<DataPointDAO> datapoints = nativeQuery.getResultList();
             for (DataPointDAO dp : datapoints) {
@@ -177,14 +178,14 @@ public class ChangesServiceImpl implements ChangesService {
         }
         sql.append(" WHERE variable_id = ?1 AND timestamp BETWEEN ?2 AND ?3 ");
         if (fingerprint != null) {
-            sql.append("AND json_equals(fp.fingerprint, (?4)::jsonb)");
+            sql.append("AND ").append(Util.fingerprintCondition(fingerprint, 4));
         }
         NativeQuery<ChangeDAO> nativeQuery = em.unwrap(Session.class).createNativeQuery(sql.toString(), ChangeDAO.class)
                 .setParameter(1, variableId)
                 .setParameter(2, query.range.from)
                 .setParameter(3, query.range.to);
         if (fingerprint != null) {
-            nativeQuery.setParameter(4, fingerprint.toString());
+            Util.setFingerprintParameters(nativeQuery, fingerprint, 4);
         }
 
         List<ChangeDAO> changes = nativeQuery.getResultList();
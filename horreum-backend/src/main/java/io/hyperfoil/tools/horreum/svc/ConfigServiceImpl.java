@@ -22,6 +22,7 @@ import io.hyperfoil.tools.horreum.api.data.Access;
 import io.hyperfoil.tools.horreum.api.data.datastore.Datastore;
 import io.hyperfoil.tools.horreum.api.services.ConfigService;
 import io.hyperfoil.tools.horreum.datastore.BackendResolver;
+import io.hyperfoil.tools.horreum.datastore.DatastoreClients;
 import io.hyperfoil.tools.horreum.entity.backend.DatastoreConfigDAO;
 import io.hyperfoil.tools.horreum.mapper.DatasourceMapper;
 import io.hyperfoil.tools.horreum.server.WithRoles;
@@ -44,6 +45,9 @@ public class ConfigServiceImpl implements ConfigService {
     @Inject
     BackendResolver backendResolver;
 
+    @Inject
+    DatastoreClients datastoreClients;
+
     @Override
     public KeycloakConfig keycloak() {
         KeycloakConfig config = new KeycloakConfig();
@@ -157,6 +161,7 @@ public class ConfigServiceImpl implements ConfigService {
         dao.access = newDao.access;
 
         dao.persist();
+        datastoreClients.invalidate(dao.id);
 
         return dao.id;
 
@@ -175,7 +180,9 @@ public class ConfigServiceImpl implements ConfigService {
     @WithRoles
     @Transactional
     public void deleteDatastore(String datastoreId) {
-        DatastoreConfigDAO.deleteById(Integer.parseInt(datastoreId));
+        int id = Integer.parseInt(datastoreId);
+        DatastoreConfigDAO.deleteById(id);
+        datastoreClients.invalidate(id);
     }
 
     private String getString(String propertyName) {
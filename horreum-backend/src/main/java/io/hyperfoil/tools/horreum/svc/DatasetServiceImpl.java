@@ -1,5 +1,7 @@
 package io.hyperfoil.tools.horreum.svc;
 
+import java.sql.PreparedStatement;
+import java.sql.Types;
 import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicReference;
@@ -39,6 +41,7 @@ import io.hyperfoil.tools.horreum.entity.FingerprintDAO;
 import io.hyperfoil.tools.horreum.entity.PersistentLogDAO;
 import io.hyperfoil.tools.horreum.entity.alerting.DatasetLogDAO;
 import io.hyperfoil.tools.horreum.entity.data.*;
+import io.hyperfoil.tools.horreum.hibernate.IntArrayType;
 import io.hyperfoil.tools.horreum.hibernate.JsonBinaryType;
 import io.hyperfoil.tools.horreum.mapper.DatasetMapper;
 import io.hyperfoil.tools.horreum.server.WithRoles;
@@ -84,6 +87,7 @@ public class DatasetServiceImpl implements DatasetService {
          JOIN used_labels ul ON label.id = ul.label_id
          GROUP BY lvalues.label_id, ul.name, function, ul.count
          """;
+    private static final String INSERT_LABEL_VALUE = "INSERT INTO label_values(dataset_id, label_id, value) VALUES (?, ?, ?)";
     protected static final String LABEL_PREVIEW = """
          WITH
          le AS (
@@ -436,14 +440,16 @@ public class DatasetServiceImpl implements DatasetService {
         }
 
         FingerprintDAO.deleteById(datasetId);
+        List<LabelValueDAO> labelValues = new ArrayList<>(extracted.size());
         Util.evaluateWithCombinationFunction(extracted,
                 (row) -> (String) row[2],
                 (row) -> (row[3] instanceof ArrayNode ? flatten((ArrayNode) row[3]) : (JsonNode) row[3]),
-                (row, result) -> createLabelValue(datasetId, testId, (int) row[0], Util.convertToJson(result)),
-                (row) -> createLabelValue(datasetId, testId, (int) row[0], (JsonNode) row[3]),
+                (row, result) -> labelValues.add(createLabelValue(datasetId, (int) row[0], Util.convertToJson(result))),
+                (row) -> labelValues.add(createLabelValue(datasetId, (int) row[0], (JsonNode) row[3])),
                 (row, e, jsCode) -> logMessage(datasetId, PersistentLogDAO.ERROR,
                         "Evaluation of label %s failed: '%s' Code:<pre>%s</pre>", row[0], e.getMessage(), jsCode),
                 (out) -> logMessage(datasetId, PersistentLogDAO.DEBUG, "Output while calculating labels: <pre>%s</pre>", out));
+        insertLabelValues(labelValues);
 
         //Create new dataset views from the recently created label values
         em.createNativeQuery("DELETE FROM dataset_view WHERE dataset_id = ?1").setParameter(1, datasetId).executeUpdate();
@@ -464,6 +470,24 @@ public class DatasetServiceImpl implements DatasetService {
         em.createNativeQuery("DELETE FROM dataset WHERE id = ?1").setParameter(1, datasetId).executeUpdate();
     }
 
+    /**
+     * Set-based variant of {@link #deleteDataset(int)} issuing one statement per table for all the datasets.
+     */
+    @Transactional
+    public void deleteDatasets(List<Integer> datasetIds) {
+        int[] ids = datasetIds.stream().mapToInt(Integer::intValue).toArray();
+        for (String table : new String[] { "label_values", "dataset_schemas", "fingerprint", "dataset_validationerrors" }) {
+            em.createNativeQuery("DELETE FROM " + table + " WHERE dataset_id = ANY(?1)")
+                    .unwrap(NativeQuery.class)
+                    .setParameter(1, ids, IntArrayType.INSTANCE)
+                    .executeUpdate();
+        }
+        em.createNativeQuery("DELETE FROM dataset WHERE id = ANY(?1)")
+                .unwrap(NativeQuery.class)
+                .setParameter(1, ids, IntArrayType.INSTANCE)
+                .executeUpdate();
+    }
+
     private ArrayNode flatten(ArrayNode bucket) {
         JsonNode data = bucket.get(0);
         if (data == null)
@@ -505,12 +529,40 @@ public class DatasetServiceImpl implements DatasetService {
                 "We thought there's an error in one of the JSONPaths but independent validation did not find any problems.");
     }
 
-    private void createLabelValue(int datasetId, int testId, int labelId, JsonNode value) {
+    private LabelValueDAO createLabelValue(int datasetId, int labelId, JsonNode value) {
         LabelValueDAO labelValue = new LabelValueDAO();
         labelValue.datasetId = datasetId;
         labelValue.labelId = labelId;
         labelValue.value = value;
-        labelValue.persist();
+        return labelValue;
+    }
+
+    /*
+     * Label values are written in a single JDBC batch rather than persisting the entities one by one:
+     * the values are not used as managed entities in this transaction and a dataset can have hundreds of labels.
+     */
+    private void insertLabelValues(List<LabelValueDAO> labelValues) {
+        if (labelValues.isEmpty()) {
+            return;
+        }
+        Session session = em.unwrap(Session.class);
+        // make sure pending deletes are executed before the inserts
+        session.flush();
+        session.doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_LABEL_VALUE)) {
+                for (LabelValueDAO labelValue : labelValues) {
+                    statement.setInt(1, labelValue.datasetId);
+                    statement.setInt(2, labelValue.labelId);
+                    if (labelValue.value == null) {
+                        statement.setNull(3, Types.OTHER);
+                    } else {
+                        statement.setObject(3, labelValue.value.toString(), Types.OTHER);
+                    }
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        });
     }
 
     private void createFingerprint(int datasetId, int testId) {
@@ -540,6 +592,7 @@ public class DatasetServiceImpl implements DatasetService {
         fp.datasetId = datasetId;
         fp.dataset = DatasetDAO.findById(datasetId);
         fp.fingerprint = fpNode;
+        fp.fpHash = Util.fingerprintHash(fpNode);
         if (fp.datasetId > 0 && fp.dataset != null)
             fp.persist();
     }
@@ -0,0 +1,265 @@
+package io.hyperfoil.tools.horreum.svc;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import org.eclipse.microprofile.config.ConfigProvider;
+import org.graalvm.polyglot.Context;
+import org.graalvm.polyglot.Engine;
+import org.graalvm.polyglot.PolyglotException;
+import org.graalvm.polyglot.Source;
+import org.graalvm.polyglot.Value;
+import org.jboss.logging.Logger;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+
+/**
+ * Process-wide GraalJS engine used to evaluate user-provided functions (transformers, labels, filters...).
+ * <p>
+ * All contexts share a single {@link Engine} so that parsed and optimized code is reused across evaluations.
+ * Idle contexts are kept in a bounded pool and handed out to one thread at a time; when the pool is empty
+ * a new context is created and, upon release, either returned to the pool or closed if the pool is full.
+ * Compiled function {@link Source sources} are kept in an LRU cache keyed by the function body.
+ * <p>
+ * The pool size and the cache size are set through <code>horreum.js.context-pool.size</code> and
+ * <code>horreum.js.source-cache.size</code>.
+ * <p>
+ * Function input is serialized and parsed with <code>JSON.parse</code>, so that functions get plain JavaScript
+ * values and cannot modify the input node.
+ * <p>
+ * When a context is released, globals and properties of the basic prototypes added by the function are removed;
+ * a context where the function modified an existing one is closed instead of being returned to the pool.
+ */
+final class JsContextPool {
+    private static final Logger log = Logger.getLogger(JsContextPool.class);
+
+    static final String POOL_SIZE_PROPERTY = "horreum.js.context-pool.size";
+    static final String SOURCE_CACHE_SIZE_PROPERTY = "horreum.js.source-cache.size";
+
+    private static final int DEFAULT_POOL_SIZE = Runtime.getRuntime().availableProcessors();
+    private static final int DEFAULT_SOURCE_CACHE_SIZE = 1000;
+
+    private static final String INSTANCE_CHECK = """
+            Object.defineProperty(Object,Symbol.hasInstance, {
+              value: function myinstanceof(obj) {
+                return isInstanceLike(obj);
+              }
+            });""";
+
+    // snapshots the global object (which is also the bindings) and prototypes of the basic types, the returned
+    // function removes properties added since then and tells whether the existing properties are unchanged
+    private static final String RESET_SETUP = """
+            (function() {
+              const targets = [globalThis, Object.prototype, Array.prototype, Function.prototype, String.prototype,
+                  Number.prototype, Boolean.prototype];
+              const snapshots = targets.map(target => {
+                const snapshot = new Map();
+                for (const key of Reflect.ownKeys(target)) {
+                  snapshot.set(key, Object.getOwnPropertyDescriptor(target, key));
+                }
+                return snapshot;
+              });
+              const same = (a, b) => Object.is(a.value, b.value) && a.get === b.get && a.set === b.set;
+              return function reset() {
+                let clean = true;
+                targets.forEach((target, i) => {
+                  const snapshot = snapshots[i];
+                  for (const key of Reflect.ownKeys(target)) {
+                    const original = snapshot.get(key);
+                    if (original === undefined) {
+                      clean = Reflect.deleteProperty(target, key) && clean;
+                    } else if (!same(original, Object.getOwnPropertyDescriptor(target, key))) {
+                      clean = false;
+                    }
+                  }
+                  for (const key of snapshot.keys()) {
+                    clean = Object.prototype.hasOwnProperty.call(target, key) && clean;
+                  }
+                });
+                return clean;
+              };
+            })()""";
+
+    private static final class Holder {
+        private static final JsContextPool INSTANCE = new JsContextPool(
+                intProperty(POOL_SIZE_PROPERTY, DEFAULT_POOL_SIZE),
+                intProperty(SOURCE_CACHE_SIZE_PROPERTY, DEFAULT_SOURCE_CACHE_SIZE));
+    }
+
+    private final Engine engine;
+    private final BlockingQueue<Lease> idle;
+    private final Map<String, Source> sources;
+    private final Counter sourceHits;
+    private final Counter sourceMisses;
+    private final Counter contextsCreated;
+
+    JsContextPool(int poolSize, int sourceCacheSize) {
+        this.engine = Engine.newBuilder()
+                .option("engine.WarnInterpreterOnly", "false")
+                .build();
+        this.idle = new ArrayBlockingQueue<>(Math.max(1, poolSize));
+        int cacheSize = Math.max(1, sourceCacheSize);
+        this.sources = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Source> eldest) {
+                return size() > cacheSize;
+            }
+        };
+        this.sourceHits = Counter.builder("horreum.js.source.cache").tag("result", "hit")
+                .description("Function sources found in the compiled source cache").register(Metrics.globalRegistry);
+        this.sourceMisses = Counter.builder("horreum.js.source.cache").tag("result", "miss")
+                .description("Function sources that had to be compiled").register(Metrics.globalRegistry);
+        this.contextsCreated = Counter.builder("horreum.js.context.created")
+                .description("JavaScript contexts created by the pool").register(Metrics.globalRegistry);
+        Gauge.builder("horreum.js.context.idle", idle, BlockingQueue::size)
+                .description("JavaScript contexts idle in the pool").register(Metrics.globalRegistry);
+        log.debugf("JavaScript context pool created with %d contexts and %d cached sources", poolSize, cacheSize);
+    }
+
+    static JsContextPool instance() {
+        return Holder.INSTANCE;
+    }
+
+    private static int intProperty(String name, int defaultValue) {
+        try {
+            return ConfigProvider.getConfig().getOptionalValue(name, Integer.class).orElse(defaultValue);
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            log.warnf("Cannot read %s, using default %d: %s", name, defaultValue, e.getMessage());
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Acquires a context for exclusive use of the current thread. The context is entered and must be released
+     * by closing the lease on the same thread.
+     */
+    Lease acquire() {
+        Lease lease = idle.poll();
+        if (lease == null) {
+            lease = new Lease(this);
+            contextsCreated.increment();
+        }
+        lease.context.enter();
+        return lease;
+    }
+
+    private void release(Lease lease) {
+        // state left by the function must not be visible to the next one, the context is dropped if it cannot be reset
+        boolean reusable = !lease.broken && lease.reset();
+        lease.context.leave();
+        lease.output.reset();
+        if (!reusable || !idle.offer(lease)) {
+            lease.context.close();
+        }
+    }
+
+    /**
+     * Returns the compiled source that evaluates to the function; the function is wrapped so that the source
+     * does not declare anything in the global scope and can be evaluated repeatedly in a reused context.
+     */
+    Source functionSource(String function) {
+        Source source;
+        synchronized (sources) {
+            source = sources.get(function);
+        }
+        if (source != null) {
+            sourceHits.increment();
+            return source;
+        }
+        sourceMisses.increment();
+        String code = "(function() {\nconst __func = " + function + "\n;return __func;\n})()";
+        source = Source.newBuilder("js", code, "function.js").cached(true).buildLiteral();
+        synchronized (sources) {
+            sources.put(function, source);
+        }
+        return source;
+    }
+
+    static final class Lease implements AutoCloseable {
+        private final JsContextPool pool;
+        private final Context context;
+        private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        private final Value resetGlobals;
+        private boolean broken;
+
+        private Lease(JsContextPool pool) {
+            this.pool = pool;
+            this.context = Context.newBuilder("js")
+                    .engine(pool.engine)
+                    .allowExperimentalOptions(true)
+                    .option("js.foreign-object-prototype", "true")
+                    .option("js.global-property", "true")
+                    .out(output)
+                    .err(output)
+                    .build();
+            context.getBindings("js").putMember("isInstanceLike", new ProxyJacksonObject.InstanceCheck());
+            context.eval(Source.newBuilder("js", INSTANCE_CHECK, "setup.js").buildLiteral());
+            resetGlobals = context.eval(Source.newBuilder("js", RESET_SETUP, "reset.js").buildLiteral());
+        }
+
+        Context context() {
+            return context;
+        }
+
+        /**
+         * Evaluates the function and invokes it with the argument.
+         */
+        Value execute(String function, Object argument) {
+            try {
+                Value func = context.eval(pool.functionSource(function));
+                return func.execute(argument);
+            } catch (PolyglotException e) {
+                broken = e.isCancelled() || e.isExit() || e.isInternalError() || e.isResourceExhausted();
+                throw e;
+            }
+        }
+
+        /**
+         * Converts the input into a plain JavaScript value, argument for {@link #execute(String, Object)}.
+         */
+        Object toGuest(JsonNode input) {
+            return context.getBindings("js").getMember("JSON").invokeMember("parse", String.valueOf(input));
+        }
+
+        /**
+         * Removes the state left in the context by the functions evaluated so far, so that the lease can be used for
+         * an unrelated function. When this returns false the context cannot be cleaned and the lease must be closed.
+         */
+        boolean reset() {
+            try {
+                if (resetGlobals.execute().asBoolean()) {
+                    return true;
+                }
+            } catch (PolyglotException e) {
+                log.debug("Failed to reset JavaScript context", e);
+            }
+            broken = true;
+            return false;
+        }
+
+        boolean isBroken() {
+            return broken;
+        }
+
+        boolean hasOutput() {
+            return output.size() > 0;
+        }
+
+        String output() {
+            return output.toString(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public void close() {
+            pool.release(this);
+        }
+    }
+}
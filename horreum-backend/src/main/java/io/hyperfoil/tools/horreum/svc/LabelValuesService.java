@@ -7,6 +7,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -15,6 +16,8 @@ import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
 import org.hibernate.query.NativeQuery;
 import org.hibernate.type.StandardBasicTypes;
 
@@ -27,6 +30,8 @@ import io.hyperfoil.tools.horreum.api.data.ExportedLabelValues;
 import io.hyperfoil.tools.horreum.api.data.LabelValueMap;
 import io.hyperfoil.tools.horreum.hibernate.JsonBinaryType;
 import io.hyperfoil.tools.horreum.hibernate.JsonbSetType;
+import io.hyperfoil.tools.horreum.server.CloseMe;
+import io.hyperfoil.tools.horreum.server.RoleManager;
 import io.quarkus.logging.Log;
 
 /**
@@ -90,9 +95,19 @@ public class LabelValuesService {
                 HAVING COUNT(*) >= :filterKeysCount
             """;
 
+    // the export is ordered by the start timestamp as serialized in the output, for clients to build the cursor
+    protected static final String EXPORT_ORDER = LABEL_ORDER_PREFIX
+            + "date_trunc('milliseconds', combined.start), combined.runId, combined.datasetId";
+    protected static final String EXPORT_KEYSET = "(date_trunc('milliseconds', combined.start), combined.runId, combined.datasetId)"
+            + " > (:cursorStart, :cursorRunId, :cursorDatasetId)";
+    private static final int EXPORT_FETCH_SIZE = 1000;
+
     @Inject
     EntityManager em;
 
+    @Inject
+    RoleManager roleManager;
+
     protected FilterDef getFilterDef(JsonNode filter, Instant before, Instant after, boolean multiFilter, boolean byTest,
             Function<String, List<ExportedLabelValues>> checkFilter) {
         // byTest if true the datasets should be filtered by testId, otherwise by runId
@@ -258,6 +273,110 @@ public class LabelValuesService {
                 (str) -> labelValuesByTest(testId, str,
                         before, after, filtering, metrics, sort, direction, limit, page, include, exclude, false));
 
+        // --- ordering
+        // by default order by runId
+        String orderSql = LABEL_ORDER_PREFIX + "combined.runId DESC";
+        String orderDirection = direction.equalsIgnoreCase("ascending") ? "ASC" : "DESC";
+        if ("start".equalsIgnoreCase(sort)) {
+            orderSql = LABEL_ORDER_PREFIX + LABEL_ORDER_START + " " + orderDirection + ", combined.runId DESC";
+        } else if ("stop".equalsIgnoreCase(sort)) {
+            orderSql = LABEL_ORDER_PREFIX + LABEL_ORDER_STOP + " " + orderDirection + ", combined.runId DESC";
+        } else if (sort != null && !sort.isBlank()) {
+            Log.warnf("Invalid sort order received: %s", sort);
+        }
+
+        // --- limit
+        String limitSql = "";
+        if (limit != null) {
+            limitSql = "limit " + limit + " offset " + limit * Math.max(0, page);
+        }
+
+        NativeQuery<Object[]> query = labelValuesByTestQuery(testId, filter, filterDef, beforeInstant, afterInstant,
+                filtering, metrics, include, exclude, "", orderSql, limitSql);
+        return LabelValuesService.parse(query.getResultList());
+    }
+
+    /**
+     * Streams labelValues of all datasets under the provided test, ordered by (start, runId, datasetId).
+     * Rows are read through a server-side cursor and each dataset is passed to the consumer as soon as
+     * all its label values are read, so the memory used does not depend on the number of datasets.
+     *
+     * @param roles roles set on the transaction, the export is written after the request method has returned
+     * @param cursor key of the last dataset already exported (see {@link #exportCursor(ExportedLabelValues)})
+     * @param limit maximum number of datasets to export, all of them if {@code null}
+     */
+    @Transactional
+    public void exportLabelValuesByTest(int testId, Iterable<String> roles, String filter, String before, String after,
+            boolean filtering, boolean metrics, List<String> include, List<String> exclude, boolean multiFilter,
+            String cursor, Integer limit, Consumer<ExportedLabelValues> consumer) {
+        try (CloseMe ignored = roleManager.withRoles(roles)) {
+            Instant beforeInstant = Util.toInstant(before);
+            Instant afterInstant = Util.toInstant(after);
+
+            FilterDef filterDef = getFilterDef(Util.getFilterObject(filter), beforeInstant, afterInstant, multiFilter, true,
+                    (str) -> labelValuesByTest(testId, str, before, after, filtering, metrics, "", "Ascending", null, 0,
+                            include, exclude, false));
+
+            ExportCursor key = cursor == null || cursor.isBlank() ? null : parseExportCursor(cursor);
+            NativeQuery<Object[]> query = labelValuesByTestQuery(testId, filter, filterDef, beforeInstant, afterInstant,
+                    filtering, metrics, include, exclude, key == null ? "" : EXPORT_KEYSET, EXPORT_ORDER, "");
+            if (key != null) {
+                query.setParameter("cursorStart", key.start(), StandardBasicTypes.INSTANT);
+                query.setParameter("cursorRunId", key.runId());
+                query.setParameter("cursorDatasetId", key.datasetId());
+            }
+            int exported = 0;
+            ExportedLabelValues current = null;
+            try (ScrollableResults<Object[]> rows = query.setReadOnly(true).setFetchSize(EXPORT_FETCH_SIZE)
+                    .scroll(ScrollMode.FORWARD_ONLY)) {
+                while (rows.next()) {
+                    Object[] row = rows.get();
+                    if (current == null || !current.datasetId.equals(row[3])) {
+                        if (current != null) {
+                            consumer.accept(current);
+                            ++exported;
+                        }
+                        if (limit != null && exported >= limit) {
+                            return;
+                        }
+                        current = new ExportedLabelValues(new LabelValueMap(), (Integer) row[2], (Integer) row[3],
+                                (Instant) row[4], (Instant) row[5]);
+                    }
+                    // skip records where the labelName is null
+                    if (row[0] != null) {
+                        current.values.put((String) row[0], (JsonNode) row[1]);
+                    }
+                }
+            }
+            if (current != null) {
+                consumer.accept(current);
+            }
+        }
+    }
+
+    /**
+     * @return cursor that makes {@link #exportLabelValuesByTest} continue after the given dataset
+     */
+    static String exportCursor(ExportedLabelValues labelValues) {
+        return labelValues.start.toEpochMilli() + ":" + labelValues.runId + ":" + labelValues.datasetId;
+    }
+
+    static ExportCursor parseExportCursor(String cursor) {
+        String[] parts = cursor.split(":");
+        try {
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return new ExportCursor(Instant.ofEpochMilli(Long.parseLong(parts[0])), Integer.parseInt(parts[1]),
+                    Integer.parseInt(parts[2]));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    private NativeQuery<Object[]> labelValuesByTestQuery(int testId, String filter, FilterDef filterDef,
+            Instant beforeInstant, Instant afterInstant, boolean filtering, boolean metrics, List<String> include,
+            List<String> exclude, String keysetSql, String orderSql, String limitSql) {
         ObjectNode simpleFilterObject = filterDef.simpleFilterObject();
         ObjectNode multiFilterObject = filterDef.multiFilterObject();
         String filterSql = filterDef.sql();
@@ -283,25 +402,12 @@ public class LabelValuesService {
             //TODO there was an error with the filter, do we return that info to the user?
         }
 
-        // --- ordering
-        // by default order by runId
-        String orderSql = LABEL_ORDER_PREFIX + "combined.runId DESC";
-        String orderDirection = direction.equalsIgnoreCase("ascending") ? "ASC" : "DESC";
-        if ("start".equalsIgnoreCase(sort)) {
-            orderSql = LABEL_ORDER_PREFIX + LABEL_ORDER_START + " " + orderDirection + ", combined.runId DESC";
-        } else if ("stop".equalsIgnoreCase(sort)) {
-            orderSql = LABEL_ORDER_PREFIX + LABEL_ORDER_STOP + " " + orderDirection + ", combined.runId DESC";
-        } else if (sort != null && !sort.isBlank()) {
-            Log.warnf("Invalid sort order received: %s", sort);
-        }
-
-        // --- limit
-        String limitSql = "";
-        if (limit != null) {
-            limitSql = "limit " + limit + " offset " + limit * Math.max(0, page);
+        String whereSql = filterSql;
+        if (!keysetSql.isEmpty()) {
+            whereSql = (filterSql.isEmpty() ? FILTER_PREFIX : filterSql + FILTER_SEPARATOR) + keysetSql;
         }
         String sql = LABEL_VALUES_QUERY_BY_TEST
-                .replace("FILTER_PLACEHOLDER", filterSql)
+                .replace("FILTER_PLACEHOLDER", whereSql)
                 .replace("INCLUDE_EXCLUDE_PLACEHOLDER", includeExcludeSql)
                 .replace("ORDER_PLACEHOLDER", orderSql)
                 .replace("LIMIT_PLACEHOLDER", limitSql);
@@ -368,7 +474,7 @@ public class LabelValuesService {
                 .addScalar("start", StandardBasicTypes.INSTANT)
                 .addScalar("stop", StandardBasicTypes.INSTANT);
 
-        return LabelValuesService.parse(query.getResultList());
+        return query;
     }
 
     /**
@@ -561,6 +667,12 @@ public class LabelValuesService {
             List<String> multiFilterKeys, String jsonpathRoot, String jsonpathFilter, int totalKeyChecks) {
     }
 
+    /**
+     * Key of the last exported dataset, in the order of the export
+     */
+    record ExportCursor(Instant start, int runId, int datasetId) {
+    }
+
     /**
      * Run and Dataset ids composed key that is used to
      * group by all resulting label values
@@ -3,7 +3,7 @@ package io.hyperfoil.tools.horreum.svc;
 import org.graalvm.polyglot.Value;
 import org.graalvm.polyglot.proxy.ProxyArray;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 
 public class ProxyJacksonArray implements ProxyArray {
@@ -25,8 +25,13 @@ public class ProxyJacksonArray implements ProxyArray {
 
     @Override
     public void set(long index, Value value) {
-        Object converted = Util.convert(value);
-        node.set((int) index, new ObjectMapper().valueToTree(converted));
+        JsonNode converted = Util.convertToJson(value);
+        if (index == node.size()) {
+            // Array.prototype.push and friends append past the end
+            node.add(converted);
+        } else {
+            node.set((int) index, converted);
+        }
     }
 
     @Override
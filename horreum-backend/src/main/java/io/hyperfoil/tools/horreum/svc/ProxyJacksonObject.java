@@ -5,6 +5,7 @@ import java.util.Iterator;
 import java.util.List;
 
 import org.graalvm.polyglot.Value;
+import org.graalvm.polyglot.proxy.ProxyArray;
 import org.graalvm.polyglot.proxy.ProxyExecutable;
 import org.graalvm.polyglot.proxy.ProxyObject;
 
@@ -46,11 +47,11 @@ public class ProxyJacksonObject implements ProxyObject {
     @Override
     public Object getMemberKeys() {
         Iterator<String> iter = node.fieldNames();
-        List<String> rtrn = new ArrayList<>();
+        List<Object> rtrn = new ArrayList<>();
         while (iter.hasNext()) {
             rtrn.add(iter.next());
         }
-        return rtrn;
+        return ProxyArray.fromList(rtrn);
     }
 
     @Override
@@ -60,7 +61,7 @@ public class ProxyJacksonObject implements ProxyObject {
 
     @Override
     public void putMember(String key, Value value) {
-        node.put(key, Util.convertToJson(value));
+        node.set(key, Util.convertToJson(value));
     }
 
     @Override
@@ -0,0 +1,250 @@
+package io.hyperfoil.tools.horreum.svc;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+
+import org.hibernate.Session;
+
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.util.RawValue;
+
+/**
+ * Serves JSON documents rendered to text by the database without parsing them in the application.
+ * <p>
+ * Columns are read as the UTF-8 bytes received by the JDBC driver, so the document is not decoded into
+ * a {@link String} nor parsed into a tree, and the bytes are written to the response in chunks that keep
+ * the buffers of the HTTP layer bounded. Documents embedded in a DTO are written by Jackson verbatim,
+ * from the same bytes. A single byte range requested through the {@code Range} header
+ * is honored; compression is left to the HTTP layer, based on {@code Accept-Encoding}.
+ */
+final class RawJson {
+    static final int CHUNK_SIZE = 64 * 1024;
+    private static final Pattern BYTE_RANGE = Pattern.compile("bytes=(\\d{0,18})-(\\d{0,18})");
+    private static final String[] ROOT = new String[0];
+
+    private RawJson() {
+    }
+
+    /**
+     * Runs a native query and returns the first row; text columns are returned as UTF-8 bytes.
+     * Parameters of type {@code String[]} are bound as {@code text[]}.
+     *
+     * @return columns of the first row, or {@code null} if there is no row
+     */
+    static byte[][] queryRow(Session session, String sql, Object... params) {
+        return session.doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                for (int i = 0; i < params.length; ++i) {
+                    if (params[i] instanceof String[] array) {
+                        Array sqlArray = connection.createArrayOf("text", array);
+                        statement.setArray(i + 1, sqlArray);
+                    } else {
+                        statement.setObject(i + 1, params[i]);
+                    }
+                }
+                try (ResultSet rs = statement.executeQuery()) {
+                    if (!rs.next()) {
+                        return null;
+                    }
+                    byte[][] row = new byte[rs.getMetaData().getColumnCount()][];
+                    for (int i = 0; i < row.length; ++i) {
+                        row[i] = rs.getBytes(i + 1);
+                    }
+                    return row;
+                }
+            }
+        });
+    }
+
+    /**
+     * Converts a JSON Pointer (RFC 6901) into the path argument of the {@code #>} operator.
+     */
+    static String[] toPath(String pointer) {
+        if (pointer == null || pointer.isEmpty()) {
+            return ROOT;
+        } else if (pointer.charAt(0) != '/') {
+            throw ServiceException.badRequest("Path must be a JSON Pointer starting with '/': " + pointer);
+        }
+        String[] segments = pointer.substring(1).split("/", -1);
+        for (int i = 0; i < segments.length; ++i) {
+            segments[i] = segments[i].replace("~1", "/").replace("~0", "~");
+        }
+        return segments;
+    }
+
+    /**
+     * @param json UTF-8 encoded document
+     * @param range value of the {@code Range} header, or {@code null}
+     */
+    static Response response(byte[] json, String range) {
+        Matcher matcher = range == null ? null : BYTE_RANGE.matcher(range.trim());
+        // other units, multiple ranges and malformed ranges are ignored and the whole document is sent
+        if (matcher == null || !matcher.matches() || matcher.group(1).isEmpty() && matcher.group(2).isEmpty()) {
+            return Response.ok(stream(json, 0, json.length), MediaType.APPLICATION_JSON_TYPE)
+                    .header("Accept-Ranges", "bytes").build();
+        }
+        long length = json.length;
+        long first, last;
+        if (matcher.group(1).isEmpty()) {
+            // suffix range: the last N bytes
+            long suffix = Long.parseLong(matcher.group(2));
+            first = Math.max(0, length - suffix);
+            last = suffix == 0 ? -1 : length - 1;
+        } else {
+            first = Long.parseLong(matcher.group(1));
+            last = matcher.group(2).isEmpty() ? length - 1 : Long.parseLong(matcher.group(2));
+            if (last < first) {
+                return response(json, null);
+            }
+            last = Math.min(last, length - 1);
+        }
+        if (first >= length || last < first) {
+            return Response.status(Response.Status.REQUESTED_RANGE_NOT_SATISFIABLE)
+                    .header("Content-Range", "bytes */" + length).build();
+        }
+        // the range applies to the document itself, compressing it would make Content-Range refer to other bytes
+        return Response.status(Response.Status.PARTIAL_CONTENT)
+                .entity(stream(json, (int) first, (int) last + 1))
+                .type(MediaType.APPLICATION_JSON_TYPE)
+                .header("Accept-Ranges", "bytes")
+                .header("Content-Range", "bytes " + first + "-" + last + "/" + length)
+                .header(HttpHeaders.CONTENT_LENGTH, last - first + 1)
+                .header("Content-Encoding", "identity")
+                .build();
+    }
+
+    /**
+     * Wraps the document in a node that Jackson writes to the output as-is, e.g. as a property of a DTO.
+     *
+     * @param json UTF-8 encoded document, or {@code null}
+     */
+    static JsonNode node(byte[] json) {
+        return json == null ? null : JsonNodeFactory.instance.rawValueNode(new RawValue(new Utf8Text(json)));
+    }
+
+    private static StreamingOutput stream(byte[] json, int from, int to) {
+        return output -> {
+            write(output, json, from, to);
+            output.flush();
+        };
+    }
+
+    private static void write(OutputStream output, byte[] bytes, int from, int to) throws IOException {
+        for (int offset = from; offset < to; offset += CHUNK_SIZE) {
+            output.write(bytes, offset, Math.min(CHUNK_SIZE, to - offset));
+        }
+    }
+
+    /**
+     * Already encoded text; byte-oriented generators copy the bytes, others decode them.
+     */
+    private static final class Utf8Text implements SerializableString {
+        private final byte[] bytes;
+        private SerializedString decoded;
+
+        private Utf8Text(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        private SerializedString decoded() {
+            if (decoded == null) {
+                decoded = new SerializedString(new String(bytes, StandardCharsets.UTF_8));
+            }
+            return decoded;
+        }
+
+        @Override
+        public String getValue() {
+            return decoded().getValue();
+        }
+
+        @Override
+        public int charLength() {
+            return decoded().charLength();
+        }
+
+        @Override
+        public char[] asQuotedChars() {
+            return decoded().asQuotedChars();
+        }
+
+        @Override
+        public byte[] asUnquotedUTF8() {
+            return bytes;
+        }
+
+        @Override
+        public byte[] asQuotedUTF8() {
+            return decoded().asQuotedUTF8();
+        }
+
+        @Override
+        public int appendQuotedUTF8(byte[] buffer, int offset) {
+            return decoded().appendQuotedUTF8(buffer, offset);
+        }
+
+        @Override
+        public int appendQuoted(char[] buffer, int offset) {
+            return decoded().appendQuoted(buffer, offset);
+        }
+
+        @Override
+        public int appendUnquotedUTF8(byte[] buffer, int offset) {
+            if (offset + bytes.length > buffer.length) {
+                return -1;
+            }
+            System.arraycopy(bytes, 0, buffer, offset, bytes.length);
+            return bytes.length;
+        }
+
+        @Override
+        public int appendUnquoted(char[] buffer, int offset) {
+            return decoded().appendUnquoted(buffer, offset);
+        }
+
+        @Override
+        public int writeQuotedUTF8(OutputStream out) throws IOException {
+            return decoded().writeQuotedUTF8(out);
+        }
+
+        @Override
+        public int writeUnquotedUTF8(OutputStream out) throws IOException {
+            write(out, bytes, 0, bytes.length);
+            return bytes.length;
+        }
+
+        @Override
+        public int putQuotedUTF8(ByteBuffer buffer) {
+            return decoded().putQuotedUTF8(buffer);
+        }
+
+        @Override
+        public int putUnquotedUTF8(ByteBuffer buffer) {
+            if (bytes.length > buffer.remaining()) {
+                return -1;
+            }
+            buffer.put(bytes);
+            return bytes.length;
+        }
+
+        @Override
+        public String toString() {
+            return getValue();
+        }
+    }
+}
@@ -1,16 +1,20 @@
 package io.hyperfoil.tools.horreum.svc;
 
-import java.io.ByteArrayOutputStream;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.function.Consumer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import jakarta.annotation.security.PermitAll;
 import jakarta.annotation.security.RolesAllowed;
@@ -19,9 +23,7 @@ import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 
-import org.graalvm.polyglot.Context;
-import org.graalvm.polyglot.PolyglotException;
-import org.graalvm.polyglot.Value;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.hibernate.Hibernate;
 import org.hibernate.Session;
 import org.hibernate.query.NativeQuery;
@@ -31,8 +33,10 @@ import org.jboss.logging.Logger;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import io.hyperfoil.tools.horreum.api.SortDirection;
+import io.hyperfoil.tools.horreum.api.data.Dataset;
 import io.hyperfoil.tools.horreum.api.internal.services.ReportService;
 import io.hyperfoil.tools.horreum.api.report.ReportComment;
 import io.hyperfoil.tools.horreum.api.report.TableReport;
@@ -45,13 +49,29 @@ import io.hyperfoil.tools.horreum.mapper.ReportCommentMapper;
 import io.hyperfoil.tools.horreum.mapper.TableReportMapper;
 import io.hyperfoil.tools.horreum.server.WithRoles;
 import io.quarkus.runtime.Startup;
+import io.quarkus.scheduler.Scheduled;
 import io.quarkus.security.identity.SecurityIdentity;
+import io.vertx.core.Vertx;
 
 @ApplicationScoped
 @Startup
 public class ReportServiceImpl implements ReportService {
     private static final Logger log = Logger.getLogger(ReportServiceImpl.class);
 
+    // all the labels used by the report are pivoted into one object per dataset
+    //@formatter:off
+    private static final String SELECT_LABELS =
+            """
+            SELECT dataset.id, dataset.runid, dataset.ordinal, dataset.start,
+               COALESCE(jsonb_object_agg(label.name, lv.value) FILTER (WHERE label.name IS NOT NULL), '{}'::jsonb) AS labels
+            FROM dataset
+            LEFT JOIN (label_values lv JOIN label ON label.id = lv.label_id AND json_contains(?2, label.name))
+               ON lv.dataset_id = dataset.id
+            WHERE dataset.testid = ?1 %s
+            GROUP BY dataset.id, dataset.runid, dataset.ordinal, dataset.start
+            """;
+    //@formatter:on
+
     static {
         System.setProperty("polyglot.engine.WarnInterpreterOnly", "false");
     }
@@ -65,6 +85,15 @@ public class ReportServiceImpl implements ReportService {
     @Inject
     TimeService timeService;
 
+    @Inject
+    Vertx vertx;
+
+    @ConfigProperty(name = "horreum.report.recalculation.quiet-period", defaultValue = "10s")
+    Duration recalculationQuietPeriod;
+
+    // tests with recalculated datasets and the time (System.nanoTime()) of the last one
+    private final ConcurrentHashMap<Integer, Long> recalculatedTests = new ConcurrentHashMap<>();
+
     @PermitAll
     @WithRoles
     @Override
@@ -311,115 +340,183 @@ public class ReportServiceImpl implements ReportService {
             report.logs.clear();
         }
         report.config = config;
-        List<Object[]> categories = Collections.emptyList(), series, scales = Collections.emptyList();
-        NativeQuery<Object[]> timestampQuery;
+        List<DatasetLabels> datasets = selectLabels(config, null);
         if (!nullOrEmpty(config.filterLabels)) {
-            List<Integer> datasetIds = filterDatasetIds(config, report);
-            log.debugf("Table report %s(%d) includes datasets %s", config.title, config.id, datasetIds);
-            series = selectByDatasets(config.seriesLabels, datasetIds);
-            log.debugf("Series: %s", rowsToMap(series));
-            if (!nullOrEmpty(config.scaleLabels)) {
-                scales = selectByDatasets(config.scaleLabels, datasetIds);
-                log.debugf("Scales: %s", rowsToMap(scales));
-            }
-            if (!nullOrEmpty(config.categoryLabels)) {
-                categories = selectByDatasets(config.categoryLabels, datasetIds);
-                log.debugf("Categories: %s", rowsToMap(categories));
-            }
-            timestampQuery = em.unwrap(Session.class)
-                    .createNativeQuery("SELECT id, start FROM dataset WHERE id IN :datasets", Object[].class)
-                    .setParameter("datasets", datasetIds);
+            datasets = filterDatasets(config, report, datasets);
+            log.debugf("Table report %s(%d) includes datasets %s", config.title, config.id, datasets);
         } else {
             log(report, PersistentLogDAO.DEBUG, "Table report %s(%d) includes all datasets for test %s(%d)", config.title,
                     config.id, config.test.name, config.test.id);
-            series = selectByTest(config.test.id, config.seriesLabels);
-            log.debugf("Series: %s", rowsToMap(series));
-            if (!nullOrEmpty(config.scaleLabels)) {
-                scales = selectByTest(config.test.id, config.scaleLabels);
-                log.debugf("Scales: %s", rowsToMap(scales));
-            }
-            if (!nullOrEmpty(config.categoryLabels)) {
-                categories = selectByTest(config.test.id, config.categoryLabels);
-                log.debugf("Categories: %s", rowsToMap(categories));
-            }
-            timestampQuery = em.unwrap(Session.class)
-                    .createNativeQuery("SELECT id, start FROM dataset WHERE testid = ?", Object[].class)
-                    .setParameter(1, config.test.id);
-        }
-        if (categories.isEmpty() && !series.isEmpty()) {
-            assert config.categoryLabels == null;
-            assert config.categoryFunction == null;
-            assert config.categoryFormatter == null;
-            categories = series.stream()
-                    .map(row -> new Object[] { row[0], row[1], row[2], JsonNodeFactory.instance.textNode("") })
-                    .collect(Collectors.toList());
-        }
-        if (scales.isEmpty() && !series.isEmpty()) {
-            assert config.scaleLabels == null;
-            assert config.scaleFunction == null;
-            assert config.scaleFormatter == null;
-            scales = series.stream().map(row -> new Object[] { row[0], row[1], row[2], JsonNodeFactory.instance.textNode("") })
-                    .collect(Collectors.toList());
-        }
-        Map<Integer, TableReportDAO.Data> datasetData = series.isEmpty() ? Collections.emptyMap()
-                : getData(config, report, categories, series, scales);
+        }
+        Map<Integer, TableReportDAO.Data> datasetData = getData(config, report, datasets);
         log.debugf("Data per dataset: %s", datasetData);
 
-        Map<Integer, Instant> timestamps = timestampQuery.getResultStream()
-                .collect(Collectors.toMap(row -> (Integer) row[0], row -> (Instant) row[1]));
+        Map<Integer, Instant> timestamps = datasets.stream()
+                .collect(Collectors.toMap(ds -> ds.datasetId, ds -> ds.start));
         // TODO: customizable time range
-        List<Integer> datasetIds = getFinalDatasetIds(timestamps, datasetData);
-        List<List<Object[]>> values = config.components.stream()
-                .map(component -> selectByDatasets(component.labels, datasetIds))
+        Set<Integer> datasetIds = new HashSet<>(getFinalDatasetIds(timestamps, datasetData));
+        List<DatasetLabels> included = datasets.stream().filter(ds -> datasetIds.contains(ds.datasetId))
                 .collect(Collectors.toList());
-        executeInContext(config, context -> {
-            for (int i = 0; i < values.size(); i++) {
-                List<Object[]> valuesForComponent = values.get(i);
-                ReportComponentDAO component = config.components.get(i);
-                for (Object[] row : valuesForComponent) {
-                    Integer datasetId = (Integer) row[0];
-                    JsonNode value = (JsonNode) row[3];
-                    TableReportDAO.Data data = datasetData.get(datasetId);
-                    if (nullOrEmpty(component.function)) {
-                        if (value == null || value.isNull()) {
-                            data.values.addNull();
-                        } else {
-                            Double dValue = value.asDouble();
-                            if (dValue != null) {
-                                data.values.add(dValue);
-                            } else {
-                                data.values.add(value);
-                            }
-                        }
-                    } else {
-                        String jsCode = buildCode(component.function, String.valueOf(value));
-                        try {
-                            Value calculatedValue = context.eval("js", jsCode);
-                            Double maybeDouble = Util.toDoubleOrNull(calculatedValue,
-                                    err -> log(report, PersistentLogDAO.ERROR, err),
-                                    info -> log(report, PersistentLogDAO.INFO, info));
-                            if (maybeDouble != null) {
-                                data.values.add(maybeDouble);
-                            } else {
-                                data.values.add(Util.convertToJson(calculatedValue));
-                            }
-                        } catch (PolyglotException e) {
-                            log(report, PersistentLogDAO.ERROR,
-                                    "Failed to run report %s(%d) label function on run %d. Offending code: <br><pre>%s</pre>",
-                                    config.title, config.id, datasetId, jsCode);
-                            log.debug("Caused by exception", e);
-                        }
-                    }
-                }
+        calculateValues(config, report, included, datasetData);
+        report.data = included.stream().map(ds -> datasetData.get(ds.datasetId)).collect(Collectors.toList());
+        return report;
+    }
+
+    /**
+     * Invoked after the labels of a dataset are committed. The reports are updated in a separate transaction so that
+     * a failure does not affect the processing of the dataset. During recalculation the updates are coalesced: the
+     * reports of the test are computed again once no dataset of the test was recalculated for a while.
+     */
+    void onLabelsUpdated(Dataset.LabelsUpdatedEvent event) {
+        if (event.isRecalculation) {
+            recalculatedTests.put(event.testId, System.nanoTime());
+            return;
+        }
+        Util.executeBlocking(vertx, () -> {
+            try {
+                updateTableReports(event);
+            } catch (Exception e) {
+                log.errorf(e, "Failed to update table reports of test %d with dataset %d", event.testId, event.datasetId);
             }
         });
-        report.data = datasetIds.stream().map(datasetData::get).collect(Collectors.toList());
-        return report;
     }
 
-    private Map<Object, Object> rowsToMap(List<Object[]> series) {
-        return series.stream().collect(
-                Collectors.toMap(row -> row[0] == null ? "<null>" : row[0], row -> row[3] == null ? "<null>" : row[3]));
+    /**
+     * Updates the persisted reports for the test with a dataset which got its labels calculated. Usually only
+     * the dataset is evaluated and its row is added (or replaces an older dataset with the same coordinates);
+     * the report is computed from scratch only when the dataset was already present and moved to other
+     * coordinates or got filtered out, as a dataset hidden by it could take its place.
+     */
+    @WithRoles(extras = Roles.HORREUM_SYSTEM)
+    @Transactional
+    void updateTableReports(Dataset.LabelsUpdatedEvent event) {
+        // lock the reports so that concurrently processed datasets don't compete for the same coordinates
+        List<Object[]> reports = em.unwrap(Session.class).createNativeQuery(
+                "SELECT tr.id, tr.config_id FROM tablereport tr JOIN tablereportconfig trc ON trc.id = tr.config_id " +
+                        "WHERE trc.testid = ?1 ORDER BY tr.id FOR UPDATE OF tr",
+                Object[].class)
+                .setParameter(1, event.testId)
+                .addScalar("id", StandardBasicTypes.INTEGER)
+                .addScalar("config_id", StandardBasicTypes.INTEGER)
+                .getResultList();
+        for (Object[] row : reports) {
+            TableReportConfigDAO config = TableReportConfigDAO.findById(row[1]);
+            if (config != null) {
+                updateTableReport((int) row[0], config, event.datasetId);
+            }
+        }
+    }
+
+    @Scheduled(every = "{horreum.report.recalculation.quiet-period}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void refreshRecalculatedReports() {
+        long now = System.nanoTime();
+        for (var entry : recalculatedTests.entrySet()) {
+            int testId = entry.getKey();
+            if (now - entry.getValue() < recalculationQuietPeriod.toNanos()
+                    || !recalculatedTests.remove(testId, entry.getValue())) {
+                continue;
+            }
+            try {
+                recomputeTableReports(testId);
+            } catch (Exception e) {
+                log.errorf(e, "Failed to compute table reports of test %d after recalculation", testId);
+            }
+        }
+    }
+
+    @WithRoles(extras = Roles.HORREUM_SYSTEM)
+    @Transactional
+    void recomputeTableReports(int testId) {
+        List<Object[]> reports = em.unwrap(Session.class).createNativeQuery(
+                "SELECT tr.id, tr.config_id FROM tablereport tr JOIN tablereportconfig trc ON trc.id = tr.config_id " +
+                        "WHERE trc.testid = ?1 ORDER BY tr.id FOR UPDATE OF tr",
+                Object[].class)
+                .setParameter(1, testId)
+                .addScalar("id", StandardBasicTypes.INTEGER)
+                .addScalar("config_id", StandardBasicTypes.INTEGER)
+                .getResultList();
+        for (Object[] row : reports) {
+            TableReportConfigDAO config = TableReportConfigDAO.findById(row[1]);
+            if (config != null) {
+                log.debugf("Computing table report %d of test %d after recalculation", row[0], testId);
+                createTableReport(config, (Integer) row[0]);
+            }
+        }
+    }
+
+    private void updateTableReport(int reportId, TableReportConfigDAO config, int datasetId) {
+        // the report entity is not loaded as that would fetch all its data; this instance only collects logs
+        TableReportDAO report = new TableReportDAO();
+        report.id = reportId;
+        report.config = config;
+        List<DatasetLabels> datasets = selectLabels(config, datasetId);
+        if (datasets.isEmpty()) {
+            // the dataset has been removed in the meantime
+            return;
+        }
+        DatasetLabels dataset = datasets.get(0);
+        if (!nullOrEmpty(config.filterLabels)) {
+            datasets = filterDatasets(config, report, datasets);
+        }
+        Map<Integer, TableReportDAO.Data> datasetData = getData(config, report, datasets);
+        TableReportDAO.Data data = datasetData.get(datasetId);
+        if (data != null) {
+            calculateValues(config, report, datasets, datasetData);
+        }
+
+        List<Object[]> current = em.unwrap(Session.class).createNativeQuery(
+                "SELECT category, series, scale FROM tablereport_data WHERE report_id = ?1 AND dataset_id = ?2",
+                Object[].class)
+                .setParameter(1, reportId).setParameter(2, datasetId)
+                .getResultList();
+        if (!current.isEmpty()) {
+            Object[] coords = current.get(0);
+            if (data == null || !data.category.equals(coords[0]) || !data.series.equals(coords[1])
+                    || !data.scale.equals(coords[2])) {
+                log.debugf("Dataset %d has changed coordinates in report %d, computing the report again", datasetId,
+                        reportId);
+                createTableReport(config, reportId);
+                return;
+            }
+            em.unwrap(Session.class).createNativeQuery(
+                    "UPDATE tablereport_data SET \"values\" = ?1 WHERE report_id = ?2 AND dataset_id = ?3", int.class)
+                    .setParameter(1, data.values, JsonBinaryType.INSTANCE)
+                    .setParameter(2, reportId).setParameter(3, datasetId)
+                    .executeUpdate();
+        } else if (data != null) {
+            List<Object[]> sameCoords = em.unwrap(Session.class).createNativeQuery(
+                    "SELECT trd.dataset_id, dataset.start FROM tablereport_data trd " +
+                            "LEFT JOIN dataset ON dataset.id = trd.dataset_id " +
+                            "WHERE trd.report_id = ?1 AND trd.category = ?2 AND trd.series = ?3 AND trd.scale = ?4",
+                    Object[].class)
+                    .setParameter(1, reportId).setParameter(2, data.category).setParameter(3, data.series)
+                    .setParameter(4, data.scale)
+                    .addScalar("dataset_id", StandardBasicTypes.INTEGER)
+                    .addScalar("start", StandardBasicTypes.INSTANT)
+                    .getResultList();
+            // the same rule as in getFinalDatasetIds: the most recent dataset wins, removed datasets are replaced
+            if (sameCoords.stream().allMatch(row -> row[1] == null || ((Instant) row[1]).isBefore(dataset.start))) {
+                for (Object[] row : sameCoords) {
+                    em.createNativeQuery("DELETE FROM tablereport_data WHERE report_id = ?1 AND dataset_id = ?2")
+                            .setParameter(1, reportId).setParameter(2, row[0]).executeUpdate();
+                }
+                em.unwrap(Session.class).createNativeQuery(
+                        "INSERT INTO tablereport_data (report_id, dataset_id, runid, ordinal, category, series, scale, " +
+                                "\"values\") VALUES (?1, ?2, ?3, ?4, ?5, ?6, ?7, ?8)",
+                        int.class)
+                        .setParameter(1, reportId).setParameter(2, data.datasetId).setParameter(3, data.runId)
+                        .setParameter(4, data.ordinal).setParameter(5, data.category).setParameter(6, data.series)
+                        .setParameter(7, data.scale).setParameter(8, data.values, JsonBinaryType.INSTANCE)
+                        .executeUpdate();
+            }
+        }
+        for (ReportLogDAO logEntry : report.logs) {
+            // debug messages would be repeated with each dataset
+            if (logEntry.level > PersistentLogDAO.DEBUG) {
+                logEntry.setReportId(reportId);
+                logEntry.persist();
+            }
+        }
     }
 
     private boolean nullOrEmpty(String str) {
@@ -431,86 +528,88 @@ public class ReportServiceImpl implements ReportService {
     }
 
     private Map<Integer, TableReportDAO.Data> getData(TableReportConfigDAO config, TableReportDAO report,
-            List<Object[]> categories, List<Object[]> series, List<Object[]> scales) {
-        assert !categories.isEmpty();
-        assert !series.isEmpty();
-        assert !scales.isEmpty();
-
+            List<DatasetLabels> datasets) {
         Map<Integer, TableReportDAO.Data> datasetData = new HashMap<>();
-        executeInContext(config, context -> {
-            for (Object[] row : categories) {
-                TableReportDAO.Data data = new TableReportDAO.Data();
-                data.datasetId = (Integer) row[0];
-                data.runId = (int) row[1];
-                data.ordinal = (int) row[2];
-                JsonNode value = (JsonNode) row[3];
-                data.values = JsonNodeFactory.instance.arrayNode(config.components.size());
-                if (nullOrEmpty(config.categoryFunction)) {
-                    data.category = toText(value);
-                } else {
-                    String jsCode = buildCode(config.categoryFunction, String.valueOf(value));
-                    try {
-                        data.category = Util.convert(context.eval("js", jsCode)).toString();
-                    } catch (PolyglotException e) {
-                        log(report, PersistentLogDAO.ERROR,
-                                "Failed to run report %s(%d) category function on dataset %d/%d (%d). Offending code: <br><pre>%s</pre>",
-                                config.title, config.id, data.runId, data.ordinal, data.datasetId, jsCode);
-                        log.debug("Caused by exception", e);
-                        continue;
-                    }
-                }
-                datasetData.put(data.datasetId, data);
-            }
-            for (Object[] row : series) {
-                Integer datasetId = (Integer) row[0];
-                int runId = (int) row[1];
-                int ordinal = (int) row[2];
-                JsonNode value = (JsonNode) row[3];
-                TableReportDAO.Data data = datasetData.get(datasetId);
-                if (data == null) {
-                    log(report, PersistentLogDAO.ERROR, "Missing values for dataset %d!", datasetId);
-                    continue;
-                }
-                if (nullOrEmpty(config.seriesFunction)) {
-                    data.series = toText(value);
-                } else {
-                    String jsCode = buildCode(config.seriesFunction, String.valueOf(value));
-                    try {
-                        data.series = Util.convert(context.eval("js", jsCode)).toString();
-                    } catch (PolyglotException e) {
-                        log(report, PersistentLogDAO.ERROR,
-                                "Failed to run report %s(%d) series function on run %d/%d (%d). Offending code: <br><pre>%s</pre>",
-                                config.title, config.id, runId, ordinal, datasetId, jsCode);
-                        log.debug("Caused by exception", e);
-                    }
-                }
-            }
-            for (Object[] row : scales) {
-                Integer datasetId = (Integer) row[0];
-                int runId = (int) row[1];
-                int ordinal = (int) row[2];
-                JsonNode value = (JsonNode) row[3];
-                TableReportDAO.Data data = datasetData.get(datasetId);
-                if (data == null) {
-                    log(report, PersistentLogDAO.ERROR, "Missing values for dataset %d!", datasetId);
-                    continue;
-                }
-                if (nullOrEmpty(config.scaleFunction)) {
-                    data.scale = toText(value);
-                } else {
-                    String jsCode = buildCode(config.scaleFunction, String.valueOf(value));
-                    try {
-                        data.scale = Util.convert(context.eval("js", jsCode)).toString();
-                    } catch (PolyglotException e) {
+        evaluate(config, report, datasets, config.categoryLabels, config.categoryFunction, "category",
+                (ds, category) -> {
+                    TableReportDAO.Data data = new TableReportDAO.Data();
+                    data.datasetId = ds.datasetId;
+                    data.runId = ds.runId;
+                    data.ordinal = ds.ordinal;
+                    data.category = category;
+                    data.values = JsonNodeFactory.instance.arrayNode(config.components.size());
+                    datasetData.put(data.datasetId, data);
+                });
+        // datasets that failed to evaluate the category are left out
+        List<DatasetLabels> categorized = datasets.stream().filter(ds -> datasetData.containsKey(ds.datasetId))
+                .collect(Collectors.toList());
+        evaluate(config, report, categorized, config.seriesLabels, config.seriesFunction, "series",
+                (ds, series) -> datasetData.get(ds.datasetId).series = series);
+        evaluate(config, report, categorized, config.scaleLabels, config.scaleFunction, "scale",
+                (ds, scale) -> datasetData.get(ds.datasetId).scale = scale);
+        return datasetData;
+    }
+
+    /**
+     * Evaluates the function, if there's any, on the labels of all the datasets in one pooled context and
+     * passes the result converted to text to the consumer.
+     */
+    private void evaluate(TableReportConfigDAO config, TableReportDAO report, List<DatasetLabels> datasets,
+            ArrayNode labels, String function, String role, BiConsumer<DatasetLabels, String> consumer) {
+        Util.evaluateWithCombinationFunction(datasets,
+                ds -> function,
+                ds -> ds.select(labels),
+                (ds, value) -> consumer.accept(ds, Util.convert(value).toString()),
+                ds -> consumer.accept(ds, toText(ds.select(labels))),
+                (ds, e, code) -> {
+                    log(report, PersistentLogDAO.ERROR,
+                            "Failed to run report %s(%d) %s function on dataset %d/%d (%d). Offending code: <br><pre>%s</pre>",
+                            config.title, config.id, role, ds.runId, ds.ordinal, ds.datasetId, code);
+                    log.debug("Caused by exception", e);
+                },
+                out -> logOutput(config, out));
+    }
+
+    /**
+     * Calculates the values of the components; each component function is evaluated for all the datasets
+     * before moving to the next component.
+     */
+    private void calculateValues(TableReportConfigDAO config, TableReportDAO report, List<DatasetLabels> datasets,
+            Map<Integer, TableReportDAO.Data> datasetData) {
+        for (ReportComponentDAO component : config.components) {
+            Util.evaluateWithCombinationFunction(datasets,
+                    ds -> component.function,
+                    ds -> ds.select(component.labels),
+                    (ds, calculatedValue) -> {
+                        ArrayNode values = datasetData.get(ds.datasetId).values;
+                        Double maybeDouble = Util.toDoubleOrNull(calculatedValue,
+                                err -> log(report, PersistentLogDAO.ERROR, err),
+                                info -> log(report, PersistentLogDAO.INFO, info));
+                        if (maybeDouble != null) {
+                            values.add(maybeDouble);
+                        } else {
+                            values.add(Util.convertToJson(calculatedValue));
+                        }
+                    },
+                    ds -> {
+                        ArrayNode values = datasetData.get(ds.datasetId).values;
+                        JsonNode value = ds.select(component.labels);
+                        if (value == null || value.isNull()) {
+                            values.addNull();
+                        } else {
+                            values.add(value.asDouble());
+                        }
+                    },
+                    (ds, e, code) -> {
+                        // keep the values aligned with the components
+                        datasetData.get(ds.datasetId).values.addNull();
                         log(report, PersistentLogDAO.ERROR,
-                                "Failed to run report %s(%d) label function on dataset %d/%d (%d). Offending code: <br><pre>%s</pre>",
-                                config.title, config.id, runId, ordinal, datasetId, jsCode);
+                                "Failed to run report %s(%d) label function on run %d. Offending code: <br><pre>%s</pre>",
+                                config.title, config.id, ds.datasetId, code);
                         log.debug("Caused by exception", e);
-                    }
-                }
-            }
-        });
-        return datasetData;
+                    },
+                    out -> logOutput(config, out));
+        }
     }
 
     private String toText(JsonNode value) {
@@ -542,57 +641,73 @@ public class ReportServiceImpl implements ReportService {
         return dataByCoords.values().stream().map(data -> data.datasetId).collect(Collectors.toList());
     }
 
-    private List<Object[]> selectByTest(int testId, ArrayNode labels) {
-        // We need an expression that will return NULLs when the labels are not present
-        StringBuilder sql = new StringBuilder("WITH ");
-        sql.append("ds AS (SELECT id, runid, ordinal FROM dataset WHERE testid = :testid), ");
-        sql.append("values as (SELECT lv.dataset_id, label.name, lv.value FROM label_values lv ");
-        sql.append(
-                "JOIN label ON label.id = label_id WHERE dataset_id IN (SELECT id FROM ds) AND json_contains(:labels, label.name)) ");
-        sql.append("SELECT id, runid, ordinal, ");
-        if (labels.size() != 1) {
-            // jsonb_object_agg fails when values.name is null
-            sql.append(
-                    "COALESCE(jsonb_object_agg(values.name, values.value) FILTER (WHERE values.name IS NOT NULL), '{}'::jsonb)");
-        } else {
-            sql.append("values.value");
-        }
-        sql.append(" AS value FROM ds LEFT JOIN values ON ds.id = values.dataset_id ");
-        if (labels.size() != 1) {
-            sql.append(" GROUP BY id, runid, ordinal");
-        }
-        NativeQuery<Object[]> query = em.unwrap(Session.class).createNativeQuery(sql.toString(), Object[].class)
-                .setParameter("testid", testId)
-                .setParameter("labels", labels, JsonBinaryType.INSTANCE)
+    /**
+     * Fetches all the labels used by the report in a single query, for all datasets in the test or for a single one.
+     */
+    private List<DatasetLabels> selectLabels(TableReportConfigDAO config, Integer datasetId) {
+        ArrayNode labels = JsonNodeFactory.instance.arrayNode();
+        Stream.concat(Stream.of(config.filterLabels, config.categoryLabels, config.seriesLabels, config.scaleLabels),
+                config.components.stream().map(component -> component.labels))
+                .filter(Objects::nonNull)
+                .flatMap(names -> StreamSupport.stream(names.spliterator(), false))
+                .map(JsonNode::asText).distinct().forEach(labels::add);
+        NativeQuery<Object[]> query = em.unwrap(Session.class)
+                .createNativeQuery(SELECT_LABELS.formatted(datasetId == null ? "" : "AND dataset.id = ?3"), Object[].class)
+                .setParameter(1, config.test.id)
+                .setParameter(2, labels, JsonBinaryType.INSTANCE)
                 .addScalar("id", StandardBasicTypes.INTEGER)
                 .addScalar("runid", StandardBasicTypes.INTEGER)
                 .addScalar("ordinal", StandardBasicTypes.INTEGER)
-                .addScalar("value", JsonBinaryType.INSTANCE);
-        return query.getResultList();
+                .addScalar("start", StandardBasicTypes.INSTANT)
+                .addScalar("labels", JsonBinaryType.INSTANCE);
+        if (datasetId != null) {
+            query.setParameter(3, datasetId);
+        }
+        return query.getResultStream()
+                .map(row -> new DatasetLabels((int) row[0], (int) row[1], (int) row[2], (Instant) row[3],
+                        (JsonNode) row[4]))
+                .collect(Collectors.toList());
     }
 
-    private List<Object[]> selectByDatasets(ArrayNode labels, List<Integer> datasets) {
-        StringBuilder sql = new StringBuilder("SELECT dataset.id AS id, dataset.runid AS runid, dataset.ordinal AS ordinal, ");
-        if (labels.size() != 1) {
-            sql.append("COALESCE(jsonb_object_agg(label.name, lv.value) FILTER (WHERE label.name IS NOT NULL), '{}'::jsonb)");
-        } else {
-            sql.append("lv.value");
-        }
-        sql.append(" AS value FROM dataset ")
-                .append("LEFT JOIN label_values lv ON dataset.id = lv.dataset_id ")
-                .append("LEFT JOIN label ON label.id = lv.label_id ")
-                .append("WHERE dataset.id IN :datasets AND (json_contains(:labels, label.name) OR label.name IS NULL)");
-        if (labels.size() != 1) {
-            sql.append(" GROUP BY dataset.id, dataset.runid, dataset.ordinal");
-        }
-        NativeQuery<Object[]> query = em.unwrap(Session.class).createNativeQuery(sql.toString(), Object[].class)
-                .setParameter("datasets", datasets)
-                .setParameter("labels", labels, JsonBinaryType.INSTANCE)
-                .addScalar("id", StandardBasicTypes.INTEGER)
-                .addScalar("runid", StandardBasicTypes.INTEGER)
-                .addScalar("ordinal", StandardBasicTypes.INTEGER)
-                .addScalar("value", JsonBinaryType.INSTANCE);
-        return query.getResultList();
+    private static final class DatasetLabels {
+        final int datasetId;
+        final int runId;
+        final int ordinal;
+        final Instant start;
+        final JsonNode labels;
+
+        DatasetLabels(int datasetId, int runId, int ordinal, Instant start, JsonNode labels) {
+            this.datasetId = datasetId;
+            this.runId = runId;
+            this.ordinal = ordinal;
+            this.start = start;
+            this.labels = labels;
+        }
+
+        /**
+         * @return value of the single label, object with the labels present in the dataset when there are more
+         *         labels, or an empty string when there are no labels
+         */
+        JsonNode select(ArrayNode names) {
+            if (names == null || names.isEmpty()) {
+                return JsonNodeFactory.instance.textNode("");
+            } else if (names.size() == 1) {
+                return labels.get(names.get(0).asText());
+            }
+            ObjectNode selected = JsonNodeFactory.instance.objectNode();
+            for (JsonNode name : names) {
+                JsonNode value = labels.get(name.asText());
+                if (value != null) {
+                    selected.set(name.asText(), value);
+                }
+            }
+            return selected;
+        }
+
+        @Override
+        public String toString() {
+            return runId + "/" + ordinal + " (" + datasetId + ")";
+        }
     }
 
     public static final class Coords {
@@ -623,70 +738,60 @@ public class ReportServiceImpl implements ReportService {
         }
     }
 
-    private List<Integer> filterDatasetIds(TableReportConfigDAO config, TableReportDAO report) {
-        List<Object[]> list = selectByTest(config.test.id, config.filterLabels);
-        if (list.isEmpty()) {
+    private List<DatasetLabels> filterDatasets(TableReportConfigDAO config, TableReportDAO report,
+            List<DatasetLabels> datasets) {
+        if (datasets.isEmpty()) {
             log(report, PersistentLogDAO.WARN, "There are no matching datasets for test %s (%d)", config.test.name,
                     config.test.id);
         }
-        List<Integer> datasetIds = new ArrayList<>(list.size());
-        if (nullOrEmpty(config.filterFunction)) {
-            StringBuilder debugList = new StringBuilder();
-            for (Object[] row : list) {
-                Integer datasetId = (Integer) row[0];
-                int runId = (int) row[1];
-                int ordinal = (int) row[2];
-                if (debugList.length() != 0) {
-                    debugList.append(", ");
-                }
-                debugList.append(runId).append('/').append(ordinal);
-                if (row[3] != null && ((JsonNode) row[3]).asBoolean(false)) {
-                    datasetIds.add(datasetId);
-                } else {
-                    debugList.append("(filtered, null dataset id, check for run without a schema)");
-                }
-            }
-            log(report, PersistentLogDAO.DEBUG, "Datasets considered for report: %s", debugList);
-        } else {
-            executeInContext(config, context -> {
-                StringBuilder debugList = new StringBuilder();
-                for (Object[] row : list) {
-                    Integer datasetId = (Integer) row[0];
-                    int runId = (int) row[1];
-                    int ordinal = (int) row[2];
-                    String jsCode = buildCode(config.filterFunction, String.valueOf(row[3]));
-                    if (debugList.length() != 0) {
-                        debugList.append(", ");
-                    }
-                    debugList.append(runId).append('/').append(ordinal);
-                    try {
-                        org.graalvm.polyglot.Value value = context.eval("js", jsCode);
-                        if (value.isBoolean()) {
-                            if (value.asBoolean()) {
-                                datasetIds.add(datasetId);
-                            } else {
-                                debugList.append("(filtered)");
-                                log.debugf("Dataset %d/%d (%d) filtered out, value: %s", runId, ordinal, datasetId, row[3]);
-
-                            }
+        List<DatasetLabels> included = new ArrayList<>(datasets.size());
+        StringBuilder debugList = new StringBuilder();
+        Util.evaluateWithCombinationFunction(datasets,
+                ds -> config.filterFunction,
+                ds -> ds.select(config.filterLabels),
+                (ds, value) -> {
+                    appendDataset(debugList, ds);
+                    if (value.isBoolean()) {
+                        if (value.asBoolean()) {
+                            included.add(ds);
                         } else {
-                            debugList.append("(filtered: not boolean)");
-                            log(report, PersistentLogDAO.ERROR,
-                                    "Report %s(%d) filter result for dataset %d/%d (%d) is not a boolean: %s. Offending code: <br><pre>%s</pre>",
-                                    config.title, config.id, runId, ordinal, datasetId, value, jsCode);
+                            debugList.append("(filtered)");
+                            log.debugf("Dataset %s filtered out, value: %s", ds, ds.select(config.filterLabels));
                         }
-                    } catch (PolyglotException e) {
-                        debugList.append("(filtered: JS error)");
+                    } else {
+                        debugList.append("(filtered: not boolean)");
                         log(report, PersistentLogDAO.ERROR,
-                                "Failed to run report %s(%d) filter function on dataset %d/%d (%d). Offending code: <br><pre>%s</pre>",
-                                config.title, config.id, runId, ordinal, datasetId, jsCode);
-                        log.debug("Caused by exception", e);
+                                "Report %s(%d) filter result for dataset %d/%d (%d) is not a boolean: %s. Offending code: <br><pre>%s</pre>",
+                                config.title, config.id, ds.runId, ds.ordinal, ds.datasetId, value, config.filterFunction);
                     }
-                }
-                log(report, PersistentLogDAO.DEBUG, "Datasets considered for report: %s", debugList);
-            });
+                },
+                ds -> {
+                    appendDataset(debugList, ds);
+                    JsonNode value = ds.select(config.filterLabels);
+                    if (value != null && value.asBoolean(false)) {
+                        included.add(ds);
+                    } else {
+                        debugList.append("(filtered, null dataset id, check for run without a schema)");
+                    }
+                },
+                (ds, e, code) -> {
+                    appendDataset(debugList, ds);
+                    debugList.append("(filtered: JS error)");
+                    log(report, PersistentLogDAO.ERROR,
+                            "Failed to run report %s(%d) filter function on dataset %d/%d (%d). Offending code: <br><pre>%s</pre>",
+                            config.title, config.id, ds.runId, ds.ordinal, ds.datasetId, code);
+                    log.debug("Caused by exception", e);
+                },
+                out -> logOutput(config, out));
+        log(report, PersistentLogDAO.DEBUG, "Datasets considered for report: %s", debugList);
+        return included;
+    }
+
+    private void appendDataset(StringBuilder debugList, DatasetLabels ds) {
+        if (debugList.length() != 0) {
+            debugList.append(", ");
         }
-        return datasetIds;
+        debugList.append(ds.runId).append('/').append(ds.ordinal);
     }
 
     private void log(TableReportDAO report, int level, String msg, Object... args) {
@@ -694,27 +799,8 @@ public class ReportServiceImpl implements ReportService {
         report.logs.add(new ReportLogDAO(report, level, message));
     }
 
-    private String buildCode(String function, String param) {
-        return "var __obj = " + param + ";\n" +
-                "var __func = " + function + ";\n" +
-                "__func(__obj)";
-    }
-
-    private void executeInContext(TableReportConfigDAO config, Consumer<Context> consumer) {
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-        try (Context context = Context.newBuilder("js").out(out).err(out).build()) {
-            context.enter();
-            try {
-                consumer.accept(context);
-            } finally {
-                context.leave();
-            }
-        } finally {
-            if (out.size() > 0) {
-                log.infof("Output while calculating data for report %s(%d): <pre>%s</pre>", config.title, config.id,
-                        out.toString());
-            }
-        }
+    private void logOutput(TableReportConfigDAO config, String output) {
+        log.infof("Output while calculating data for report %s(%d): <pre>%s</pre>", config.title, config.id, output);
     }
 
     @WithRoles(extras = Roles.HORREUM_SYSTEM)
@@ -1,24 +1,38 @@
 package io.hyperfoil.tools.horreum.svc;
 
 import static com.fasterxml.jackson.databind.node.JsonNodeFactory.instance;
-import static io.hyperfoil.tools.horreum.entity.data.SchemaDAO.QUERY_1ST_LEVEL_BY_RUNID_TRANSFORMERID_SCHEMA_ID;
-import static io.hyperfoil.tools.horreum.entity.data.SchemaDAO.QUERY_2ND_LEVEL_BY_RUNID_TRANSFORMERID_SCHEMA_ID;
+import static io.hyperfoil.tools.horreum.entity.data.SchemaDAO.QUERY_TRANSFORMER_EXTRACTORS_BY_RUNID;
 import static io.hyperfoil.tools.horreum.entity.data.SchemaDAO.QUERY_TRANSFORMER_TARGETS;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.annotation.security.PermitAll;
 import jakarta.annotation.security.RolesAllowed;
 import jakarta.enterprise.context.ApplicationScoped;
@@ -39,6 +53,7 @@ import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.hibernate.ScrollMode;
 import org.hibernate.ScrollableResults;
 import org.hibernate.Session;
@@ -50,7 +65,9 @@ import org.jboss.resteasy.reactive.multipart.FileUpload;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -71,21 +88,25 @@ import io.hyperfoil.tools.horreum.datastore.BackendResolver;
 import io.hyperfoil.tools.horreum.datastore.Datastore;
 import io.hyperfoil.tools.horreum.datastore.DatastoreResponse;
 import io.hyperfoil.tools.horreum.entity.PersistentLogDAO;
-import io.hyperfoil.tools.horreum.entity.alerting.DataPointDAO;
 import io.hyperfoil.tools.horreum.entity.alerting.TransformationLogDAO;
 import io.hyperfoil.tools.horreum.entity.data.DatasetDAO;
 import io.hyperfoil.tools.horreum.entity.data.RunDAO;
+import io.hyperfoil.tools.horreum.entity.data.RunIngestionDAO;
 import io.hyperfoil.tools.horreum.entity.data.SchemaDAO;
 import io.hyperfoil.tools.horreum.entity.data.TestDAO;
 import io.hyperfoil.tools.horreum.entity.data.TransformerDAO;
 import io.hyperfoil.tools.horreum.hibernate.JsonBinaryType;
 import io.hyperfoil.tools.horreum.mapper.DatasetMapper;
+import io.hyperfoil.tools.horreum.mapper.RunIngestionMapper;
 import io.hyperfoil.tools.horreum.mapper.RunMapper;
 import io.hyperfoil.tools.horreum.server.RoleManager;
 import io.hyperfoil.tools.horreum.server.WithRoles;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
 import io.quarkus.logging.Log;
 import io.quarkus.narayana.jta.runtime.TransactionConfiguration;
 import io.quarkus.runtime.Startup;
+import io.quarkus.runtime.configuration.MemorySize;
 import io.quarkus.security.identity.SecurityIdentity;
 
 @ApplicationScoped
@@ -116,7 +137,13 @@ public class RunServiceImpl implements RunService {
          """;
     //@formatter:on
     private static final String[] CONDITION_SELECT_TERMINAL = { "==", "!=", "<>", "<", "<=", ">", ">=", " " };
+    private static final Pattern SIMPLE_KEY = Pattern.compile("[a-zA-Z_][a-zA-Z0-9_]*");
+    private static final Pattern SIMPLE_PATH = Pattern.compile("[a-zA-Z_][a-zA-Z0-9_]*(\\.[a-zA-Z_][a-zA-Z0-9_]*)+");
+    // must match the limit in run_keys()
+    private static final int MAX_INDEXED_KEY_LENGTH = 256;
+    private static final Object ROLES_PARAM = new Object();
     private static final String CHANGE_ACCESS = "UPDATE run SET owner = ?, access = ? WHERE id = ?";
+    private static final String INGESTED_DATASET = "runid = (SELECT runid FROM dataset WHERE id = ?1) AND status = 'PROCESSING'";
     private static final String SCHEMA_USAGE = "COALESCE(jsonb_agg(jsonb_build_object(" +
             "'id', schema.id, 'uri', rs.uri, 'name', schema.name, 'source', rs.source, " +
             "'type', rs.type, 'key', rs.key, 'hasJsonSchema', schema.schema IS NOT NULL)), '[]')";
@@ -127,6 +154,9 @@ public class RunServiceImpl implements RunService {
     @Inject
     SecurityIdentity identity;
 
+    @Inject
+    HttpHeaders httpHeaders;
+
     @Inject
     RoleManager roleManager;
 
@@ -153,7 +183,47 @@ public class RunServiceImpl implements RunService {
     @Inject
     Session session;
 
+    @ConfigProperty(name = "horreum.transformation.parallelism", defaultValue = "4")
+    int transformationParallelism;
+
+    @ConfigProperty(name = "horreum.run.upload.max-size", defaultValue = "512M")
+    MemorySize uploadMaxSize;
+
+    @ConfigProperty(name = "horreum.run.bulk.chunk-size", defaultValue = "500")
+    int bulkChunkSize;
+
     private final ConcurrentHashMap<Integer, TestService.RecalculationStatus> transformations = new ConcurrentHashMap<>();
+    private ExecutorService transformationExecutor;
+
+    private final DistributionSummary uploadSize = DistributionSummary.builder("horreum.run.upload.size")
+            .baseUnit("bytes").description("Size of uploaded run data and metadata").register(Metrics.globalRegistry);
+    // highest heap usage observed right after parsing an upload, when the whole document is in memory
+    private final AtomicLong uploadPeakHeap = Metrics.globalRegistry.gauge("horreum.run.upload.heap.peak",
+            new AtomicLong(), AtomicLong::doubleValue);
+
+    @PostConstruct
+    void init() {
+        if (transformationParallelism > 1) {
+            AtomicInteger counter = new AtomicInteger();
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(transformationParallelism, transformationParallelism,
+                    60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(16 * transformationParallelism), runnable -> {
+                        Thread thread = new Thread(runnable, "horreum-transformer-" + counter.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    // when the queue is full the transforming thread evaluates the function itself
+                    new ThreadPoolExecutor.CallerRunsPolicy());
+            executor.allowCoreThreadTimeOut(true);
+            transformationExecutor = executor;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (transformationExecutor != null) {
+            transformationExecutor.shutdownNow();
+        }
+    }
 
     @Transactional
     @WithRoles(extras = Roles.HORREUM_SYSTEM)
@@ -234,23 +304,26 @@ public class RunServiceImpl implements RunService {
     @WithRoles
     @Override
     public RunExtended getRun(int id) {
-
-        RunExtended runExtended = null;
-
-        String extendedData = (String) Util.runQuery(em, "SELECT (to_jsonb(run) || jsonb_build_object(" +
+        // data and metadata are not parsed, these are written to the response as they were rendered by the database
+        byte[][] row = RawJson.queryRow(session, "SELECT (to_jsonb(run) - 'data' - 'metadata' || jsonb_build_object(" +
                 "'schemas', (SELECT " + SCHEMA_USAGE
                 + " FROM run_schemas rs JOIN schema ON rs.schemaid = schema.id WHERE runid = run.id), " +
                 "'testname', (SELECT name FROM test WHERE test.id = run.testid), " +
                 "'datasets', (SELECT jsonb_agg(id ORDER BY id) FROM dataset WHERE runid = run.id), " +
-                "'validationErrors', (SELECT jsonb_agg(jsonb_build_object('schemaId', schema_id, 'error', error)) FROM run_validationerrors WHERE run_id = ?1)"
+                "'validationErrors', (SELECT jsonb_agg(jsonb_build_object('schemaId', schema_id, 'error', error)) FROM run_validationerrors WHERE run_id = run.id)"
                 +
-                "))::text FROM run WHERE id = ?1", id);
+                "))::text, data::text, metadata::text FROM run WHERE id = ?", id);
+        if (row == null) {
+            throw ServiceException.notFound("Run " + id + " not found");
+        }
+        RunExtended runExtended;
         try {
-            runExtended = mapper.readValue(extendedData, RunExtended.class);
-        } catch (JsonProcessingException e) {
+            runExtended = mapper.readValue(row[0], RunExtended.class);
+        } catch (IOException e) {
             throw ServiceException.serverError("Could not retrieve extended run");
         }
-
+        runExtended.data = RawJson.node(row[1]);
+        runExtended.metadata = RawJson.node(row[2]);
         return runExtended;
     }
 
@@ -278,17 +351,20 @@ public class RunServiceImpl implements RunService {
     @PermitAll
     @WithRoles
     @Override
-    public Object getData(int id, String schemaUri) {
+    public Object getData(int id, String schemaUri, String path) {
+        String[] jsonPath = RawJson.toPath(path);
+        byte[][] row;
         if (schemaUri == null || schemaUri.isEmpty()) {
-            return Util.runQuery(em, "SELECT data#>>'{}' from run where id = ?", id);
+            row = RawJson.queryRow(session, "SELECT (data #> ?)::text from run where id = ?", jsonPath, id);
         } else {
-            String sqlQuery = "SELECT (CASE " +
+            String sqlQuery = "SELECT ((CASE " +
                     "WHEN rs.type = 0 THEN run.data " +
                     "WHEN rs.type = 1 THEN run.data->rs.key " +
                     "ELSE run.data->(rs.key::integer) " +
-                    "END)#>>'{}' FROM run JOIN run_schemas rs ON rs.runid = run.id WHERE id = ?1 AND rs.source = 0 AND rs.uri = ?2";
-            return Util.runQuery(em, sqlQuery, id, schemaUri);
+                    "END) #> ?)::text FROM run JOIN run_schemas rs ON rs.runid = run.id WHERE id = ? AND rs.source = 0 AND rs.uri = ?";
+            row = RawJson.queryRow(session, sqlQuery, jsonPath, id, schemaUri);
         }
+        return rawJsonResponse(row, path);
     }
 
     //this is nearly identical to TestServiceImpl.labelValues (except the return object)
@@ -296,8 +372,7 @@ public class RunServiceImpl implements RunService {
     @Override
     public List<ExportedLabelValues> labelValues(int runId, String filter, String sort, String direction, int limit, int page,
             List<String> include, List<String> exclude, boolean multiFilter) {
-        Run run = getRun(runId);
-        if (run == null) {
+        if (em.createNativeQuery("SELECT 1 FROM run WHERE id = ?1").setParameter(1, runId).getResultList().isEmpty()) {
             throw ServiceException.notFound("Cannot find run " + runId);
         }
 
@@ -312,22 +387,27 @@ public class RunServiceImpl implements RunService {
     @PermitAll
     @WithRoles
     @Override
-    public JsonNode getMetadata(int id, String schemaUri) {
-        String result;
+    public Object getMetadata(int id, String schemaUri, String path) {
+        String[] jsonPath = RawJson.toPath(path);
+        byte[][] row;
         if (schemaUri == null || schemaUri.isEmpty()) {
-            result = (String) Util.runQuery(em, "SELECT coalesce((metadata#>>'{}')::jsonb, '{}'::jsonb) from run where id = ?",
-                    id);
+            row = RawJson.queryRow(session, "SELECT (coalesce(metadata, '{}'::jsonb) #> ?)::text from run where id = ?",
+                    jsonPath, id);
         } else {
-            String sqlQuery = "SELECT run.metadata->(rs.key::integer)#>>'{}' FROM run " +
-                    "JOIN run_schemas rs ON rs.runid = run.id WHERE id = ?1 AND rs.source = 1 AND rs.uri = ?2";
-            result = (String) Util.runQuery(em, sqlQuery, id, schemaUri);
+            String sqlQuery = "SELECT ((run.metadata->(rs.key::integer)) #> ?)::text FROM run " +
+                    "JOIN run_schemas rs ON rs.runid = run.id WHERE id = ? AND rs.source = 1 AND rs.uri = ?";
+            row = RawJson.queryRow(session, sqlQuery, jsonPath, id, schemaUri);
         }
-        try {
+        return rawJsonResponse(row, path);
+    }
 
-            return Util.OBJECT_MAPPER.readTree(result);
-        } catch (JsonProcessingException e) {
-            throw ServiceException.serverError(e.getMessage());
+    private Response rawJsonResponse(byte[][] row, String path) {
+        if (row == null) {
+            throw ServiceException.notFound("No result");
+        } else if (row[0] == null) {
+            throw ServiceException.notFound(path == null || path.isEmpty() ? "No result" : "Nothing found at path " + path);
         }
+        return RawJson.response(row[0], httpHeaders.getHeaderString("Range"));
     }
 
     @RolesAllowed(Roles.TESTER)
@@ -381,13 +461,13 @@ public class RunServiceImpl implements RunService {
 
     @Override
     public Response addRunFromData(String start, String stop, String test, String owner, Access access, String schemaUri,
-            String description, String data) {
-        return addRunFromData(start, stop, test, owner, access, schemaUri, description, data, null);
+            String description, boolean async, String data) {
+        return addRunFromData(start, stop, test, owner, access, schemaUri, description, async, data, null);
     }
 
     @Override
     public Response addRunFromData(String start, String stop, String test, String owner, Access access, String schemaUri,
-            String description, FileUpload data, FileUpload metadata) {
+            String description, boolean async, FileUpload data, FileUpload metadata) {
         if (data == null) {
             log.debugf("Failed to upload for test %s with description %s because of missing data.", test, description);
             throw ServiceException.badRequest("No data!");
@@ -403,9 +483,12 @@ public class RunServiceImpl implements RunService {
             throw ServiceException.badRequest(
                     "Part 'metadata' must use content-type: application/json, currently: " + metadata.contentType());
         }
+        long size = data.size() + (metadata == null ? 0 : metadata.size());
+        checkUploadSize(size, test, description);
         JsonNode dataNode;
         JsonNode metadataNode = null;
         try {
+            // parse straight from the uploaded file, the content is never held as a String
             dataNode = Util.OBJECT_MAPPER.readTree(data.uploadedFile().toFile());
             if (metadata != null) {
                 metadataNode = Util.OBJECT_MAPPER.readTree(metadata.uploadedFile().toFile());
@@ -436,7 +519,23 @@ public class RunServiceImpl implements RunService {
             log.error("Failed to read data/metadata from upload file", e);
             throw ServiceException.badRequest("Provided data/metadata can't be read (JSON encoding problem?)");
         }
-        return addRunFromData(start, stop, test, owner, access, schemaUri, description, dataNode.toString(), metadataNode);
+        recordUpload(size);
+        return addRunFromData(start, stop, test, owner, access, schemaUri, description, async, dataNode, metadataNode);
+    }
+
+    private void checkUploadSize(long size, String test, String description) {
+        if (size > uploadMaxSize.asLongValue()) {
+            log.debugf("Failed to upload for test %s with description %s because the upload has %d bytes, limit is %d.",
+                    test, description, size, uploadMaxSize.asLongValue());
+            throw ServiceException.badRequest("Upload is too large: " + size + " bytes, the limit is "
+                    + uploadMaxSize.asLongValue() + " bytes");
+        }
+    }
+
+    private void recordUpload(long size) {
+        uploadSize.record(size);
+        Runtime runtime = Runtime.getRuntime();
+        uploadPeakHeap.accumulateAndGet(runtime.totalMemory() - runtime.freeMemory(), Math::max);
     }
 
     /**
@@ -452,6 +551,9 @@ public class RunServiceImpl implements RunService {
      * the processing of the entire run is offloaded to an asynchronous queue.
      * For fewer runs, processing occurs synchronously.
      *
+     * With {@code async} set, the runs are persisted without transformation and an ingestion job
+     * is created for each of them; the transformation happens when consuming the {@code run-upload} channel.
+     *
      * @param start the start time for the run
      * @param stop the stop time for the run
      * @param test the name or identifier of the test
@@ -459,6 +561,7 @@ public class RunServiceImpl implements RunService {
      * @param access the access level for the run
      * @param schemaUri the URI of the schema used for validation
      * @param description a description of the run
+     * @param async whether the runs should be transformed in the background
      * @param stringData the raw string data to be processed
      * @param metadata additional metadata associated with the run
      * @return a Response indicating the result of the operation, including accepted or rejected status
@@ -468,19 +571,35 @@ public class RunServiceImpl implements RunService {
     @WithRoles
     Response addRunFromData(String start, String stop, String test,
             String owner, Access access,
-            String schemaUri, String description,
+            String schemaUri, String description, boolean async,
             String stringData, JsonNode metadata) {
         if (stringData == null) {
             log.debugf("Failed to upload for test %s with description %s because of missing data.", test, description);
             throw ServiceException.badRequest("No data!");
         }
+        long size = Util.utf8Length(stringData);
+        checkUploadSize(size, test, description);
         JsonNode data = null;
         try {
             data = Util.OBJECT_MAPPER.readValue(stringData, JsonNode.class);
         } catch (JsonProcessingException e) {
             throw ServiceException.badRequest("Could not map incoming data to JsonNode: " + e.getMessage());
         }
+        recordUpload(size);
+        return addRunFromData(start, stop, test, owner, access, schemaUri, description, async, data, metadata);
+    }
 
+    /**
+     * Variant of {@link #addRunFromData(String, String, String, String, Access, String, String, boolean, String, JsonNode)}
+     * for data that have been already parsed.
+     */
+    @RolesAllowed(Roles.UPLOADER)
+    @WithRoles
+    Response addRunFromData(String start, String stop, String test,
+            String owner, Access access,
+            String schemaUri, String description, boolean async,
+            JsonNode data, JsonNode metadata) {
+        Instant received = Instant.now();
         Object foundTest = findIfNotSet(test, data);
         String testNameOrId = foundTest == null ? null : foundTest.toString().trim();
         if (testNameOrId == null || testNameOrId.isEmpty()) {
@@ -495,30 +614,51 @@ public class RunServiceImpl implements RunService {
                 Optional.ofNullable(schemaUri));
 
         List<RunPersistence> runs = new ArrayList<>();
-        if (datastore.uploadType() == Datastore.UploadType.MUILTI
-                && response.payload instanceof ArrayNode) {
-
-            if (response.payload.isEmpty()) {
+        // runs returned by the datastore may be streamed page by page, the response holds the resources until closed
+        try (response) {
+            boolean multipleRuns = datastore.uploadType() == Datastore.UploadType.MUILTI && response.isMultiple();
+            Iterator<JsonNode> payloads = multipleRuns ? response.runs() : List.of(response.payload).iterator();
+            if (multipleRuns && !payloads.hasNext()) {
                 // user is trying to upload NO runs
                 return Response.status(Response.Status.NO_CONTENT).entity("Datastore query returned no results").build();
             }
 
-            // TODO: can we store the run/datasets and process datasets recalculation async regardless of the number of runs?
-            //if we return more than 10 results, offload to async queue to process - this might take a LOOONG time
-            if (response.payload.size() > 10) {
-                Log.infof("Received more than 10 runs, processing them asynchronously");
-                response.payload.forEach(jsonNode -> {
-                    mediator.queueRunUpload(start, stop, test, owner, access, schemaUri, description, null, jsonNode,
-                            testEntity);
-                });
-            } else { //process synchronously
-                response.payload.forEach(jsonNode -> runs
-                        .add(getPersistRun(start, stop, test, owner, access, schemaUri, description, metadata, jsonNode,
-                                testEntity)));
+            if (async) {
+                List<RunIngestionDAO> jobs = new ArrayList<>();
+                while (payloads.hasNext()) {
+                    RunDAO run = createRun(start, stop, test, owner, access, schemaUri, description, metadata,
+                            payloads.next(), testEntity);
+                    jobs.add(addAuthenticatedForIngestion(run, testEntity, received));
+                }
+                // the runs are committed, the transformation can find them
+                jobs.forEach(job -> mediator.queueRunIngestion(job.id, job.runId, job.testId));
+                return Response.status(Response.Status.ACCEPTED)
+                        .entity(jobs.stream().map(job -> Long.toString(job.id)).collect(Collectors.joining(",")))
+                        .build();
+            }
+
+            if (multipleRuns) {
+                // look ahead only as far as needed to decide, the rest of the runs is queued as it is fetched
+                List<JsonNode> first = new ArrayList<>();
+                while (first.size() <= 10 && payloads.hasNext()) {
+                    first.add(payloads.next());
+                }
+                //if we return more than 10 results, offload to async queue to process - this might take a LOOONG time
+                if (first.size() > 10) {
+                    Log.infof("Received more than 10 runs, processing them asynchronously");
+                    Consumer<JsonNode> queue = jsonNode -> mediator.queueRunUpload(start, stop, test, owner, access,
+                            schemaUri, description, null, jsonNode, testEntity);
+                    first.forEach(queue);
+                    payloads.forEachRemaining(queue);
+                } else { //process synchronously
+                    first.forEach(jsonNode -> runs
+                            .add(getPersistRun(start, stop, test, owner, access, schemaUri, description, metadata,
+                                    jsonNode, testEntity)));
+                }
+            } else {
+                runs.add(getPersistRun(start, stop, test, owner, access, schemaUri, description, metadata,
+                        response.payload, testEntity));
             }
-        } else {
-            runs.add(getPersistRun(start, stop, test, owner, access, schemaUri, description, metadata, response.payload,
-                    testEntity));
         }
 
         if (!runs.isEmpty()) {
@@ -541,6 +681,10 @@ public class RunServiceImpl implements RunService {
     void persistRun(ServiceMediator.RunUpload runUpload) {
         runUpload.roles.add("horreum.system");
         roleManager.setRoles(String.join(",", runUpload.roles));
+        if (runUpload.jobId != null) {
+            transformIngestedRun(runUpload.jobId);
+            return;
+        }
         TestDAO testEntity = TestDAO.findById(runUpload.testId);
         if (testEntity == null) {
             log.errorf("Could not find Test (%d) for Run Upload", runUpload.testId);
@@ -560,8 +704,260 @@ public class RunServiceImpl implements RunService {
         }
     }
 
+    private void transformIngestedRun(long jobId) {
+        List<Integer> datasetIds;
+        try {
+            datasetIds = transformIngestion(jobId);
+        } catch (Exception e) {
+            log.errorf(e, "Failed to transform Run of ingestion job %d", jobId);
+            failIngestion(jobId, "Transformation failed: " + Util.explainCauses(e));
+            return;
+        }
+        datasetIds.forEach(dsId -> {
+            DatasetDAO ds = DatasetDAO.findById(dsId);
+            if (ds != null) {
+                queueDatasetProcessing(ds, false, true);
+            } else {
+                Log.warnf("Dataset with id %d not found, cannot process it", dsId);
+            }
+        });
+    }
+
+    @WithRoles(extras = Roles.HORREUM_SYSTEM)
+    @Transactional
+    List<Integer> transformIngestion(long jobId) {
+        RunIngestionDAO job = RunIngestionDAO.findById(jobId);
+        if (job == null) {
+            log.errorf("Cannot find ingestion job %d", jobId);
+            return Collections.emptyList();
+        }
+        job.transformStarted = Instant.now();
+        List<Integer> datasetIds = transform(job.runId, false);
+        job.transformed = Instant.now();
+        job.datasets = datasetIds.size();
+        if (datasetIds.isEmpty()) {
+            job.status = RunService.IngestionStatus.FAILED;
+            job.error = "Transformation did not create any dataset";
+            job.finished = job.transformed;
+        } else {
+            job.status = RunService.IngestionStatus.PROCESSING;
+        }
+        return datasetIds;
+    }
+
+    @WithRoles(extras = Roles.HORREUM_SYSTEM)
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    void failIngestion(long jobId, String error) {
+        RunIngestionDAO job = RunIngestionDAO.findById(jobId);
+        if (job != null) {
+            job.status = RunService.IngestionStatus.FAILED;
+            job.error = limitLength(error);
+            job.finished = Instant.now();
+        }
+    }
+
+    /**
+     * Records that label values of a dataset have been calculated, if its run is being ingested.
+     */
+    @WithRoles(extras = Roles.HORREUM_SYSTEM)
+    @Transactional
+    void onIngestedDatasetLabels(int datasetId) {
+        em.createNativeQuery("UPDATE run_ingestion SET labelscalculated = ?2 WHERE " + INGESTED_DATASET)
+                .setParameter(1, datasetId)
+                .setParameter(2, Instant.now())
+                .executeUpdate();
+    }
+
+    /**
+     * Records that a dataset has been validated, if its run is being ingested; the job is done once
+     * all datasets of the run are validated.
+     */
+    @WithRoles(extras = Roles.HORREUM_SYSTEM)
+    @Transactional
+    void onIngestedDatasetValidated(int datasetId) {
+        // concurrent updates of the same job are serialized by the row lock, the last one sees all other datasets processed
+        em.createNativeQuery("""
+                UPDATE run_ingestion SET validated = ?2, processed = processed + 1,
+                    status = CASE WHEN processed + 1 >= datasets THEN 'DONE' ELSE status END,
+                    finished = CASE WHEN processed + 1 >= datasets THEN ?2 ELSE finished END
+                WHERE\s""" + INGESTED_DATASET)
+                .setParameter(1, datasetId)
+                .setParameter(2, Instant.now())
+                .executeUpdate();
+    }
+
+    @WithRoles
+    @Override
+    public RunService.RunIngestion getIngestion(long id) {
+        RunIngestionDAO job = RunIngestionDAO.findById(id);
+        if (job == null) {
+            throw ServiceException.notFound("Ingestion job " + id + " not found");
+        }
+        return RunIngestionMapper.from(job);
+    }
+
+    @RolesAllowed(Roles.UPLOADER)
+    @WithRoles
+    @Override
+    public List<BulkRunResult> addBulk(String testNameOrId, String owner, Access access, InputStream runs) {
+        if (testNameOrId == null || testNameOrId.isBlank()) {
+            throw ServiceException.badRequest("No test name or id provided");
+        } else if (runs == null) {
+            throw ServiceException.badRequest("No data!");
+        }
+        Instant received = Instant.now();
+        TestDAO test = testService.ensureTestExists(testNameOrId);
+        List<BulkRunResult> results = new ArrayList<>();
+        List<BulkItem> chunk = new ArrayList<>(bulkChunkSize);
+        // reads both a JSON array and a sequence of root-level values (NDJSON), one run at a time
+        try (MappingIterator<JsonNode> iterator = mapper.readerFor(JsonNode.class).readValues(runs)) {
+            while (true) {
+                BulkRunResult result = new BulkRunResult();
+                result.index = results.size();
+                JsonNode node;
+                long size;
+                try {
+                    if (!iterator.hasNextValue()) {
+                        break;
+                    }
+                    long start = iterator.getParser().currentTokenLocation().getByteOffset();
+                    node = iterator.nextValue();
+                    size = iterator.getParser().currentLocation().getByteOffset() - start;
+                } catch (IOException | RuntimeJsonMappingException e) {
+                    // the rest of the stream cannot be parsed
+                    result.error = "Cannot parse run: " + e.getMessage();
+                    results.add(result);
+                    break;
+                }
+                results.add(result);
+                if (size > uploadMaxSize.asLongValue()) {
+                    result.error = "Run is too large: " + size + " bytes, the limit is " + uploadMaxSize.asLongValue()
+                            + " bytes";
+                    continue;
+                }
+                Run run;
+                try {
+                    run = mapper.treeToValue(node, Run.class);
+                } catch (JsonProcessingException | IllegalArgumentException e) {
+                    result.error = "Cannot map run: " + e.getMessage();
+                    continue;
+                }
+                if (run == null || run.start == null || run.stop == null) {
+                    result.error = "Missing start or stop timestamp";
+                } else if (run.data == null || run.data.isNull()) {
+                    result.error = "Missing data";
+                } else {
+                    run.testid = test.id;
+                    run.validationErrors = null;
+                    if (owner != null) {
+                        run.owner = owner;
+                    }
+                    if (access != null) {
+                        run.access = access;
+                    }
+                    chunk.add(new BulkItem(run, result));
+                    if (chunk.size() >= bulkChunkSize) {
+                        persistBulk(chunk, test, received);
+                        chunk.clear();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw ServiceException.badRequest("Cannot read runs: " + e.getMessage());
+        }
+        if (!chunk.isEmpty()) {
+            persistBulk(chunk, test, received);
+        }
+        return results;
+    }
+
+    private void persistBulk(List<BulkItem> chunk, TestDAO test, Instant received) {
+        List<RunIngestionDAO> jobs;
+        try {
+            jobs = addAuthenticatedBulk(chunk, test, received);
+        } catch (Exception e) {
+            if (chunk.size() == 1) {
+                log.debugf(e, "Failed to persist run %d of bulk upload to test %s", chunk.get(0).result.index, test.name);
+                chunk.get(0).result.error = "Failed to persist run: " + Util.explainCauses(e);
+            } else {
+                // find out which runs failed, persisting the others
+                log.debugf("Failed to persist chunk of %d runs to test %s, retrying one by one", chunk.size(), test.name);
+                for (BulkItem item : chunk) {
+                    item.result.error = null;
+                    persistBulk(List.of(item), test, received);
+                }
+            }
+            return;
+        }
+        for (int i = 0; i < chunk.size(); ++i) {
+            RunIngestionDAO job = jobs.get(i);
+            if (job != null) {
+                chunk.get(i).result.runId = job.runId;
+                chunk.get(i).result.jobId = job.id;
+                mediator.queueRunIngestion(job.id, job.runId, job.testId);
+            }
+        }
+    }
+
+    /**
+     * Persists runs of a bulk upload in a single transaction, with inserts batched, and creates ingestion jobs for them.
+     *
+     * @return ingestion jobs in the order of the items, {@code null} for items that have been rejected
+     */
+    @WithRoles(extras = Roles.HORREUM_SYSTEM)
+    @Transactional
+    List<RunIngestionDAO> addAuthenticatedBulk(List<BulkItem> items, TestDAO test, Instant received) {
+        session.setJdbcBatchSize(items.size());
+        List<RunDAO> runs = new ArrayList<>(items.size());
+        for (BulkItem item : items) {
+            RunDAO run = RunMapper.to(item.run);
+            run.owner = item.run.owner;
+            run.access = item.run.access;
+            try {
+                prepareAuthenticated(run, test);
+            } catch (ServiceException e) {
+                item.result.error = e.getMessage();
+                runs.add(null);
+                continue;
+            }
+            em.persist(run);
+            runs.add(run);
+        }
+        // runs are inserted in batches before any job
+        em.flush();
+        Instant persisted = Instant.now();
+        List<RunIngestionDAO> jobs = new ArrayList<>(runs.size());
+        for (RunDAO run : runs) {
+            if (run == null) {
+                jobs.add(null);
+                continue;
+            }
+            RunIngestionDAO job = new RunIngestionDAO();
+            job.testId = test.id;
+            job.runId = run.id;
+            job.status = RunService.IngestionStatus.QUEUED;
+            job.received = received;
+            job.persisted = persisted;
+            job.persist();
+            jobs.add(job);
+        }
+        em.flush();
+        for (RunDAO run : runs) {
+            if (run != null) {
+                onNewRun(run, test);
+            }
+        }
+        return jobs;
+    }
+
     private RunPersistence getPersistRun(String start, String stop, String test, String owner, Access access,
             String schemaUri, String description, JsonNode metadata, JsonNode data, TestDAO testEntity) {
+        return addAuthenticated(createRun(start, stop, test, owner, access, schemaUri, description, metadata, data, testEntity),
+                testEntity);
+    }
+
+    private RunDAO createRun(String start, String stop, String test, String owner, Access access,
+            String schemaUri, String description, JsonNode metadata, JsonNode data, TestDAO testEntity) {
         Object foundStart = findIfNotSet(start, data);
         Object foundStop = findIfNotSet(stop, data);
         Object foundDescription = findIfNotSet(description, data);
@@ -602,8 +998,7 @@ public class RunServiceImpl implements RunService {
         run.metadata = metadata;
         run.owner = owner;
         run.access = access;
-
-        return addAuthenticated(run, testEntity);
+        return run;
     }
 
     private Object findIfNotSet(String value, JsonNode data) {
@@ -634,6 +1029,54 @@ public class RunServiceImpl implements RunService {
     @WithRoles(extras = Roles.HORREUM_SYSTEM)
     @Transactional
     public RunPersistence addAuthenticated(RunDAO run, TestDAO test) {
+        persistAuthenticated(run, test);
+        List<Integer> datasetIds = transform(run.id, false);
+        return new RunPersistence(run.id, datasetIds);
+    }
+
+    /**
+     * Variant of {@link #addAuthenticated(RunDAO, TestDAO)} that does not transform the run
+     * but creates an ingestion job for it instead.
+     *
+     * @param received time the upload was received
+     * @return the ingestion job, queued for transformation
+     */
+    @WithRoles(extras = Roles.HORREUM_SYSTEM)
+    @Transactional
+    RunIngestionDAO addAuthenticatedForIngestion(RunDAO run, TestDAO test, Instant received) {
+        persistAuthenticated(run, test);
+        RunIngestionDAO job = new RunIngestionDAO();
+        job.testId = test.id;
+        job.runId = run.id;
+        job.status = RunService.IngestionStatus.QUEUED;
+        job.received = received;
+        job.persisted = Instant.now();
+        job.persist();
+        return job;
+    }
+
+    private void persistAuthenticated(RunDAO run, TestDAO test) {
+        prepareAuthenticated(run, test);
+        try {
+            if (run.id == null) {
+                em.persist(run);
+            } else {
+                trashConnectedDatasets(run.id, run.testid);
+                em.merge(run);
+            }
+            em.flush();
+        } catch (Exception e) {
+            log.error("Failed to persist run.", e);
+            throw ServiceException.serverError("Failed to persist run");
+        }
+        log.debugf("Upload flushed, run ID %d", run.id);
+        onNewRun(run, test);
+    }
+
+    /**
+     * Resets the ID of the run, sets the default owner and access and checks the permissions of the user.
+     */
+    private void prepareAuthenticated(RunDAO run, TestDAO test) {
         // Id will be always generated anew
         run.id = null;
         //if run.metadata is null on the client, it will be converted to a NullNode, not null...
@@ -660,28 +1103,13 @@ public class RunServiceImpl implements RunService {
             run.access = Access.PRIVATE;
         }
         log.debugf("Uploading with owner=%s and access=%s", run.owner, run.access);
+    }
 
-        try {
-            if (run.id == null) {
-                em.persist(run);
-            } else {
-                trashConnectedDatasets(run.id, run.testid);
-                em.merge(run);
-            }
-            em.flush();
-        } catch (Exception e) {
-            log.error("Failed to persist run.", e);
-            throw ServiceException.serverError("Failed to persist run");
-        }
-        log.debugf("Upload flushed, run ID %d", run.id);
-
+    private void onNewRun(RunDAO run, TestDAO test) {
         mediator.newRun(RunMapper.from(run));
-        List<Integer> datasetIds = transform(run.id, false);
         if (mediator.testMode())
             Util.registerTxSynchronization(tm,
                     txStatus -> mediator.publishEvent(AsyncEventChannels.RUN_NEW, test.id, RunMapper.from(run)));
-
-        return new RunPersistence(run.id, datasetIds);
     }
 
     @PermitAll
@@ -748,72 +1176,83 @@ public class RunServiceImpl implements RunService {
     @WithRoles
     @Override
     public RunsSummary listAllRuns(String query, boolean matchAll, String roles, boolean trashed,
-            Integer limit, Integer page, String sort, SortDirection direction) {
-        StringBuilder sql = new StringBuilder("SELECT run.id, run.start, run.stop, run.testId, ")
-                .append("run.owner, run.access, run.trashed, run.description, ")
-                .append("run.metadata IS NOT NULL AS has_metadata, test.name AS testname, ")
-                .append("'[]'::jsonb AS schemas, '[]'::jsonb AS datasets, '[]'::jsonb AS validationErrors ")
-                .append("FROM run JOIN test ON test.id = run.testId WHERE ");
-        String[] queryParts;
-        boolean whereStarted = false;
-        if (query == null || query.isEmpty()) {
-            queryParts = new String[0];
-        } else {
+            Integer limit, Integer page, String sort, SortDirection direction, String after) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> params = new ArrayList<>();
+        List<String> jsonpaths = new ArrayList<>();
+        if (query != null && !query.isBlank()) {
             query = query.trim();
+            String[] queryParts;
             if (query.startsWith("$") || query.startsWith("@")) {
                 queryParts = new String[] { query };
             } else {
                 queryParts = query.split("([ \t\n,]+)|\\bOR\\b");
             }
-            sql.append("(");
-            for (int i = 0; i < queryParts.length; ++i) {
-                if (i != 0) {
-                    sql.append(matchAll ? " AND " : " OR ");
-                }
-                sql.append("jsonb_path_exists(data, ?").append(i + 1).append(" ::jsonpath)");
-                if (queryParts[i].startsWith("$")) {
-                    // no change
-                } else if (queryParts[i].startsWith("@")) {
-                    queryParts[i] = "$.** ? (" + queryParts[i] + ")";
-                } else {
-                    queryParts[i] = "$.**." + queryParts[i];
+            List<String> terms = new ArrayList<>();
+            for (String part : queryParts) {
+                if (!part.isEmpty()) {
+                    terms.add(searchCondition(part, params, jsonpaths));
                 }
             }
-            sql.append(")");
-            whereStarted = true;
+            if (!terms.isEmpty()) {
+                conditions.add(terms.stream().collect(Collectors.joining(matchAll ? " AND " : " OR ", "(", ")")));
+            }
+        }
+        StringBuilder rolesSql = new StringBuilder();
+        if (Roles.addRolesSql(identity, "run", rolesSql, roles, params.size() + 1, null)) {
+            conditions.add(rolesSql.toString().trim());
+            params.add(ROLES_PARAM);
         }
-
-        whereStarted = Roles.addRolesSql(identity, "run", sql, roles, queryParts.length + 1, whereStarted ? " AND" : null)
-                || whereStarted;
         if (!trashed) {
-            if (whereStarted) {
-                sql.append(" AND ");
-            }
-            sql.append(" trashed = false ");
+            conditions.add("NOT run.trashed");
         }
-        Util.addPaging(sql, limit, page, sort, direction);
+        String from = " FROM run JOIN test ON test.id = run.testid"
+                + (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions));
+        // the filter parameters are shared with the count query, keyset parameters follow them
+        int filterParams = params.size();
 
-        NativeQuery<Object[]> sqlQuery = session.createNativeQuery(sql.toString(), Object[].class);
-        for (int i = 0; i < queryParts.length; ++i) {
-            sqlQuery.setParameter(i + 1, queryParts[i]);
+        StringBuilder sql = new StringBuilder("SELECT run.id, run.start, run.stop, run.testId, ")
+                .append("run.owner, run.access, run.trashed, run.description, ")
+                .append("run.metadata IS NOT NULL AS has_metadata, test.name AS testname, ")
+                .append("'[]'::jsonb AS schemas, '[]'::jsonb AS datasets, '[]'::jsonb AS validationErrors ")
+                .append(from);
+        String keysetColumn = keysetColumn(sort);
+        boolean ascending = direction != null && "Ascending".equalsIgnoreCase(direction.toString());
+        if (keysetColumn != null) {
+            if (after != null && !after.isBlank()) {
+                sql.append(conditions.isEmpty() ? " WHERE " : " AND ");
+                addKeysetCondition(sql, keysetColumn, ascending, after, params);
+            }
+            String order = ascending ? " ASC" : " DESC";
+            sql.append(" ORDER BY run.").append(keysetColumn).append(order).append(", run.id").append(order);
+            Util.addLimitOffset(sql, limit, after == null || after.isBlank() ? page : null);
+        } else if (after != null && !after.isBlank()) {
+            throw ServiceException.badRequest("Cursor pagination is supported only when sorting by start, stop or id");
+        } else {
+            Util.addPaging(sql, limit, page, sort, direction);
         }
 
-        Roles.addRolesParam(identity, sqlQuery, queryParts.length + 1, roles);
+        NativeQuery<Object[]> sqlQuery = session.createNativeQuery(sql.toString(), Object[].class);
+        bindSearchParams(sqlQuery, params, roles);
+        NativeQuery<Long> countQuery = session.createNativeQuery("SELECT count(*)" + from, Long.class);
+        bindSearchParams(countQuery, params.subList(0, filterParams), roles);
 
         try {
             List<Object[]> runs = sqlQuery.getResultList();
 
             RunsSummary summary = new RunsSummary();
-            // TODO: total does not consider the query but evaluating all the expressions would be expensive
-            summary.total = trashed ? RunDAO.count() : RunDAO.count("trashed = false");
+            summary.total = countQuery.getSingleResult();
             summary.runs = runs.stream().map(this::createSummary).collect(Collectors.toList());
+            if (keysetColumn != null && limit != null && limit > 0 && runs.size() == limit) {
+                summary.next = keysetCursor(summary.runs.get(runs.size() - 1), keysetColumn);
+            }
             return summary;
         } catch (PersistenceException pe) {
             // In case of an error PostgreSQL won't let us execute another query in the same transaction
             try {
                 Transaction old = tm.suspend();
                 try {
-                    for (String jsonpath : queryParts) {
+                    for (String jsonpath : jsonpaths) {
                         JsonpathValidation result = sqlService.testJsonPathInternal(jsonpath);
                         if (!result.valid) {
                             throw new WebApplicationException(Response.status(400).entity(result).build());
@@ -829,6 +1268,86 @@ public class RunServiceImpl implements RunService {
         }
     }
 
+    /**
+     * Plain keys are looked up in the {@code run_key} table; paths of plain keys use it to narrow down the runs
+     * before evaluating the path, and only other expressions have to evaluate the JSON path on each run.
+     * The table is read through {@code runs_with_key()}, which returns IDs of all runs with the key; the runs
+     * the user cannot see are filtered out by the row-level security of {@code run}.
+     */
+    private static String searchCondition(String term, List<Object> params, List<String> jsonpaths) {
+        if (term.length() <= MAX_INDEXED_KEY_LENGTH && SIMPLE_KEY.matcher(term).matches()) {
+            params.add(term);
+            return "run.id IN (SELECT runs_with_key(?" + params.size() + "))";
+        }
+        String jsonpath;
+        if (term.startsWith("$")) {
+            jsonpath = term;
+        } else if (term.startsWith("@")) {
+            jsonpath = "$.** ? (" + term + ")";
+        } else {
+            jsonpath = "$.**." + term;
+        }
+        jsonpaths.add(jsonpath);
+        params.add(jsonpath);
+        String pathCondition = "jsonb_path_exists(run.data, ?" + params.size() + " ::jsonpath)";
+        if (SIMPLE_PATH.matcher(term).matches()) {
+            String lastKey = term.substring(term.lastIndexOf('.') + 1);
+            if (lastKey.length() <= MAX_INDEXED_KEY_LENGTH) {
+                params.add(lastKey);
+                return "(run.id IN (SELECT runs_with_key(?" + params.size() + ")) AND " + pathCondition + ")";
+            }
+        }
+        return pathCondition;
+    }
+
+    private void bindSearchParams(NativeQuery<?> query, List<Object> params, String roles) {
+        for (int i = 0; i < params.size(); ++i) {
+            if (params.get(i) == ROLES_PARAM) {
+                Roles.addRolesParam(identity, query, i + 1, roles);
+            } else {
+                query.setParameter(i + 1, params.get(i));
+            }
+        }
+    }
+
+    private static String keysetColumn(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return "start";
+        }
+        return switch (sort.trim()) {
+            case "start", "stop", "id" -> sort.trim();
+            default -> null;
+        };
+    }
+
+    private static void addKeysetCondition(StringBuilder sql, String column, boolean ascending, String after,
+            List<Object> params) {
+        int separator = after.indexOf(':');
+        try {
+            long value = Long.parseLong(after.substring(0, separator));
+            int id = Integer.parseInt(after.substring(separator + 1));
+            String operator = ascending ? " > " : " < ";
+            if ("id".equals(column)) {
+                params.add(id);
+                sql.append("run.id").append(operator).append('?').append(params.size());
+            } else {
+                params.add(Instant.ofEpochSecond(Math.floorDiv(value, 1_000_000), Math.floorMod(value, 1_000_000) * 1000));
+                params.add(id);
+                sql.append("(run.").append(column).append(", run.id)").append(operator)
+                        .append("(?").append(params.size() - 1).append(", ?").append(params.size()).append(')');
+            }
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            throw ServiceException.badRequest("Invalid cursor: " + after);
+        }
+    }
+
+    private static String keysetCursor(RunSummary run, String column) {
+        Instant instant = "stop".equals(column) ? run.stop : run.start;
+        long value = "id".equals(column) ? run.id
+                : Math.multiplyExact(instant.getEpochSecond(), 1_000_000L) + instant.getNano() / 1000;
+        return value + ":" + run.id;
+    }
+
     private void initTypes(Query query) {
         query.unwrap(NativeQuery.class)
                 .addScalar("id", StandardBasicTypes.INTEGER)
@@ -1004,11 +1523,14 @@ public class RunServiceImpl implements RunService {
     private void trashConnectedDatasets(int runId, int testId) {
         //Make sure to remove run_schemas as we've trashed the run
         em.createNativeQuery("DELETE FROM run_schemas WHERE runid = ?1").setParameter(1, runId).executeUpdate();
-        List<DatasetDAO> datasets = DatasetDAO.list("run.id", runId);
-        log.debugf("Trashing run %d (test %d, %d datasets)", runId, testId, datasets.size());
-        for (var dataset : datasets) {
-            mediator.propagatedDatasetDelete(dataset.id);
-        }
+        List<Integer> datasetIds = findDatasetIds(runId);
+        log.debugf("Trashing run %d (test %d, %d datasets)", runId, testId, datasetIds.size());
+        mediator.propagatedDatasetsDelete(datasetIds);
+    }
+
+    private List<Integer> findDatasetIds(int runId) {
+        return session.createNativeQuery("SELECT id FROM dataset WHERE runid = ?1", Integer.class)
+                .setParameter(1, runId).getResultList();
     }
 
     @RolesAllowed(Roles.TESTER)
@@ -1169,14 +1691,10 @@ public class RunServiceImpl implements RunService {
 
         // We need to make sure all old datasets are gone before creating new; otherwise we could
         // break the runid,ordinal uniqueness constraint
-        for (DatasetDAO old : DatasetDAO.<DatasetDAO> list("run.id", runId)) {
-            for (DataPointDAO dp : DataPointDAO.<DataPointDAO> list("dataset.id", old.getInfo().id)) {
-                dp.delete();
-            }
-            mediator.propagatedDatasetDelete(old.id);
-        }
+        mediator.propagatedDatasetsDelete(findDatasetIds(runId));
 
-        RunDAO run = RunDAO.findById(runId);
+        // the run is only read here: loading it read-only skips the snapshot of its data and metadata for dirty checking
+        RunDAO run = session.byId(RunDAO.class).withReadOnly(true).load(runId);
         if (run == null) {
             log.errorf("Cannot load run ID %d for transformation", runId);
             return datasetIds; // this is still empty
@@ -1196,6 +1714,9 @@ public class RunServiceImpl implements RunService {
                 .getResultList());
 
         int schemasAndTransformers = relevantSchemas.size();
+        // extractor values for all transformers are fetched at once, keyed by the transformer and its target
+        Map<TransformerTarget, ObjectNode> extracted = extractTransformerInputs(run);
+        List<TransformerTask> tasks = new ArrayList<>();
         for (Object[] relevantSchema : relevantSchemas) {
             int type = (int) relevantSchema[0];
             String key = (String) relevantSchema[1];
@@ -1214,35 +1735,11 @@ public class RunServiceImpl implements RunService {
             }
             if (t != null) {
                 JsonNode root = JsonNodeFactory.instance.objectNode();
-                JsonNode result;
                 if (t.extractors != null && !t.extractors.isEmpty()) {
-                    List<Object[]> extractedData;
-                    try {
-                        if (type == SchemaDAO.TYPE_1ST_LEVEL) {
-                            // note: metadata always follow the 2nd level format
-                            extractedData = unchecked(em.createNamedQuery(QUERY_1ST_LEVEL_BY_RUNID_TRANSFORMERID_SCHEMA_ID)
-                                    .setParameter(1, run.id).setParameter(2, transformerId)
-                                    .unwrap(NativeQuery.class)
-                                    .addScalar("name", StandardBasicTypes.TEXT)
-                                    .addScalar("value", JsonBinaryType.INSTANCE)
-                                    .getResultList());
-                        } else {
-                            extractedData = unchecked(em.createNamedQuery(QUERY_2ND_LEVEL_BY_RUNID_TRANSFORMERID_SCHEMA_ID)
-                                    .setParameter(1, run.id).setParameter(2, transformerId)
-                                    .setParameter(3, type == SchemaDAO.TYPE_2ND_LEVEL ? key : Integer.parseInt(key))
-                                    .setParameter(4, source)
-                                    .unwrap(NativeQuery.class)
-                                    .addScalar("name", StandardBasicTypes.TEXT)
-                                    .addScalar("value", JsonBinaryType.INSTANCE)
-                                    .getResultList());
-                        }
-                    } catch (PersistenceException e) {
-                        logMessage(run, PersistentLogDAO.ERROR,
-                                "Failed to extract data (JSONPath expression error?): " + Util.explainCauses(e));
-                        findFailingExtractor(runId);
-                        extractedData = Collections.emptyList();
+                    ObjectNode values = extracted.get(new TransformerTarget(transformerId, type, key, source));
+                    if (values != null) {
+                        root = values;
                     }
-                    addExtracted((ObjectNode) root, extractedData);
                 }
                 // In Horreum it's customary that when a single extractor is used we pass the result directly to the function
                 // without wrapping it in an extra object.
@@ -1257,57 +1754,7 @@ public class RunServiceImpl implements RunService {
                 logMessage(run, PersistentLogDAO.DEBUG,
                         "Run transformer %s/%s with input: <pre>%s</pre>, function: <pre>%s</pre>",
                         uri, t.name, limitLength(root.toPrettyString()), t.function);
-                if (t.function != null && !t.function.isBlank()) {
-                    result = Util.evaluateOnce(t.function, root, Util::convertToJson,
-                            (code, e) -> logMessage(run, PersistentLogDAO.ERROR,
-                                    "Evaluation of transformer %s/%s failed: '%s' Code: <pre>%s</pre>", uri, t.name,
-                                    e.getMessage(), code),
-                            output -> logMessage(run, PersistentLogDAO.DEBUG,
-                                    "Output while running transformer %s/%s: <pre>%s</pre>", uri, t.name, output));
-                    if (result == null) {
-                        // this happens upon error
-                        result = JsonNodeFactory.instance.nullNode();
-                    }
-                } else {
-                    result = root;
-                }
-                if (t.targetSchemaUri != null) {
-                    if (result.isObject()) {
-                        putIfAbsent(run, t.targetSchemaUri, (ObjectNode) result);
-                    } else if (result.isArray()) {
-                        ArrayNode array = (ArrayNode) result;
-                        for (JsonNode node : array) {
-                            if (node.isObject()) {
-                                putIfAbsent(run, t.targetSchemaUri, (ObjectNode) node);
-                            }
-                        }
-                    } else {
-                        result = instance.objectNode()
-                                .put("$schema", t.targetSchemaUri).set("value", result);
-                    }
-                } else if (!result.isContainerNode() || (result.isObject() && !result.has("$schema")) ||
-                        (result.isArray()
-                                && StreamSupport.stream(result.spliterator(), false)
-                                        .anyMatch(item -> !item.has("$schema")))) {
-                    logMessage(run, PersistentLogDAO.WARN, "Dataset will contain element without a schema.");
-                }
-                JsonNode existing = transformerResults.get(transformerId);
-                if (existing == null) {
-                    transformerResults.put(transformerId, result);
-                } else if (existing.isArray()) {
-                    if (result.isArray()) {
-                        ((ArrayNode) existing).addAll((ArrayNode) result);
-                    } else {
-                        ((ArrayNode) existing).add(result);
-                    }
-                } else {
-                    if (result.isArray()) {
-                        ((ArrayNode) result).insert(0, existing);
-                        transformerResults.put(transformerId, result);
-                    } else {
-                        transformerResults.put(transformerId, instance.arrayNode().add(existing).add(result));
-                    }
-                }
+                tasks.add(new TransformerTask(t, uri, root));
             } else {
                 JsonNode node;
                 JsonNode sourceNode = source == 0 ? run.data : run.metadata;
@@ -1331,6 +1778,53 @@ public class RunServiceImpl implements RunService {
                         key);
             }
         }
+
+        evaluateTransformers(run, tasks);
+
+        // results are merged in the order of the targets, independently of the order of evaluation
+        for (TransformerTask task : tasks) {
+            task.logs.forEach(Runnable::run);
+            TransformerDAO t = task.transformer;
+            Integer transformerId = t.id;
+            JsonNode result = task.result;
+            if (t.targetSchemaUri != null) {
+                if (result.isObject()) {
+                    putIfAbsent(run, t.targetSchemaUri, (ObjectNode) result);
+                } else if (result.isArray()) {
+                    ArrayNode array = (ArrayNode) result;
+                    for (JsonNode node : array) {
+                        if (node.isObject()) {
+                            putIfAbsent(run, t.targetSchemaUri, (ObjectNode) node);
+                        }
+                    }
+                } else {
+                    result = instance.objectNode()
+                            .put("$schema", t.targetSchemaUri).set("value", result);
+                }
+            } else if (!result.isContainerNode() || (result.isObject() && !result.has("$schema")) ||
+                    (result.isArray()
+                            && StreamSupport.stream(result.spliterator(), false)
+                                    .anyMatch(item -> !item.has("$schema")))) {
+                logMessage(run, PersistentLogDAO.WARN, "Dataset will contain element without a schema.");
+            }
+            JsonNode existing = transformerResults.get(transformerId);
+            if (existing == null) {
+                transformerResults.put(transformerId, result);
+            } else if (existing.isArray()) {
+                if (result.isArray()) {
+                    ((ArrayNode) existing).addAll((ArrayNode) result);
+                } else {
+                    ((ArrayNode) existing).add(result);
+                }
+            } else {
+                if (result.isArray()) {
+                    ((ArrayNode) result).insert(0, existing);
+                    transformerResults.put(transformerId, result);
+                } else {
+                    transformerResults.put(transformerId, instance.arrayNode().add(existing).add(result));
+                }
+            }
+        }
         if (schemasAndTransformers > 0) {
             int max = transformerResults.values().stream().filter(JsonNode::isArray).mapToInt(JsonNode::size).max()
                     .orElse(1);
@@ -1383,6 +1877,8 @@ public class RunServiceImpl implements RunService {
      */
     private Integer createDataset(DatasetDAO ds, boolean isRecalculation) {
         ds.persistAndFlush();
+        // the dataset is not modified in this transaction anymore, drop the snapshot of its data taken on insert
+        session.setReadOnly(ds, true);
         if (isRecalculation) {
             try {
                 Dataset.EventNew event = new Dataset.EventNew(DatasetMapper.from(ds), true);
@@ -1406,10 +1902,16 @@ public class RunServiceImpl implements RunService {
     }
 
     private void queueDatasetProcessing(DatasetDAO ds, boolean isRecalculation) {
-        mediator.queueDatasetEvents(new Dataset.EventNew(DatasetMapper.from(ds), isRecalculation));
+        queueDatasetProcessing(ds, isRecalculation, false);
+    }
+
+    private void queueDatasetProcessing(DatasetDAO ds, boolean isRecalculation, boolean isIngestion) {
+        Dataset.EventNew event = new Dataset.EventNew(DatasetMapper.from(ds), isRecalculation);
+        event.isIngestion = isIngestion;
+        mediator.queueDatasetEvents(event);
         if (mediator.testMode())
             Util.registerTxSynchronization(tm, txStatus -> mediator.publishEvent(AsyncEventChannels.DATASET_NEW, ds.testid,
-                    new Dataset.EventNew(DatasetMapper.from(ds), isRecalculation)));
+                    event));
     }
 
     @WithRoles(extras = Roles.HORREUM_SYSTEM)
@@ -1460,12 +1962,76 @@ public class RunServiceImpl implements RunService {
         return (List<Object[]>) list;
     }
 
-    private void addExtracted(ObjectNode root, List<Object[]> resultSet) {
-        for (Object[] labelValue : resultSet) {
-            String name = (String) labelValue[0];
-            JsonNode value = (JsonNode) labelValue[1];
-            root.set(name, value);
+    private Map<TransformerTarget, ObjectNode> extractTransformerInputs(RunDAO run) {
+        List<Object[]> extractedData;
+        try {
+            extractedData = unchecked(em.createNamedQuery(QUERY_TRANSFORMER_EXTRACTORS_BY_RUNID)
+                    .setParameter(1, run.id)
+                    .unwrap(NativeQuery.class)
+                    .addScalar("transformer_id", StandardBasicTypes.INTEGER)
+                    .addScalar("type", StandardBasicTypes.INTEGER)
+                    .addScalar("key", StandardBasicTypes.TEXT)
+                    .addScalar("source", StandardBasicTypes.INTEGER)
+                    .addScalar("name", StandardBasicTypes.TEXT)
+                    .addScalar("value", JsonBinaryType.INSTANCE)
+                    .getResultList());
+        } catch (PersistenceException e) {
+            // the error aborts the transaction, so the run cannot be transformed even by the other transformers;
+            // the extractors are checked one by one in a new transaction to report the one that failed
+            logMessage(run, PersistentLogDAO.ERROR,
+                    "Failed to extract data (JSONPath expression error?): " + Util.explainCauses(e));
+            findFailingExtractor(run.id);
+            return Collections.emptyMap();
+        }
+        Map<TransformerTarget, ObjectNode> inputs = new HashMap<>();
+        for (Object[] row : extractedData) {
+            TransformerTarget target = new TransformerTarget((Integer) row[0], (Integer) row[1], (String) row[2],
+                    (Integer) row[3]);
+            inputs.computeIfAbsent(target, k -> JsonNodeFactory.instance.objectNode()).set((String) row[4], (JsonNode) row[5]);
+        }
+        return inputs;
+    }
+
+    /**
+     * Transformer functions are independent of each other, when there are more of them these are evaluated
+     * in parallel, with at most <code>horreum.transformation.parallelism</code> evaluations at the same time.
+     * Messages logged during the evaluation are deferred and persisted by the caller, in the transaction.
+     */
+    private void evaluateTransformers(RunDAO run, List<TransformerTask> tasks) {
+        List<TransformerTask> functions = new ArrayList<>(tasks.size());
+        for (TransformerTask task : tasks) {
+            if (task.function != null && !task.function.isBlank()) {
+                functions.add(task);
+            } else {
+                task.result = task.input;
+            }
         }
+        if (transformationExecutor == null || functions.size() < 2) {
+            functions.forEach(task -> evaluateTransformer(run, task));
+            return;
+        }
+        CompletableFuture<?>[] futures = functions.stream()
+                .map(task -> CompletableFuture.runAsync(() -> evaluateTransformer(run, task), transformationExecutor))
+                .toArray(CompletableFuture[]::new);
+        try {
+            CompletableFuture.allOf(futures).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw e;
+        }
+    }
+
+    private void evaluateTransformer(RunDAO run, TransformerTask task) {
+        JsonNode result = Util.evaluateOnce(task.function, task.input, Util::convertToJson,
+                (code, e) -> task.logs.add(() -> logMessage(run, PersistentLogDAO.ERROR,
+                        "Evaluation of transformer %s/%s failed: '%s' Code: <pre>%s</pre>", task.uri, task.name,
+                        e.getMessage(), code)),
+                output -> task.logs.add(() -> logMessage(run, PersistentLogDAO.DEBUG,
+                        "Output while running transformer %s/%s: <pre>%s</pre>", task.uri, task.name, output)));
+        // null result happens upon error
+        task.result = result == null ? JsonNodeFactory.instance.nullNode() : result;
     }
 
     private void putIfAbsent(RunDAO run, String uri, ObjectNode node) {
@@ -1479,6 +2045,27 @@ public class RunServiceImpl implements RunService {
         }
     }
 
+    private record TransformerTarget(Integer transformerId, Integer type, String key, Integer source) {
+    }
+
+    private static class TransformerTask {
+        private final TransformerDAO transformer;
+        private final String uri;
+        private final String name;
+        private final String function;
+        private final JsonNode input;
+        private final List<Runnable> logs = new ArrayList<>();
+        private JsonNode result;
+
+        private TransformerTask(TransformerDAO transformer, String uri, JsonNode input) {
+            this.transformer = transformer;
+            this.uri = uri;
+            this.name = transformer.name;
+            this.function = transformer.function;
+            this.input = input;
+        }
+    }
+
     static class Recalculate {
         private int runId;
         private int testId;
@@ -1489,6 +2076,16 @@ public class RunServiceImpl implements RunService {
         private int testId;
     }
 
+    static class BulkItem {
+        private final Run run;
+        private final BulkRunResult result;
+
+        BulkItem(Run run, BulkRunResult result) {
+            this.run = run;
+            this.result = result;
+        }
+    }
+
     /**
      * Represents the result of persisting a run, including the run ID and associated dataset IDs.
      * This class is used to encapsulate the ID of the newly persisted run and the IDs of the datasets
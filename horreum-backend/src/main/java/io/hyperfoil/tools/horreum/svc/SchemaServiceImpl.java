@@ -1,13 +1,25 @@
 package io.hyperfoil.tools.horreum.svc;
 
 import java.io.ByteArrayInputStream;
-import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.PreparedStatement;
+import java.sql.Types;
 import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.annotation.security.PermitAll;
 import jakarta.annotation.security.RolesAllowed;
 import jakarta.inject.Inject;
@@ -18,6 +30,7 @@ import jakarta.transaction.TransactionManager;
 import jakarta.transaction.Transactional;
 import jakarta.ws.rs.DefaultValue;
 
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.hibernate.ScrollMode;
 import org.hibernate.ScrollableResults;
 import org.hibernate.Session;
@@ -33,6 +46,7 @@ import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.networknt.schema.AbsoluteIri;
 import com.networknt.schema.JsonMetaSchema;
+import com.networknt.schema.JsonSchema;
 import com.networknt.schema.JsonSchemaFactory;
 import com.networknt.schema.SchemaLocation;
 import com.networknt.schema.resource.InputStreamSource;
@@ -55,13 +69,15 @@ import io.hyperfoil.tools.horreum.entity.data.LabelDAO;
 import io.hyperfoil.tools.horreum.entity.data.RunDAO;
 import io.hyperfoil.tools.horreum.entity.data.SchemaDAO;
 import io.hyperfoil.tools.horreum.entity.data.TransformerDAO;
+import io.hyperfoil.tools.horreum.hibernate.IntArrayType;
 import io.hyperfoil.tools.horreum.hibernate.JsonBinaryType;
-import io.hyperfoil.tools.horreum.mapper.DatasetMapper;
 import io.hyperfoil.tools.horreum.mapper.LabelMapper;
 import io.hyperfoil.tools.horreum.mapper.SchemaMapper;
 import io.hyperfoil.tools.horreum.mapper.TransformerMapper;
 import io.hyperfoil.tools.horreum.mapper.ValidationErrorMapper;
 import io.hyperfoil.tools.horreum.server.WithRoles;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
 import io.quarkus.hibernate.orm.panache.PanacheQuery;
 import io.quarkus.narayana.jta.runtime.TransactionConfiguration;
 import io.quarkus.panache.common.Page;
@@ -94,6 +110,10 @@ public class SchemaServiceImpl implements SchemaService {
             .addMetaSchema(JsonMetaSchema.getV6())
             .addMetaSchema(JsonMetaSchema.getV7())
             .addMetaSchema(JsonMetaSchema.getV201909()).build();
+    private static final String INSERT_RUN_VALIDATION_ERROR = "INSERT INTO run_validationerrors (run_id, schema_id, error) "
+            + "VALUES (?, ?, ?)";
+    private static final String INSERT_DATASET_VALIDATION_ERROR = "INSERT INTO dataset_validationerrors "
+            + "(dataset_id, schema_id, error) VALUES (?, ?, ?)";
     private static final String[] ALL_URNS = new String[] { "urn", "uri", "http", "https", "ftp", "file", "jar" };
 
     @Inject
@@ -120,6 +140,43 @@ public class SchemaServiceImpl implements SchemaService {
     @Util.FailUnknownProperties
     ObjectMapper mapper;
 
+    @ConfigProperty(name = "horreum.schema.revalidation.parallelism", defaultValue = "4")
+    int revalidationParallelism;
+
+    @ConfigProperty(name = "horreum.schema.revalidation.chunk-size", defaultValue = "100")
+    int revalidationChunkSize;
+
+    private final ConcurrentHashMap<Integer, RevalidationStatus> revalidations = new ConcurrentHashMap<>();
+    private ExecutorService revalidationExecutor;
+
+    // Compiled schemas by root URI; the digest covers the root and all referenced schemas
+    private final Map<String, CompiledSchema> compiledSchemas = new ConcurrentHashMap<>();
+    private final Counter compiledSchemaHits = Counter.builder("horreum.schema.compiled.cache").tag("result", "hit")
+            .description("JSON schemas found in the compiled schema cache").register(Metrics.globalRegistry);
+    private final Counter compiledSchemaMisses = Counter.builder("horreum.schema.compiled.cache").tag("result", "miss")
+            .description("JSON schemas that had to be compiled").register(Metrics.globalRegistry);
+
+    @PostConstruct
+    void init() {
+        int parallelism = Math.max(1, revalidationParallelism);
+        AtomicInteger counter = new AtomicInteger();
+        // the small queue with caller-runs policy throttles the cursor reading affected runs and datasets
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(parallelism, parallelism,
+                60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(2 * parallelism), runnable -> {
+                    Thread thread = new Thread(runnable, "horreum-revalidation-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        revalidationExecutor = executor;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        revalidationExecutor.shutdownNow();
+    }
+
     @WithRoles
     @PermitAll
     @Override
@@ -156,10 +213,12 @@ public class SchemaServiceImpl implements SchemaService {
             SchemaDAO existing = SchemaDAO.findById(schema.id);
             if (existing == null)
                 throw ServiceException.badRequest("An id was given, but it does not exist.");
+            // merge updates the managed entity so we need to remember the previous state
+            String previousUri = existing.uri;
+            JsonNode previousSchema = existing.schema;
             em.merge(schema);
             em.flush();
-            if (!Objects.equals(schema.uri, existing.uri) ||
-                    Objects.equals(schema.schema, existing.schema)) {
+            if (!Objects.equals(schema.uri, previousUri)) {
                 //We need to delete from run_schemas and dataset_schemas as they will be recreated
                 //when we create new datasets psql will still create new entries in dataset_schemas
                 // https://github.com/Hyperfoil/Horreum/blob/master/horreum-backend/src/main/resources/db/changeLog.xml#L2522
@@ -168,6 +227,14 @@ public class SchemaServiceImpl implements SchemaService {
                 em.createNativeQuery("DELETE FROM dataset_schemas WHERE schema_id = ?1")
                         .setParameter(1, schema.id).executeUpdate();
                 newOrUpdatedSchema(schema);
+            } else if (!Objects.equals(schema.schema, previousSchema)) {
+                // runs and datasets keep their schemas and labels, only validation results change
+                log.debugf("Schema %d (%s) changed, revalidating runs and datasets", schema.id, schema.uri);
+                int schemaId = schema.id;
+                Util.registerTxSynchronization(tm, txStatus -> {
+                    compiledSchemas.clear();
+                    mediator.executeBlocking(() -> revalidateAll(schemaId));
+                });
             }
         } else {
             schema.id = null;
@@ -181,7 +248,11 @@ public class SchemaServiceImpl implements SchemaService {
 
     private void newOrUpdatedSchema(SchemaDAO schema) {
         log.debugf("Push schema event for async run schemas update: %d (%s)", schema.id, schema.uri);
-        Util.registerTxSynchronization(tm, txStatus -> mediator.queueSchemaSync(schema.id));
+        Util.registerTxSynchronization(tm, txStatus -> {
+            // other schemas might reference this one so we drop everything
+            compiledSchemas.clear();
+            mediator.queueSchemaSync(schema.id);
+        });
     }
 
     private void verifyNewSchema(Schema schemaDTO) {
@@ -281,37 +352,33 @@ public class SchemaServiceImpl implements SchemaService {
     @Transactional
     void validateRunData(int runId, Predicate<String> schemaFilter) {
         log.debugf("About to validate data for run %d", runId);
-        RunDAO run = RunDAO.findById(runId);
+        // the run is not modified: loading it read-only skips the snapshot of the (possibly huge) JSON documents
+        RunDAO run = session.byId(RunDAO.class).withReadOnly(true).load(runId);
         if (run == null) {
             log.errorf("Cannot load run %d for schema validation", runId);
             return;
         }
         // remember to clear prev validation errors
-        em.createNativeQuery("DELETE FROM run_validationerrors WHERE run_id = ?1")
-                .setParameter(1, runId).executeUpdate();
-
-        if (run.validationErrors != null)
-            run.validationErrors.removeIf(e -> schemaFilter == null || schemaFilter.test(e.schema.uri));
-        if (run.validationErrors == null)
-            run.validationErrors = new ArrayList<>();
-        validateData(run.data, schemaFilter, run.validationErrors);
+        List<ValidationErrorDAO> validationErrors = clearValidationErrors("run_validationerrors", "run_id", runId,
+                schemaFilter);
+        int retained = validationErrors.size();
+        validateData(run.data, schemaFilter, validationErrors);
         if (run.metadata != null) {
-            validateData(run.metadata, schemaFilter, run.validationErrors);
+            validateData(run.metadata, schemaFilter, validationErrors);
         }
-        run.persist();
+        insertValidationErrors(INSERT_RUN_VALIDATION_ERROR, run.id,
+                validationErrors.subList(retained, validationErrors.size()));
         if (mediator.testMode())
             Util.registerTxSynchronization(tm, txStatus -> mediator.publishEvent(AsyncEventChannels.RUN_VALIDATED, run.testid,
-                    new Schema.ValidationEvent(run.id, run.validationErrors.stream()
+                    new Schema.ValidationEvent(run.id, validationErrors.stream()
                             .map(ValidationErrorMapper::fromValidationError).collect(Collectors.toList()))));
-
-        ;
     }
 
     @WithRoles(extras = Roles.HORREUM_SYSTEM)
     @Transactional
     void validateDatasetData(int datasetId, Predicate<String> schemaFilter) {
         log.debugf("About to validate data for dataset %d", datasetId);
-        DatasetDAO dataset = DatasetDAO.findById(datasetId);
+        DatasetDAO dataset = session.byId(DatasetDAO.class).withReadOnly(true).load(datasetId);
         if (dataset == null) {
             // Don't log error when the dataset is not present and we're revalidating all datasets - it might be
             // concurrently removed because of URI change
@@ -320,72 +387,240 @@ public class SchemaServiceImpl implements SchemaService {
             }
             return;
         }
-        em.createNativeQuery("DELETE FROM dataset_validationerrors WHERE dataset_id = ?1")
-                .setParameter(1, dataset.id).executeUpdate();
+        List<ValidationErrorDAO> validationErrors = clearValidationErrors("dataset_validationerrors", "dataset_id",
+                dataset.id, schemaFilter);
         if (dataset.data == null)
             return;
-        if (dataset.validationErrors != null)
-            dataset.validationErrors
-                    .removeIf(e -> schemaFilter == null || (e.schema != null && schemaFilter.test(e.schema.uri)));
-        if (dataset.data != null) {
-            if (dataset.validationErrors == null)
-                dataset.validationErrors = new ArrayList<>();
-            validateData(dataset.data, schemaFilter, dataset.validationErrors);
-            for (var item : dataset.data) {
-                String uri = item.path("$schema").asText();
-                if (uri == null || uri.isBlank()) {
-                    ValidationErrorDAO error = new ValidationErrorDAO();
-                    error.error = JsonNodeFactory.instance.objectNode().put("type", "No schema").put("message",
-                            "Element in the dataset does not reference any schema through the '$schema' property.");
-                    dataset.validationErrors.add(error);
-                }
+        int retained = validationErrors.size();
+        validateData(dataset.data, schemaFilter, validationErrors);
+        for (var item : dataset.data) {
+            String uri = item.path("$schema").asText();
+            if (uri == null || uri.isBlank()) {
+                ValidationErrorDAO error = new ValidationErrorDAO();
+                error.error = JsonNodeFactory.instance.objectNode().put("type", "No schema").put("message",
+                        "Element in the dataset does not reference any schema through the '$schema' property.");
+                validationErrors.add(error);
             }
-            dataset.persist();
         }
+        insertValidationErrors(INSERT_DATASET_VALIDATION_ERROR, dataset.id,
+                validationErrors.subList(retained, validationErrors.size()));
 
         if (mediator.testMode())
             Util.registerTxSynchronization(tm, txStatus -> mediator.publishEvent(AsyncEventChannels.DATASET_VALIDATED,
-                    dataset.testid, new Schema.ValidationEvent(dataset.id, DatasetMapper.from(dataset).validationErrors)));
+                    dataset.testid, new Schema.ValidationEvent(dataset.id, validationErrors.stream()
+                            .map(ValidationErrorMapper::fromValidationError).collect(Collectors.toList()))));
+    }
+
+    /**
+     * Removes the validation errors of the schemas matching the filter, or all of them if there is no filter.
+     * Errors without a schema are always removed as these are produced again by each validation.
+     *
+     * @return errors of the other schemas, which are kept
+     */
+    private List<ValidationErrorDAO> clearValidationErrors(String table, String column, int ownerId,
+            Predicate<String> schemaFilter) {
+        List<ValidationErrorDAO> retained = new ArrayList<>();
+        if (schemaFilter == null) {
+            em.createNativeQuery("DELETE FROM " + table + " WHERE " + column + " = ?1")
+                    .setParameter(1, ownerId).executeUpdate();
+            return retained;
+        }
+        List<Object[]> rows = em.createNativeQuery("SELECT e.schema_id, s.uri, e.error FROM " + table + " e " +
+                "LEFT JOIN schema s ON s.id = e.schema_id WHERE e." + column + " = ?1")
+                .setParameter(1, ownerId).unwrap(NativeQuery.class)
+                .addScalar("schema_id", StandardBasicTypes.INTEGER)
+                .addScalar("uri", StandardBasicTypes.TEXT)
+                .addScalar("error", JsonBinaryType.INSTANCE)
+                .getResultList();
+        Set<Integer> revalidated = new HashSet<>();
+        for (Object[] row : rows) {
+            Integer schemaId = (Integer) row[0];
+            if (schemaId != null && !schemaFilter.test((String) row[1])) {
+                ValidationErrorDAO error = new ValidationErrorDAO();
+                error.setSchema(schemaId);
+                error.error = (JsonNode) row[2];
+                retained.add(error);
+            } else if (schemaId != null) {
+                revalidated.add(schemaId);
+            }
+        }
+        em.createNativeQuery("DELETE FROM " + table + " WHERE " + column + " = ?1 " +
+                "AND (schema_id IS NULL OR schema_id = ANY(?2))")
+                .setParameter(1, ownerId)
+                .unwrap(NativeQuery.class)
+                .setParameter(2, revalidated.stream().mapToInt(Integer::intValue).toArray(), IntArrayType.INSTANCE)
+                .executeUpdate();
+        return retained;
+    }
+
+    /*
+     * Validation errors are written directly to the collection table: updating the collection of the owning
+     * entity would make Hibernate compare and re-persist the run or dataset, including its data, at flush.
+     */
+    private void insertValidationErrors(String sql, int ownerId, List<ValidationErrorDAO> validationErrors) {
+        if (validationErrors.isEmpty()) {
+            return;
+        }
+        session.doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                for (ValidationErrorDAO error : validationErrors) {
+                    statement.setInt(1, ownerId);
+                    if (error.schema == null) {
+                        statement.setNull(2, Types.INTEGER);
+                    } else {
+                        statement.setInt(2, error.schema.id);
+                    }
+                    statement.setObject(3, error.error.toString(), Types.OTHER);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        });
+    }
+
+    /**
+     * Revalidates all runs and datasets referencing the schema. Affected IDs are read through a cursor and validated
+     * in chunks, each in its own transaction, by a bounded number of threads. Progress can be checked
+     * through {@link #getRevalidationStatus(int)}.
+     */
+    void revalidateAll(int schemaId) {
+        RevalidationStatus status = new RevalidationStatus(0, 0);
+        revalidations.put(schemaId, status);
+        try {
+            List<CompletableFuture<Void>> chunks = submitRevalidation(schemaId, status);
+            CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new)).join();
+            log.debugf("Revalidated %d runs and %d datasets for schema %d", status.finishedRuns, status.finishedDatasets,
+                    schemaId);
+        } finally {
+            revalidations.remove(schemaId, status);
+        }
     }
 
     @WithRoles(extras = Roles.HORREUM_SYSTEM)
     @Transactional(Transactional.TxType.REQUIRES_NEW)
     @TransactionConfiguration(timeout = 3600)
-    // 1 hour, this may run a long time
-    void revalidateAll(int schemaId) {
+    // 1 hour, the cursor is open until all chunks are submitted
+    List<CompletableFuture<Void>> submitRevalidation(int schemaId, RevalidationStatus status) {
         SchemaDAO schema = SchemaDAO.findById(schemaId);
         if (schema == null) {
             log.errorf("Cannot load schema %d for validation", schemaId);
-            return;
+            return Collections.emptyList();
+        }
+        long totalRuns = ((Number) em.createNativeQuery("SELECT count(*) FROM (" + RunServiceImpl.FIND_RUNS_WITH_URI + ") r")
+                .setParameter(1, schema.uri).getSingleResult()).longValue();
+        long totalDatasets = ((Number) em.createNativeQuery(
+                "SELECT count(*) FROM dataset WHERE ?1 IN (SELECT jsonb_array_elements(data)->>'$schema')")
+                .setParameter(1, schema.uri).getSingleResult()).longValue();
+        synchronized (status) {
+            status.totalRuns = totalRuns;
+            status.totalDatasets = totalDatasets;
         }
-        //clear tables on schemaId
-        em.createNativeQuery("DELETE FROM dataset_validationerrors WHERE schema_id = ?1")
-                .setParameter(1, schemaId).executeUpdate();
-        em.createNativeQuery("DELETE FROM run_validationerrors WHERE schema_id = ?1")
-                .setParameter(1, schemaId).executeUpdate();
 
         Predicate<String> schemaFilter = uri -> uri.equals(schema.uri);
+        int chunkSize = Math.max(1, revalidationChunkSize);
+        List<CompletableFuture<Void>> chunks = new ArrayList<>();
+        List<Integer> runIds = new ArrayList<>(chunkSize);
         // If the URI was updated together with JSON schema run_schemas are removed and filled-in asynchronously
         // so we cannot rely on run_schemas
-        runService.findRunsWithUri(schema.uri,
-                (runId, testId) -> messageBus.executeForTest(testId, () -> validateRunData(runId, schemaFilter)));
+        runService.findRunsWithUri(schema.uri, (runId, testId) -> {
+            runIds.add(runId);
+            if (runIds.size() >= chunkSize) {
+                chunks.add(submitRevalidationChunk(runIds, true, schemaFilter, status));
+            }
+        });
+        if (!runIds.isEmpty()) {
+            chunks.add(submitRevalidationChunk(runIds, true, schemaFilter, status));
+        }
         // Datasets might be re-created if URI is changing, so we might work on old, non-existent ones
-        ScrollableResults<RecreateDataset> results = session
-                .createNativeQuery("SELECT id, testid FROM dataset WHERE ?1 IN (SELECT jsonb_array_elements(data)->>'$schema')",
-                        Tuple.class)
+        List<Integer> datasetIds = new ArrayList<>(chunkSize);
+        try (ScrollableResults<Integer> results = session
+                .createNativeQuery("SELECT id FROM dataset WHERE ?1 IN (SELECT jsonb_array_elements(data)->>'$schema')",
+                        Integer.class)
                 .setParameter(1, schema.uri)
-                .setTupleTransformer((tuple, aliases) -> {
-                    RecreateDataset r = new RecreateDataset();
-                    r.datasetId = (int) tuple[0];
-                    r.testId = (int) tuple[1];
-                    return r;
-                })
-                .setReadOnly(true).setFetchSize(100)
-                .scroll(ScrollMode.FORWARD_ONLY);
-        while (results.next()) {
-            RecreateDataset r = results.get();
-            messageBus.executeForTest(r.testId, () -> validateDatasetData(r.datasetId, schemaFilter));
+                .setReadOnly(true).setFetchSize(chunkSize)
+                .scroll(ScrollMode.FORWARD_ONLY)) {
+            while (results.next()) {
+                datasetIds.add(results.get());
+                if (datasetIds.size() >= chunkSize) {
+                    chunks.add(submitRevalidationChunk(datasetIds, false, schemaFilter, status));
+                }
+            }
+        }
+        if (!datasetIds.isEmpty()) {
+            chunks.add(submitRevalidationChunk(datasetIds, false, schemaFilter, status));
         }
+        return chunks;
+    }
+
+    private CompletableFuture<Void> submitRevalidationChunk(List<Integer> ids, boolean runs, Predicate<String> schemaFilter,
+            RevalidationStatus status) {
+        List<Integer> chunk = List.copyOf(ids);
+        ids.clear();
+        Runnable task = Util.wrapForBlockingExecution(() -> {
+            try {
+                if (runs) {
+                    validateRunChunk(chunk, schemaFilter);
+                } else {
+                    validateDatasetChunk(chunk, schemaFilter);
+                }
+            } catch (Exception e) {
+                log.errorf(e, "Failed to revalidate %s %s", runs ? "runs" : "datasets", chunk);
+            } finally {
+                synchronized (status) {
+                    if (runs) {
+                        status.finishedRuns += chunk.size();
+                    } else {
+                        status.finishedDatasets += chunk.size();
+                    }
+                }
+            }
+        });
+        return CompletableFuture.runAsync(task, revalidationExecutor);
+    }
+
+    @WithRoles(extras = Roles.HORREUM_SYSTEM)
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    void validateRunChunk(List<Integer> runIds, Predicate<String> schemaFilter) {
+        for (int runId : runIds) {
+            validateRunData(runId, schemaFilter);
+        }
+    }
+
+    @WithRoles(extras = Roles.HORREUM_SYSTEM)
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    void validateDatasetChunk(List<Integer> datasetIds, Predicate<String> schemaFilter) {
+        for (int datasetId : datasetIds) {
+            validateDatasetData(datasetId, schemaFilter);
+        }
+    }
+
+    @PermitAll
+    @WithRoles
+    @Override
+    public RevalidationStatus getRevalidationStatus(int id) {
+        // the schema must be visible to the caller, even if the revalidation is in progress
+        if (SchemaDAO.findById(id) == null) {
+            throw ServiceException.notFound("Schema not found");
+        }
+        RevalidationStatus status = revalidations.get(id);
+        if (status != null) {
+            // the status is updated by the revalidation threads, return a consistent copy
+            synchronized (status) {
+                RevalidationStatus copy = new RevalidationStatus(status.totalRuns, status.totalDatasets);
+                copy.timestamp = status.timestamp;
+                copy.finishedRuns = status.finishedRuns;
+                copy.finishedDatasets = status.finishedDatasets;
+                return copy;
+            }
+        }
+        status = new RevalidationStatus(
+                ((Number) em.createNativeQuery("SELECT count(DISTINCT runid) FROM run_schemas WHERE schemaid = ?1")
+                        .setParameter(1, id).getSingleResult()).longValue(),
+                ((Number) em.createNativeQuery("SELECT count(DISTINCT dataset_id) FROM dataset_schemas WHERE schema_id = ?1")
+                        .setParameter(1, id).getSingleResult()).longValue());
+        status.finishedRuns = status.totalRuns;
+        status.finishedDatasets = status.totalDatasets;
+        return status;
     }
 
     private void validateData(JsonNode data, Predicate<String> filter, Collection<ValidationErrorDAO> consumer) {
@@ -411,15 +646,9 @@ public class SchemaServiceImpl implements SchemaService {
             }
 
             try {
-                HorreumURIFetcher fetcher = new HorreumURIFetcher();
-                fetcher.addResource(SchemaLocation.of(schemaUri).getAbsoluteIri(), rootSchema.schema.toString());
-
-                JsonSchemaFactory factory = JsonSchemaFactory.builder(JSON_SCHEMA_FACTORY)
-                        .schemaLoaders(schemaLoaders -> schemaLoaders.add(fetcher))
-                        .build();
-
+                JsonSchema jsonSchema = compiledSchema(schemaUri, schemas);
                 for (JsonNode node : toCheck.get(schemaUri)) {
-                    factory.getSchema(rootSchema.schema).validate(node).forEach(msg -> {
+                    jsonSchema.validate(node).forEach(msg -> {
                         ValidationErrorDAO error = new ValidationErrorDAO();
                         error.schema = rootSchema;
                         error.error = Util.OBJECT_MAPPER.valueToTree(msg);
@@ -441,6 +670,52 @@ public class SchemaServiceImpl implements SchemaService {
         }
     }
 
+    /**
+     * Returns the compiled JSON schema for given URI, compiling it only when the schema or any schema it references
+     * has changed since the last compilation. Comparing the digest of fetched schemas keeps the cache correct even
+     * if the schema is updated through another instance.
+     */
+    private JsonSchema compiledSchema(String uri, Map<String, SchemaDAO> schemas) {
+        String digest = schemasDigest(schemas);
+        CompiledSchema cached = compiledSchemas.get(uri);
+        if (cached != null && cached.digest().equals(digest)) {
+            compiledSchemaHits.increment();
+            return cached.schema();
+        }
+        compiledSchemaMisses.increment();
+        HorreumURIFetcher fetcher = new HorreumURIFetcher();
+        for (SchemaDAO schema : schemas.values()) {
+            if (schema.schema != null) {
+                fetcher.addResource(SchemaLocation.of(schema.uri).getAbsoluteIri(), schema.schema.toString());
+            }
+        }
+        JsonSchemaFactory factory = JsonSchemaFactory.builder(JSON_SCHEMA_FACTORY)
+                .schemaLoaders(schemaLoaders -> schemaLoaders.add(fetcher))
+                .build();
+        JsonSchema jsonSchema = factory.getSchema(schemas.get(uri).schema);
+        // resolve all $refs now so that the instance is not modified during (possibly concurrent) validation
+        jsonSchema.initializeValidators();
+        compiledSchemas.put(uri, new CompiledSchema(digest, jsonSchema));
+        return jsonSchema;
+    }
+
+    private static String schemasDigest(Map<String, SchemaDAO> schemas) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (SchemaDAO schema : new TreeMap<>(schemas).values()) {
+                digest.update(schema.uri.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+                if (schema.schema != null) {
+                    digest.update(schema.schema.toString().getBytes(StandardCharsets.UTF_8));
+                }
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     private void addIfHasSchema(Map<String, List<JsonNode>> toCheck, JsonNode node) {
         String uri = node.path("$schema").asText();
         if (uri != null && !uri.isBlank()) {
@@ -471,6 +746,7 @@ public class SchemaServiceImpl implements SchemaService {
             em.createNativeQuery("DELETE FROM run_schemas WHERE schemaid = ?1").setParameter(1, id).executeUpdate();
             em.createNativeQuery("DELETE FROM dataset_schemas WHERE schema_id = ?1").setParameter(1, id).executeUpdate();
             schema.delete();
+            Util.registerTxSynchronization(tm, txStatus -> compiledSchemas.clear());
         }
     }
 
@@ -934,26 +1210,22 @@ public class SchemaServiceImpl implements SchemaService {
         }
     }
 
-    static class RecreateDataset {
-        private int datasetId;
-        private int testId;
+    private record CompiledSchema(String digest, JsonSchema schema) {
     }
 
     private static class HorreumURIFetcher implements SchemaLoader {
 
-        private final Map<AbsoluteIri, InputStream> uriToResource = new HashMap<>();
+        private final Map<AbsoluteIri, byte[]> uriToResource = new HashMap<>();
 
         void addResource(AbsoluteIri uri, String schema) {
-            addResource(uri, new ByteArrayInputStream(schema.getBytes(StandardCharsets.UTF_8)));
-        }
-
-        void addResource(AbsoluteIri uri, InputStream is) {
-            uriToResource.put(uri, is);
+            uriToResource.put(uri, schema.getBytes(StandardCharsets.UTF_8));
         }
 
         @Override
         public InputStreamSource getSchema(AbsoluteIri absoluteIri) {
-            return () -> uriToResource.get(absoluteIri);
+            byte[] resource = uriToResource.get(absoluteIri);
+            // compiled schemas are reused, the stream must be opened anew for each load
+            return resource == null ? null : () -> new ByteArrayInputStream(resource);
         }
     }
 }
@@ -1,6 +1,8 @@
 package io.hyperfoil.tools.horreum.svc;
 
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.BlockingQueue;
@@ -10,6 +12,7 @@ import java.util.concurrent.LinkedBlockingQueue;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.context.control.ActivateRequestContext;
 import jakarta.inject.Inject;
+import jakarta.transaction.TransactionManager;
 import jakarta.transaction.Transactional;
 
 import org.eclipse.microprofile.config.inject.ConfigProperty;
@@ -73,6 +76,9 @@ public class ServiceMediator {
     @Inject
     Vertx vertx;
 
+    @Inject
+    TransactionManager tm;
+
     @Inject
     SchemaServiceImpl schemaService;
 
@@ -144,9 +150,21 @@ public class ServiceMediator {
         datasetService.deleteDataset(datasetId);
     }
 
+    @Transactional
+    void propagatedDatasetsDelete(List<Integer> datasetIds) {
+        if (datasetIds.isEmpty()) {
+            return;
+        }
+        //make sure to delete the entities that has a reference on datasets first
+        alertingService.onDatasetsDeleted(datasetIds);
+        datasetService.deleteDatasets(datasetIds);
+    }
+
     @Transactional
     void updateLabels(Dataset.LabelsUpdatedEvent event) {
         alertingService.onLabelsUpdated(event);
+        // the reports need the labels committed, and failing to update them must not roll back the datapoints
+        Util.doAfterCommit(tm, () -> reportService.onLabelsUpdated(event));
     }
 
     @Transactional
@@ -161,7 +179,13 @@ public class ServiceMediator {
     @WithRoles(extras = Roles.HORREUM_SYSTEM)
     public void processDatasetEvents(Dataset.EventNew newEvent) {
         onNewDataset(newEvent);
+        if (newEvent.isIngestion) {
+            runService.onIngestedDatasetLabels(newEvent.datasetId);
+        }
         validateDataset(newEvent.datasetId);
+        if (newEvent.isIngestion) {
+            runService.onIngestedDatasetValidated(newEvent.datasetId);
+        }
     }
 
     void onNewDataset(Dataset.EventNew eventNew) {
@@ -213,6 +237,19 @@ public class ServiceMediator {
         runUploadEmitter.send(upload);
     }
 
+    /**
+     * Queues transformation of a run that has been already persisted with an ingestion job.
+     */
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    void queueRunIngestion(long jobId, int runId, int testId) {
+        RunUpload upload = new RunUpload();
+        upload.jobId = jobId;
+        upload.runId = runId;
+        upload.testId = testId;
+        upload.roles = new HashSet<>(identity.getRoles());
+        runUploadEmitter.send(upload);
+    }
+
     void dataPointsProcessed(DataPoint.DatasetProcessedEvent event) {
         experimentService.onDatapointsCreated(event);
     }
@@ -300,6 +337,9 @@ public class ServiceMediator {
         public JsonNode payload;
         public Integer testId;
         public Set<String> roles;
+        // set when the run has been already persisted and only needs to be transformed
+        public Integer runId;
+        public Long jobId;
 
         public RunUpload() {
         }
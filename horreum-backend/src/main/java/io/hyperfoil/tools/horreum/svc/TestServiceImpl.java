@@ -1,5 +1,10 @@
 package io.hyperfoil.tools.horreum.svc;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -9,14 +14,23 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.annotation.security.PermitAll;
 import jakarta.annotation.security.RolesAllowed;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import jakarta.persistence.PersistenceException;
 import jakarta.persistence.Tuple;
 import jakarta.transaction.TransactionManager;
@@ -24,9 +38,9 @@ import jakarta.transaction.Transactional;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
 
-import org.hibernate.ScrollMode;
-import org.hibernate.ScrollableResults;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.hibernate.Session;
 import org.hibernate.query.NativeQuery;
 import org.hibernate.type.StandardBasicTypes;
@@ -50,6 +64,7 @@ import io.hyperfoil.tools.horreum.entity.backend.DatastoreConfigDAO;
 import io.hyperfoil.tools.horreum.entity.data.DatasetDAO;
 import io.hyperfoil.tools.horreum.entity.data.RunDAO;
 import io.hyperfoil.tools.horreum.entity.data.TestDAO;
+import io.hyperfoil.tools.horreum.entity.data.TestRecalculationDAO;
 import io.hyperfoil.tools.horreum.entity.data.TransformerDAO;
 import io.hyperfoil.tools.horreum.entity.data.ViewDAO;
 import io.hyperfoil.tools.horreum.hibernate.JsonBinaryType;
@@ -59,6 +74,7 @@ import io.hyperfoil.tools.horreum.server.WithRoles;
 import io.quarkus.hibernate.orm.panache.PanacheQuery;
 import io.quarkus.panache.common.Page;
 import io.quarkus.panache.common.Sort;
+import io.quarkus.scheduler.Scheduled;
 import io.quarkus.security.identity.SecurityIdentity;
 
 @ApplicationScoped
@@ -66,6 +82,8 @@ public class TestServiceImpl implements TestService {
     private static final Logger log = Logger.getLogger(TestServiceImpl.class);
 
     private static final String FILTER_BY_NAME_FIELD = "name";
+    private static final int RECALCULATION_PROGRESS_RUNS = 20;
+    private static final Duration RECALCULATION_PROGRESS_INTERVAL = Duration.ofSeconds(5);
 
     protected static final String WILDCARD = "*";
     //using find and replace because  ASC or DESC cannot be set with a parameter
@@ -100,7 +118,39 @@ public class TestServiceImpl implements TestService {
     @Inject
     TransactionManager tm;
 
-    private final ConcurrentHashMap<Integer, RecalculationStatus> recalculations = new ConcurrentHashMap<>();
+    @ConfigProperty(name = "horreum.test.recalculation.parallelism", defaultValue = "4")
+    int recalculationParallelism;
+
+    @ConfigProperty(name = "horreum.test.recalculation.page-size", defaultValue = "100")
+    int recalculationPageSize;
+
+    @ConfigProperty(name = "horreum.test.recalculation.stale-timeout", defaultValue = "5m")
+    Duration recalculationStaleTimeout;
+
+    // recalculations running on this node, the progress is tracked in the test_recalculation table
+    private final ConcurrentHashMap<Integer, RecalculationJob> recalculations = new ConcurrentHashMap<>();
+    private ExecutorService recalculationExecutor;
+
+    @PostConstruct
+    void init() {
+        int parallelism = Math.max(1, recalculationParallelism);
+        AtomicInteger counter = new AtomicInteger();
+        // the small queue with caller-runs policy throttles reading of the runs
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(parallelism, parallelism,
+                60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(parallelism), runnable -> {
+                    Thread thread = new Thread(runnable, "horreum-test-recalculation-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        recalculationExecutor = executor;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        recalculationExecutor.shutdownNow();
+    }
 
     @RolesAllowed(Roles.TESTER)
     @WithRoles
@@ -596,6 +646,42 @@ public class TestServiceImpl implements TestService {
         }
     }
 
+    @Transactional
+    @WithRoles
+    @Override
+    public Response exportLabelValues(int testId, String filter, String before, String after, boolean filtering,
+            boolean metrics, List<String> include, List<String> exclude, boolean multiFilter, String cursor, Integer limit) {
+        if (!checkTestExists(testId)) {
+            throw ServiceException.notFound("Cannot find test " + testId);
+        }
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                LabelValuesService.parseExportCursor(cursor);
+            } catch (IllegalArgumentException e) {
+                throw ServiceException.badRequest(e.getMessage());
+            }
+        }
+        // the response is written after this method returns, the export runs in its own transaction
+        List<String> roles = new ArrayList<>(identity.getRoles());
+        StreamingOutput output = out -> {
+            try {
+                labelValuesService.exportLabelValuesByTest(testId, roles, filter, before, after, filtering, metrics, include,
+                        exclude, multiFilter, cursor, limit, labelValues -> {
+                            try {
+                                out.write(mapper.writeValueAsBytes(labelValues));
+                                out.write('\n');
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            out.flush();
+        };
+        return Response.ok(output, "application/x-ndjson").build();
+    }
+
     @Transactional
     @WithRoles
     @Override
@@ -633,10 +719,9 @@ public class TestServiceImpl implements TestService {
     @Transactional
     public void recalculateDatasets(int testId) {
         TestDAO test = getTestForUpdate(testId);
-        RecalculationStatus status = new RecalculationStatus(RunDAO.count("testid = ?1 AND trashed = false", testId));
-        // we don't have to care about races with new runs
-        RecalculationStatus prev = recalculations.putIfAbsent(testId, status);
-        if (prev != null) {
+        // the job is identified by its start and the database stores only microseconds
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        if (!startRecalculation(testId, now)) {
             log.infof("Recalculation for test %d (%s) already in progress", testId, test.name);
             return;
         }
@@ -650,42 +735,223 @@ public class TestServiceImpl implements TestService {
         }
 
         log.infof("Recalculating datasets for test %d (%s)", testId, test.name);
-        try (ScrollableResults<Integer> results = em
-                .createNativeQuery("SELECT id FROM run WHERE testid = ?1 AND NOT trashed ORDER BY start")
-                .setParameter(1, testId)
-                .unwrap(NativeQuery.class).setReadOnly(true).setFetchSize(100)
-                .scroll(ScrollMode.FORWARD_ONLY)) {
-            while (results.next()) {
-                int runId = (int) results.get();
-                log.debugf("Recalculate Datasets for run %d - forcing recalculation for test %d (%s)", runId, testId,
-                        test.name);
-
-                mediator.executeBlocking(() -> {
-                    int newDatasets = 0;
-                    try {
-                        newDatasets = mediator.transform(runId, true);
-                    } finally {
-                        synchronized (status) {
-                            status.finished++;
-                            status.datasets += newDatasets;
-                            if (status.finished == status.totalRuns) {
-                                recalculations.remove(testId, status);
-                            }
-                        }
-                    }
-                });
+        Util.doAfterCommit(tm, () -> mediator.executeBlocking(() -> runRecalculation(testId, now)));
+    }
+
+    // only the system role can modify the job, users who can see the test can only read it
+    @WithRoles(extras = Roles.HORREUM_SYSTEM)
+    @Transactional
+    boolean startRecalculation(int testId, Instant now) {
+        TestRecalculationDAO job = TestRecalculationDAO.findById(testId, LockModeType.PESSIMISTIC_WRITE);
+        if (job != null && job.status == TestRecalculationDAO.Status.RUNNING
+                && job.updated.isAfter(now.minus(recalculationStaleTimeout))) {
+            return false;
+        }
+        if (job == null) {
+            job = new TestRecalculationDAO();
+            job.testId = testId;
+        }
+        job.status = TestRecalculationDAO.Status.RUNNING;
+        job.totalRuns = RunDAO.count("testid = ?1 AND trashed = false", testId);
+        job.finished = 0;
+        job.datasets = 0;
+        job.lastStart = null;
+        job.lastRunId = null;
+        job.started = now;
+        job.updated = now;
+        job.completed = null;
+        job.error = null;
+        // flush while the system role is set
+        job.persistAndFlush();
+        return true;
+    }
+
+    /**
+     * Transforms the runs of the test again, in order of their start. Runs are read page by page and at most
+     * {@code horreum.test.recalculation.parallelism} of them are transformed at once; further runs are read
+     * only as the transformations complete. Progress is persisted every
+     * {@value #RECALCULATION_PROGRESS_RUNS} runs or {@code RECALCULATION_PROGRESS_INTERVAL}, whichever comes first.
+     */
+    void runRecalculation(int testId, Instant started) {
+        RecalculationJob job = new RecalculationJob(testId, started);
+        if (recalculations.putIfAbsent(testId, job) != null) {
+            log.debugf("Recalculation for test %d is already running on this node", testId);
+            return;
+        }
+        try {
+            if (!job.load()) {
+                return;
             }
+            List<CompletableFuture<Void>> pending = new ArrayList<>();
+            Instant afterStart = job.lastStart;
+            Integer afterRunId = job.lastRunId;
+            int pageSize = Math.max(1, recalculationPageSize);
+            while (!job.cancelled) {
+                List<Object[]> runs = findRunsForRecalculation(testId, afterStart, afterRunId, pageSize);
+                for (Object[] run : runs) {
+                    int runId = (int) run[0];
+                    long seq = job.submit((Instant) run[1], runId);
+                    Runnable task = Util.wrapForBlockingExecution(() -> recalculateRun(job, seq, runId));
+                    pending.add(CompletableFuture.runAsync(task, recalculationExecutor));
+                }
+                pending.removeIf(CompletableFuture::isDone);
+                if (runs.size() < pageSize) {
+                    break;
+                }
+                afterStart = (Instant) runs.get(runs.size() - 1)[1];
+                afterRunId = (int) runs.get(runs.size() - 1)[0];
+            }
+            CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).join();
+            job.flush();
+            if (!job.cancelled) {
+                finishRecalculation(testId, started, null);
+            }
+        } catch (Throwable t) {
+            log.errorf(t, "Recalculation of datasets for test %d failed", testId);
+            finishRecalculation(testId, started, Util.explainCauses(t));
+        } finally {
+            recalculations.remove(testId, job);
         }
     }
 
+    private void recalculateRun(RecalculationJob job, long seq, int runId) {
+        int datasets = 0;
+        try {
+            log.debugf("Recalculate Datasets for run %d - forcing recalculation for test %d", runId, job.testId);
+            datasets = mediator.transform(runId, true);
+        } catch (Exception e) {
+            log.errorf(e, "Failed to recalculate datasets for run %d", runId);
+        } finally {
+            job.completed(seq, datasets);
+        }
+    }
+
+    @WithRoles(extras = Roles.HORREUM_SYSTEM)
+    @Transactional
+    List<Object[]> findRunsForRecalculation(int testId, Instant afterStart, Integer afterRunId, int limit) {
+        String keyset = afterRunId == null ? "" : "AND (start, id) > (?2, ?3) ";
+        var query = em.createNativeQuery("SELECT id, start FROM run WHERE testid = ?1 AND NOT trashed " +
+                keyset + "ORDER BY start, id")
+                .setParameter(1, testId)
+                .setMaxResults(limit);
+        if (afterRunId != null) {
+            query.setParameter(2, afterStart).setParameter(3, afterRunId);
+        }
+        @SuppressWarnings("unchecked")
+        List<Object[]> runs = query.unwrap(NativeQuery.class)
+                .addScalar("id", StandardBasicTypes.INTEGER)
+                .addScalar("start", StandardBasicTypes.INSTANT)
+                .getResultList();
+        return runs;
+    }
+
+    @WithRoles(extras = Roles.HORREUM_SYSTEM)
+    @Transactional
+    TestRecalculationDAO loadRecalculation(int testId, Instant started) {
+        TestRecalculationDAO job = TestRecalculationDAO.findById(testId);
+        if (job == null || job.status != TestRecalculationDAO.Status.RUNNING || !job.started.equals(started)) {
+            return null;
+        }
+        if (job.lastRunId != null) {
+            // runs after the last position might have been processed before the job was interrupted; these
+            // are processed again and should not be counted twice
+            job.finished = RunDAO.count("testid = ?1 AND trashed = false AND (start < ?2 OR (start = ?2 AND id <= ?3))",
+                    testId, job.lastStart, job.lastRunId);
+            job.datasets = DatasetDAO.count(
+                    "testid = ?1 AND (run.start < ?2 OR (run.start = ?2 AND run.id <= ?3))",
+                    testId, job.lastStart, job.lastRunId);
+        }
+        job.updated = Instant.now();
+        return job;
+    }
+
+    @WithRoles(extras = Roles.HORREUM_SYSTEM)
+    @Transactional
+    boolean updateRecalculation(int testId, Instant started, long finished, long datasets, Instant lastStart,
+            Integer lastRunId) {
+        return em.createNativeQuery("""
+                UPDATE test_recalculation SET finished = ?3, datasets = ?4, laststart = ?5, lastrunid = ?6, updated = ?7
+                WHERE testid = ?1 AND started = ?2 AND status = 'RUNNING'
+                """).unwrap(NativeQuery.class)
+                .setParameter(1, testId)
+                .setParameter(2, started)
+                .setParameter(3, finished)
+                .setParameter(4, datasets)
+                .setParameter(5, lastStart, StandardBasicTypes.INSTANT)
+                .setParameter(6, lastRunId, StandardBasicTypes.INTEGER)
+                .setParameter(7, Instant.now())
+                .executeUpdate() > 0;
+    }
+
+    @WithRoles(extras = Roles.HORREUM_SYSTEM)
+    @Transactional
+    void finishRecalculation(int testId, Instant started, String error) {
+        TestRecalculationDAO job = TestRecalculationDAO.findById(testId);
+        if (job != null && job.status == TestRecalculationDAO.Status.RUNNING && job.started.equals(started)) {
+            job.status = error == null ? TestRecalculationDAO.Status.DONE : TestRecalculationDAO.Status.FAILED;
+            job.error = error;
+            job.completed = Instant.now();
+            job.updated = job.completed;
+        }
+    }
+
+    /**
+     * Keeps the recalculations running on this node alive and resumes those that were not updated
+     * for {@code horreum.test.recalculation.stale-timeout}, e.g. because the node running them stopped.
+     */
+    @Scheduled(every = "1m", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void resumeRecalculations() {
+        for (Object[] job : claimRecalculations()) {
+            int testId = (int) job[0];
+            Instant started = (Instant) job[1];
+            log.infof("Resuming recalculation of datasets for test %d", testId);
+            mediator.executeBlocking(() -> runRecalculation(testId, started));
+        }
+    }
+
+    @WithRoles(extras = Roles.HORREUM_SYSTEM)
+    @Transactional
+    List<Object[]> claimRecalculations() {
+        Instant now = Instant.now();
+        if (!recalculations.isEmpty()) {
+            em.createNativeQuery("UPDATE test_recalculation SET updated = ?1 WHERE testid IN (?2) AND status = 'RUNNING'")
+                    .setParameter(1, now)
+                    .setParameter(2, new ArrayList<>(recalculations.keySet()))
+                    .executeUpdate();
+        }
+        // other nodes skip the jobs locked here and see them updated when this transaction commits
+        @SuppressWarnings("unchecked")
+        List<Object[]> stale = new ArrayList<>(em.createNativeQuery("SELECT testid, started FROM test_recalculation " +
+                "WHERE status = 'RUNNING' AND updated < ?1 FOR UPDATE SKIP LOCKED")
+                .setParameter(1, now.minus(recalculationStaleTimeout))
+                .unwrap(NativeQuery.class)
+                .addScalar("testid", StandardBasicTypes.INTEGER)
+                .addScalar("started", StandardBasicTypes.INSTANT)
+                .getResultList());
+        stale.removeIf(job -> recalculations.containsKey((int) job[0]));
+        for (Object[] job : stale) {
+            em.createNativeQuery("UPDATE test_recalculation SET updated = ?1 WHERE testid = ?2")
+                    .setParameter(1, now)
+                    .setParameter(2, job[0])
+                    .executeUpdate();
+        }
+        return stale;
+    }
+
     @Override
     @WithRoles
     public RecalculationStatus getRecalculationStatus(int testId) {
         if (!checkTestExists(testId)) {
             throw ServiceException.serverError("Cannot find test " + testId);
         }
-        RecalculationStatus status = recalculations.get(testId);
-        if (status == null) {
+        TestRecalculationDAO job = TestRecalculationDAO.findById(testId);
+        RecalculationStatus status;
+        if (job != null && job.status == TestRecalculationDAO.Status.RUNNING) {
+            status = new RecalculationStatus(job.totalRuns);
+            status.timestamp = job.started.toEpochMilli();
+            status.finished = job.finished;
+            status.datasets = job.datasets;
+        } else {
             status = new RecalculationStatus(RunDAO.count("testid = ?1 AND trashed = false", testId));
             status.finished = status.totalRuns;
             status.datasets = DatasetDAO.count("testid", testId);
@@ -693,6 +959,111 @@ public class TestServiceImpl implements TestService {
         return status;
     }
 
+    /*
+     * Recalculation running on this node. Runs complete out of order; the position recorded in the database
+     * is that of the last run such that all runs submitted before it have completed. Only the counters are updated
+     * under the lock, progress is written outside of it so that the workers do not wait for each other.
+     */
+    private final class RecalculationJob {
+        final int testId;
+        final Instant started;
+        private final Map<Long, Object[]> positions = new HashMap<>();
+        private final Set<Long> done = new HashSet<>();
+        private long submitted;
+        private long nextToComplete;
+        long finished;
+        long datasets;
+        Instant lastStart;
+        Integer lastRunId;
+        private boolean persisting;
+        private long persistedAt = System.nanoTime();
+        private long persistedFinished;
+        volatile boolean cancelled;
+
+        RecalculationJob(int testId, Instant started) {
+            this.testId = testId;
+            this.started = started;
+        }
+
+        boolean load() {
+            TestRecalculationDAO dao = loadRecalculation(testId, started);
+            if (dao == null) {
+                log.debugf("Recalculation of test %d started at %s is not running anymore", testId, started);
+                return false;
+            }
+            finished = dao.finished;
+            persistedFinished = finished;
+            datasets = dao.datasets;
+            lastStart = dao.lastStart;
+            lastRunId = dao.lastRunId;
+            return true;
+        }
+
+        synchronized long submit(Instant start, int runId) {
+            positions.put(submitted, new Object[] { start, runId });
+            return submitted++;
+        }
+
+        void completed(long seq, int newDatasets) {
+            long finished, datasets;
+            Instant lastStart;
+            Integer lastRunId;
+            synchronized (this) {
+                this.finished++;
+                this.datasets += newDatasets;
+                done.add(seq);
+                while (done.remove(nextToComplete)) {
+                    Object[] position = positions.remove(nextToComplete++);
+                    this.lastStart = (Instant) position[0];
+                    this.lastRunId = (Integer) position[1];
+                }
+                long now = System.nanoTime();
+                if (persisting || (this.finished - persistedFinished < RECALCULATION_PROGRESS_RUNS
+                        && now - persistedAt < RECALCULATION_PROGRESS_INTERVAL.toNanos())) {
+                    return;
+                }
+                persisting = true;
+                persistedAt = now;
+                persistedFinished = this.finished;
+                finished = this.finished;
+                datasets = this.datasets;
+                lastStart = this.lastStart;
+                lastRunId = this.lastRunId;
+            }
+            try {
+                persist(finished, datasets, lastStart, lastRunId);
+            } finally {
+                synchronized (this) {
+                    persisting = false;
+                }
+            }
+        }
+
+        void flush() {
+            long finished, datasets;
+            Instant lastStart;
+            Integer lastRunId;
+            synchronized (this) {
+                finished = this.finished;
+                datasets = this.datasets;
+                lastStart = this.lastStart;
+                lastRunId = this.lastRunId;
+            }
+            persist(finished, datasets, lastStart, lastRunId);
+        }
+
+        private void persist(long finished, long datasets, Instant lastStart, Integer lastRunId) {
+            try {
+                if (!updateRecalculation(testId, started, finished, datasets, lastStart, lastRunId)) {
+                    log.infof("Recalculation of test %d started at %s was replaced, stopping", testId, started);
+                    cancelled = true;
+                }
+            } catch (Exception e) {
+                log.errorf(e, "Failed to record progress of recalculation for test %d", testId);
+            }
+        }
+    }
+
     @RolesAllowed({ Roles.ADMIN, Roles.TESTER })
     @WithRoles
     @Transactional
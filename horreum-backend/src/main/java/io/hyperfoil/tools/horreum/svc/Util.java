@@ -3,15 +3,16 @@ package io.hyperfoil.tools.horreum.svc;
 import static java.lang.annotation.ElementType.*;
 import static java.lang.annotation.RetentionPolicy.RUNTIME;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.OutputStream;
 import java.lang.annotation.Annotation;
 import java.lang.annotation.Retention;
 import java.lang.annotation.Target;
 import java.lang.reflect.Method;
 import java.net.URLDecoder;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
@@ -37,6 +38,7 @@ import org.eclipse.microprofile.context.ThreadContext;
 import org.graalvm.polyglot.*;
 import org.graalvm.polyglot.proxy.Proxy;
 import org.graalvm.polyglot.proxy.ProxyExecutable;
+import org.hibernate.query.CommonQueryContract;
 import org.hibernate.query.NativeQuery;
 import org.jboss.logging.Logger;
 import org.postgresql.util.PSQLException;
@@ -55,6 +57,7 @@ import com.jayway.jsonpath.ReadContext;
 import com.jayway.jsonpath.spi.json.JacksonJsonNodeJsonProvider;
 
 import io.hyperfoil.tools.horreum.api.SortDirection;
+import io.hyperfoil.tools.horreum.hibernate.JsonBinaryType;
 import io.hyperfoil.tools.horreum.server.RolesInterceptor;
 import io.quarkus.security.identity.SecurityIdentity;
 import io.smallrye.context.SmallRyeContextManagerProvider;
@@ -283,7 +286,14 @@ public class Util {
         if (value == null || value.isNull()) {
             return JsonNodeFactory.instance.nullNode();
         } else if (value.isProxyObject()) {
-            return value.asProxyObject();
+            Proxy p = value.asProxyObject();
+            if (p instanceof ProxyJacksonArray) {
+                return ((ProxyJacksonArray) p).getJsonNode();
+            } else if (p instanceof ProxyJacksonObject) {
+                return ((ProxyJacksonObject) p).getJsonNode();
+            } else {
+                return JsonNodeFactory.instance.textNode(value.toString());
+            }
         } else if (value.isBoolean()) {
             return JsonNodeFactory.instance.booleanNode(value.asBoolean());
         } else if (value.isNumber()) {
@@ -306,7 +316,14 @@ public class Util {
         }
     }
 
+    /**
+     * Converts the node into a value that can be passed to JavaScript; objects and arrays are wrapped
+     * in proxies that convert their members lazily, on access.
+     */
     public static Object convertFromJson(JsonNode node) {
+        if (node == null) {
+            return null;
+        }
         switch (node.getNodeType()) {
             case BINARY:
             case STRING:
@@ -324,9 +341,9 @@ public class Util {
                     return value;
                 }
             case OBJECT:
-                return (ObjectNode) node;
+                return new ProxyJacksonObject((ObjectNode) node);
             case ARRAY:
-                return (ArrayNode) node;
+                return new ProxyJacksonArray((ArrayNode) node);
             default:
                 return node;
         }
@@ -515,6 +532,27 @@ public class Util {
         }
     }
 
+    /**
+     * Number of bytes of the string encoded in UTF-8, without encoding it.
+     */
+    public static long utf8Length(CharSequence str) {
+        long length = 0;
+        for (int i = 0; i < str.length(); ++i) {
+            char c = str.charAt(i);
+            if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < str.length() && Character.isLowSurrogate(str.charAt(i + 1))) {
+                length += 4;
+                ++i;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
     public static String explainCauses(Throwable e) {
         StringBuilder causes = new StringBuilder();
         Set<Throwable> reported = new HashSet<>();
@@ -593,6 +631,145 @@ public class Util {
         return toJsonNode(URLDecoder.decode(fpString.replace("+", "%2B"), StandardCharsets.UTF_8));
     }
 
+    /**
+     * Hash of the fingerprint stored in the indexed <code>fingerprint.fp_hash</code> column. The hash is computed
+     * from a canonical form (sorted keys, normalized numbers, arrays as sorted sets) so that fingerprints equal according to
+     * <code>json_equals</code> have the same hash. The database function <code>fingerprint_hash</code>
+     * implements the same algorithm.
+     */
+    public static Integer fingerprintHash(JsonNode fingerprint) {
+        if (fingerprint == null) {
+            return null;
+        }
+        StringBuilder canonical = new StringBuilder();
+        appendCanonical(canonical, fingerprint);
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(canonical.toString().getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getInt();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void appendCanonical(StringBuilder sb, JsonNode node) {
+        if (node.isObject()) {
+            List<String> names = new ArrayList<>();
+            node.fieldNames().forEachRemaining(names::add);
+            // same order as in PostgreSQL with "C" collation
+            names.sort(Util::compareCodePoints);
+            sb.append('{');
+            for (int i = 0; i < names.size(); ++i) {
+                if (i > 0) {
+                    sb.append(',');
+                }
+                appendCanonicalString(sb, names.get(i));
+                sb.append(':');
+                appendCanonical(sb, node.get(names.get(i)));
+            }
+            sb.append('}');
+        } else if (node.isArray()) {
+            // json_equals ignores order and duplicates of array elements, and an object (array) element contained
+            // in another one does not make a difference either; only the set of scalar elements and presence
+            // of object and array elements is hashed.
+            TreeSet<String> elements = new TreeSet<>(Util::compareCodePoints);
+            for (JsonNode element : node) {
+                if (element.isObject()) {
+                    elements.add("{}");
+                } else if (element.isArray()) {
+                    elements.add("[]");
+                } else {
+                    StringBuilder esb = new StringBuilder();
+                    appendCanonical(esb, element);
+                    elements.add(esb.toString());
+                }
+            }
+            sb.append('[').append(String.join(",", elements)).append(']');
+        } else if (node.isNumber()) {
+            sb.append(node.decimalValue().stripTrailingZeros().toPlainString());
+        } else if (node.isTextual()) {
+            appendCanonicalString(sb, node.textValue());
+        } else {
+            // booleans and null
+            sb.append(node);
+        }
+    }
+
+    // escapes the string the same way as PostgreSQL does when printing JSON
+    private static void appendCanonicalString(StringBuilder sb, String str) {
+        sb.append('"');
+        for (int i = 0; i < str.length(); ++i) {
+            char c = str.charAt(i);
+            switch (c) {
+                case '\b' -> sb.append("\\b");
+                case '\f' -> sb.append("\\f");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                default -> {
+                    if (c < ' ') {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+        sb.append('"');
+    }
+
+    private static int compareCodePoints(String a, String b) {
+        int i = 0, j = 0;
+        while (i < a.length() && j < b.length()) {
+            int ca = a.codePointAt(i);
+            int cb = b.codePointAt(j);
+            if (ca != cb) {
+                return Integer.compare(ca, cb);
+            }
+            i += Character.charCount(ca);
+            j += Character.charCount(cb);
+        }
+        return Integer.compare(a.length() - i, b.length() - j);
+    }
+
+    /**
+     * SQL condition matching fingerprint <code>fp</code> against the one set by
+     * {@link #setFingerprintParameters(CommonQueryContract, JsonNode, int)}. The lookup uses the indexed hash,
+     * <code>json_equals</code> only rules out hash collisions.
+     */
+    static String fingerprintCondition(JsonNode fingerprint, int position) {
+        if (fingerprint == null) {
+            return "fp.fingerprint IS NULL";
+        }
+        return "fp.fp_hash = ?" + position + " AND json_equals(fp.fingerprint, ?" + (position + 1) + ")";
+    }
+
+    /**
+     * HQL variant of {@link #fingerprintCondition(JsonNode, int)}.
+     */
+    static String fingerprintHqlCondition(JsonNode fingerprint, int position) {
+        return fingerprintHqlCondition("fp", fingerprint, position);
+    }
+
+    /**
+     * HQL variant of {@link #fingerprintCondition(JsonNode, int)} for fingerprint joined under given alias.
+     */
+    static String fingerprintHqlCondition(String alias, JsonNode fingerprint, int position) {
+        if (fingerprint == null) {
+            return alias + ".fingerprint IS NULL";
+        }
+        return alias + ".fpHash = ?" + position + " AND TRUE = function('json_equals', " + alias + ".fingerprint, ?"
+                + (position + 1) + ")";
+    }
+
+    static void setFingerprintParameters(CommonQueryContract query, JsonNode fingerprint, int position) {
+        if (fingerprint != null) {
+            query.setParameter(position, fingerprintHash(fingerprint));
+            query.setParameter(position + 1, fingerprint, JsonBinaryType.INSTANCE);
+        }
+    }
+
     /*
      * Evaluates a List of Objects, executing Javascript Combination Functions, if defined.
      * Callbacks for JS evaluation exceptions and output logging allow for custom error handling
@@ -604,63 +781,58 @@ public class Util {
             Consumer<T> nonFuncResultConsumer,
             ExecutionExceptionConsumer<T> onJsEvaluationException,
             Consumer<String> jsOutputConsumer) {
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-
-        for (int i = 0; i < inputData.size(); i++) {
-            T element = inputData.get(i);
-            String jsFuncBody = jsCombinationFunction.apply(element);
-            if (jsFuncBody != null && !jsFuncBody.isBlank()) {
-                try (org.graalvm.polyglot.Context context = createContext(out)) {
-                    context.enter();
+        StringBuilder out = new StringBuilder();
+        // all the functions are evaluated in the same context, which is reset after each of them and replaced
+        // only when an evaluation breaks it or leaves state behind that cannot be removed
+        JsContextPool.Lease lease = null;
+        try {
+            for (T element : inputData) {
+                String jsFuncBody = jsCombinationFunction.apply(element);
+                if (jsFuncBody != null && !jsFuncBody.isBlank()) {
+                    JsonNode input = evaluationInputObject.apply(element);
+                    if (lease == null) {
+                        lease = JsContextPool.instance().acquire();
+                    }
                     try {
-                        setupContext(context);
-                        StringBuilder jsCode = new StringBuilder("const __obj").append(i).append(" = ")
-                                .append(evaluationInputObject.apply(element)).append(";\n");
-                        jsCode.append("const __func").append(i).append(" = ").append(jsFuncBody).append(";\n");
-                        jsCode.append("__func").append(i).append("(__obj").append(i).append(")");
-                        try {
-                            Value value = context.eval("js", jsCode);
-                            value = resolvePromise(value);
-                            jsFuncResultConsumer.accept(element, value);
-                        } catch (PolyglotException e) {
-                            onJsEvaluationException.accept(element, e, jsCode.toString());
+                        Value value = lease.execute(jsFuncBody, lease.toGuest(input));
+                        value = resolvePromise(value);
+                        jsFuncResultConsumer.accept(element, value);
+                    } catch (PolyglotException e) {
+                        if (lease.isBroken()) {
+                            out.append(lease.output());
+                            lease.close();
+                            lease = null;
                         }
-                    } catch (IOException e) {
-                        onJsEvaluationException.accept(null, e, "<init>");
-                    } finally {
-                        context.leave();
+                        onJsEvaluationException.accept(element, e, describeCode(jsFuncBody, input));
                     }
+                    if (lease != null && !lease.reset()) {
+                        out.append(lease.output());
+                        lease.close();
+                        lease = null;
+                    }
+                } else {
+                    nonFuncResultConsumer.accept(element);
                 }
-            } else {
-                nonFuncResultConsumer.accept(element);
+            }
+        } finally {
+            if (lease != null) {
+                out.append(lease.output());
+                lease.close();
             }
         }
-        if (out.size() > 0) {
-            jsOutputConsumer.accept(out.toString(StandardCharsets.UTF_8));
+        if (!out.isEmpty()) {
+            jsOutputConsumer.accept(out.toString());
         }
     }
 
-    private static Context createContext(OutputStream out) {
-        return Context.newBuilder("js")
-                .engine(Engine.newBuilder()
-                        .option("engine.WarnInterpreterOnly", "false")
-                        .build())
-                .allowExperimentalOptions(true)
-                .option("js.foreign-object-prototype", "true")
-                .option("js.global-property", "true")
-                .out(out)
-                .err(out)
-                .build();
-    }
-
-    private static void setupContext(Context context) throws IOException {
-        context.getBindings("js").putMember("isInstanceLike", new ProxyJacksonObject.InstanceCheck());
-        context.eval("js",
-                "Object.defineProperty(Object,Symbol.hasInstance, {\n" +
-                        "  value: function myinstanceof(obj) {\n" +
-                        "    return isInstanceLike(obj);\n" +
-                        "  }\n" +
-                        "});");
+    /*
+     * The code is not executed in this form anymore, but this is what the users would expect to see when
+     * the evaluation fails.
+     */
+    private static String describeCode(String function, JsonNode input) {
+        return "const __obj = " + input + ";\n" +
+                "const __func = " + function + ";\n" +
+                "__func(__obj)";
     }
 
     public static Value resolvePromise(Value value) {
@@ -695,31 +867,21 @@ public class Util {
     //I SWEAR IF I FIND ANOTHER PLACE THAT PERFORMS THE SAME CALCULATION I WILL BUY MORE SCREWDRIVERS
     static <T> T evaluateOnce(String function, JsonNode input, Function<Value, T> processResult,
             BiConsumer<String, Throwable> onException, Consumer<String> onOutput) {
-        StringBuilder jsCode = new StringBuilder("const __obj = ").append(input).append(";\n");
-        jsCode.append("const __func = ").append(function).append(";\n");
-        jsCode.append("__func(__obj)");
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-        try (Context context = createContext(out)) {
-            context.enter();
+        try (JsContextPool.Lease lease = JsContextPool.instance().acquire()) {
             try {
-                setupContext(context);
-                Value value = context.eval("js", jsCode);
+                Value value = lease.execute(function, lease.toGuest(input));
                 value = resolvePromise(value);
                 //end of the sin
                 return processResult.apply(value);
             } catch (PolyglotException e) {
-                onException.accept(jsCode.toString(), e);
+                onException.accept(describeCode(function, input), e);
                 return null;
-            } catch (IOException e) {
-                onException.accept(jsCode.toString(), e);
             } finally {
-                if (out.size() > 0) {
-                    onOutput.accept(out.toString());
+                if (lease.hasOutput()) {
+                    onOutput.accept(lease.output());
                 }
-                context.leave();
             }
         }
-        return null;
     }
 
     static boolean evaluateTest(String function, JsonNode input,
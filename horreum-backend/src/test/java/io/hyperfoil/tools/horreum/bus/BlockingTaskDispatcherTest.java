@@ -0,0 +1,74 @@
+package io.hyperfoil.tools.horreum.bus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class BlockingTaskDispatcherTest {
+    private static final int TEST_A = 1001;
+    private static final int TEST_B = 1002;
+    private static final int TEST_BLOCKER = 1003;
+
+    @Test
+    public void testFifoPerTestAndRoundRobin() throws InterruptedException {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Metrics.addRegistry(registry);
+        BlockingTaskDispatcher dispatcher = new BlockingTaskDispatcher();
+        dispatcher.poolSize = 1;
+        dispatcher.start();
+        try {
+            CountDownLatch blockerStarted = new CountDownLatch(1);
+            CountDownLatch releaseBlocker = new CountDownLatch(1);
+            dispatcher.enqueue(TEST_BLOCKER, () -> {
+                blockerStarted.countDown();
+                try {
+                    releaseBlocker.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            assertTrue(blockerStarted.await(10, TimeUnit.SECONDS));
+
+            // the only worker is busy, so all these tasks are queued before any of them executes
+            List<String> executed = new CopyOnWriteArrayList<>();
+            CountDownLatch done = new CountDownLatch(5);
+            dispatcher.enqueue(TEST_A, record(executed, done, "A1"));
+            dispatcher.enqueue(TEST_A, record(executed, done, "A2"));
+            dispatcher.enqueue(TEST_B, record(executed, done, "B1"));
+            dispatcher.enqueue(TEST_A, record(executed, done, "A3"));
+            dispatcher.enqueue(TEST_B, record(executed, done, "B2"));
+            releaseBlocker.countDown();
+
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+            assertEquals(List.of("A1", "B1", "A2", "B2", "A3"), executed);
+
+            Timer waitA = registry.find("horreum.dispatcher.wait").tag("test", String.valueOf(TEST_A)).timer();
+            assertNotNull(waitA);
+            assertEquals(3, waitA.count());
+            Timer waitB = registry.find("horreum.dispatcher.wait").tag("test", String.valueOf(TEST_B)).timer();
+            assertNotNull(waitB);
+            assertEquals(2, waitB.count());
+        } finally {
+            dispatcher.stop();
+            Metrics.removeRegistry(registry);
+        }
+    }
+
+    private static Runnable record(List<String> executed, CountDownLatch done, String name) {
+        return () -> {
+            executed.add(name);
+            done.countDown();
+        };
+    }
+}
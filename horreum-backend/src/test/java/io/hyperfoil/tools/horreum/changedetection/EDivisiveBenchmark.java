@@ -0,0 +1,56 @@
+package io.hyperfoil.tools.horreum.changedetection;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmark of the eDivisive change point detection on noisy series with a step every 500 datapoints.
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=<this class>}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EDivisiveBenchmark {
+    @Param({ "1000", "10000", "100000" })
+    int size;
+
+    double[] series;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        series = new double[size];
+        for (int i = 0; i < size; ++i) {
+            series[i] = 100 + 10 * ((i / 500) % 3) + random.nextGaussian();
+        }
+    }
+
+    @Benchmark
+    public List<EDivisive.ChangePoint> computeChangePoints() {
+        return EDivisive.computeChangePoints(series, EDivisiveModel.WINDOW_LENGTH, EDivisiveModel.MAX_P_VALUE,
+                EDivisiveModel.MIN_MAGNITUDE);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(EDivisiveBenchmark.class.getSimpleName()).build()).run();
+    }
+}
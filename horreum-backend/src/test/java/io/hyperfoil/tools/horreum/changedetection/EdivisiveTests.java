@@ -2,14 +2,15 @@ package io.hyperfoil.tools.horreum.changedetection;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-import java.io.FileOutputStream;
-import java.io.IOException;
+import java.io.BufferedReader;
 import java.io.InputStream;
-import java.io.OutputStream;
+import java.io.InputStreamReader;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.Optional;
+import java.util.Random;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
@@ -17,7 +18,6 @@ import java.util.regex.Pattern;
 
 import jakarta.inject.Inject;
 
-import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInfo;
@@ -56,103 +56,58 @@ public class EdivisiveTests extends BaseServiceTest {
     ServiceMediator serviceMediator;
 
     @Test
-    public void testTemporaryFiles() {
-        try {
-            HunterEDivisiveModel.TmpFiles tmpFiles = HunterEDivisiveModel.TmpFiles.instance();
-            assertTrue(tmpFiles.tmpdir.exists());
-        } catch (IOException e) {
-            fail(e);
-        }
-    }
+    public void testDetectedChangePoints() throws Exception {
 
-    @Test
-    public void testFileStructures() {
-
-        HunterEDivisiveModel model = (HunterEDivisiveModel) resolver.getModel(ChangeDetectionModelType.EDIVISIVE);
+        EDivisiveModel model = (EDivisiveModel) resolver.getModel(ChangeDetectionModelType.EDIVISIVE);
         assertNotNull(model);
 
-        try {
-            //1. Valid File Structure
-            HunterEDivisiveModel.TmpFiles tmpFiles = getTmpFiles("change/eDivisive/valid/tests/resources/horreum.csv");
-
-            //cast ChangeDetectionModel to access protected methods
-            boolean valid = model.validateInputCsv(tmpFiles);
-
-            assertTrue(valid);
-
-            //2. Invalid File Structure
-            tmpFiles = getTmpFiles("change/eDivisive/invalid/tests/resources/horreum.csv");
-
-            //cast ChangeDetectionModel to access protected methods
-            valid = model.validateInputCsv(tmpFiles);
-
-            assertFalse(valid);
-
-            tmpFiles.cleanup();
-
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+        List<DataPointDAO> dataPoints = new ArrayList<>();
+        try (InputStream csvStream = EdivisiveTests.class.getClassLoader()
+                .getResourceAsStream("change/eDivisive/valid/tests/resources/horreum.csv");
+                BufferedReader reader = new BufferedReader(new InputStreamReader(csvStream))) {
+            reader.lines().skip(1).filter(line -> !line.isBlank()).forEach(line -> {
+                String[] fields = line.split(",");
+                DataPointDAO datapoint = new DataPointDAO();
+                datapoint.value = Double.parseDouble(fields[0]);
+                datapoint.timestamp = Instant.ofEpochSecond(Long.parseLong(fields[1]));
+                datapoint.variable = new VariableDAO();
+                DatasetDAO datasetDAO = new DatasetDAO();
+                datasetDAO.id = Integer.parseInt(fields[2]);
+                datapoint.dataset = datasetDAO;
+                dataPoints.add(datapoint);
+            });
         }
+        // the model receives the most recent datapoint first
+        Collections.reverse(dataPoints);
 
-    }
+        List<ChangeDAO> changePoints = new ArrayList<>();
+        model.analyze(dataPoints, null, changePoints::add);
 
-    @NotNull
-    private static HunterEDivisiveModel.TmpFiles getTmpFiles(String resource) throws IOException {
-        HunterEDivisiveModel.TmpFiles tmpFiles = HunterEDivisiveModel.TmpFiles.instance();
-        assertTrue(tmpFiles.confFile.exists());
-
-        try (InputStream validCsvStream = EdivisiveTests.class.getClassLoader().getResourceAsStream(resource)) {
-            try (OutputStream confOut = new FileOutputStream(tmpFiles.inputFile)) {
-                confOut.write(validCsvStream.readAllBytes());
-            } catch (IOException e) {
-                fail("Could not extract Hunter configuration from archive");
-            }
-        } catch (IOException e) {
-            fail("Could not create temporary file for Hunter eDivisive algorithm", e);
-        }
-        return tmpFiles;
+        assertNotEquals(0, changePoints.size());
+        assertEquals(1535410, changePoints.get(0).dataset.id);
+        assertEquals("eDivisive change `-5.4%` at `2024-01-03 02:39:39 +0000` for dataset: 1535410",
+                changePoints.get(0).description);
     }
 
     @Test
-    public void testDetectedChangePoints() {
-
-        HunterEDivisiveModel model = (HunterEDivisiveModel) resolver.getModel(ChangeDetectionModelType.EDIVISIVE);
-        assertNotNull(model);
-
-        List<ChangeDAO> changePoints = new ArrayList<>();
-
-        try {
-            HunterEDivisiveModel.TmpFiles tmpFiles = getTmpFiles("change/eDivisive/valid/tests/resources/horreum.csv");
-
-            Instant sinceInstant = Instant.ofEpochSecond(1702002504);
-            //cast ChangeDetectionModel to access protected methods
-            boolean valid = model.validateInputCsv(tmpFiles);
-
-            assertTrue(valid);
-
-            model.processChangePoints(
-                    (datapointID) -> {
-                        DataPointDAO datapoint = new DataPointDAO();
-                        datapoint.id = datapointID;
-                        datapoint.timestamp = Instant.now();
-                        datapoint.variable = new VariableDAO();
-                        DatasetDAO datasetDAO = new DatasetDAO();
-                        datasetDAO.id = datapointID;
-                        datapoint.dataset = datasetDAO;
-                        return Optional.of(datapoint);
-                    },
-                    (changePoints::add),
-                    tmpFiles,
-                    sinceInstant);
-
-            assertNotEquals(0, changePoints.size());
-
-            assertEquals(1535410, changePoints.get(0).dataset.id);
-
-            tmpFiles.cleanup();
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+    public void testChangePointsInSeries() {
+        // constant series has no change points
+        double[] constant = new double[100];
+        Arrays.fill(constant, 42);
+        assertEquals(0, EDivisive.computeChangePoints(constant, EDivisiveModel.WINDOW_LENGTH, EDivisiveModel.MAX_P_VALUE,
+                EDivisiveModel.MIN_MAGNITUDE).size());
+
+        // a step in a noisy series spanning multiple windows
+        Random random = new Random(42);
+        double[] step = new double[200];
+        for (int i = 0; i < step.length; ++i) {
+            step[i] = (i < 120 ? 100 : 120) + random.nextGaussian();
         }
+        List<EDivisive.ChangePoint> changePoints = EDivisive.computeChangePoints(step, EDivisiveModel.WINDOW_LENGTH,
+                EDivisiveModel.MAX_P_VALUE, EDivisiveModel.MIN_MAGNITUDE);
+        assertEquals(1, changePoints.size());
+        assertEquals(120, changePoints.get(0).index());
+        assertEquals(20, changePoints.get(0).forwardChangePercent(), 1);
     }
 
     @Test
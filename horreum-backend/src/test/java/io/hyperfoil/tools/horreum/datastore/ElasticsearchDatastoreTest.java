@@ -0,0 +1,287 @@
+package io.hyperfoil.tools.horreum.datastore;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.elasticsearch.client.RestClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.hyperfoil.tools.horreum.entity.backend.DatastoreConfigDAO;
+import io.hyperfoil.tools.horreum.svc.ServiceException;
+
+/**
+ * Runs the Elasticsearch datastore against a local HTTP stub that implements the subset of the API it uses.
+ */
+public class ElasticsearchDatastoreTest {
+    private static final String SCHEMA = "urn:es-stub:1.0";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private final List<JsonNode> searches = new CopyOnWriteArrayList<>();
+    private HttpServer httpServer;
+    private ElasticsearchDatastore datastore;
+    private DatastoreConfigDAO config;
+    private int hitCount;
+    private int failingSearch = -1;
+    private boolean pitOpen;
+
+    @BeforeEach
+    public void start() throws IOException {
+        httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        httpServer.createContext("/", this::handle);
+        httpServer.start();
+
+        datastore = new ElasticsearchDatastore();
+        datastore.mapper = mapper;
+        datastore.clients = new DatastoreClients();
+        config = new DatastoreConfigDAO();
+        config.name = "stub";
+        config.configuration = mapper.createObjectNode()
+                .put("url", "http://" + httpServer.getAddress().getHostString() + ":" + httpServer.getAddress().getPort())
+                .put("apiKey", "123")
+                .put("builtIn", false);
+    }
+
+    @AfterEach
+    public void stop() {
+        datastore.clients.closeAll();
+        httpServer.stop(0);
+    }
+
+    @Test
+    public void testSearchPagesThroughAllHits() throws IOException {
+        hitCount = 2 * ElasticsearchDatastore.PAGE_SIZE + 500;
+        List<JsonNode> runs = handleRun("""
+                { "index": "meta", "type": "search", "query": { "query": { "match_all": {} } } }
+                """);
+
+        assertEquals(hitCount, runs.size());
+        for (int i = 0; i < runs.size(); ++i) {
+            assertEquals(i, runs.get(i).path("seq").intValue());
+            assertEquals(SCHEMA, runs.get(i).path("$schema").textValue());
+        }
+        assertEquals(3, searches.size());
+        assertFalse(searches.get(0).has("search_after"));
+        assertEquals(ElasticsearchDatastore.PAGE_SIZE - 1, searches.get(1).path("search_after").path(0).intValue());
+        // the point in time id returned by the previous page is used for the next one
+        assertEquals("pit-1", searches.get(1).path("pit").path("id").textValue());
+        assertFalse(pitOpen);
+    }
+
+    @Test
+    public void testSearchHonorsSizeAndFrom() throws IOException {
+        hitCount = 5000;
+        List<JsonNode> runs = handleRun("""
+                { "index": "meta", "type": "SEARCH", "query": { "from": 10, "size": 1200 } }
+                """);
+
+        assertEquals(1200, runs.size());
+        assertEquals(10, runs.get(0).path("seq").intValue());
+        assertEquals(1209, runs.get(runs.size() - 1).path("seq").intValue());
+        assertEquals(2, searches.size());
+        assertEquals(ElasticsearchDatastore.PAGE_SIZE, searches.get(0).path("size").intValue());
+        assertEquals(210, searches.get(1).path("size").intValue());
+        assertFalse(pitOpen);
+    }
+
+    @Test
+    public void testFailedPageIsBadRequest() throws IOException {
+        hitCount = 3 * ElasticsearchDatastore.PAGE_SIZE;
+        failingSearch = 1;
+        try (DatastoreResponse response = datastore.handleRun(request("""
+                { "index": "meta", "type": "SEARCH", "query": {} }
+                """), null, config, Optional.of(SCHEMA))) {
+            Iterator<JsonNode> it = response.runs();
+            for (int i = 0; i < ElasticsearchDatastore.PAGE_SIZE; ++i) {
+                it.next();
+            }
+            ServiceException e = assertThrows(ServiceException.class, it::hasNext);
+            assertEquals(400, e.getResponse().getStatus());
+            // the point in time is released right away
+            assertFalse(pitOpen);
+        }
+        assertEquals(1, requests.stream().filter(r -> r.equals("DELETE /_pit")).count());
+    }
+
+    @Test
+    public void testEmptySearch() throws IOException {
+        hitCount = 0;
+        try (DatastoreResponse response = datastore.handleRun(request("""
+                { "index": "meta", "type": "SEARCH", "query": {} }
+                """), null, config, Optional.of(SCHEMA))) {
+            assertTrue(response.isMultiple());
+            assertFalse(response.runs().hasNext());
+        }
+        assertFalse(pitOpen);
+    }
+
+    @Test
+    public void testMultiIndexFetchesDocsInBatches() throws IOException {
+        hitCount = ElasticsearchDatastore.PAGE_SIZE + 100;
+        List<JsonNode> runs = handleRun("""
+                {
+                    "index": "meta",
+                    "type": "MULTI_INDEX",
+                    "query": {
+                        "targetIndex": "docs",
+                        "docField": "uid",
+                        "metaQuery": { "query": { "match_all": {} } }
+                    }
+                }
+                """);
+
+        assertEquals(hitCount, runs.size());
+        assertEquals(2, requests.stream().filter(r -> r.equals("POST /docs/_mget")).count());
+        assertTrue(requests.stream().noneMatch(r -> r.contains("/_doc/")));
+        JsonNode first = runs.get(0);
+        assertEquals(SCHEMA, first.path("$schema").textValue());
+        assertEquals("doc-0", first.path("$doc").path("_id").textValue());
+        assertEquals(0, first.path("$doc").path("_source").path("value").intValue());
+        // every 100th doc is missing in the target index
+        JsonNode missing = runs.get(100);
+        assertNull(missing.path("$doc").get("_source"));
+        assertEquals("Could not retrieve doc from secondary index", missing.path("$doc").path("error").textValue());
+        assertFalse(pitOpen);
+    }
+
+    @Test
+    public void testDocRequest() throws IOException {
+        try (DatastoreResponse response = datastore.handleRun(request("""
+                { "index": "docs", "type": "DOC", "query": "doc-42" }
+                """), null, config, Optional.empty())) {
+            assertFalse(response.isMultiple());
+            assertEquals(42, response.payload.path("value").intValue());
+        }
+        assertEquals(List.of("GET /docs/_doc/doc-42"), requests);
+    }
+
+    @Test
+    public void testClientIsReusedUntilConfigChanges() throws IOException {
+        hitCount = 10;
+        RestClient first;
+        handleRun("""
+                { "index": "meta", "type": "SEARCH", "query": {} }
+                """);
+        try (var lease = datastore.clients.acquire(config, RestClient.class, c -> fail(), c -> fail())) {
+            first = lease.client();
+        }
+        handleRun("""
+                { "index": "meta", "type": "SEARCH", "query": {} }
+                """);
+        try (var lease = datastore.clients.acquire(config, RestClient.class, c -> fail(), c -> fail())) {
+            assertSame(first, lease.client());
+        }
+
+        config.configuration.put("apiKey", "456");
+        List<JsonNode> runs = handleRun("""
+                { "index": "meta", "type": "SEARCH", "query": {} }
+                """);
+        assertEquals(10, runs.size());
+        try (var lease = datastore.clients.acquire(config, RestClient.class, c -> fail(), c -> fail())) {
+            assertNotSame(first, lease.client());
+        }
+        assertFalse(first.isRunning());
+    }
+
+    private List<JsonNode> handleRun(String payload) throws IOException {
+        List<JsonNode> runs = new ArrayList<>();
+        try (DatastoreResponse response = datastore.handleRun(request(payload), null, config, Optional.of(SCHEMA))) {
+            assertTrue(response.isMultiple());
+            // the point in time is held while the runs are streamed
+            assertTrue(pitOpen);
+            for (Iterator<JsonNode> it = response.runs(); it.hasNext();) {
+                runs.add(it.next());
+            }
+        }
+        return runs;
+    }
+
+    private JsonNode request(String payload) throws IOException {
+        return mapper.readTree(payload);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath();
+        requests.add(method + " " + path);
+        JsonNode body;
+        try (var stream = exchange.getRequestBody()) {
+            byte[] bytes = stream.readAllBytes();
+            body = bytes.length == 0 ? mapper.createObjectNode() : mapper.readTree(bytes);
+        }
+        ObjectNode response = mapper.createObjectNode();
+        if (method.equals("POST") && path.equals("/meta/_pit")) {
+            pitOpen = true;
+            response.put("id", "pit-0");
+        } else if (method.equals("DELETE") && path.equals("/_pit")) {
+            pitOpen = false;
+            response.put("succeeded", true);
+        } else if (method.equals("POST") && path.equals("/_search")) {
+            searches.add(body);
+            if (searches.size() - 1 == failingSearch) {
+                exchange.sendResponseHeaders(500, -1);
+                exchange.close();
+                return;
+            }
+            int from = body.path("search_after").path(0).asInt(-1) + 1;
+            int to = Math.min(hitCount, from + body.path("size").asInt(10));
+            response.put("pit_id", "pit-" + searches.size());
+            ArrayNode hits = response.putObject("hits").putArray("hits");
+            for (int i = from; i < to; ++i) {
+                ObjectNode hit = hits.addObject();
+                hit.putObject("_source").put("seq", i).put("uid", "doc-" + i);
+                hit.putArray("sort").add(i);
+            }
+        } else if (method.equals("POST") && path.equals("/docs/_mget")) {
+            ArrayNode docs = response.putArray("docs");
+            for (JsonNode id : body.path("ids")) {
+                docs.add(doc(id.asText()));
+            }
+        } else if (method.equals("GET") && path.startsWith("/docs/_doc/")) {
+            response = doc(path.substring("/docs/_doc/".length()));
+        } else {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+            return;
+        }
+        byte[] bytes = mapper.writeValueAsBytes(response);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+
+    private ObjectNode doc(String id) {
+        int value = Integer.parseInt(id.substring("doc-".length()));
+        ObjectNode doc = mapper.createObjectNode().put("_index", "docs").put("_id", id);
+        if (value % 100 == 0 && value > 0) {
+            return doc.put("found", false);
+        }
+        doc.put("found", true).putObject("_source").put("value", value);
+        return doc;
+    }
+}
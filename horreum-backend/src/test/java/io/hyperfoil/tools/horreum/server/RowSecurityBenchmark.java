@@ -0,0 +1,117 @@
+package io.hyperfoil.tools.horreum.server;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the row-level security check used by the run listing before and after roles were parsed once per
+ * statement. Requires a database migrated by Horreum, set through {@code -Dbenchmark.jdbc.url},
+ * {@code -Dbenchmark.jdbc.user} and {@code -Dbenchmark.jdbc.password}; the rows are generated in a temporary table.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RowSecurityBenchmark {
+    // definitions of `has_role` and `can_view2` preceding changeSet 127
+    private static final String LEGACY_HAS_ROLE = """
+            CREATE FUNCTION pg_temp.legacy_has_role(owner TEXT) RETURNS boolean AS $$
+            DECLARE
+                v_userroles TEXT;
+                v_role TEXT;
+            BEGIN
+                v_userroles := current_setting('horreum.userroles', true);
+                IF v_userroles = '' OR v_userroles IS NULL THEN
+                    RETURN 0;
+                END IF;
+                FOREACH v_role IN ARRAY regexp_split_to_array(v_userroles, ',')
+                LOOP
+                    IF v_role = owner THEN
+                        RETURN 1;
+                    END IF;
+                END LOOP;
+                RETURN 0;
+            END;
+            $$ LANGUAGE plpgsql SECURITY DEFINER STABLE""";
+    private static final String LEGACY_CAN_VIEW = """
+            CREATE FUNCTION pg_temp.legacy_can_view2(access INTEGER, owner TEXT) RETURNS boolean AS $$
+            BEGIN
+                RETURN (
+                    access = 0
+                    OR (access = 1 AND pg_temp.legacy_has_role('viewer'))
+                    OR (access = 2 AND pg_temp.legacy_has_role(owner) AND pg_temp.legacy_has_role('viewer'))
+                );
+            END;
+            $$ LANGUAGE plpgsql STABLE""";
+
+    @Param({ "300000" })
+    int rows;
+
+    Connection connection;
+
+    @Setup
+    public void setup() throws SQLException {
+        connection = DriverManager.getConnection(
+                System.getProperty("benchmark.jdbc.url", "jdbc:postgresql://localhost:5432/horreum"),
+                System.getProperty("benchmark.jdbc.user", "dbadmin"),
+                System.getProperty("benchmark.jdbc.password", "secret"));
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TEMPORARY TABLE bench_run (id integer, access integer, owner text)");
+            statement.execute("INSERT INTO bench_run SELECT i, i % 3, 'team' || (i % 20) || '-team' FROM generate_series(1, "
+                    + rows + ") AS i");
+            statement.execute("ANALYZE bench_run");
+            statement.execute(LEGACY_HAS_ROLE);
+            statement.execute(LEGACY_CAN_VIEW);
+            statement.execute(
+                    "SELECT set_config('horreum.userroles', 'viewer,tester,uploader,team1-team,team2-team,user', false)");
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public long perRowParsing() throws SQLException {
+        return count("SELECT count(*) FROM bench_run WHERE pg_temp.legacy_can_view2(access, owner)");
+    }
+
+    @Benchmark
+    public long perStatementParsing() throws SQLException {
+        return count("SELECT count(*) FROM bench_run WHERE can_view2_in((SELECT horreum_roles()), access, owner)");
+    }
+
+    private long count(String query) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery(query)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RowSecurityBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -10,6 +10,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 
 import jakarta.inject.Inject;
 
@@ -328,6 +329,220 @@ public class AlertingServiceTest extends BaseServiceTest {
         assertTrue(datapoints.stream().anyMatch(dp -> dp.value == 4));
     }
 
+    @org.junit.jupiter.api.Test
+    public void testRecalculationPartitionedByFingerprint(TestInfo info) throws Exception {
+        Test test = createExampleTest(getTestName(info));
+        test.fingerprintLabels = jsonArray("foo");
+        test = createTest(test);
+        Schema schema = createExampleSchema(info);
+        addChangeDetectionVariable(test, schema.id);
+        addLabel(schema, "foo", null, new Extractor("foo", "$.foo", false));
+
+        BlockingQueue<DataPoint.Event> datapointQueue = serviceMediator.getEventQueue(AsyncEventChannels.DATAPOINT_NEW,
+                test.id);
+        double[] values = { 1, 10, 2, 11, 3 };
+        for (double value : values) {
+            uploadRun(runWithValue(value, schema).put("foo", value < 10 ? "aaa" : "bbb"), test.name);
+            assertValue(datapointQueue, value);
+        }
+
+        jsonRequest().queryParam("test", test.id).post("/api/alerting/recalculate").then().statusCode(204);
+        List<Double> aaa = new ArrayList<>();
+        List<Double> bbb = new ArrayList<>();
+        for (int i = 0; i < values.length; ++i) {
+            DataPoint.Event event = datapointQueue.poll(10, TimeUnit.SECONDS);
+            assertNotNull(event);
+            (event.dataPoint.value < 10 ? aaa : bbb).add(event.dataPoint.value);
+        }
+        // the series are recalculated independently but each one in order
+        assertEquals(List.of(1d, 2d, 3d), aaa);
+        assertEquals(List.of(10d, 11d), bbb);
+
+        AlertingService.DatapointRecalculationStatus status = null;
+        for (int i = 0; i < 200; ++i) {
+            status = jsonRequest().queryParam("test", test.id).get("/api/alerting/recalculate")
+                    .then().statusCode(200).extract().body().as(AlertingService.DatapointRecalculationStatus.class);
+            if (status.done) {
+                break;
+            }
+            Thread.sleep(20);
+        }
+        assertTrue(status.done);
+        assertEquals(100, status.percentage);
+        assertEquals(2, status.partitions.size());
+        status.partitions.sort(Comparator.comparing(p -> p.fingerprint));
+        assertTrue(status.partitions.get(0).fingerprint.contains("aaa"));
+        assertEquals(3, status.partitions.get(0).totalDatasets);
+        assertEquals(3, status.partitions.get(0).completedDatasets);
+        assertTrue(status.partitions.get(0).done);
+        assertTrue(status.partitions.get(1).fingerprint.contains("bbb"));
+        assertEquals(2, status.partitions.get(1).completedDatasets);
+        assertEquals(5, DataPointDAO.count());
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testRecalculationFindsSameChanges(TestInfo info) throws Exception {
+        Test test = createTest(createExampleTest(getTestName(info)));
+        Schema schema = createExampleSchema(info);
+        addChangeDetectionVariable(test, schema.id);
+
+        BlockingQueue<DataPoint.Event> datapointQueue = serviceMediator.getEventQueue(AsyncEventChannels.DATAPOINT_NEW,
+                test.id);
+        BlockingQueue<Change.Event> changeQueue = serviceMediator.getEventQueue(AsyncEventChannels.CHANGE_NEW, test.id);
+
+        double[] values = { 1, 1, 1, 2, 2, 2, 2, 1, 1, 1, 3, 3 };
+        long ts = System.currentTimeMillis();
+        for (int i = 0; i < values.length; ++i) {
+            uploadRun(ts + i, ts + i, runWithValue(values[i], schema), test.name);
+            assertValue(datapointQueue, values[i]);
+        }
+        drainQueue(changeQueue);
+        List<Long> incremental = ChangeDAO.<ChangeDAO> list("variable.testId", test.id).stream()
+                .map(c -> c.timestamp.toEpochMilli()).sorted().toList();
+        assertTrue(incremental.size() > 1);
+
+        em.clear();
+        recalculateDatapoints(test.id);
+        drainQueue(datapointQueue, values.length);
+        em.clear();
+        // datapoints are recreated for the same datasets, the changes are found once the whole series is inserted
+        List<Long> recalculated = ChangeDAO.<ChangeDAO> list("variable.testId", test.id).stream()
+                .map(c -> c.timestamp.toEpochMilli()).sorted().toList();
+        assertEquals(incremental, recalculated);
+        assertEquals(values.length, DataPointDAO.count("variable.testId", test.id));
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testIncrementalRelativeDifferenceOutOfOrder(TestInfo info) throws Exception {
+        Test test = createTest(createExampleTest(getTestName(info)));
+        Schema schema = createExampleSchema(info);
+        addChangeDetectionVariable(test, schema.id);
+
+        long ts = System.currentTimeMillis();
+        // the datapoints at ts + 2 and ts + 6 arrive after the later ones
+        long[] starts = { ts, ts + 1, ts + 3, ts + 4, ts + 2, ts + 5, ts + 7, ts + 8, ts + 6, ts + 9 };
+        double[] values = { 1, 1, 2, 2, 1, 2, 1, 1, 1, 3 };
+        assertIncrementalMatchesRecalculation(test, schema, starts, values, -1);
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testIncrementalRelativeDifferenceEqualTimestamps(TestInfo info) throws Exception {
+        Test test = createTest(createExampleTest(getTestName(info)));
+        Schema schema = createExampleSchema(info);
+        addChangeDetectionVariable(test, schema.id);
+
+        long ts = System.currentTimeMillis();
+        long[] starts = { ts, ts, ts + 1, ts + 1, ts + 1, ts + 2, ts + 2, ts + 3, ts + 3, ts + 3 };
+        double[] values = { 1, 1, 1, 2, 2, 2, 2, 1, 1, 1 };
+        assertIncrementalMatchesRecalculation(test, schema, starts, values, -1);
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testIncrementalRelativeDifferenceConfirmedChange(TestInfo info) throws Exception {
+        Test test = createTest(createExampleTest(getTestName(info)));
+        Schema schema = createExampleSchema(info);
+        addChangeDetectionVariable(test, schema.id);
+
+        long ts = System.currentTimeMillis();
+        long[] starts = LongStream.range(ts, ts + 12).toArray();
+        double[] values = { 1, 1, 1, 2, 2, 2, 2, 1, 1, 1, 3, 3 };
+        // the first change is confirmed before the rest of the series arrives
+        assertIncrementalMatchesRecalculation(test, schema, starts, values, 6);
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testIncrementalFixedThresholdOutOfOrder(TestInfo info) throws Exception {
+        Test test = createTest(createExampleTest(getTestName(info)));
+        Schema schema = createExampleSchema(info);
+        addFixedThresholdVariable(test, schema);
+
+        long ts = System.currentTimeMillis();
+        long[] starts = { ts + 1, ts, ts + 3, ts + 2, ts + 5, ts + 4, ts + 6 };
+        double[] values = { 4, 2, 5, 7, 3, 8, 1 };
+        assertIncrementalMatchesRecalculation(test, schema, starts, values, -1);
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testIncrementalFixedThresholdEqualTimestamps(TestInfo info) throws Exception {
+        Test test = createTest(createExampleTest(getTestName(info)));
+        Schema schema = createExampleSchema(info);
+        addFixedThresholdVariable(test, schema);
+
+        long ts = System.currentTimeMillis();
+        long[] starts = { ts, ts, ts + 1, ts + 1, ts + 1, ts + 2 };
+        double[] values = { 4, 2, 7, 5, 1, 4 };
+        assertIncrementalMatchesRecalculation(test, schema, starts, values, -1);
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testIncrementalFixedThresholdConfirmedChange(TestInfo info) throws Exception {
+        Test test = createTest(createExampleTest(getTestName(info)));
+        Schema schema = createExampleSchema(info);
+        addFixedThresholdVariable(test, schema);
+
+        long ts = System.currentTimeMillis();
+        long[] starts = LongStream.range(ts, ts + 8).toArray();
+        double[] values = { 4, 2, 5, 4, 7, 5, 1, 4 };
+        assertIncrementalMatchesRecalculation(test, schema, starts, values, 3);
+    }
+
+    private void addFixedThresholdVariable(Test test, Schema schema) {
+        ChangeDetection ft = new ChangeDetection();
+        ft.model = ChangeDetectionModelType.names.FIXED_THRESHOLD;
+        ObjectNode config = JsonNodeFactory.instance.objectNode();
+        config.putObject("min").put("value", 3).put("enabled", true).put("inclusive", true);
+        config.putObject("max").put("value", 6).put("enabled", true).put("inclusive", false);
+        ft.config = config;
+        setTestVariables(test, "Value", new Label("value", schema.id), ft);
+    }
+
+    /**
+     * Uploads the runs one by one, so that changes are detected incrementally, and checks that recalculating the
+     * whole series finds the same changes. When <code>confirmAt</code> is not negative the first change found in the
+     * runs before that index is confirmed before the remaining runs are uploaded.
+     */
+    private void assertIncrementalMatchesRecalculation(Test test, Schema schema, long[] starts, double[] values,
+            int confirmAt) throws InterruptedException {
+        assertEquals(starts.length, values.length);
+        BlockingQueue<DataPoint.Event> datapointQueue = serviceMediator.getEventQueue(AsyncEventChannels.DATAPOINT_NEW,
+                test.id);
+        BlockingQueue<Change.Event> changeQueue = serviceMediator.getEventQueue(AsyncEventChannels.CHANGE_NEW, test.id);
+        for (int i = 0; i < values.length; ++i) {
+            if (i == confirmAt) {
+                drainQueue(changeQueue);
+                em.clear();
+                ChangeDAO first = ChangeDAO.<ChangeDAO> list("variable.testId", test.id).stream()
+                        .min(Comparator.comparing((ChangeDAO c) -> c.timestamp).thenComparing(c -> c.id)).orElseThrow();
+                Change change = new Change();
+                change.id = first.id;
+                change.confirmed = true;
+                jsonRequest().body(change).post("/api/alerting/change/" + first.id).then().statusCode(204);
+            }
+            uploadRun(starts[i], starts[i], runWithValue(values[i], schema), test.name);
+            assertValue(datapointQueue, values[i]);
+        }
+        drainQueue(changeQueue);
+        em.clear();
+        List<String> incremental = describeChanges(test.id);
+        assertFalse(incremental.isEmpty());
+        if (confirmAt >= 0) {
+            assertTrue(incremental.stream().anyMatch(c -> c.endsWith("confirmed")), incremental.toString());
+        }
+
+        recalculateDatapoints(test.id);
+        drainQueue(datapointQueue, values.length);
+        drainQueue(changeQueue);
+        em.clear();
+        assertEquals(incremental, describeChanges(test.id));
+    }
+
+    private List<String> describeChanges(int testId) {
+        return ChangeDAO.<ChangeDAO> list("variable.testId", testId).stream()
+                .sorted(Comparator.comparing((ChangeDAO c) -> c.timestamp).thenComparing(c -> c.dataset.id))
+                .map(c -> c.timestamp.toEpochMilli() + "@" + c.dataset.id + (c.confirmed ? " confirmed" : ""))
+                .toList();
+    }
+
     private void recalculateDatapoints(int testId) throws InterruptedException {
         jsonRequest()
                 .queryParam("test", testId).queryParam("notify", true).queryParam("debug", true)
@@ -1025,7 +1025,7 @@ public class BaseServiceTest {
         }
     }
 
-    private JsonNode createRunData(String variant, String os, String category, int clusterSize, double cpuUsage,
+    protected JsonNode createRunData(String variant, String os, String category, int clusterSize, double cpuUsage,
             long memoryUsage, long throughput) {
         ObjectNode data = JsonNodeFactory.instance.objectNode();
         return data.put("$schema", SCHEMA)
@@ -19,6 +19,7 @@ import io.hyperfoil.tools.horreum.api.report.TableReportConfig;
 import io.hyperfoil.tools.horreum.bus.AsyncEventChannels;
 import io.hyperfoil.tools.horreum.test.HorreumTestProfile;
 import io.hyperfoil.tools.horreum.test.PostgresResource;
+import io.hyperfoil.tools.horreum.test.TestUtil;
 import io.quarkus.test.common.QuarkusTestResource;
 import io.quarkus.test.junit.QuarkusTest;
 import io.quarkus.test.junit.TestProfile;
@@ -106,6 +107,48 @@ public class ReportServiceTest extends BaseServiceTest {
         deleteReport(report);
     }
 
+    @org.junit.jupiter.api.Test
+    public void testUpdateWithNewDatasets() throws InterruptedException {
+        Test test = createTest(createExampleTest("incremental"));
+        createComparisonSchema();
+        uploadExampleRuns(test);
+
+        TableReportConfig config = newExampleTableReportConfig(test);
+        TableReport report = jsonRequest().body(config).post("/api/report/table/config")
+                .then().statusCode(200).extract().body().as(TableReport.class);
+        assertEquals(8, report.data.size());
+
+        BlockingQueue<Dataset.LabelsUpdatedEvent> queue = serviceMediator
+                .getEventQueue(AsyncEventChannels.DATASET_UPDATED_LABELS, test.id);
+        long ts = System.currentTimeMillis();
+        // newer dataset with the same coordinates replaces the previous one
+        uploadRun(ts, createRunData("debug", "windows", "jvm", 2, 0.9, 110_000_000, 300), test.name);
+        // dataset with new coordinates is added
+        uploadRun(ts, createRunData("debug", "windows", "jvm", 4, 0.7, 90_000_000, 400), test.name);
+        assertNotNull(queue.poll(10, TimeUnit.SECONDS));
+        assertNotNull(queue.poll(10, TimeUnit.SECONDS));
+
+        // the reports are updated after the labels are committed
+        TestUtil.eventually(() -> {
+            TableReport current = jsonRequest().get("/api/report/table/" + report.id)
+                    .then().statusCode(200).extract().body().as(TableReport.class);
+            return current.data.size() == 9 && current.data.stream().anyMatch(d -> "windows".equals(d.series)
+                    && "jvm".equals(d.category) && Integer.parseInt(d.scale) == 2 && d.values.get(0).asDouble() == 0.9);
+        });
+        TableReport updatedReport = jsonRequest().get("/api/report/table/" + report.id)
+                .then().statusCode(200).extract().body().as(TableReport.class);
+        assertCount(updatedReport, 5, d -> d.category, "jvm");
+        TableReport.DataDTO replaced = updatedReport.data.stream()
+                .filter(d -> "windows".equals(d.series) && "jvm".equals(d.category) && Integer.parseInt(d.scale) == 2)
+                .findFirst().orElseThrow();
+        assertEquals(0.9, replaced.values.get(0).asDouble());
+        assertEquals(110_000_000L, replaced.values.get(1).asLong());
+        assertEquals(300, replaced.values.get(2).asInt());
+        assertCount(updatedReport, 1, d -> d.scale, "4");
+
+        deleteReport(updatedReport);
+    }
+
     private ReportComment createComment(int level, String category, String msg) {
         ReportComment comment = new ReportComment();
         comment.level = 2;
@@ -57,6 +57,7 @@ import io.hyperfoil.tools.horreum.api.services.DatasetService;
 import io.hyperfoil.tools.horreum.api.services.ExperimentService;
 import io.hyperfoil.tools.horreum.api.services.RunService;
 import io.hyperfoil.tools.horreum.bus.AsyncEventChannels;
+import io.hyperfoil.tools.horreum.entity.alerting.TransformationLogDAO;
 import io.hyperfoil.tools.horreum.entity.data.DatasetDAO;
 import io.hyperfoil.tools.horreum.entity.data.RunDAO;
 import io.hyperfoil.tools.horreum.mapper.DatasetMapper;
@@ -69,6 +70,7 @@ import io.quarkus.test.junit.QuarkusTest;
 import io.quarkus.test.junit.TestProfile;
 import io.quarkus.test.oidc.server.OidcWiremockTestResource;
 import io.restassured.RestAssured;
+import io.restassured.common.mapper.TypeRef;
 import io.restassured.response.Response;
 import io.restassured.specification.RequestSpecification;
 
@@ -547,6 +549,46 @@ public class RunServiceTest extends BaseServiceTest {
         validateScalarArray(ds, target);
     }
 
+    @org.junit.jupiter.api.Test
+    public void testParallelTransformersKeepOrder(TestInfo info) throws InterruptedException {
+        Schema schema = createExampleSchema("OrderCorp", "OrderInc", "OrderRrUs", false);
+        Extractor path = new Extractor("value", "$.value", false);
+        // the first transformer is the slowest one, the results must not be merged in the order of completion
+        Transformer first = createTransformer("first", schema,
+                "value => { let sum = 0; for (let i = 0; i < 1000000; ++i) { sum += i; } " +
+                        "console.log('first output'); return { by: 'first', value }; }",
+                path);
+        Transformer second = createTransformer("second", schema,
+                "value => { console.log('second output'); return { by: 'second', value }; }", path);
+        Transformer third = createTransformer("third", schema,
+                "value => { console.log('third output'); return { by: 'third', value }; }", path);
+        assertTrue(first.id < second.id && second.id < third.id);
+
+        Test test = createTest(createExampleTest(getTestName(info)));
+        addTransformer(test, third, first, second);
+        BlockingQueue<Dataset.EventNew> dataSetQueue = serviceMediator.getEventQueue(AsyncEventChannels.DATASET_NEW, test.id);
+
+        int runId = uploadRun(runWithValue(42, schema), test.name);
+        Dataset.EventNew event = dataSetQueue.poll(POLL_DURATION_SECONDS, TimeUnit.SECONDS);
+        assertNotNull(event);
+        assertNull(dataSetQueue.poll(50, TimeUnit.MILLISECONDS));
+
+        Dataset dataset = DatasetMapper.from(DatasetDAO.findById(event.datasetId));
+        assertTrue(dataset.data.isArray());
+        assertEquals(3, dataset.data.size());
+        assertEquals(List.of("first", "second", "third"),
+                StreamSupport.stream(dataset.data.spliterator(), false).map(node -> node.path("by").asText()).toList());
+        dataset.data.forEach(node -> assertEquals(42, node.path("value").intValue()));
+
+        // output of every transformer is persisted in the run log
+        List<String> messages = TransformationLogDAO.<TransformationLogDAO> find("run.id", runId).stream()
+                .map(entry -> entry.message).toList();
+        for (String name : List.of("first", "second", "third")) {
+            assertTrue(messages.stream().anyMatch(m -> m.contains("Output while running transformer")
+                    && m.contains("/" + name) && m.contains(name + " output")), messages.toString());
+        }
+    }
+
     @org.junit.jupiter.api.Test
     public void testSelectRunBySchema(TestInfo info) throws InterruptedException {
         Schema schemaA = createExampleSchema("Aba", "Aba", "Aba", false);
@@ -789,6 +831,129 @@ public class RunServiceTest extends BaseServiceTest {
         assertEquals(data3.get("bar"), data3B);
     }
 
+    @org.junit.jupiter.api.Test
+    public void testRetrievePartialData() {
+        Test test = createTest(createExampleTest("dummy"));
+        Schema schemaA = createExampleSchema("A", "A", "A", false);
+
+        ObjectNode data = JsonNodeFactory.instance.objectNode();
+        data.putObject("foo").put("$schema", schemaA.uri).put("value", 45).put("text", "a/b");
+        int runId = uploadRun(data, test.name);
+
+        assertEquals(data.get("foo"), jsonRequest().queryParam("path", "/foo").get("/api/run/" + runId + "/data")
+                .then().statusCode(200).extract().body().as(JsonNode.class));
+        assertEquals(45, jsonRequest().queryParam("schemaUri", schemaA.uri).queryParam("path", "/value")
+                .get("/api/run/" + runId + "/data").then().statusCode(200).extract().body().as(JsonNode.class).asInt());
+        assertEquals("\"a/b\"", jsonRequest().queryParam("path", "/foo/text").get("/api/run/" + runId + "/data")
+                .then().statusCode(200).extract().body().asString());
+        jsonRequest().queryParam("path", "/missing").get("/api/run/" + runId + "/data").then().statusCode(404);
+        jsonRequest().queryParam("path", "foo").get("/api/run/" + runId + "/data").then().statusCode(400);
+
+        String full = jsonRequest().get("/api/run/" + runId + "/data").then().statusCode(200)
+                .header("Accept-Ranges", "bytes").extract().body().asString();
+        String partial = jsonRequest().header("Range", "bytes=0-9").get("/api/run/" + runId + "/data").then()
+                .statusCode(206).header("Content-Range", "bytes 0-9/" + full.length()).extract().body().asString();
+        assertEquals(full.substring(0, 10), partial);
+        String suffix = jsonRequest().header("Range", "bytes=-5").get("/api/run/" + runId + "/data").then()
+                .statusCode(206).extract().body().asString();
+        assertEquals(full.substring(full.length() - 5), suffix);
+        jsonRequest().header("Range", "bytes=" + full.length() + "-").get("/api/run/" + runId + "/data").then()
+                .statusCode(416).header("Content-Range", "bytes */" + full.length());
+
+        assertEquals(JsonNodeFactory.instance.objectNode(), jsonRequest().get("/api/run/" + runId + "/metadata")
+                .then().statusCode(200).extract().body().as(JsonNode.class));
+
+        // data in the extended run are written from the text rendered by the database
+        RunService.RunExtended run = getRun(runId);
+        assertEquals(runId, (int) run.id);
+        assertEquals(test.name, run.testname);
+        assertEquals(data, run.data);
+        assertNull(run.metadata);
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testAsyncUpload(TestInfo info) {
+        Test test = createTest(createExampleTest(getTestName(info)));
+        Schema schema = createExampleSchema(info);
+
+        long now = System.currentTimeMillis();
+        String jobIds = jsonUploaderRequest().body(runWithValue(42, schema).toString())
+                .post("/api/run/data?start=" + now + "&stop=" + now + "&test=" + test.name + "&owner=" + test.owner
+                        + "&access=PUBLIC&async=true")
+                .then().statusCode(202).extract().asString();
+        long jobId = Long.parseLong(jobIds);
+
+        TestUtil.eventually(() -> jsonRequest().get("/api/run/ingestion/" + jobId).then().statusCode(200)
+                .extract().as(RunService.RunIngestion.class).status == RunService.IngestionStatus.DONE);
+        RunService.RunIngestion job = jsonRequest().get("/api/run/ingestion/" + jobId).then().statusCode(200)
+                .extract().as(RunService.RunIngestion.class);
+        assertEquals((int) test.id, job.testId);
+        assertNotNull(job.runId);
+        assertNull(job.error);
+        assertNotNull(job.persist);
+        assertNotNull(job.queue);
+        assertNotNull(job.transform);
+        assertNotNull(job.labels);
+        assertNotNull(job.validation);
+        assertNotNull(job.total);
+
+        RunService.RunSummary run = jsonRequest().get("/api/run/" + job.runId + "/summary").then().statusCode(200)
+                .extract().as(RunService.RunSummary.class);
+        assertEquals(1, run.datasets.length);
+        List<ExportedLabelValues> values = jsonRequest().get("/api/test/" + test.id + "/labelValues").then()
+                .statusCode(200).extract().body().as(new TypeRef<>() {
+                });
+        assertEquals(1, values.size());
+        assertEquals(42, values.get(0).values.get("value").asInt());
+
+        jsonRequest().get("/api/run/ingestion/" + (jobId + 1000)).then().statusCode(404);
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testBulkUpload() {
+        Test test = createTest(createExampleTest("bulk"));
+        long now = System.currentTimeMillis();
+        String ndjson = String.join("\n",
+                "{\"start\":" + now + ",\"stop\":" + now + ",\"data\":{\"value\":1}}",
+                "{\"stop\":" + now + ",\"data\":{\"value\":2}}",
+                "{\"start\":" + now + ",\"stop\":" + now + ",\"data\":{\"value\":3},\"description\":\"third\"}");
+        List<RunService.BulkRunResult> results = bulkUpload(test, "application/x-ndjson", ndjson);
+        assertEquals(3, results.size());
+        assertNotNull(results.get(0).runId);
+        assertNotNull(results.get(0).jobId);
+        assertNull(results.get(0).error);
+        assertNull(results.get(1).runId);
+        assertEquals("Missing start or stop timestamp", results.get(1).error);
+        assertEquals(2, results.get(2).index);
+        assertNotNull(results.get(2).runId);
+
+        RunService.RunSummary run = jsonRequest().get("/api/run/" + results.get(2).runId + "/summary").then()
+                .statusCode(200).extract().as(RunService.RunSummary.class);
+        assertEquals("third", run.description);
+        assertEquals((int) test.id, run.testid);
+        assertEquals(now, run.start.toEpochMilli());
+
+        // runs read before malformed JSON are persisted
+        String array = "[{\"start\":" + now + ",\"stop\":" + now + ",\"data\":{\"value\":4}}, {\"start\":";
+        results = bulkUpload(test, MediaType.APPLICATION_JSON, array);
+        assertEquals(2, results.size());
+        assertNotNull(results.get(0).runId);
+        assertTrue(results.get(1).error.startsWith("Cannot parse run"));
+        assertEquals(3, jsonRequest().get("/api/run/count?testId=" + test.id).then().statusCode(200)
+                .extract().as(RunService.RunCount.class).total);
+    }
+
+    private List<RunService.BulkRunResult> bulkUpload(Test test, String contentType, String body) {
+        return RestAssured.given().auth().oauth2(getUploaderToken())
+                .contentType(contentType)
+                .body(body)
+                .post("/api/run/bulk?test=" + test.name + "&owner=" + test.owner + "&access=" + Access.PUBLIC)
+                .then()
+                .statusCode(200)
+                .extract().as(new TypeRef<>() {
+                });
+    }
+
     @org.junit.jupiter.api.Test
     public void testUploadWithMetadata() throws InterruptedException {
         Test test = createTest(createExampleTest("with_meta"));
@@ -935,6 +1100,52 @@ public class RunServiceTest extends BaseServiceTest {
         assertEquals(1, runs.runs.size());
     }
 
+    @org.junit.jupiter.api.Test
+    public void testListAllRunsByKey(TestInfo info) {
+        Test test = createTest(createExampleTest(getTestName(info)));
+        long now = System.currentTimeMillis();
+        ObjectNode nested = JsonNodeFactory.instance.objectNode();
+        nested.putObject("searchOuter").put("searchInner", 1);
+        uploadRun(now, nested, test.name);
+        uploadRun(now + 1, nested.deepCopy(), test.name);
+        uploadRun(now + 2, JsonNodeFactory.instance.objectNode().put("searchOther", 2), test.name);
+
+        RunService.RunsSummary runs = jsonRequest().get("/api/run/list?limit=10&query=searchInner")
+                .then().statusCode(200).extract().as(RunService.RunsSummary.class);
+        assertEquals(2, runs.total);
+        assertEquals(2, runs.runs.size());
+
+        runs = jsonRequest().get("/api/run/list?limit=10&query=searchOuter.searchInner")
+                .then().statusCode(200).extract().as(RunService.RunsSummary.class);
+        assertEquals(2, runs.total);
+
+        runs = jsonRequest().get("/api/run/list?limit=10&query=searchInner searchOther")
+                .then().statusCode(200).extract().as(RunService.RunsSummary.class);
+        assertEquals(3, runs.total);
+
+        runs = jsonRequest().get("/api/run/list?limit=10&matchAll=true&query=searchInner searchOther")
+                .then().statusCode(200).extract().as(RunService.RunsSummary.class);
+        assertEquals(0, runs.total);
+        assertEquals(0, runs.runs.size());
+
+        // keyset pagination
+        List<Integer> ids = new ArrayList<>();
+        String next = null;
+        do {
+            runs = jsonRequest()
+                    .get("/api/run/list?limit=2&query=searchInner searchOther" + (next == null ? "" : "&after=" + next))
+                    .then().statusCode(200).extract().as(RunService.RunsSummary.class);
+            assertEquals(3, runs.total);
+            runs.runs.forEach(run -> ids.add(run.id));
+            next = runs.next;
+        } while (next != null);
+        assertEquals(3, ids.size());
+        assertEquals(3, new HashSet<>(ids).size());
+
+        jsonRequest().get("/api/run/list?limit=2&sort=description&after=" + ids.get(0) + ":" + ids.get(0))
+                .then().statusCode(400);
+    }
+
     @org.junit.jupiter.api.Test
     public void testAddRunFromData() throws JsonProcessingException {
         Test test = createExampleTest("supersecret");
@@ -248,6 +248,77 @@ class SchemaServiceTest extends BaseServiceTest {
         assertEquals(4, em.createNativeQuery("SELECT COUNT(*)::int FROM dataset_validationerrors").getSingleResult());
     }
 
+    @org.junit.jupiter.api.Test
+    void testRevalidateAfterSchemaEdit() throws IOException, InterruptedException {
+        JsonNode allowAny = load("/allow-any.json");
+        Schema schema = createSchema("revalidated", allowAny.path("$id").asText(), allowAny);
+        int schemaId = schema.id;
+
+        Test test = createTest(createExampleTest("revalidationTest"));
+        BlockingQueue<Schema.ValidationEvent> runValidations = serviceMediator.getEventQueue(AsyncEventChannels.RUN_VALIDATED,
+                test.id);
+        BlockingQueue<Schema.ValidationEvent> datasetValidations = serviceMediator
+                .getEventQueue(AsyncEventChannels.DATASET_VALIDATED, test.id);
+
+        int runs = 3;
+        List<Integer> runIds = new ArrayList<>();
+        for (int i = 0; i < runs; ++i) {
+            runIds.add(uploadRun(JsonNodeFactory.instance.objectNode().put("$schema", schema.uri).put("foo", i).toString(),
+                    test.name));
+        }
+        for (int i = 0; i < runs; ++i) {
+            Schema.ValidationEvent runValidation = runValidations.poll(10, TimeUnit.SECONDS);
+            assertNotNull(runValidation);
+            assertEquals(0, runValidation.errors.size());
+            Schema.ValidationEvent dsValidation = datasetValidations.poll(10, TimeUnit.SECONDS);
+            assertNotNull(dsValidation);
+            assertEquals(0, dsValidation.errors.size());
+        }
+
+        // the schema is not visible to anonymous users, neither is the progress of its revalidation
+        jsonRequest().auth().oauth2(getTesterToken())
+                .post("/api/schema/" + schema.id + "/updateAccess?owner=" + TESTER_ROLES[0] + "&access=2")
+                .then().statusCode(204);
+        unauthenticatedJsonRequest().get("/api/schema/" + schema.id + "/revalidate").then().statusCode(404);
+
+        schema = getSchema(schema.id, getTesterToken());
+        JsonNode allowNone = load("/allow-none.json");
+        schema.schema = allowNone.deepCopy();
+        ((ObjectNode) schema.schema).set("$id", allowAny.path("$id").deepCopy());
+        addOrUpdateSchema(schema);
+
+        List<Integer> revalidatedRuns = new ArrayList<>();
+        for (int i = 0; i < runs; ++i) {
+            Schema.ValidationEvent runValidation = runValidations.poll(10, TimeUnit.SECONDS);
+            assertNotNull(runValidation);
+            revalidatedRuns.add(runValidation.id);
+            // one error for extra "foo" and one for "$schema"
+            assertEquals(2, runValidation.errors.size());
+            runValidation.errors.forEach(e -> assertEquals(schemaId, e.getSchemaId()));
+            Schema.ValidationEvent dsValidation = datasetValidations.poll(10, TimeUnit.SECONDS);
+            assertNotNull(dsValidation);
+            assertEquals(2, dsValidation.errors.size());
+        }
+        assertEquals(runIds.stream().sorted().toList(), revalidatedRuns.stream().sorted().toList());
+
+        SchemaService.RevalidationStatus status = null;
+        for (int i = 0; i < 100; ++i) {
+            status = jsonRequest().auth().oauth2(getTesterToken()).get("/api/schema/" + schema.id + "/revalidate")
+                    .then().statusCode(200).extract().body().as(SchemaService.RevalidationStatus.class);
+            if (status.finishedRuns == status.totalRuns && status.finishedDatasets == status.totalDatasets) {
+                break;
+            }
+            Thread.sleep(50);
+        }
+        assertNotNull(status);
+        assertEquals(runs, status.totalRuns);
+        assertEquals(runs, status.finishedRuns);
+        assertEquals(runs, status.totalDatasets);
+        assertEquals(runs, status.finishedDatasets);
+        assertEquals(2 * runs, em.createNativeQuery("SELECT COUNT(*)::int FROM run_validationerrors").getSingleResult());
+        assertEquals(2 * runs, em.createNativeQuery("SELECT COUNT(*)::int FROM dataset_validationerrors").getSingleResult());
+    }
+
     @org.junit.jupiter.api.Test
     void testEditSchema() {
         Schema schema = createSchema("My Schema", "urn:my:schema");
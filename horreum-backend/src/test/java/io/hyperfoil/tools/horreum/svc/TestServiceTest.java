@@ -9,16 +9,21 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
 import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+import jakarta.inject.Inject;
+
 import org.junit.jupiter.api.TestInfo;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -57,6 +62,7 @@ import io.hyperfoil.tools.horreum.entity.data.ActionDAO;
 import io.hyperfoil.tools.horreum.entity.data.DatasetDAO;
 import io.hyperfoil.tools.horreum.entity.data.RunDAO;
 import io.hyperfoil.tools.horreum.entity.data.TestDAO;
+import io.hyperfoil.tools.horreum.entity.data.TestRecalculationDAO;
 import io.hyperfoil.tools.horreum.mapper.VariableMapper;
 import io.hyperfoil.tools.horreum.server.CloseMe;
 import io.hyperfoil.tools.horreum.test.InMemoryAMQTestProfile;
@@ -75,6 +81,9 @@ import io.restassured.response.Response;
 @TestProfile(InMemoryAMQTestProfile.class)
 class TestServiceTest extends BaseServiceTest {
 
+    @Inject
+    TestServiceImpl testService;
+
     @org.junit.jupiter.api.Test
     void testListTests() {
         int count = 10;
@@ -175,6 +184,106 @@ class TestServiceTest extends BaseServiceTest {
         assertEquals(NUM_DATASETS, datasets.stream().map(ds -> ds.run.id).collect(Collectors.toSet()).size());
     }
 
+    @org.junit.jupiter.api.Test
+    public void testRecalculationJob(TestInfo info) throws InterruptedException {
+        Test test = createTest(createExampleTest(getTestName(info)));
+        Schema schema = createExampleSchema(info);
+
+        BlockingQueue<Dataset.EventNew> newDatasetQueue = serviceMediator.getEventQueue(AsyncEventChannels.DATASET_NEW,
+                test.id);
+        final int NUM_DATASETS = 3;
+        for (int i = 0; i < NUM_DATASETS; ++i) {
+            uploadRun(runWithValue(i, schema), test.name);
+            assertNotNull(newDatasetQueue.poll(10, TimeUnit.SECONDS));
+        }
+
+        jsonRequest().post("/api/test/" + test.id + "/recalculate").then().statusCode(204);
+        // the job must be started right away, not only when it is resumed as stale
+        TestUtil.eventually(() -> Util.withTx(tm, () -> {
+            try (CloseMe ignored = roleManager.withRoles(SYSTEM_ROLES)) {
+                TestRecalculationDAO job = TestRecalculationDAO.findById(test.id);
+                return job != null && job.status == TestRecalculationDAO.Status.DONE;
+            }
+        }));
+        for (int i = 0; i < NUM_DATASETS; ++i) {
+            Dataset.EventNew event = newDatasetQueue.poll(10, TimeUnit.SECONDS);
+            assertNotNull(event);
+            assertTrue(event.isRecalculation);
+        }
+        Util.withTx(tm, () -> {
+            try (CloseMe ignored = roleManager.withRoles(SYSTEM_ROLES)) {
+                TestRecalculationDAO job = TestRecalculationDAO.findById(test.id);
+                assertEquals(NUM_DATASETS, job.totalRuns);
+                assertEquals(NUM_DATASETS, job.finished);
+                assertEquals(NUM_DATASETS, job.datasets);
+                assertNull(job.error);
+                return null;
+            }
+        });
+    }
+
+    @org.junit.jupiter.api.Test
+    public void testResumeRecalculation(TestInfo info) throws InterruptedException {
+        Test test = createTest(createExampleTest(getTestName(info)));
+        Schema schema = createExampleSchema(info);
+
+        BlockingQueue<Dataset.EventNew> newDatasetQueue = serviceMediator.getEventQueue(AsyncEventChannels.DATASET_NEW,
+                test.id);
+        final int NUM_DATASETS = 4;
+        for (int i = 0; i < NUM_DATASETS; ++i) {
+            uploadRun(runWithValue(i, schema), test.name);
+            assertNotNull(newDatasetQueue.poll(10, TimeUnit.SECONDS));
+        }
+        List<RunDAO> runs = RunDAO.list("testid = ?1 ORDER BY start, id", test.id);
+        int maxId = DatasetDAO.<DatasetDAO> list("testid", test.id).stream().mapToInt(ds -> ds.id).max().orElse(0);
+
+        // recalculation interrupted after the first two runs, the node running it does not report progress anymore
+        RunDAO position = runs.get(1);
+        Util.withTx(tm, () -> {
+            try (CloseMe ignored = roleManager.withRoles(SYSTEM_ROLES)) {
+                TestRecalculationDAO job = new TestRecalculationDAO();
+                job.testId = test.id;
+                job.status = TestRecalculationDAO.Status.RUNNING;
+                job.totalRuns = NUM_DATASETS;
+                job.finished = 2;
+                job.lastStart = position.start;
+                job.lastRunId = position.id;
+                job.started = Instant.now().minus(1, ChronoUnit.HOURS);
+                job.updated = job.started;
+                job.persist();
+                return null;
+            }
+        });
+        testService.resumeRecalculations();
+
+        TestUtil.eventually(() -> {
+            TestService.RecalculationStatus status = jsonRequest().get("/api/test/" + test.id + "/recalculate")
+                    .then().statusCode(200).extract().body().as(TestService.RecalculationStatus.class);
+            assertEquals(NUM_DATASETS, status.totalRuns);
+            return status.finished == status.totalRuns;
+        });
+        for (int i = 0; i < 2; ++i) {
+            Dataset.EventNew event = newDatasetQueue.poll(10, TimeUnit.SECONDS);
+            assertNotNull(event);
+            assertTrue(event.isRecalculation);
+        }
+        assertNull(newDatasetQueue.poll(100, TimeUnit.MILLISECONDS));
+
+        em.clear();
+        // only the runs after the recorded position are transformed again
+        assertEquals(Set.of(runs.get(2).id, runs.get(3).id), DatasetDAO.<DatasetDAO> list("testid", test.id).stream()
+                .filter(ds -> ds.id > maxId).map(ds -> ds.run.id).collect(Collectors.toSet()));
+        Util.withTx(tm, () -> {
+            try (CloseMe ignored = roleManager.withRoles(SYSTEM_ROLES)) {
+                TestRecalculationDAO job = TestRecalculationDAO.findById(test.id);
+                assertEquals(TestRecalculationDAO.Status.DONE, job.status);
+                assertEquals(NUM_DATASETS, job.finished);
+                assertNotNull(job.completed);
+                return null;
+            }
+        });
+    }
+
     @org.junit.jupiter.api.Test
     public void testAddTestAction(TestInfo info) {
         Test test = createTest(createExampleTest(getTestName(info)));
@@ -1,5 +1,6 @@
 package io.hyperfoil.tools.horreum.svc;
 
+import static org.hamcrest.Matchers.startsWith;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
@@ -19,6 +20,7 @@ import org.junit.jupiter.api.TestInfo;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.JsonNodeType;
@@ -101,6 +103,39 @@ class TestServiceWithAsyncProcessingTest extends BaseServiceTest {
         assertTrue(values.get(1).values.containsKey("value"));
     }
 
+    @org.junit.jupiter.api.Test
+    public void testExportLabelValues(TestInfo info) throws InterruptedException, JsonProcessingException {
+        Test test = createTest(createExampleTest(getTestName(info)));
+        Schema schema = createExampleSchema(info);
+
+        BlockingQueue<Dataset.LabelsUpdatedEvent> newDatasetQueue = serviceMediator
+                .getEventQueue(AsyncEventChannels.DATASET_UPDATED_LABELS, test.id);
+        for (int i = 0; i < 3; ++i) {
+            uploadRun(runWithValue(42 + i, schema), test.name);
+            assertNotNull(newDatasetQueue.poll(10, TimeUnit.SECONDS));
+        }
+
+        String export = jsonRequest().get("/api/test/" + test.id + "/labelValues/export").then().statusCode(200)
+                .header("Content-Type", startsWith("application/x-ndjson")).extract().body().asString();
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : export.split("\n")) {
+            lines.add(new ObjectMapper().readTree(line));
+        }
+        assertEquals(3, lines.size());
+        List<Integer> values = lines.stream().map(line -> line.path("values").path("value").asInt()).toList();
+        assertEquals(Arrays.asList(42, 43, 44), values);
+
+        JsonNode first = lines.get(0);
+        String cursor = first.path("start").asLong() + ":" + first.path("runId").asInt() + ":"
+                + first.path("datasetId").asInt();
+        String next = jsonRequest().queryParam("cursor", cursor).queryParam("limit", 1)
+                .get("/api/test/" + test.id + "/labelValues/export").then().statusCode(200).extract().body().asString();
+        assertEquals(lines.get(1), new ObjectMapper().readTree(next.trim()));
+
+        jsonRequest().queryParam("cursor", "foo").get("/api/test/" + test.id + "/labelValues/export").then()
+                .statusCode(400);
+    }
+
     @org.junit.jupiter.api.Test
     public void testFilterLabelValues(TestInfo info) throws InterruptedException {
         Test test = createTest(createExampleTest(getTestName(info)));
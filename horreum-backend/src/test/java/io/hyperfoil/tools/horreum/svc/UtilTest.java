@@ -9,9 +9,16 @@ import java.io.UnsupportedEncodingException;
 import java.net.HttpURLConnection;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
+import org.graalvm.polyglot.Context;
 import org.jboss.logmanager.Level;
 import org.jboss.logmanager.LogContext;
 import org.jboss.logmanager.formatters.PatternFormatter;
@@ -20,6 +27,7 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
@@ -196,6 +204,106 @@ public class UtilTest {
         Assertions.assertEquals("bar", s, "rtrn should be 'bar'");
     }
 
+    @org.junit.jupiter.api.Test
+    public void evaluateOnceRepeatedly() throws JsonProcessingException {
+        // contexts and compiled functions are reused, evaluating the same function must not clash
+        for (int i = 0; i < 10; ++i) {
+            Object rtrn = Util.evaluateOnce(
+                    """
+                            (input)=>{
+                                const value = input.foo * 2;
+                                return value;
+                            }
+                            """,
+                    new ObjectMapper().readTree("{\"foo\":" + i + "}"),
+                    Util::convert,
+                    (s, t) -> {
+                        Assertions.fail(t.getMessage());
+                    },
+                    (s) -> {
+                        //do nothing for this test
+                    });
+            Assertions.assertEquals((long) i * 2, rtrn);
+        }
+    }
+
+    @org.junit.jupiter.api.Test
+    public void evaluateOnceOutput() {
+        StringBuilder output = new StringBuilder();
+        Util.evaluateOnce("() => { console.log('first'); return 1; }", null, Util::convert,
+                (s, t) -> Assertions.fail(t.getMessage()), output::append);
+        Util.evaluateOnce("() => { console.log('second'); return 2; }", null, Util::convert,
+                (s, t) -> Assertions.fail(t.getMessage()), output::append);
+        // output of one evaluation must not leak into another one
+        Assertions.assertEquals("first\nsecond\n", output.toString());
+    }
+
+    @org.junit.jupiter.api.Test
+    public void evaluateWithCombinationFunctionBatch() {
+        List<String> functions = List.of("x => x + 1", "x => { console.log('two'); return x + 2; }",
+                "x => { throw new Error('failed'); }", "", "x => x + 4");
+        Map<String, Object> results = new HashMap<>();
+        List<String> failed = new ArrayList<>();
+        StringBuilder output = new StringBuilder();
+        Util.evaluateWithCombinationFunction(functions,
+                Function.identity(),
+                f -> LongNode.valueOf(10),
+                (f, value) -> results.put(f, Util.convert(value)),
+                f -> results.put(f, null),
+                (f, e, code) -> failed.add(f),
+                output::append);
+        // a failing function must not prevent evaluation of the others
+        Assertions.assertEquals(4, results.size());
+        Assertions.assertEquals(11L, results.get(functions.get(0)));
+        Assertions.assertEquals(12L, results.get(functions.get(1)));
+        Assertions.assertTrue(results.containsKey(""));
+        Assertions.assertEquals(14L, results.get(functions.get(4)));
+        Assertions.assertEquals(List.of(functions.get(2)), failed);
+        Assertions.assertEquals("two\n", output.toString());
+    }
+
+    @org.junit.jupiter.api.Test
+    public void evaluateWithCombinationFunctionResetsContext() {
+        List<String> functions = List.of("x => { leaked = x; return 1; }", "x => typeof leaked",
+                "x => { Math = null; return 3; }", "x => typeof Math.max");
+        Map<String, Object> results = new HashMap<>();
+        Util.evaluateWithCombinationFunction(functions,
+                Function.identity(),
+                f -> LongNode.valueOf(10),
+                (f, value) -> results.put(f, Util.convert(value)),
+                f -> Assertions.fail("Function expected"),
+                (f, e, code) -> Assertions.fail(e.getMessage()),
+                s -> {
+                });
+        // globals set by one function are removed before the next one
+        Assertions.assertEquals("undefined", results.get(functions.get(1)));
+        // a modified builtin cannot be restored, the next function gets another context
+        Assertions.assertEquals(3L, results.get(functions.get(2)));
+        Assertions.assertEquals("function", results.get(functions.get(3)));
+    }
+
+    @org.junit.jupiter.api.Test
+    public void pooledContextDoesNotLeakGlobals() {
+        JsContextPool pool = new JsContextPool(1, 10);
+        Context context;
+        try (JsContextPool.Lease lease = pool.acquire()) {
+            context = lease.context();
+            lease.execute("() => { leaked = 42; globalThis.other = 'x'; Array.prototype.extra = 1; return 1; }", null);
+        }
+        try (JsContextPool.Lease lease = pool.acquire()) {
+            // the context is reused but does not see what the previous function has set
+            assertSame(context, lease.context());
+            assertEquals("undefined undefined undefined",
+                    lease.execute("() => [typeof leaked, typeof other, typeof [].extra].join(' ')", null).asString());
+            lease.execute("() => { JSON = null; return 1; }", null);
+        }
+        try (JsContextPool.Lease lease = pool.acquire()) {
+            // modified builtin cannot be restored, the context was closed
+            assertNotSame(context, lease.context());
+            assertEquals("object", lease.execute("() => typeof JSON", null).asString());
+        }
+    }
+
     @org.junit.jupiter.api.Test
     public void evaluateOnceAsync() {
         Object rtrn = Util.evaluateOnce(
@@ -279,4 +387,27 @@ public class UtilTest {
         assertEquals("My Key", decomposedJsonPath.root());
         assertEquals("$.whatever", decomposedJsonPath.jsonpath());
     }
+
+    @Test
+    public void utf8Length() {
+        String str = "a\u00e9\u20ac\ud83d\ude00";
+        assertEquals(str.getBytes(StandardCharsets.UTF_8).length, Util.utf8Length(str));
+        assertEquals(0, Util.utf8Length(""));
+    }
+
+    @Test
+    public void fingerprintHash() {
+        JsonNode a = Util.toJsonNode("{\"buildType\": \"release\", \"cpu\": 4, \"tags\": [\"a\", \"b\"]}");
+        JsonNode b = Util.toJsonNode("{\"tags\": [\"a\", \"b\"], \"cpu\": 4.0, \"buildType\": \"release\"}");
+        JsonNode c = Util.toJsonNode("{\"tags\": [\"b\", \"a\", \"b\"], \"cpu\": 4, \"buildType\": \"release\"}");
+        JsonNode d = Util.toJsonNode("{\"tags\": [\"a\", \"c\"], \"cpu\": 4, \"buildType\": \"release\"}");
+        assertNull(Util.fingerprintHash(null));
+        assertEquals(Util.fingerprintHash(a), Util.fingerprintHash(b));
+        // json_equals does not consider order and duplicates in arrays
+        assertEquals(Util.fingerprintHash(a), Util.fingerprintHash(c));
+        assertNotEquals(Util.fingerprintHash(a), Util.fingerprintHash(d));
+        // json_equals("[{a: 1, b: 2}]", "[{a: 1, b: 2}, {a: 1}]") is true as well
+        assertEquals(Util.fingerprintHash(Util.toJsonNode("{\"x\": [{\"a\": 1, \"b\": 2}]}")),
+                Util.fingerprintHash(Util.toJsonNode("{\"x\": [{\"a\": 1}, {\"a\": 1, \"b\": 2}]}")));
+    }
 }
@@ -1,5 +1,6 @@
 package io.hyperfoil.tools;
 
+import java.io.InputStream;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
@@ -19,7 +20,9 @@ import io.hyperfoil.tools.horreum.api.SortDirection;
 import io.hyperfoil.tools.horreum.api.client.RunService;
 import io.hyperfoil.tools.horreum.api.data.Access;
 import io.hyperfoil.tools.horreum.api.data.Run;
+import io.hyperfoil.tools.horreum.api.services.RunService.BulkRunResult;
 import io.hyperfoil.tools.horreum.api.services.RunService.RunCount;
+import io.hyperfoil.tools.horreum.api.services.RunService.RunIngestion;
 import io.hyperfoil.tools.horreum.api.services.RunService.RunSummary;
 import io.hyperfoil.tools.horreum.api.services.RunService.RunsSummary;
 
@@ -45,13 +48,21 @@ public class RunServiceExtension implements RunService {
     }
 
     @Override
+    public Object getData(int id, String schemaUri, String path) {
+        return delegate.getData(id, schemaUri, path);
+    }
+
     public Object getData(int id, String schemaUri) {
-        return delegate.getData(id, schemaUri);
+        return getData(id, schemaUri, null);
     }
 
     @Override
+    public Object getMetadata(int id, String schemaUri, String path) {
+        return delegate.getMetadata(id, schemaUri, path);
+    }
+
     public Object getMetadata(int id, String schemaUri) {
-        return delegate.getMetadata(id, schemaUri);
+        return getMetadata(id, schemaUri, null);
     }
 
     //   @Override
@@ -70,9 +81,24 @@ public class RunServiceExtension implements RunService {
     }
 
     @Override
+    public Response addRunFromData(String start, String stop, String test, String owner, Access access,
+            String schemaUri, String description, boolean async, JsonNode data) {
+        return delegate.addRunFromData(start, stop, test, owner, access, schemaUri, description, async, data);
+    }
+
     public Response addRunFromData(String start, String stop, String test, String owner, Access access,
             String schemaUri, String description, JsonNode data) {
-        return delegate.addRunFromData(start, stop, test, owner, access, schemaUri, description, data);
+        return addRunFromData(start, stop, test, owner, access, schemaUri, description, false, data);
+    }
+
+    @Override
+    public RunIngestion getIngestion(long id) {
+        return delegate.getIngestion(id);
+    }
+
+    @Override
+    public List<BulkRunResult> addBulk(String testNameOrId, String owner, Access access, InputStream runs) {
+        return delegate.addBulk(testNameOrId, owner, access, runs);
     }
 
     public Response addRunFromData(String start, String stop, String test, String owner, Access access,
@@ -109,9 +135,14 @@ public class RunServiceExtension implements RunService {
     }
 
     @Override
+    public RunsSummary listAllRuns(String query, boolean matchAll, String roles, boolean trashed, Integer limit, Integer page,
+            String sort, SortDirection direction, String after) {
+        return delegate.listAllRuns(query, matchAll, roles, trashed, limit, page, sort, direction, after);
+    }
+
     public RunsSummary listAllRuns(String query, boolean matchAll, String roles, boolean trashed, Integer limit, Integer page,
             String sort, SortDirection direction) {
-        return delegate.listAllRuns(query, matchAll, roles, trashed, limit, page, sort, direction);
+        return listAllRuns(query, matchAll, roles, trashed, limit, page, sort, direction, null);
     }
 
     @Override
@@ -2,6 +2,7 @@ package io.hyperfoil.tools.horreum.api.client;
 
 import static io.hyperfoil.tools.horreum.api.services.RunService.RunExtended;
 
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 
@@ -20,7 +21,9 @@ import com.fasterxml.jackson.databind.JsonNode;
 import io.hyperfoil.tools.horreum.api.SortDirection;
 import io.hyperfoil.tools.horreum.api.data.Access;
 import io.hyperfoil.tools.horreum.api.data.Run;
+import io.hyperfoil.tools.horreum.api.services.RunService.BulkRunResult;
 import io.hyperfoil.tools.horreum.api.services.RunService.RunCount;
+import io.hyperfoil.tools.horreum.api.services.RunService.RunIngestion;
 import io.hyperfoil.tools.horreum.api.services.RunService.RunSummary;
 import io.hyperfoil.tools.horreum.api.services.RunService.RunsSummary;
 
@@ -44,11 +47,12 @@ public interface RunService {
 
     @GET
     @Path("{id}/data")
-    Object getData(@PathParam("id") int id, @QueryParam("schemaUri") String schemaUri);
+    Object getData(@PathParam("id") int id, @QueryParam("schemaUri") String schemaUri, @QueryParam("path") String path);
 
     @GET
     @Path("{id}/metadata")
-    Object getMetadata(@PathParam("id") int id, @QueryParam("schemaUri") String schemaUri);
+    Object getMetadata(@PathParam("id") int id, @QueryParam("schemaUri") String schemaUri,
+            @QueryParam("path") String path);
 
     //   @GET
     //   @Path("{id}/query")
@@ -82,8 +86,21 @@ public interface RunService {
             @QueryParam("access") Access access,
             @QueryParam("schema") String schemaUri,
             @QueryParam("description") String description,
+            @QueryParam("async") boolean async,
             JsonNode data);
 
+    @GET
+    @Path("ingestion/{id}")
+    RunIngestion getIngestion(@PathParam("id") long id);
+
+    @POST
+    @Path("bulk")
+    @Consumes({ MediaType.APPLICATION_JSON, "application/x-ndjson" })
+    List<BulkRunResult> addBulk(@QueryParam("test") String testNameOrId,
+            @QueryParam("owner") String owner,
+            @QueryParam("access") Access access,
+            InputStream runs);
+
     @GET
     @Path("autocomplete")
     List<String> autocomplete(@QueryParam("query") String query);
@@ -97,7 +114,8 @@ public interface RunService {
             @QueryParam("limit") Integer limit,
             @QueryParam("page") Integer page,
             @QueryParam("sort") String sort,
-            @QueryParam("direction") SortDirection direction);
+            @QueryParam("direction") SortDirection direction,
+            @QueryParam("after") String after);
 
     @GET
     @Path("count")
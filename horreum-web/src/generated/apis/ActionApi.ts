@@ -0,0 +1,352 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.17
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+
+import * as runtime from '../runtime';
+import type {
+  Action,
+  AllowedSite,
+  SortDirection,
+} from '../models/index';
+import {
+    ActionFromJSON,
+    ActionToJSON,
+    AllowedSiteFromJSON,
+    AllowedSiteToJSON,
+    SortDirectionFromJSON,
+    SortDirectionToJSON,
+} from '../models/index';
+
+export interface ActionApiDeleteRequest {
+    id: number;
+}
+
+export interface ActionApiAddRequest {
+    action?: Action;
+}
+
+export interface ActionApiAddSiteRequest {
+    body: string;
+}
+
+export interface ActionApiDeleteSiteRequest {
+    id: number;
+}
+
+export interface ActionApiGetRequest {
+    id: number;
+}
+
+export interface ActionApiGetTestActionsRequest {
+    id: number;
+}
+
+export interface ActionApiListRequest {
+    direction?: SortDirection;
+    limit?: number;
+    page?: number;
+    sort?: string;
+}
+
+export interface ActionApiUpdateRequest {
+    action: Action;
+}
+
+/**
+ * 
+ */
+export class ActionApi extends runtime.BaseAPI {
+
+    /**
+     */
+    async _deleteRaw(requestParameters: ActionApiDeleteRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<void>> {
+        if (requestParameters['id'] == null) {
+            throw new runtime.RequiredError(
+                'id',
+                'Required parameter "id" was null or undefined when calling _delete().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/action/{id}`.replace(`{${"id"}}`, encodeURIComponent(String(requestParameters['id']))),
+            method: 'DELETE',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.VoidApiResponse(response);
+    }
+
+    /**
+     */
+    async _delete(id: number, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<void> {
+        await this._deleteRaw({ id: id }, initOverrides);
+    }
+
+    /**
+     */
+    async addRaw(requestParameters: ActionApiAddRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<Action>> {
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        headerParameters['Content-Type'] = 'application/json';
+
+        const response = await this.request({
+            path: `/api/action`,
+            method: 'POST',
+            headers: headerParameters,
+            query: queryParameters,
+            body: ActionToJSON(requestParameters['action']),
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse(response, (jsonValue) => ActionFromJSON(jsonValue));
+    }
+
+    /**
+     */
+    async add(action?: Action, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<Action> {
+        const response = await this.addRaw({ action: action }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     */
+    async addSiteRaw(requestParameters: ActionApiAddSiteRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<AllowedSite>> {
+        if (requestParameters['body'] == null) {
+            throw new runtime.RequiredError(
+                'body',
+                'Required parameter "body" was null or undefined when calling addSite().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        headerParameters['Content-Type'] = 'text/plain';
+
+        const response = await this.request({
+            path: `/api/action/allowedSites`,
+            method: 'POST',
+            headers: headerParameters,
+            query: queryParameters,
+            body: requestParameters['body'] as any,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse(response, (jsonValue) => AllowedSiteFromJSON(jsonValue));
+    }
+
+    /**
+     */
+    async addSite(body: string, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<AllowedSite> {
+        const response = await this.addSiteRaw({ body: body }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     */
+    async allowedSitesRaw(initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<Array<AllowedSite>>> {
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/action/allowedSites`,
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse(response, (jsonValue) => jsonValue.map(AllowedSiteFromJSON));
+    }
+
+    /**
+     */
+    async allowedSites(initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<Array<AllowedSite>> {
+        const response = await this.allowedSitesRaw(initOverrides);
+        return await response.value();
+    }
+
+    /**
+     */
+    async deleteSiteRaw(requestParameters: ActionApiDeleteSiteRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<void>> {
+        if (requestParameters['id'] == null) {
+            throw new runtime.RequiredError(
+                'id',
+                'Required parameter "id" was null or undefined when calling deleteSite().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/action/allowedSites/{id}`.replace(`{${"id"}}`, encodeURIComponent(String(requestParameters['id']))),
+            method: 'DELETE',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.VoidApiResponse(response);
+    }
+
+    /**
+     */
+    async deleteSite(id: number, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<void> {
+        await this.deleteSiteRaw({ id: id }, initOverrides);
+    }
+
+    /**
+     */
+    async getRaw(requestParameters: ActionApiGetRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<Action>> {
+        if (requestParameters['id'] == null) {
+            throw new runtime.RequiredError(
+                'id',
+                'Required parameter "id" was null or undefined when calling get().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/action/{id}`.replace(`{${"id"}}`, encodeURIComponent(String(requestParameters['id']))),
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse(response, (jsonValue) => ActionFromJSON(jsonValue));
+    }
+
+    /**
+     */
+    async get(id: number, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<Action> {
+        const response = await this.getRaw({ id: id }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     */
+    async getTestActionsRaw(requestParameters: ActionApiGetTestActionsRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<Array<Action>>> {
+        if (requestParameters['id'] == null) {
+            throw new runtime.RequiredError(
+                'id',
+                'Required parameter "id" was null or undefined when calling getTestActions().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/action/test/{id}`.replace(`{${"id"}}`, encodeURIComponent(String(requestParameters['id']))),
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse(response, (jsonValue) => jsonValue.map(ActionFromJSON));
+    }
+
+    /**
+     */
+    async getTestActions(id: number, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<Array<Action>> {
+        const response = await this.getTestActionsRaw({ id: id }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     */
+    async listRaw(requestParameters: ActionApiListRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<Array<Action>>> {
+        const queryParameters: any = {};
+
+        if (requestParameters['direction'] != null) {
+            queryParameters['direction'] = requestParameters['direction'];
+        }
+
+        if (requestParameters['limit'] != null) {
+            queryParameters['limit'] = requestParameters['limit'];
+        }
+
+        if (requestParameters['page'] != null) {
+            queryParameters['page'] = requestParameters['page'];
+        }
+
+        if (requestParameters['sort'] != null) {
+            queryParameters['sort'] = requestParameters['sort'];
+        }
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/action/list`,
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse(response, (jsonValue) => jsonValue.map(ActionFromJSON));
+    }
+
+    /**
+     */
+    async list(direction?: SortDirection, limit?: number, page?: number, sort?: string, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<Array<Action>> {
+        const response = await this.listRaw({ direction: direction, limit: limit, page: page, sort: sort }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     */
+    async updateRaw(requestParameters: ActionApiUpdateRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<Action>> {
+        if (requestParameters['action'] == null) {
+            throw new runtime.RequiredError(
+                'action',
+                'Required parameter "action" was null or undefined when calling update().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        headerParameters['Content-Type'] = 'application/json';
+
+        const response = await this.request({
+            path: `/api/action/update`,
+            method: 'POST',
+            headers: headerParameters,
+            query: queryParameters,
+            body: ActionToJSON(requestParameters['action']),
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse(response, (jsonValue) => ActionFromJSON(jsonValue));
+    }
+
+    /**
+     */
+    async update(action: Action, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<Action> {
+        const response = await this.updateRaw({ action: action }, initOverrides);
+        return await response.value();
+    }
+
+}
@@ -0,0 +1,179 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.17
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+
+import * as runtime from '../runtime';
+import type {
+  AnnotationDefinition,
+  AnnotationsQuery,
+  Query,
+  Target,
+  TimeseriesTarget,
+} from '../models/index';
+import {
+    AnnotationDefinitionFromJSON,
+    AnnotationDefinitionToJSON,
+    AnnotationsQueryFromJSON,
+    AnnotationsQueryToJSON,
+    QueryFromJSON,
+    QueryToJSON,
+    TargetFromJSON,
+    TargetToJSON,
+    TimeseriesTargetFromJSON,
+    TimeseriesTargetToJSON,
+} from '../models/index';
+
+export interface ChangesApiAnnotationsRequest {
+    annotationsQuery: AnnotationsQuery;
+}
+
+export interface ChangesApiQueryRequest {
+    query: Query;
+}
+
+export interface ChangesApiSearchRequest {
+    target: Target;
+}
+
+/**
+ * 
+ */
+export class ChangesApi extends runtime.BaseAPI {
+
+    /**
+     */
+    async annotationsRaw(requestParameters: ChangesApiAnnotationsRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<Array<AnnotationDefinition>>> {
+        if (requestParameters['annotationsQuery'] == null) {
+            throw new runtime.RequiredError(
+                'annotationsQuery',
+                'Required parameter "annotationsQuery" was null or undefined when calling annotations().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        headerParameters['Content-Type'] = 'application/json';
+
+        const response = await this.request({
+            path: `/api/changes/annotations`,
+            method: 'POST',
+            headers: headerParameters,
+            query: queryParameters,
+            body: AnnotationsQueryToJSON(requestParameters['annotationsQuery']),
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse(response, (jsonValue) => jsonValue.map(AnnotationDefinitionFromJSON));
+    }
+
+    /**
+     */
+    async annotations(annotationsQuery: AnnotationsQuery, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<Array<AnnotationDefinition>> {
+        const response = await this.annotationsRaw({ annotationsQuery: annotationsQuery }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     */
+    async healthcheckRaw(initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<void>> {
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/changes`,
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.VoidApiResponse(response);
+    }
+
+    /**
+     */
+    async healthcheck(initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<void> {
+        await this.healthcheckRaw(initOverrides);
+    }
+
+    /**
+     */
+    async queryRaw(requestParameters: ChangesApiQueryRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<Array<TimeseriesTarget>>> {
+        if (requestParameters['query'] == null) {
+            throw new runtime.RequiredError(
+                'query',
+                'Required parameter "query" was null or undefined when calling query().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        headerParameters['Content-Type'] = 'application/json';
+
+        const response = await this.request({
+            path: `/api/changes/query`,
+            method: 'POST',
+            headers: headerParameters,
+            query: queryParameters,
+            body: QueryToJSON(requestParameters['query']),
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse(response, (jsonValue) => jsonValue.map(TimeseriesTargetFromJSON));
+    }
+
+    /**
+     */
+    async query(query: Query, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<Array<TimeseriesTarget>> {
+        const response = await this.queryRaw({ query: query }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     */
+    async searchRaw(requestParameters: ChangesApiSearchRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<Array<string>>> {
+        if (requestParameters['target'] == null) {
+            throw new runtime.RequiredError(
+                'target',
+                'Required parameter "target" was null or undefined when calling search().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        headerParameters['Content-Type'] = 'application/json';
+
+        const response = await this.request({
+            path: `/api/changes/search`,
+            method: 'POST',
+            headers: headerParameters,
+            query: queryParameters,
+            body: TargetToJSON(requestParameters['target']),
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse<any>(response);
+    }
+
+    /**
+     */
+    async search(target: Target, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<Array<string>> {
+        const response = await this.searchRaw({ target: target }, initOverrides);
+        return await response.value();
+    }
+
+}
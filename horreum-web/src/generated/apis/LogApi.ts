@@ -0,0 +1,504 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.17
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+
+import * as runtime from '../runtime';
+import type {
+  ActionLog,
+  DatasetLog,
+  TransformationLog,
+} from '../models/index';
+import {
+    ActionLogFromJSON,
+    ActionLogToJSON,
+    DatasetLogFromJSON,
+    DatasetLogToJSON,
+    TransformationLogFromJSON,
+    TransformationLogToJSON,
+} from '../models/index';
+
+export interface LogApiDeleteActionLogsRequest {
+    testId: number;
+    from?: number;
+    to?: number;
+}
+
+export interface LogApiDeleteDatasetLogsRequest {
+    source: string;
+    testId: number;
+    datasetId?: number;
+    from?: number;
+    to?: number;
+}
+
+export interface LogApiDeleteTransformationLogsRequest {
+    testId: number;
+    from?: number;
+    runId?: number;
+    to?: number;
+}
+
+export interface LogApiGetActionLogRequest {
+    testId: number;
+    level?: number;
+    limit?: number;
+    page?: number;
+}
+
+export interface LogApiGetActionLogCountRequest {
+    testId: number;
+    level?: number;
+}
+
+export interface LogApiGetDatasetLogRequest {
+    source: string;
+    testId: number;
+    datasetId?: number;
+    level?: number;
+    limit?: number;
+    page?: number;
+}
+
+export interface LogApiGetDatasetLogCountRequest {
+    source: string;
+    testId: number;
+    datasetId?: number;
+    level?: number;
+}
+
+export interface LogApiGetTransformationLogRequest {
+    testId: number;
+    level?: number;
+    limit?: number;
+    page?: number;
+    runId?: number;
+}
+
+export interface LogApiGetTransformationLogCountRequest {
+    testId: number;
+    level?: number;
+    runId?: number;
+}
+
+/**
+ * 
+ */
+export class LogApi extends runtime.BaseAPI {
+
+    /**
+     */
+    async deleteActionLogsRaw(requestParameters: LogApiDeleteActionLogsRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<void>> {
+        if (requestParameters['testId'] == null) {
+            throw new runtime.RequiredError(
+                'testId',
+                'Required parameter "testId" was null or undefined when calling deleteActionLogs().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        if (requestParameters['from'] != null) {
+            queryParameters['from'] = requestParameters['from'];
+        }
+
+        if (requestParameters['to'] != null) {
+            queryParameters['to'] = requestParameters['to'];
+        }
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/log/action/{testId}`.replace(`{${"testId"}}`, encodeURIComponent(String(requestParameters['testId']))),
+            method: 'DELETE',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.VoidApiResponse(response);
+    }
+
+    /**
+     */
+    async deleteActionLogs(testId: number, from?: number, to?: number, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<void> {
+        await this.deleteActionLogsRaw({ testId: testId, from: from, to: to }, initOverrides);
+    }
+
+    /**
+     */
+    async deleteDatasetLogsRaw(requestParameters: LogApiDeleteDatasetLogsRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<void>> {
+        if (requestParameters['source'] == null) {
+            throw new runtime.RequiredError(
+                'source',
+                'Required parameter "source" was null or undefined when calling deleteDatasetLogs().'
+            );
+        }
+
+        if (requestParameters['testId'] == null) {
+            throw new runtime.RequiredError(
+                'testId',
+                'Required parameter "testId" was null or undefined when calling deleteDatasetLogs().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        if (requestParameters['datasetId'] != null) {
+            queryParameters['datasetId'] = requestParameters['datasetId'];
+        }
+
+        if (requestParameters['from'] != null) {
+            queryParameters['from'] = requestParameters['from'];
+        }
+
+        if (requestParameters['to'] != null) {
+            queryParameters['to'] = requestParameters['to'];
+        }
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/log/dataset/{source}/{testId}`.replace(`{${"source"}}`, encodeURIComponent(String(requestParameters['source']))).replace(`{${"testId"}}`, encodeURIComponent(String(requestParameters['testId']))),
+            method: 'DELETE',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.VoidApiResponse(response);
+    }
+
+    /**
+     */
+    async deleteDatasetLogs(source: string, testId: number, datasetId?: number, from?: number, to?: number, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<void> {
+        await this.deleteDatasetLogsRaw({ source: source, testId: testId, datasetId: datasetId, from: from, to: to }, initOverrides);
+    }
+
+    /**
+     */
+    async deleteTransformationLogsRaw(requestParameters: LogApiDeleteTransformationLogsRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<void>> {
+        if (requestParameters['testId'] == null) {
+            throw new runtime.RequiredError(
+                'testId',
+                'Required parameter "testId" was null or undefined when calling deleteTransformationLogs().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        if (requestParameters['from'] != null) {
+            queryParameters['from'] = requestParameters['from'];
+        }
+
+        if (requestParameters['runId'] != null) {
+            queryParameters['runId'] = requestParameters['runId'];
+        }
+
+        if (requestParameters['to'] != null) {
+            queryParameters['to'] = requestParameters['to'];
+        }
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/log/transformation/{testId}`.replace(`{${"testId"}}`, encodeURIComponent(String(requestParameters['testId']))),
+            method: 'DELETE',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.VoidApiResponse(response);
+    }
+
+    /**
+     */
+    async deleteTransformationLogs(testId: number, from?: number, runId?: number, to?: number, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<void> {
+        await this.deleteTransformationLogsRaw({ testId: testId, from: from, runId: runId, to: to }, initOverrides);
+    }
+
+    /**
+     */
+    async getActionLogRaw(requestParameters: LogApiGetActionLogRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<Array<ActionLog>>> {
+        if (requestParameters['testId'] == null) {
+            throw new runtime.RequiredError(
+                'testId',
+                'Required parameter "testId" was null or undefined when calling getActionLog().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        if (requestParameters['level'] != null) {
+            queryParameters['level'] = requestParameters['level'];
+        }
+
+        if (requestParameters['limit'] != null) {
+            queryParameters['limit'] = requestParameters['limit'];
+        }
+
+        if (requestParameters['page'] != null) {
+            queryParameters['page'] = requestParameters['page'];
+        }
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/log/action/{testId}`.replace(`{${"testId"}}`, encodeURIComponent(String(requestParameters['testId']))),
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse(response, (jsonValue) => jsonValue.map(ActionLogFromJSON));
+    }
+
+    /**
+     */
+    async getActionLog(testId: number, level?: number, limit?: number, page?: number, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<Array<ActionLog>> {
+        const response = await this.getActionLogRaw({ testId: testId, level: level, limit: limit, page: page }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     */
+    async getActionLogCountRaw(requestParameters: LogApiGetActionLogCountRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<number>> {
+        if (requestParameters['testId'] == null) {
+            throw new runtime.RequiredError(
+                'testId',
+                'Required parameter "testId" was null or undefined when calling getActionLogCount().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        if (requestParameters['level'] != null) {
+            queryParameters['level'] = requestParameters['level'];
+        }
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/log/action/{testId}/count`.replace(`{${"testId"}}`, encodeURIComponent(String(requestParameters['testId']))),
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        if (this.isJsonMime(response.headers.get('content-type'))) {
+            return new runtime.JSONApiResponse<number>(response);
+        } else {
+            return new runtime.TextApiResponse(response) as any;
+        }
+    }
+
+    /**
+     */
+    async getActionLogCount(testId: number, level?: number, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<number> {
+        const response = await this.getActionLogCountRaw({ testId: testId, level: level }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     */
+    async getDatasetLogRaw(requestParameters: LogApiGetDatasetLogRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<Array<DatasetLog>>> {
+        if (requestParameters['source'] == null) {
+            throw new runtime.RequiredError(
+                'source',
+                'Required parameter "source" was null or undefined when calling getDatasetLog().'
+            );
+        }
+
+        if (requestParameters['testId'] == null) {
+            throw new runtime.RequiredError(
+                'testId',
+                'Required parameter "testId" was null or undefined when calling getDatasetLog().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        if (requestParameters['datasetId'] != null) {
+            queryParameters['datasetId'] = requestParameters['datasetId'];
+        }
+
+        if (requestParameters['level'] != null) {
+            queryParameters['level'] = requestParameters['level'];
+        }
+
+        if (requestParameters['limit'] != null) {
+            queryParameters['limit'] = requestParameters['limit'];
+        }
+
+        if (requestParameters['page'] != null) {
+            queryParameters['page'] = requestParameters['page'];
+        }
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/log/dataset/{source}/{testId}`.replace(`{${"source"}}`, encodeURIComponent(String(requestParameters['source']))).replace(`{${"testId"}}`, encodeURIComponent(String(requestParameters['testId']))),
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse(response, (jsonValue) => jsonValue.map(DatasetLogFromJSON));
+    }
+
+    /**
+     */
+    async getDatasetLog(source: string, testId: number, datasetId?: number, level?: number, limit?: number, page?: number, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<Array<DatasetLog>> {
+        const response = await this.getDatasetLogRaw({ source: source, testId: testId, datasetId: datasetId, level: level, limit: limit, page: page }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     */
+    async getDatasetLogCountRaw(requestParameters: LogApiGetDatasetLogCountRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<number>> {
+        if (requestParameters['source'] == null) {
+            throw new runtime.RequiredError(
+                'source',
+                'Required parameter "source" was null or undefined when calling getDatasetLogCount().'
+            );
+        }
+
+        if (requestParameters['testId'] == null) {
+            throw new runtime.RequiredError(
+                'testId',
+                'Required parameter "testId" was null or undefined when calling getDatasetLogCount().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        if (requestParameters['datasetId'] != null) {
+            queryParameters['datasetId'] = requestParameters['datasetId'];
+        }
+
+        if (requestParameters['level'] != null) {
+            queryParameters['level'] = requestParameters['level'];
+        }
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/log/dataset/{source}/{testId}/count`.replace(`{${"source"}}`, encodeURIComponent(String(requestParameters['source']))).replace(`{${"testId"}}`, encodeURIComponent(String(requestParameters['testId']))),
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        if (this.isJsonMime(response.headers.get('content-type'))) {
+            return new runtime.JSONApiResponse<number>(response);
+        } else {
+            return new runtime.TextApiResponse(response) as any;
+        }
+    }
+
+    /**
+     */
+    async getDatasetLogCount(source: string, testId: number, datasetId?: number, level?: number, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<number> {
+        const response = await this.getDatasetLogCountRaw({ source: source, testId: testId, datasetId: datasetId, level: level }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     */
+    async getTransformationLogRaw(requestParameters: LogApiGetTransformationLogRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<Array<TransformationLog>>> {
+        if (requestParameters['testId'] == null) {
+            throw new runtime.RequiredError(
+                'testId',
+                'Required parameter "testId" was null or undefined when calling getTransformationLog().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        if (requestParameters['level'] != null) {
+            queryParameters['level'] = requestParameters['level'];
+        }
+
+        if (requestParameters['limit'] != null) {
+            queryParameters['limit'] = requestParameters['limit'];
+        }
+
+        if (requestParameters['page'] != null) {
+            queryParameters['page'] = requestParameters['page'];
+        }
+
+        if (requestParameters['runId'] != null) {
+            queryParameters['runId'] = requestParameters['runId'];
+        }
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/log/transformation/{testId}`.replace(`{${"testId"}}`, encodeURIComponent(String(requestParameters['testId']))),
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse(response, (jsonValue) => jsonValue.map(TransformationLogFromJSON));
+    }
+
+    /**
+     */
+    async getTransformationLog(testId: number, level?: number, limit?: number, page?: number, runId?: number, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<Array<TransformationLog>> {
+        const response = await this.getTransformationLogRaw({ testId: testId, level: level, limit: limit, page: page, runId: runId }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     */
+    async getTransformationLogCountRaw(requestParameters: LogApiGetTransformationLogCountRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<number>> {
+        if (requestParameters['testId'] == null) {
+            throw new runtime.RequiredError(
+                'testId',
+                'Required parameter "testId" was null or undefined when calling getTransformationLogCount().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        if (requestParameters['level'] != null) {
+            queryParameters['level'] = requestParameters['level'];
+        }
+
+        if (requestParameters['runId'] != null) {
+            queryParameters['runId'] = requestParameters['runId'];
+        }
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/log/transformation/{testId}/count`.replace(`{${"testId"}}`, encodeURIComponent(String(requestParameters['testId']))),
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        if (this.isJsonMime(response.headers.get('content-type'))) {
+            return new runtime.JSONApiResponse<number>(response);
+        } else {
+            return new runtime.TextApiResponse(response) as any;
+        }
+    }
+
+    /**
+     */
+    async getTransformationLogCount(testId: number, level?: number, runId?: number, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<number> {
+        const response = await this.getTransformationLogCountRaw({ testId: testId, level: level, runId: runId }, initOverrides);
+        return await response.value();
+    }
+
+}
@@ -0,0 +1,209 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.17
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+
+import * as runtime from '../runtime';
+import type {
+  NotificationSettings,
+} from '../models/index';
+import {
+    NotificationSettingsFromJSON,
+    NotificationSettingsToJSON,
+} from '../models/index';
+
+export interface NotificationsApiSettingsRequest {
+    name: string;
+    team: boolean;
+}
+
+export interface NotificationsApiTestNotificationsRequest {
+    data: string;
+    method?: string;
+}
+
+export interface NotificationsApiUpdateSettingsRequest {
+    name: string;
+    team: boolean;
+    notificationSettings: Array<NotificationSettings>;
+}
+
+/**
+ * 
+ */
+export class NotificationsApi extends runtime.BaseAPI {
+
+    /**
+     */
+    async methodsRaw(initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<Array<string>>> {
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/notifications/methods`,
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse<any>(response);
+    }
+
+    /**
+     */
+    async methods(initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<Array<string>> {
+        const response = await this.methodsRaw(initOverrides);
+        return await response.value();
+    }
+
+    /**
+     */
+    async settingsRaw(requestParameters: NotificationsApiSettingsRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<Array<NotificationSettings>>> {
+        if (requestParameters['name'] == null) {
+            throw new runtime.RequiredError(
+                'name',
+                'Required parameter "name" was null or undefined when calling settings().'
+            );
+        }
+
+        if (requestParameters['team'] == null) {
+            throw new runtime.RequiredError(
+                'team',
+                'Required parameter "team" was null or undefined when calling settings().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        if (requestParameters['name'] != null) {
+            queryParameters['name'] = requestParameters['name'];
+        }
+
+        if (requestParameters['team'] != null) {
+            queryParameters['team'] = requestParameters['team'];
+        }
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/notifications/settings`,
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse(response, (jsonValue) => jsonValue.map(NotificationSettingsFromJSON));
+    }
+
+    /**
+     */
+    async settings(name: string, team: boolean, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<Array<NotificationSettings>> {
+        const response = await this.settingsRaw({ name: name, team: team }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     */
+    async testNotificationsRaw(requestParameters: NotificationsApiTestNotificationsRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<void>> {
+        if (requestParameters['data'] == null) {
+            throw new runtime.RequiredError(
+                'data',
+                'Required parameter "data" was null or undefined when calling testNotifications().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        if (requestParameters['data'] != null) {
+            queryParameters['data'] = requestParameters['data'];
+        }
+
+        if (requestParameters['method'] != null) {
+            queryParameters['method'] = requestParameters['method'];
+        }
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/notifications/test`,
+            method: 'POST',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.VoidApiResponse(response);
+    }
+
+    /**
+     */
+    async testNotifications(data: string, method?: string, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<void> {
+        await this.testNotificationsRaw({ data: data, method: method }, initOverrides);
+    }
+
+    /**
+     */
+    async updateSettingsRaw(requestParameters: NotificationsApiUpdateSettingsRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<void>> {
+        if (requestParameters['name'] == null) {
+            throw new runtime.RequiredError(
+                'name',
+                'Required parameter "name" was null or undefined when calling updateSettings().'
+            );
+        }
+
+        if (requestParameters['team'] == null) {
+            throw new runtime.RequiredError(
+                'team',
+                'Required parameter "team" was null or undefined when calling updateSettings().'
+            );
+        }
+
+        if (requestParameters['notificationSettings'] == null) {
+            throw new runtime.RequiredError(
+                'notificationSettings',
+                'Required parameter "notificationSettings" was null or undefined when calling updateSettings().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        if (requestParameters['name'] != null) {
+            queryParameters['name'] = requestParameters['name'];
+        }
+
+        if (requestParameters['team'] != null) {
+            queryParameters['team'] = requestParameters['team'];
+        }
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        headerParameters['Content-Type'] = 'application/json';
+
+        const response = await this.request({
+            path: `/api/notifications/settings`,
+            method: 'POST',
+            headers: headerParameters,
+            query: queryParameters,
+            body: requestParameters['notificationSettings']!.map(NotificationSettingsToJSON),
+        }, initOverrides);
+
+        return new runtime.VoidApiResponse(response);
+    }
+
+    /**
+     */
+    async updateSettings(name: string, team: boolean, notificationSettings: Array<NotificationSettings>, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<void> {
+        await this.updateSettingsRaw({ name: name, team: team, notificationSettings: notificationSettings }, initOverrides);
+    }
+
+}
@@ -0,0 +1,384 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.17
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+
+import * as runtime from '../runtime';
+import type {
+  AllTableReports,
+  ReportComment,
+  SortDirection,
+  TableReport,
+  TableReportConfig,
+} from '../models/index';
+import {
+    AllTableReportsFromJSON,
+    AllTableReportsToJSON,
+    ReportCommentFromJSON,
+    ReportCommentToJSON,
+    SortDirectionFromJSON,
+    SortDirectionToJSON,
+    TableReportFromJSON,
+    TableReportToJSON,
+    TableReportConfigFromJSON,
+    TableReportConfigToJSON,
+} from '../models/index';
+
+export interface ReportApiDeleteTableReportRequest {
+    id: number;
+}
+
+export interface ReportApiExportTableReportConfigRequest {
+    id: number;
+}
+
+export interface ReportApiGetTableReportRequest {
+    id: number;
+}
+
+export interface ReportApiGetTableReportConfigRequest {
+    id: number;
+}
+
+export interface ReportApiGetTableReportsRequest {
+    direction?: SortDirection;
+    folder?: string;
+    limit?: number;
+    page?: number;
+    roles?: string;
+    sort?: string;
+    test?: number;
+}
+
+export interface ReportApiImportTableReportConfigRequest {
+    tableReportConfig?: TableReportConfig;
+}
+
+export interface ReportApiPreviewTableReportRequest {
+    edit?: number;
+    tableReportConfig?: TableReportConfig;
+}
+
+export interface ReportApiUpdateCommentRequest {
+    reportId: number;
+    reportComment?: ReportComment;
+}
+
+export interface ReportApiUpdateTableReportConfigRequest {
+    edit?: number;
+    tableReportConfig?: TableReportConfig;
+}
+
+/**
+ * 
+ */
+export class ReportApi extends runtime.BaseAPI {
+
+    /**
+     */
+    async deleteTableReportRaw(requestParameters: ReportApiDeleteTableReportRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<void>> {
+        if (requestParameters['id'] == null) {
+            throw new runtime.RequiredError(
+                'id',
+                'Required parameter "id" was null or undefined when calling deleteTableReport().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/report/table/{id}`.replace(`{${"id"}}`, encodeURIComponent(String(requestParameters['id']))),
+            method: 'DELETE',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.VoidApiResponse(response);
+    }
+
+    /**
+     */
+    async deleteTableReport(id: number, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<void> {
+        await this.deleteTableReportRaw({ id: id }, initOverrides);
+    }
+
+    /**
+     */
+    async exportTableReportConfigRaw(requestParameters: ReportApiExportTableReportConfigRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<TableReportConfig>> {
+        if (requestParameters['id'] == null) {
+            throw new runtime.RequiredError(
+                'id',
+                'Required parameter "id" was null or undefined when calling exportTableReportConfig().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/report/table/config/{id}/export`.replace(`{${"id"}}`, encodeURIComponent(String(requestParameters['id']))),
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse(response, (jsonValue) => TableReportConfigFromJSON(jsonValue));
+    }
+
+    /**
+     */
+    async exportTableReportConfig(id: number, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<TableReportConfig> {
+        const response = await this.exportTableReportConfigRaw({ id: id }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     */
+    async getTableReportRaw(requestParameters: ReportApiGetTableReportRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<TableReport>> {
+        if (requestParameters['id'] == null) {
+            throw new runtime.RequiredError(
+                'id',
+                'Required parameter "id" was null or undefined when calling getTableReport().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/report/table/{id}`.replace(`{${"id"}}`, encodeURIComponent(String(requestParameters['id']))),
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse(response, (jsonValue) => TableReportFromJSON(jsonValue));
+    }
+
+    /**
+     */
+    async getTableReport(id: number, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<TableReport> {
+        const response = await this.getTableReportRaw({ id: id }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     */
+    async getTableReportConfigRaw(requestParameters: ReportApiGetTableReportConfigRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<TableReportConfig>> {
+        if (requestParameters['id'] == null) {
+            throw new runtime.RequiredError(
+                'id',
+                'Required parameter "id" was null or undefined when calling getTableReportConfig().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/report/table/config/{id}`.replace(`{${"id"}}`, encodeURIComponent(String(requestParameters['id']))),
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse(response, (jsonValue) => TableReportConfigFromJSON(jsonValue));
+    }
+
+    /**
+     */
+    async getTableReportConfig(id: number, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<TableReportConfig> {
+        const response = await this.getTableReportConfigRaw({ id: id }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     */
+    async getTableReportsRaw(requestParameters: ReportApiGetTableReportsRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<AllTableReports>> {
+        const queryParameters: any = {};
+
+        if (requestParameters['direction'] != null) {
+            queryParameters['direction'] = requestParameters['direction'];
+        }
+
+        if (requestParameters['folder'] != null) {
+            queryParameters['folder'] = requestParameters['folder'];
+        }
+
+        if (requestParameters['limit'] != null) {
+            queryParameters['limit'] = requestParameters['limit'];
+        }
+
+        if (requestParameters['page'] != null) {
+            queryParameters['page'] = requestParameters['page'];
+        }
+
+        if (requestParameters['roles'] != null) {
+            queryParameters['roles'] = requestParameters['roles'];
+        }
+
+        if (requestParameters['sort'] != null) {
+            queryParameters['sort'] = requestParameters['sort'];
+        }
+
+        if (requestParameters['test'] != null) {
+            queryParameters['test'] = requestParameters['test'];
+        }
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/report/table`,
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse(response, (jsonValue) => AllTableReportsFromJSON(jsonValue));
+    }
+
+    /**
+     */
+    async getTableReports(direction?: SortDirection, folder?: string, limit?: number, page?: number, roles?: string, sort?: string, test?: number, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<AllTableReports> {
+        const response = await this.getTableReportsRaw({ direction: direction, folder: folder, limit: limit, page: page, roles: roles, sort: sort, test: test }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     */
+    async importTableReportConfigRaw(requestParameters: ReportApiImportTableReportConfigRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<void>> {
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        headerParameters['Content-Type'] = 'application/json';
+
+        const response = await this.request({
+            path: `/api/report/table/config/import`,
+            method: 'POST',
+            headers: headerParameters,
+            query: queryParameters,
+            body: TableReportConfigToJSON(requestParameters['tableReportConfig']),
+        }, initOverrides);
+
+        return new runtime.VoidApiResponse(response);
+    }
+
+    /**
+     */
+    async importTableReportConfig(tableReportConfig?: TableReportConfig, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<void> {
+        await this.importTableReportConfigRaw({ tableReportConfig: tableReportConfig }, initOverrides);
+    }
+
+    /**
+     */
+    async previewTableReportRaw(requestParameters: ReportApiPreviewTableReportRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<TableReport>> {
+        const queryParameters: any = {};
+
+        if (requestParameters['edit'] != null) {
+            queryParameters['edit'] = requestParameters['edit'];
+        }
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        headerParameters['Content-Type'] = 'application/json';
+
+        const response = await this.request({
+            path: `/api/report/table/preview`,
+            method: 'POST',
+            headers: headerParameters,
+            query: queryParameters,
+            body: TableReportConfigToJSON(requestParameters['tableReportConfig']),
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse(response, (jsonValue) => TableReportFromJSON(jsonValue));
+    }
+
+    /**
+     */
+    async previewTableReport(edit?: number, tableReportConfig?: TableReportConfig, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<TableReport> {
+        const response = await this.previewTableReportRaw({ edit: edit, tableReportConfig: tableReportConfig }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     */
+    async updateCommentRaw(requestParameters: ReportApiUpdateCommentRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<ReportComment>> {
+        if (requestParameters['reportId'] == null) {
+            throw new runtime.RequiredError(
+                'reportId',
+                'Required parameter "reportId" was null or undefined when calling updateComment().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        headerParameters['Content-Type'] = 'application/json';
+
+        const response = await this.request({
+            path: `/api/report/comment/{reportId}`.replace(`{${"reportId"}}`, encodeURIComponent(String(requestParameters['reportId']))),
+            method: 'POST',
+            headers: headerParameters,
+            query: queryParameters,
+            body: ReportCommentToJSON(requestParameters['reportComment']),
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse(response, (jsonValue) => ReportCommentFromJSON(jsonValue));
+    }
+
+    /**
+     */
+    async updateComment(reportId: number, reportComment?: ReportComment, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<ReportComment> {
+        const response = await this.updateCommentRaw({ reportId: reportId, reportComment: reportComment }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     */
+    async updateTableReportConfigRaw(requestParameters: ReportApiUpdateTableReportConfigRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<TableReport>> {
+        const queryParameters: any = {};
+
+        if (requestParameters['edit'] != null) {
+            queryParameters['edit'] = requestParameters['edit'];
+        }
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        headerParameters['Content-Type'] = 'application/json';
+
+        const response = await this.request({
+            path: `/api/report/table/config`,
+            method: 'POST',
+            headers: headerParameters,
+            query: queryParameters,
+            body: TableReportConfigToJSON(requestParameters['tableReportConfig']),
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse(response, (jsonValue) => TableReportFromJSON(jsonValue));
+    }
+
+    /**
+     */
+    async updateTableReportConfig(edit?: number, tableReportConfig?: TableReportConfig, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<TableReport> {
+        const response = await this.updateTableReportConfigRaw({ edit: edit, tableReportConfig: tableReportConfig }, initOverrides);
+        return await response.value();
+    }
+
+}
@@ -0,0 +1,842 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.17
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+
+import * as runtime from '../runtime';
+import type {
+  Access,
+  Label,
+  LabelInfo,
+  LabelLocation,
+  RevalidationStatus,
+  Schema,
+  SchemaDescriptor,
+  SchemaExport,
+  SchemaQueryResult,
+  SortDirection,
+  Transformer,
+  TransformerInfo,
+} from '../models/index';
+import {
+    AccessFromJSON,
+    AccessToJSON,
+    LabelFromJSON,
+    LabelToJSON,
+    LabelInfoFromJSON,
+    LabelInfoToJSON,
+    LabelLocationFromJSON,
+    LabelLocationToJSON,
+    RevalidationStatusFromJSON,
+    RevalidationStatusToJSON,
+    SchemaFromJSON,
+    SchemaToJSON,
+    SchemaDescriptorFromJSON,
+    SchemaDescriptorToJSON,
+    SchemaExportFromJSON,
+    SchemaExportToJSON,
+    SchemaQueryResultFromJSON,
+    SchemaQueryResultToJSON,
+    SortDirectionFromJSON,
+    SortDirectionToJSON,
+    TransformerFromJSON,
+    TransformerToJSON,
+    TransformerInfoFromJSON,
+    TransformerInfoToJSON,
+} from '../models/index';
+
+export interface SchemaApiDeleteRequest {
+    id: number;
+}
+
+export interface SchemaApiAddRequest {
+    schema?: Schema;
+}
+
+export interface SchemaApiAddOrUpdateLabelRequest {
+    schemaId: number;
+    label: Label;
+}
+
+export interface SchemaApiAddOrUpdateTransformerRequest {
+    schemaId: number;
+    transformer: Transformer;
+}
+
+export interface SchemaApiAllLabelsRequest {
+    name?: string;
+}
+
+export interface SchemaApiDeleteLabelRequest {
+    schemaId: number;
+    labelId: number;
+}
+
+export interface SchemaApiDeleteTransformerRequest {
+    schemaId: number;
+    transformerId: number;
+}
+
+export interface SchemaApiDescriptorsRequest {
+    id?: Array<number>;
+}
+
+export interface SchemaApiExportSchemaRequest {
+    id: number;
+}
+
+export interface SchemaApiFindUsagesRequest {
+    label: string;
+}
+
+export interface SchemaApiGetRevalidationStatusRequest {
+    id: number;
+}
+
+export interface SchemaApiGetSchemaRequest {
+    id: number;
+}
+
+export interface SchemaApiIdByUriRequest {
+    uri: string;
+}
+
+export interface SchemaApiImportSchemaRequest {
+    schemaExport: SchemaExport;
+}
+
+export interface SchemaApiLabelsRequest {
+    schemaId: number;
+}
+
+export interface SchemaApiListRequest {
+    limit?: number;
+    page?: number;
+    sort?: string;
+    direction?: SortDirection;
+    roles?: string;
+}
+
+export interface SchemaApiListTransformersRequest {
+    schemaId: number;
+}
+
+export interface SchemaApiUpdateAccessRequest {
+    id: number;
+    owner: string;
+    access: Access;
+}
+
+/**
+ * 
+ */
+export class SchemaApi extends runtime.BaseAPI {
+
+    /**
+     * Delete a Schema by id
+     */
+    async _deleteRaw(requestParameters: SchemaApiDeleteRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<void>> {
+        if (requestParameters['id'] == null) {
+            throw new runtime.RequiredError(
+                'id',
+                'Required parameter "id" was null or undefined when calling _delete().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/schema/{id}`.replace(`{${"id"}}`, encodeURIComponent(String(requestParameters['id']))),
+            method: 'DELETE',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.VoidApiResponse(response);
+    }
+
+    /**
+     * Delete a Schema by id
+     */
+    async _delete(id: number, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<void> {
+        await this._deleteRaw({ id: id }, initOverrides);
+    }
+
+    /**
+     * Save a new Schema
+     */
+    async addRaw(requestParameters: SchemaApiAddRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<number>> {
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        headerParameters['Content-Type'] = 'application/json';
+
+        const response = await this.request({
+            path: `/api/schema`,
+            method: 'POST',
+            headers: headerParameters,
+            query: queryParameters,
+            body: SchemaToJSON(requestParameters['schema']),
+        }, initOverrides);
+
+        if (this.isJsonMime(response.headers.get('content-type'))) {
+            return new runtime.JSONApiResponse<number>(response);
+        } else {
+            return new runtime.TextApiResponse(response) as any;
+        }
+    }
+
+    /**
+     * Save a new Schema
+     */
+    async add(schema?: Schema, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<number> {
+        const response = await this.addRaw({ schema: schema }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     * Save new or update existing Label for a Schema
+     */
+    async addOrUpdateLabelRaw(requestParameters: SchemaApiAddOrUpdateLabelRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<number>> {
+        if (requestParameters['schemaId'] == null) {
+            throw new runtime.RequiredError(
+                'schemaId',
+                'Required parameter "schemaId" was null or undefined when calling addOrUpdateLabel().'
+            );
+        }
+
+        if (requestParameters['label'] == null) {
+            throw new runtime.RequiredError(
+                'label',
+                'Required parameter "label" was null or undefined when calling addOrUpdateLabel().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        headerParameters['Content-Type'] = 'application/json';
+
+        const response = await this.request({
+            path: `/api/schema/{schemaId}/labels`.replace(`{${"schemaId"}}`, encodeURIComponent(String(requestParameters['schemaId']))),
+            method: 'POST',
+            headers: headerParameters,
+            query: queryParameters,
+            body: LabelToJSON(requestParameters['label']),
+        }, initOverrides);
+
+        if (this.isJsonMime(response.headers.get('content-type'))) {
+            return new runtime.JSONApiResponse<number>(response);
+        } else {
+            return new runtime.TextApiResponse(response) as any;
+        }
+    }
+
+    /**
+     * Save new or update existing Label for a Schema
+     */
+    async addOrUpdateLabel(schemaId: number, label: Label, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<number> {
+        const response = await this.addOrUpdateLabelRaw({ schemaId: schemaId, label: label }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     * Save new or update existing Transformer defintion
+     */
+    async addOrUpdateTransformerRaw(requestParameters: SchemaApiAddOrUpdateTransformerRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<number>> {
+        if (requestParameters['schemaId'] == null) {
+            throw new runtime.RequiredError(
+                'schemaId',
+                'Required parameter "schemaId" was null or undefined when calling addOrUpdateTransformer().'
+            );
+        }
+
+        if (requestParameters['transformer'] == null) {
+            throw new runtime.RequiredError(
+                'transformer',
+                'Required parameter "transformer" was null or undefined when calling addOrUpdateTransformer().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        headerParameters['Content-Type'] = 'application/json';
+
+        const response = await this.request({
+            path: `/api/schema/{schemaId}/transformers`.replace(`{${"schemaId"}}`, encodeURIComponent(String(requestParameters['schemaId']))),
+            method: 'POST',
+            headers: headerParameters,
+            query: queryParameters,
+            body: TransformerToJSON(requestParameters['transformer']),
+        }, initOverrides);
+
+        if (this.isJsonMime(response.headers.get('content-type'))) {
+            return new runtime.JSONApiResponse<number>(response);
+        } else {
+            return new runtime.TextApiResponse(response) as any;
+        }
+    }
+
+    /**
+     * Save new or update existing Transformer defintion
+     */
+    async addOrUpdateTransformer(schemaId: number, transformer: Transformer, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<number> {
+        const response = await this.addOrUpdateTransformerRaw({ schemaId: schemaId, transformer: transformer }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     * Retrieve list of Labels for ny name. Allows users to retrieve all Label Definitions that have the same name
+     */
+    async allLabelsRaw(requestParameters: SchemaApiAllLabelsRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<Array<LabelInfo>>> {
+        const queryParameters: any = {};
+
+        if (requestParameters['name'] != null) {
+            queryParameters['name'] = requestParameters['name'];
+        }
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/schema/allLabels`,
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse(response, (jsonValue) => jsonValue.map(LabelInfoFromJSON));
+    }
+
+    /**
+     * Retrieve list of Labels for ny name. Allows users to retrieve all Label Definitions that have the same name
+     */
+    async allLabels(name?: string, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<Array<LabelInfo>> {
+        const response = await this.allLabelsRaw({ name: name }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     * Retrieve all transformers
+     */
+    async allTransformersRaw(initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<Array<TransformerInfo>>> {
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/schema/allTransformers`,
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse(response, (jsonValue) => jsonValue.map(TransformerInfoFromJSON));
+    }
+
+    /**
+     * Retrieve all transformers
+     */
+    async allTransformers(initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<Array<TransformerInfo>> {
+        const response = await this.allTransformersRaw(initOverrides);
+        return await response.value();
+    }
+
+    /**
+     * Delete existing Label from a Schema
+     */
+    async deleteLabelRaw(requestParameters: SchemaApiDeleteLabelRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<void>> {
+        if (requestParameters['schemaId'] == null) {
+            throw new runtime.RequiredError(
+                'schemaId',
+                'Required parameter "schemaId" was null or undefined when calling deleteLabel().'
+            );
+        }
+
+        if (requestParameters['labelId'] == null) {
+            throw new runtime.RequiredError(
+                'labelId',
+                'Required parameter "labelId" was null or undefined when calling deleteLabel().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/schema/{schemaId}/labels/{labelId}`.replace(`{${"schemaId"}}`, encodeURIComponent(String(requestParameters['schemaId']))).replace(`{${"labelId"}}`, encodeURIComponent(String(requestParameters['labelId']))),
+            method: 'DELETE',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.VoidApiResponse(response);
+    }
+
+    /**
+     * Delete existing Label from a Schema
+     */
+    async deleteLabel(schemaId: number, labelId: number, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<void> {
+        await this.deleteLabelRaw({ schemaId: schemaId, labelId: labelId }, initOverrides);
+    }
+
+    /**
+     * Delete a Transformer defined for a Schema
+     */
+    async deleteTransformerRaw(requestParameters: SchemaApiDeleteTransformerRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<void>> {
+        if (requestParameters['schemaId'] == null) {
+            throw new runtime.RequiredError(
+                'schemaId',
+                'Required parameter "schemaId" was null or undefined when calling deleteTransformer().'
+            );
+        }
+
+        if (requestParameters['transformerId'] == null) {
+            throw new runtime.RequiredError(
+                'transformerId',
+                'Required parameter "transformerId" was null or undefined when calling deleteTransformer().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/schema/{schemaId}/transformers/{transformerId}`.replace(`{${"schemaId"}}`, encodeURIComponent(String(requestParameters['schemaId']))).replace(`{${"transformerId"}}`, encodeURIComponent(String(requestParameters['transformerId']))),
+            method: 'DELETE',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.VoidApiResponse(response);
+    }
+
+    /**
+     * Delete a Transformer defined for a Schema
+     */
+    async deleteTransformer(schemaId: number, transformerId: number, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<void> {
+        await this.deleteTransformerRaw({ schemaId: schemaId, transformerId: transformerId }, initOverrides);
+    }
+
+    /**
+     * Retrieve a list of Schema Descriptors
+     */
+    async descriptorsRaw(requestParameters: SchemaApiDescriptorsRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<Array<SchemaDescriptor>>> {
+        const queryParameters: any = {};
+
+        if (requestParameters['id'] != null) {
+            queryParameters['id'] = requestParameters['id'];
+        }
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/schema/descriptors`,
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse(response, (jsonValue) => jsonValue.map(SchemaDescriptorFromJSON));
+    }
+
+    /**
+     * Retrieve a list of Schema Descriptors
+     */
+    async descriptors(id?: Array<number>, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<Array<SchemaDescriptor>> {
+        const response = await this.descriptorsRaw({ id: id }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     * Export a Schema
+     */
+    async exportSchemaRaw(requestParameters: SchemaApiExportSchemaRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<SchemaExport>> {
+        if (requestParameters['id'] == null) {
+            throw new runtime.RequiredError(
+                'id',
+                'Required parameter "id" was null or undefined when calling exportSchema().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/schema/{id}/export`.replace(`{${"id"}}`, encodeURIComponent(String(requestParameters['id']))),
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse(response, (jsonValue) => SchemaExportFromJSON(jsonValue));
+    }
+
+    /**
+     * Export a Schema
+     */
+    async exportSchema(id: number, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<SchemaExport> {
+        const response = await this.exportSchemaRaw({ id: id }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     * Find all usages of a Schema by label name
+     */
+    async findUsagesRaw(requestParameters: SchemaApiFindUsagesRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<Array<LabelLocation>>> {
+        if (requestParameters['label'] == null) {
+            throw new runtime.RequiredError(
+                'label',
+                'Required parameter "label" was null or undefined when calling findUsages().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        if (requestParameters['label'] != null) {
+            queryParameters['label'] = requestParameters['label'];
+        }
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/schema/findUsages`,
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse(response, (jsonValue) => jsonValue.map(LabelLocationFromJSON));
+    }
+
+    /**
+     * Find all usages of a Schema by label name
+     */
+    async findUsages(label: string, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<Array<LabelLocation>> {
+        const response = await this.findUsagesRaw({ label: label }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     * Get revalidation status for Schema
+     */
+    async getRevalidationStatusRaw(requestParameters: SchemaApiGetRevalidationStatusRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<RevalidationStatus>> {
+        if (requestParameters['id'] == null) {
+            throw new runtime.RequiredError(
+                'id',
+                'Required parameter "id" was null or undefined when calling getRevalidationStatus().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/schema/{id}/revalidate`.replace(`{${"id"}}`, encodeURIComponent(String(requestParameters['id']))),
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse(response, (jsonValue) => RevalidationStatusFromJSON(jsonValue));
+    }
+
+    /**
+     * Get revalidation status for Schema
+     */
+    async getRevalidationStatus(id: number, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<RevalidationStatus> {
+        const response = await this.getRevalidationStatusRaw({ id: id }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     * Retrieve Schema by ID
+     */
+    async getSchemaRaw(requestParameters: SchemaApiGetSchemaRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<Schema>> {
+        if (requestParameters['id'] == null) {
+            throw new runtime.RequiredError(
+                'id',
+                'Required parameter "id" was null or undefined when calling getSchema().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/schema/{id}`.replace(`{${"id"}}`, encodeURIComponent(String(requestParameters['id']))),
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse(response, (jsonValue) => SchemaFromJSON(jsonValue));
+    }
+
+    /**
+     * Retrieve Schema by ID
+     */
+    async getSchema(id: number, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<Schema> {
+        const response = await this.getSchemaRaw({ id: id }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     * Retrieve Schema ID by uri
+     */
+    async idByUriRaw(requestParameters: SchemaApiIdByUriRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<number>> {
+        if (requestParameters['uri'] == null) {
+            throw new runtime.RequiredError(
+                'uri',
+                'Required parameter "uri" was null or undefined when calling idByUri().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/schema/idByUri/{uri}`.replace(`{${"uri"}}`, encodeURIComponent(String(requestParameters['uri']))),
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        if (this.isJsonMime(response.headers.get('content-type'))) {
+            return new runtime.JSONApiResponse<number>(response);
+        } else {
+            return new runtime.TextApiResponse(response) as any;
+        }
+    }
+
+    /**
+     * Retrieve Schema ID by uri
+     */
+    async idByUri(uri: string, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<number> {
+        const response = await this.idByUriRaw({ uri: uri }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     * Import an previously exported Schema either as a new Schema or to update an existing Schema
+     */
+    async importSchemaRaw(requestParameters: SchemaApiImportSchemaRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<void>> {
+        if (requestParameters['schemaExport'] == null) {
+            throw new runtime.RequiredError(
+                'schemaExport',
+                'Required parameter "schemaExport" was null or undefined when calling importSchema().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        headerParameters['Content-Type'] = 'application/json';
+
+        const response = await this.request({
+            path: `/api/schema/import`,
+            method: 'POST',
+            headers: headerParameters,
+            query: queryParameters,
+            body: SchemaExportToJSON(requestParameters['schemaExport']),
+        }, initOverrides);
+
+        return new runtime.VoidApiResponse(response);
+    }
+
+    /**
+     * Import an previously exported Schema either as a new Schema or to update an existing Schema
+     */
+    async importSchema(schemaExport: SchemaExport, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<void> {
+        await this.importSchemaRaw({ schemaExport: schemaExport }, initOverrides);
+    }
+
+    /**
+     * Retrieve list of Labels for a Schema by Schema ID
+     */
+    async labelsRaw(requestParameters: SchemaApiLabelsRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<Array<Label>>> {
+        if (requestParameters['schemaId'] == null) {
+            throw new runtime.RequiredError(
+                'schemaId',
+                'Required parameter "schemaId" was null or undefined when calling labels().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/schema/{schemaId}/labels`.replace(`{${"schemaId"}}`, encodeURIComponent(String(requestParameters['schemaId']))),
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse(response, (jsonValue) => jsonValue.map(LabelFromJSON));
+    }
+
+    /**
+     * Retrieve list of Labels for a Schema by Schema ID
+     */
+    async labels(schemaId: number, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<Array<Label>> {
+        const response = await this.labelsRaw({ schemaId: schemaId }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     * Retrieve a paginated list of Schemas with available count
+     */
+    async listRaw(requestParameters: SchemaApiListRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<SchemaQueryResult>> {
+        const queryParameters: any = {};
+
+        if (requestParameters['limit'] != null) {
+            queryParameters['limit'] = requestParameters['limit'];
+        }
+
+        if (requestParameters['page'] != null) {
+            queryParameters['page'] = requestParameters['page'];
+        }
+
+        if (requestParameters['sort'] != null) {
+            queryParameters['sort'] = requestParameters['sort'];
+        }
+
+        if (requestParameters['direction'] != null) {
+            queryParameters['direction'] = requestParameters['direction'];
+        }
+
+        if (requestParameters['roles'] != null) {
+            queryParameters['roles'] = requestParameters['roles'];
+        }
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/schema`,
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse(response, (jsonValue) => SchemaQueryResultFromJSON(jsonValue));
+    }
+
+    /**
+     * Retrieve a paginated list of Schemas with available count
+     */
+    async list(limit?: number, page?: number, sort?: string, direction?: SortDirection, roles?: string, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<SchemaQueryResult> {
+        const response = await this.listRaw({ limit: limit, page: page, sort: sort, direction: direction, roles: roles }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     * List all Transformers defined for a Schema
+     */
+    async listTransformersRaw(requestParameters: SchemaApiListTransformersRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<Array<Transformer>>> {
+        if (requestParameters['schemaId'] == null) {
+            throw new runtime.RequiredError(
+                'schemaId',
+                'Required parameter "schemaId" was null or undefined when calling listTransformers().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/schema/{schemaId}/transformers`.replace(`{${"schemaId"}}`, encodeURIComponent(String(requestParameters['schemaId']))),
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse(response, (jsonValue) => jsonValue.map(TransformerFromJSON));
+    }
+
+    /**
+     * List all Transformers defined for a Schema
+     */
+    async listTransformers(schemaId: number, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<Array<Transformer>> {
+        const response = await this.listTransformersRaw({ schemaId: schemaId }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     * Update the Access configuration for a Schema
+     */
+    async updateAccessRaw(requestParameters: SchemaApiUpdateAccessRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<void>> {
+        if (requestParameters['id'] == null) {
+            throw new runtime.RequiredError(
+                'id',
+                'Required parameter "id" was null or undefined when calling updateAccess().'
+            );
+        }
+
+        if (requestParameters['owner'] == null) {
+            throw new runtime.RequiredError(
+                'owner',
+                'Required parameter "owner" was null or undefined when calling updateAccess().'
+            );
+        }
+
+        if (requestParameters['access'] == null) {
+            throw new runtime.RequiredError(
+                'access',
+                'Required parameter "access" was null or undefined when calling updateAccess().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        if (requestParameters['owner'] != null) {
+            queryParameters['owner'] = requestParameters['owner'];
+        }
+
+        if (requestParameters['access'] != null) {
+            queryParameters['access'] = requestParameters['access'];
+        }
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/schema/{id}/updateAccess`.replace(`{${"id"}}`, encodeURIComponent(String(requestParameters['id']))),
+            method: 'POST',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.VoidApiResponse(response);
+    }
+
+    /**
+     * Update the Access configuration for a Schema
+     */
+    async updateAccess(id: number, owner: string, access: Access, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<void> {
+        await this.updateAccessRaw({ id: id, owner: owner, access: access }, initOverrides);
+    }
+
+}
@@ -0,0 +1,952 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.17
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+
+import * as runtime from '../runtime';
+import type {
+  Access,
+  ExportedLabelValues,
+  Fingerprints,
+  RecalculationStatus,
+  SortDirection,
+  Test,
+  TestExport,
+  TestListing,
+  TestQueryResult,
+} from '../models/index';
+import {
+    AccessFromJSON,
+    AccessToJSON,
+    ExportedLabelValuesFromJSON,
+    ExportedLabelValuesToJSON,
+    FingerprintsFromJSON,
+    FingerprintsToJSON,
+    RecalculationStatusFromJSON,
+    RecalculationStatusToJSON,
+    SortDirectionFromJSON,
+    SortDirectionToJSON,
+    TestFromJSON,
+    TestToJSON,
+    TestExportFromJSON,
+    TestExportToJSON,
+    TestListingFromJSON,
+    TestListingToJSON,
+    TestQueryResultFromJSON,
+    TestQueryResultToJSON,
+} from '../models/index';
+
+export interface TestApiDeleteRequest {
+    id: number;
+}
+
+export interface TestApiExportRequest {
+    id: number;
+}
+
+export interface TestApiAddRequest {
+    test: Test;
+}
+
+export interface TestApiExportLabelValuesRequest {
+    id: number;
+    filtering?: boolean;
+    metrics?: boolean;
+    filter?: string;
+    before?: string;
+    after?: string;
+    include?: Array<string>;
+    exclude?: Array<string>;
+    multiFilter?: boolean;
+    cursor?: string;
+    limit?: number;
+}
+
+export interface TestApiFilteringLabelValuesRequest {
+    id: number;
+}
+
+export interface TestApiFoldersRequest {
+    roles?: string;
+}
+
+export interface TestApiGetRequest {
+    id: number;
+}
+
+export interface TestApiGetByNameOrIdRequest {
+    name: string;
+}
+
+export interface TestApiGetRecalculationStatusRequest {
+    id: number;
+}
+
+export interface TestApiImportTestRequest {
+    testExport: TestExport;
+}
+
+export interface TestApiLabelValuesRequest {
+    id: number;
+    filtering?: boolean;
+    metrics?: boolean;
+    filter?: string;
+    before?: string;
+    after?: string;
+    sort?: string;
+    direction?: string;
+    limit?: number;
+    page?: number;
+    include?: Array<string>;
+    exclude?: Array<string>;
+    multiFilter?: boolean;
+}
+
+export interface TestApiListRequest {
+    roles?: string;
+    limit?: number;
+    page?: number;
+    sort?: string;
+    direction?: SortDirection;
+}
+
+export interface TestApiListFingerprintsRequest {
+    id: number;
+}
+
+export interface TestApiRecalculateDatasetsRequest {
+    id: number;
+}
+
+export interface TestApiSummaryRequest {
+    roles?: string;
+    folder?: string;
+    limit?: number;
+    page?: number;
+    direction?: SortDirection;
+    name?: string;
+}
+
+export interface TestApiUpdateAccessRequest {
+    id: number;
+    owner: string;
+    access: Access;
+}
+
+export interface TestApiUpdateFolderRequest {
+    id: number;
+    folder?: string;
+}
+
+export interface TestApiUpdateNotificationsRequest {
+    id: number;
+    enabled: boolean;
+}
+
+export interface TestApiUpdateTransformersRequest {
+    id: number;
+    requestBody: Array<number>;
+}
+
+/**
+ * 
+ */
+export class TestApi extends runtime.BaseAPI {
+
+    /**
+     * Delete a Test by id
+     */
+    async _deleteRaw(requestParameters: TestApiDeleteRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<void>> {
+        if (requestParameters['id'] == null) {
+            throw new runtime.RequiredError(
+                'id',
+                'Required parameter "id" was null or undefined when calling _delete().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/test/{id}`.replace(`{${"id"}}`, encodeURIComponent(String(requestParameters['id']))),
+            method: 'DELETE',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.VoidApiResponse(response);
+    }
+
+    /**
+     * Delete a Test by id
+     */
+    async _delete(id: number, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<void> {
+        await this._deleteRaw({ id: id }, initOverrides);
+    }
+
+    /**
+     */
+    async _exportRaw(requestParameters: TestApiExportRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<TestExport>> {
+        if (requestParameters['id'] == null) {
+            throw new runtime.RequiredError(
+                'id',
+                'Required parameter "id" was null or undefined when calling _export().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/test/{id}/export`.replace(`{${"id"}}`, encodeURIComponent(String(requestParameters['id']))),
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse(response, (jsonValue) => TestExportFromJSON(jsonValue));
+    }
+
+    /**
+     */
+    async _export(id: number, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<TestExport> {
+        const response = await this._exportRaw({ id: id }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     * Create a new test
+     */
+    async addRaw(requestParameters: TestApiAddRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<Test>> {
+        if (requestParameters['test'] == null) {
+            throw new runtime.RequiredError(
+                'test',
+                'Required parameter "test" was null or undefined when calling add().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        headerParameters['Content-Type'] = 'application/json';
+
+        const response = await this.request({
+            path: `/api/test`,
+            method: 'POST',
+            headers: headerParameters,
+            query: queryParameters,
+            body: TestToJSON(requestParameters['test']),
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse(response, (jsonValue) => TestFromJSON(jsonValue));
+    }
+
+    /**
+     * Create a new test
+     */
+    async add(test: Test, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<Test> {
+        const response = await this.addRaw({ test: test }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     * Export all Label Values for a Test as newline delimited JSON, one line per Dataset ordered by start, runId and datasetId
+     */
+    async exportLabelValuesRaw(requestParameters: TestApiExportLabelValuesRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<ExportedLabelValues>> {
+        if (requestParameters['id'] == null) {
+            throw new runtime.RequiredError(
+                'id',
+                'Required parameter "id" was null or undefined when calling exportLabelValues().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        if (requestParameters['filtering'] != null) {
+            queryParameters['filtering'] = requestParameters['filtering'];
+        }
+
+        if (requestParameters['metrics'] != null) {
+            queryParameters['metrics'] = requestParameters['metrics'];
+        }
+
+        if (requestParameters['filter'] != null) {
+            queryParameters['filter'] = requestParameters['filter'];
+        }
+
+        if (requestParameters['before'] != null) {
+            queryParameters['before'] = requestParameters['before'];
+        }
+
+        if (requestParameters['after'] != null) {
+            queryParameters['after'] = requestParameters['after'];
+        }
+
+        if (requestParameters['include'] != null) {
+            queryParameters['include'] = requestParameters['include'];
+        }
+
+        if (requestParameters['exclude'] != null) {
+            queryParameters['exclude'] = requestParameters['exclude'];
+        }
+
+        if (requestParameters['multiFilter'] != null) {
+            queryParameters['multiFilter'] = requestParameters['multiFilter'];
+        }
+
+        if (requestParameters['cursor'] != null) {
+            queryParameters['cursor'] = requestParameters['cursor'];
+        }
+
+        if (requestParameters['limit'] != null) {
+            queryParameters['limit'] = requestParameters['limit'];
+        }
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/test/{id}/labelValues/export`.replace(`{${"id"}}`, encodeURIComponent(String(requestParameters['id']))),
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse(response, (jsonValue) => ExportedLabelValuesFromJSON(jsonValue));
+    }
+
+    /**
+     * Export all Label Values for a Test as newline delimited JSON, one line per Dataset ordered by start, runId and datasetId
+     */
+    async exportLabelValues(id: number, filtering?: boolean, metrics?: boolean, filter?: string, before?: string, after?: string, include?: Array<string>, exclude?: Array<string>, multiFilter?: boolean, cursor?: string, limit?: number, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<ExportedLabelValues> {
+        const response = await this.exportLabelValuesRaw({ id: id, filtering: filtering, metrics: metrics, filter: filter, before: before, after: after, include: include, exclude: exclude, multiFilter: multiFilter, cursor: cursor, limit: limit }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     * List all unique Label Values for a Test
+     */
+    async filteringLabelValuesRaw(requestParameters: TestApiFilteringLabelValuesRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<Array<any>>> {
+        if (requestParameters['id'] == null) {
+            throw new runtime.RequiredError(
+                'id',
+                'Required parameter "id" was null or undefined when calling filteringLabelValues().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/test/{id}/filteringLabelValues`.replace(`{${"id"}}`, encodeURIComponent(String(requestParameters['id']))),
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse<any>(response);
+    }
+
+    /**
+     * List all unique Label Values for a Test
+     */
+    async filteringLabelValues(id: number, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<Array<any>> {
+        const response = await this.filteringLabelValuesRaw({ id: id }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     * Retrieve a list of all folders
+     */
+    async foldersRaw(requestParameters: TestApiFoldersRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<Array<string>>> {
+        const queryParameters: any = {};
+
+        if (requestParameters['roles'] != null) {
+            queryParameters['roles'] = requestParameters['roles'];
+        }
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/test/folders`,
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse<any>(response);
+    }
+
+    /**
+     * Retrieve a list of all folders
+     */
+    async folders(roles?: string, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<Array<string>> {
+        const response = await this.foldersRaw({ roles: roles }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     * Retrieve a test by id
+     */
+    async getRaw(requestParameters: TestApiGetRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<Test>> {
+        if (requestParameters['id'] == null) {
+            throw new runtime.RequiredError(
+                'id',
+                'Required parameter "id" was null or undefined when calling get().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/test/{id}`.replace(`{${"id"}}`, encodeURIComponent(String(requestParameters['id']))),
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse(response, (jsonValue) => TestFromJSON(jsonValue));
+    }
+
+    /**
+     * Retrieve a test by id
+     */
+    async get(id: number, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<Test> {
+        const response = await this.getRaw({ id: id }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     * Retrieve a test by name
+     */
+    async getByNameOrIdRaw(requestParameters: TestApiGetByNameOrIdRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<Test>> {
+        if (requestParameters['name'] == null) {
+            throw new runtime.RequiredError(
+                'name',
+                'Required parameter "name" was null or undefined when calling getByNameOrId().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/test/byName/{name}`.replace(`{${"name"}}`, encodeURIComponent(String(requestParameters['name']))),
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse(response, (jsonValue) => TestFromJSON(jsonValue));
+    }
+
+    /**
+     * Retrieve a test by name
+     */
+    async getByNameOrId(name: string, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<Test> {
+        const response = await this.getByNameOrIdRaw({ name: name }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     * Get recalculation status for Test
+     */
+    async getRecalculationStatusRaw(requestParameters: TestApiGetRecalculationStatusRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<RecalculationStatus>> {
+        if (requestParameters['id'] == null) {
+            throw new runtime.RequiredError(
+                'id',
+                'Required parameter "id" was null or undefined when calling getRecalculationStatus().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/test/{id}/recalculate`.replace(`{${"id"}}`, encodeURIComponent(String(requestParameters['id']))),
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse(response, (jsonValue) => RecalculationStatusFromJSON(jsonValue));
+    }
+
+    /**
+     * Get recalculation status for Test
+     */
+    async getRecalculationStatus(id: number, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<RecalculationStatus> {
+        const response = await this.getRecalculationStatusRaw({ id: id }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     * Import a previously exported Test either as a new Test or to update an existing Test
+     */
+    async importTestRaw(requestParameters: TestApiImportTestRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<void>> {
+        if (requestParameters['testExport'] == null) {
+            throw new runtime.RequiredError(
+                'testExport',
+                'Required parameter "testExport" was null or undefined when calling importTest().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        headerParameters['Content-Type'] = 'application/json';
+
+        const response = await this.request({
+            path: `/api/test/import`,
+            method: 'POST',
+            headers: headerParameters,
+            query: queryParameters,
+            body: TestExportToJSON(requestParameters['testExport']),
+        }, initOverrides);
+
+        return new runtime.VoidApiResponse(response);
+    }
+
+    /**
+     * Import a previously exported Test either as a new Test or to update an existing Test
+     */
+    async importTest(testExport: TestExport, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<void> {
+        await this.importTestRaw({ testExport: testExport }, initOverrides);
+    }
+
+    /**
+     * List all Label Values for a Test
+     */
+    async labelValuesRaw(requestParameters: TestApiLabelValuesRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<Array<ExportedLabelValues>>> {
+        if (requestParameters['id'] == null) {
+            throw new runtime.RequiredError(
+                'id',
+                'Required parameter "id" was null or undefined when calling labelValues().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        if (requestParameters['filtering'] != null) {
+            queryParameters['filtering'] = requestParameters['filtering'];
+        }
+
+        if (requestParameters['metrics'] != null) {
+            queryParameters['metrics'] = requestParameters['metrics'];
+        }
+
+        if (requestParameters['filter'] != null) {
+            queryParameters['filter'] = requestParameters['filter'];
+        }
+
+        if (requestParameters['before'] != null) {
+            queryParameters['before'] = requestParameters['before'];
+        }
+
+        if (requestParameters['after'] != null) {
+            queryParameters['after'] = requestParameters['after'];
+        }
+
+        if (requestParameters['sort'] != null) {
+            queryParameters['sort'] = requestParameters['sort'];
+        }
+
+        if (requestParameters['direction'] != null) {
+            queryParameters['direction'] = requestParameters['direction'];
+        }
+
+        if (requestParameters['limit'] != null) {
+            queryParameters['limit'] = requestParameters['limit'];
+        }
+
+        if (requestParameters['page'] != null) {
+            queryParameters['page'] = requestParameters['page'];
+        }
+
+        if (requestParameters['include'] != null) {
+            queryParameters['include'] = requestParameters['include'];
+        }
+
+        if (requestParameters['exclude'] != null) {
+            queryParameters['exclude'] = requestParameters['exclude'];
+        }
+
+        if (requestParameters['multiFilter'] != null) {
+            queryParameters['multiFilter'] = requestParameters['multiFilter'];
+        }
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/test/{id}/labelValues`.replace(`{${"id"}}`, encodeURIComponent(String(requestParameters['id']))),
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse(response, (jsonValue) => jsonValue.map(ExportedLabelValuesFromJSON));
+    }
+
+    /**
+     * List all Label Values for a Test
+     */
+    async labelValues(id: number, filtering?: boolean, metrics?: boolean, filter?: string, before?: string, after?: string, sort?: string, direction?: string, limit?: number, page?: number, include?: Array<string>, exclude?: Array<string>, multiFilter?: boolean, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<Array<ExportedLabelValues>> {
+        const response = await this.labelValuesRaw({ id: id, filtering: filtering, metrics: metrics, filter: filter, before: before, after: after, sort: sort, direction: direction, limit: limit, page: page, include: include, exclude: exclude, multiFilter: multiFilter }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     * Retrieve a paginated list of Tests with available count
+     */
+    async listRaw(requestParameters: TestApiListRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<TestQueryResult>> {
+        const queryParameters: any = {};
+
+        if (requestParameters['roles'] != null) {
+            queryParameters['roles'] = requestParameters['roles'];
+        }
+
+        if (requestParameters['limit'] != null) {
+            queryParameters['limit'] = requestParameters['limit'];
+        }
+
+        if (requestParameters['page'] != null) {
+            queryParameters['page'] = requestParameters['page'];
+        }
+
+        if (requestParameters['sort'] != null) {
+            queryParameters['sort'] = requestParameters['sort'];
+        }
+
+        if (requestParameters['direction'] != null) {
+            queryParameters['direction'] = requestParameters['direction'];
+        }
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/test`,
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse(response, (jsonValue) => TestQueryResultFromJSON(jsonValue));
+    }
+
+    /**
+     * Retrieve a paginated list of Tests with available count
+     */
+    async list(roles?: string, limit?: number, page?: number, sort?: string, direction?: SortDirection, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<TestQueryResult> {
+        const response = await this.listRaw({ roles: roles, limit: limit, page: page, sort: sort, direction: direction }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     * List all Fingerprints for a Test
+     */
+    async listFingerprintsRaw(requestParameters: TestApiListFingerprintsRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<Array<Fingerprints>>> {
+        if (requestParameters['id'] == null) {
+            throw new runtime.RequiredError(
+                'id',
+                'Required parameter "id" was null or undefined when calling listFingerprints().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/test/{id}/fingerprint`.replace(`{${"id"}}`, encodeURIComponent(String(requestParameters['id']))),
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse(response, (jsonValue) => jsonValue.map(FingerprintsFromJSON));
+    }
+
+    /**
+     * List all Fingerprints for a Test
+     */
+    async listFingerprints(id: number, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<Array<Fingerprints>> {
+        const response = await this.listFingerprintsRaw({ id: id }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     * Recalculate Datasets for Test
+     */
+    async recalculateDatasetsRaw(requestParameters: TestApiRecalculateDatasetsRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<void>> {
+        if (requestParameters['id'] == null) {
+            throw new runtime.RequiredError(
+                'id',
+                'Required parameter "id" was null or undefined when calling recalculateDatasets().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/test/{id}/recalculate`.replace(`{${"id"}}`, encodeURIComponent(String(requestParameters['id']))),
+            method: 'POST',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.VoidApiResponse(response);
+    }
+
+    /**
+     * Recalculate Datasets for Test
+     */
+    async recalculateDatasets(id: number, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<void> {
+        await this.recalculateDatasetsRaw({ id: id }, initOverrides);
+    }
+
+    /**
+     * Retrieve a summary of Tests in a folder
+     */
+    async summaryRaw(requestParameters: TestApiSummaryRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<TestListing>> {
+        const queryParameters: any = {};
+
+        if (requestParameters['roles'] != null) {
+            queryParameters['roles'] = requestParameters['roles'];
+        }
+
+        if (requestParameters['folder'] != null) {
+            queryParameters['folder'] = requestParameters['folder'];
+        }
+
+        if (requestParameters['limit'] != null) {
+            queryParameters['limit'] = requestParameters['limit'];
+        }
+
+        if (requestParameters['page'] != null) {
+            queryParameters['page'] = requestParameters['page'];
+        }
+
+        if (requestParameters['direction'] != null) {
+            queryParameters['direction'] = requestParameters['direction'];
+        }
+
+        if (requestParameters['name'] != null) {
+            queryParameters['name'] = requestParameters['name'];
+        }
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/test/summary`,
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse(response, (jsonValue) => TestListingFromJSON(jsonValue));
+    }
+
+    /**
+     * Retrieve a summary of Tests in a folder
+     */
+    async summary(roles?: string, folder?: string, limit?: number, page?: number, direction?: SortDirection, name?: string, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<TestListing> {
+        const response = await this.summaryRaw({ roles: roles, folder: folder, limit: limit, page: page, direction: direction, name: name }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     * Update the Access configuration for a Test
+     */
+    async updateAccessRaw(requestParameters: TestApiUpdateAccessRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<void>> {
+        if (requestParameters['id'] == null) {
+            throw new runtime.RequiredError(
+                'id',
+                'Required parameter "id" was null or undefined when calling updateAccess().'
+            );
+        }
+
+        if (requestParameters['owner'] == null) {
+            throw new runtime.RequiredError(
+                'owner',
+                'Required parameter "owner" was null or undefined when calling updateAccess().'
+            );
+        }
+
+        if (requestParameters['access'] == null) {
+            throw new runtime.RequiredError(
+                'access',
+                'Required parameter "access" was null or undefined when calling updateAccess().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        if (requestParameters['owner'] != null) {
+            queryParameters['owner'] = requestParameters['owner'];
+        }
+
+        if (requestParameters['access'] != null) {
+            queryParameters['access'] = requestParameters['access'];
+        }
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/test/{id}/updateAccess`.replace(`{${"id"}}`, encodeURIComponent(String(requestParameters['id']))),
+            method: 'POST',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.VoidApiResponse(response);
+    }
+
+    /**
+     * Update the Access configuration for a Test
+     */
+    async updateAccess(id: number, owner: string, access: Access, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<void> {
+        await this.updateAccessRaw({ id: id, owner: owner, access: access }, initOverrides);
+    }
+
+    /**
+     * Update the folder for a Test. Tests can be moved to different folders
+     */
+    async updateFolderRaw(requestParameters: TestApiUpdateFolderRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<void>> {
+        if (requestParameters['id'] == null) {
+            throw new runtime.RequiredError(
+                'id',
+                'Required parameter "id" was null or undefined when calling updateFolder().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        if (requestParameters['folder'] != null) {
+            queryParameters['folder'] = requestParameters['folder'];
+        }
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/test/{id}/move`.replace(`{${"id"}}`, encodeURIComponent(String(requestParameters['id']))),
+            method: 'POST',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.VoidApiResponse(response);
+    }
+
+    /**
+     * Update the folder for a Test. Tests can be moved to different folders
+     */
+    async updateFolder(id: number, folder?: string, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<void> {
+        await this.updateFolderRaw({ id: id, folder: folder }, initOverrides);
+    }
+
+    /**
+     * Update notifications for a Test. It is possible to disable notifications for a Test, so that no notifications are sent to subscribers
+     */
+    async updateNotificationsRaw(requestParameters: TestApiUpdateNotificationsRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<void>> {
+        if (requestParameters['id'] == null) {
+            throw new runtime.RequiredError(
+                'id',
+                'Required parameter "id" was null or undefined when calling updateNotifications().'
+            );
+        }
+
+        if (requestParameters['enabled'] == null) {
+            throw new runtime.RequiredError(
+                'enabled',
+                'Required parameter "enabled" was null or undefined when calling updateNotifications().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        if (requestParameters['enabled'] != null) {
+            queryParameters['enabled'] = requestParameters['enabled'];
+        }
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/test/{id}/notifications`.replace(`{${"id"}}`, encodeURIComponent(String(requestParameters['id']))),
+            method: 'POST',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.VoidApiResponse(response);
+    }
+
+    /**
+     * Update notifications for a Test. It is possible to disable notifications for a Test, so that no notifications are sent to subscribers
+     */
+    async updateNotifications(id: number, enabled: boolean, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<void> {
+        await this.updateNotificationsRaw({ id: id, enabled: enabled }, initOverrides);
+    }
+
+    /**
+     * Update transformers for Test
+     */
+    async updateTransformersRaw(requestParameters: TestApiUpdateTransformersRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<void>> {
+        if (requestParameters['id'] == null) {
+            throw new runtime.RequiredError(
+                'id',
+                'Required parameter "id" was null or undefined when calling updateTransformers().'
+            );
+        }
+
+        if (requestParameters['requestBody'] == null) {
+            throw new runtime.RequiredError(
+                'requestBody',
+                'Required parameter "requestBody" was null or undefined when calling updateTransformers().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        headerParameters['Content-Type'] = 'application/json';
+
+        const response = await this.request({
+            path: `/api/test/{id}/transformers`.replace(`{${"id"}}`, encodeURIComponent(String(requestParameters['id']))),
+            method: 'POST',
+            headers: headerParameters,
+            query: queryParameters,
+            body: requestParameters['requestBody'],
+        }, initOverrides);
+
+        return new runtime.VoidApiResponse(response);
+    }
+
+    /**
+     * Update transformers for Test
+     */
+    async updateTransformers(id: number, requestBody: Array<number>, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<void> {
+        await this.updateTransformersRaw({ id: id, requestBody: requestBody }, initOverrides);
+    }
+
+}
@@ -0,0 +1,702 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.17
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+
+import * as runtime from '../runtime';
+import type {
+  ApiKeyResponse,
+  CreateUserRequest,
+  NewApiKeyRequest,
+  UserData,
+} from '../models/index';
+import {
+    ApiKeyResponseFromJSON,
+    ApiKeyResponseToJSON,
+    CreateUserRequestFromJSON,
+    CreateUserRequestToJSON,
+    NewApiKeyRequestFromJSON,
+    NewApiKeyRequestToJSON,
+    UserDataFromJSON,
+    UserDataToJSON,
+} from '../models/index';
+
+export interface UserApiAddTeamRequest {
+    team: string;
+}
+
+export interface UserApiCreateUserOperationRequest {
+    createUserRequest: CreateUserRequest;
+}
+
+export interface UserApiDeleteTeamRequest {
+    team: string;
+}
+
+export interface UserApiInfoRequest {
+    requestBody: Array<string>;
+}
+
+export interface UserApiNewApiKeyOperationRequest {
+    newApiKeyRequest: NewApiKeyRequest;
+}
+
+export interface UserApiRemoveUserRequest {
+    username: string;
+}
+
+export interface UserApiRenameApiKeyRequest {
+    id: number;
+    body?: string;
+}
+
+export interface UserApiRevokeApiKeyRequest {
+    id: number;
+}
+
+export interface UserApiSearchUsersRequest {
+    query?: string;
+}
+
+export interface UserApiSetDefaultTeamRequest {
+    body: string;
+}
+
+export interface UserApiTeamMembersRequest {
+    team: string;
+}
+
+export interface UserApiUpdateAdministratorsRequest {
+    requestBody: Array<string>;
+}
+
+export interface UserApiUpdateTeamMembersRequest {
+    team: string;
+    requestBody: { [key: string]: Array<any>; };
+}
+
+/**
+ * 
+ */
+export class UserApi extends runtime.BaseAPI {
+
+    /**
+     * Create new team.
+     */
+    async addTeamRaw(requestParameters: UserApiAddTeamRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<void>> {
+        if (requestParameters['team'] == null) {
+            throw new runtime.RequiredError(
+                'team',
+                'Required parameter "team" was null or undefined when calling addTeam().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/user/team/{team}`.replace(`{${"team"}}`, encodeURIComponent(String(requestParameters['team']))),
+            method: 'POST',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.VoidApiResponse(response);
+    }
+
+    /**
+     * Create new team.
+     */
+    async addTeam(team: string, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<void> {
+        await this.addTeamRaw({ team: team }, initOverrides);
+    }
+
+    /**
+     * Get the list of administrator users.
+     */
+    async administratorsRaw(initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<Array<UserData>>> {
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/user/administrators`,
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse(response, (jsonValue) => jsonValue.map(UserDataFromJSON));
+    }
+
+    /**
+     * Get the list of administrator users.
+     */
+    async administrators(initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<Array<UserData>> {
+        const response = await this.administratorsRaw(initOverrides);
+        return await response.value();
+    }
+
+    /**
+     * List API keys.
+     */
+    async apiKeysRaw(initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<Array<ApiKeyResponse>>> {
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/user/apikey`,
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse(response, (jsonValue) => jsonValue.map(ApiKeyResponseFromJSON));
+    }
+
+    /**
+     * List API keys.
+     */
+    async apiKeys(initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<Array<ApiKeyResponse>> {
+        const response = await this.apiKeysRaw(initOverrides);
+        return await response.value();
+    }
+
+    /**
+     * Create new user.
+     */
+    async createUserRaw(requestParameters: UserApiCreateUserOperationRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<void>> {
+        if (requestParameters['createUserRequest'] == null) {
+            throw new runtime.RequiredError(
+                'createUserRequest',
+                'Required parameter "createUserRequest" was null or undefined when calling createUser().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        headerParameters['Content-Type'] = 'application/json';
+
+        const response = await this.request({
+            path: `/api/user/createUser`,
+            method: 'POST',
+            headers: headerParameters,
+            query: queryParameters,
+            body: CreateUserRequestToJSON(requestParameters['createUserRequest']),
+        }, initOverrides);
+
+        return new runtime.VoidApiResponse(response);
+    }
+
+    /**
+     * Create new user.
+     */
+    async createUser(createUserRequest: CreateUserRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<void> {
+        await this.createUserRaw({ createUserRequest: createUserRequest }, initOverrides);
+    }
+
+    /**
+     * Get the default team of the current user.
+     */
+    async defaultTeamRaw(initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<string>> {
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/user/defaultTeam`,
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        if (this.isJsonMime(response.headers.get('content-type'))) {
+            return new runtime.JSONApiResponse<string>(response);
+        } else {
+            return new runtime.TextApiResponse(response) as any;
+        }
+    }
+
+    /**
+     * Get the default team of the current user.
+     */
+    async defaultTeam(initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<string> {
+        const response = await this.defaultTeamRaw(initOverrides);
+        return await response.value();
+    }
+
+    /**
+     * Remove existing team.
+     */
+    async deleteTeamRaw(requestParameters: UserApiDeleteTeamRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<void>> {
+        if (requestParameters['team'] == null) {
+            throw new runtime.RequiredError(
+                'team',
+                'Required parameter "team" was null or undefined when calling deleteTeam().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/user/team/{team}`.replace(`{${"team"}}`, encodeURIComponent(String(requestParameters['team']))),
+            method: 'DELETE',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.VoidApiResponse(response);
+    }
+
+    /**
+     * Remove existing team.
+     */
+    async deleteTeam(team: string, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<void> {
+        await this.deleteTeamRaw({ team: team }, initOverrides);
+    }
+
+    /**
+     * Get list of all teams.
+     */
+    async getAllTeamsRaw(initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<Array<string>>> {
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/user/allTeams`,
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse<any>(response);
+    }
+
+    /**
+     * Get list of all teams.
+     */
+    async getAllTeams(initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<Array<string>> {
+        const response = await this.getAllTeamsRaw(initOverrides);
+        return await response.value();
+    }
+
+    /**
+     * Get roles for the authenticated user.
+     */
+    async getRolesRaw(initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<Array<string>>> {
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/user/roles`,
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse<any>(response);
+    }
+
+    /**
+     * Get roles for the authenticated user.
+     */
+    async getRoles(initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<Array<string>> {
+        const response = await this.getRolesRaw(initOverrides);
+        return await response.value();
+    }
+
+    /**
+     * Get list of all teams.
+     */
+    async getTeamsRaw(initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<Array<string>>> {
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/user/teams`,
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse<any>(response);
+    }
+
+    /**
+     * Get list of all teams.
+     */
+    async getTeams(initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<Array<string>> {
+        const response = await this.getTeamsRaw(initOverrides);
+        return await response.value();
+    }
+
+    /**
+     * Fetch user data for a group of users.
+     */
+    async infoRaw(requestParameters: UserApiInfoRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<Array<UserData>>> {
+        if (requestParameters['requestBody'] == null) {
+            throw new runtime.RequiredError(
+                'requestBody',
+                'Required parameter "requestBody" was null or undefined when calling info().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        headerParameters['Content-Type'] = 'application/json';
+
+        const response = await this.request({
+            path: `/api/user/info`,
+            method: 'POST',
+            headers: headerParameters,
+            query: queryParameters,
+            body: requestParameters['requestBody'],
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse(response, (jsonValue) => jsonValue.map(UserDataFromJSON));
+    }
+
+    /**
+     * Fetch user data for a group of users.
+     */
+    async info(requestBody: Array<string>, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<Array<UserData>> {
+        const response = await this.infoRaw({ requestBody: requestBody }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     * Create a new API key.
+     */
+    async newApiKeyRaw(requestParameters: UserApiNewApiKeyOperationRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<string>> {
+        if (requestParameters['newApiKeyRequest'] == null) {
+            throw new runtime.RequiredError(
+                'newApiKeyRequest',
+                'Required parameter "newApiKeyRequest" was null or undefined when calling newApiKey().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        headerParameters['Content-Type'] = 'application/json';
+
+        const response = await this.request({
+            path: `/api/user/apikey`,
+            method: 'POST',
+            headers: headerParameters,
+            query: queryParameters,
+            body: NewApiKeyRequestToJSON(requestParameters['newApiKeyRequest']),
+        }, initOverrides);
+
+        if (this.isJsonMime(response.headers.get('content-type'))) {
+            return new runtime.JSONApiResponse<string>(response);
+        } else {
+            return new runtime.TextApiResponse(response) as any;
+        }
+    }
+
+    /**
+     * Create a new API key.
+     */
+    async newApiKey(newApiKeyRequest: NewApiKeyRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<string> {
+        const response = await this.newApiKeyRaw({ newApiKeyRequest: newApiKeyRequest }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     * Remove existing user.
+     */
+    async removeUserRaw(requestParameters: UserApiRemoveUserRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<void>> {
+        if (requestParameters['username'] == null) {
+            throw new runtime.RequiredError(
+                'username',
+                'Required parameter "username" was null or undefined when calling removeUser().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/user/{username}`.replace(`{${"username"}}`, encodeURIComponent(String(requestParameters['username']))),
+            method: 'DELETE',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.VoidApiResponse(response);
+    }
+
+    /**
+     * Remove existing user.
+     */
+    async removeUser(username: string, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<void> {
+        await this.removeUserRaw({ username: username }, initOverrides);
+    }
+
+    /**
+     * Rename API key.
+     */
+    async renameApiKeyRaw(requestParameters: UserApiRenameApiKeyRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<void>> {
+        if (requestParameters['id'] == null) {
+            throw new runtime.RequiredError(
+                'id',
+                'Required parameter "id" was null or undefined when calling renameApiKey().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        headerParameters['Content-Type'] = 'text/plain';
+
+        const response = await this.request({
+            path: `/api/user/apikey/{id}/rename`.replace(`{${"id"}}`, encodeURIComponent(String(requestParameters['id']))),
+            method: 'PUT',
+            headers: headerParameters,
+            query: queryParameters,
+            body: requestParameters['body'] as any,
+        }, initOverrides);
+
+        return new runtime.VoidApiResponse(response);
+    }
+
+    /**
+     * Rename API key.
+     */
+    async renameApiKey(id: number, body?: string, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<void> {
+        await this.renameApiKeyRaw({ id: id, body: body }, initOverrides);
+    }
+
+    /**
+     * Revoke API key.
+     */
+    async revokeApiKeyRaw(requestParameters: UserApiRevokeApiKeyRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<void>> {
+        if (requestParameters['id'] == null) {
+            throw new runtime.RequiredError(
+                'id',
+                'Required parameter "id" was null or undefined when calling revokeApiKey().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/user/apikey/{id}/revoke`.replace(`{${"id"}}`, encodeURIComponent(String(requestParameters['id']))),
+            method: 'PUT',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.VoidApiResponse(response);
+    }
+
+    /**
+     * Revoke API key.
+     */
+    async revokeApiKey(id: number, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<void> {
+        await this.revokeApiKeyRaw({ id: id }, initOverrides);
+    }
+
+    /**
+     * Search for user(s) with an optional query condition.
+     */
+    async searchUsersRaw(requestParameters: UserApiSearchUsersRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<Array<UserData>>> {
+        const queryParameters: any = {};
+
+        if (requestParameters['query'] != null) {
+            queryParameters['query'] = requestParameters['query'];
+        }
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/user/search`,
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse(response, (jsonValue) => jsonValue.map(UserDataFromJSON));
+    }
+
+    /**
+     * Search for user(s) with an optional query condition.
+     */
+    async searchUsers(query?: string, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<Array<UserData>> {
+        const response = await this.searchUsersRaw({ query: query }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     * Set the default team of the current user.
+     */
+    async setDefaultTeamRaw(requestParameters: UserApiSetDefaultTeamRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<void>> {
+        if (requestParameters['body'] == null) {
+            throw new runtime.RequiredError(
+                'body',
+                'Required parameter "body" was null or undefined when calling setDefaultTeam().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        headerParameters['Content-Type'] = 'text/plain';
+
+        const response = await this.request({
+            path: `/api/user/defaultTeam`,
+            method: 'POST',
+            headers: headerParameters,
+            query: queryParameters,
+            body: requestParameters['body'] as any,
+        }, initOverrides);
+
+        return new runtime.VoidApiResponse(response);
+    }
+
+    /**
+     * Set the default team of the current user.
+     */
+    async setDefaultTeam(body: string, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<void> {
+        await this.setDefaultTeamRaw({ body: body }, initOverrides);
+    }
+
+    /**
+     * Get the membership of a given team.
+     */
+    async teamMembersRaw(requestParameters: UserApiTeamMembersRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<{ [key: string]: Array<any>; }>> {
+        if (requestParameters['team'] == null) {
+            throw new runtime.RequiredError(
+                'team',
+                'Required parameter "team" was null or undefined when calling teamMembers().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        const response = await this.request({
+            path: `/api/user/team/{team}/members`.replace(`{${"team"}}`, encodeURIComponent(String(requestParameters['team']))),
+            method: 'GET',
+            headers: headerParameters,
+            query: queryParameters,
+        }, initOverrides);
+
+        return new runtime.JSONApiResponse<any>(response);
+    }
+
+    /**
+     * Get the membership of a given team.
+     */
+    async teamMembers(team: string, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<{ [key: string]: Array<any>; }> {
+        const response = await this.teamMembersRaw({ team: team }, initOverrides);
+        return await response.value();
+    }
+
+    /**
+     * Set the list of administrator users.
+     */
+    async updateAdministratorsRaw(requestParameters: UserApiUpdateAdministratorsRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<void>> {
+        if (requestParameters['requestBody'] == null) {
+            throw new runtime.RequiredError(
+                'requestBody',
+                'Required parameter "requestBody" was null or undefined when calling updateAdministrators().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        headerParameters['Content-Type'] = 'application/json';
+
+        const response = await this.request({
+            path: `/api/user/administrators`,
+            method: 'POST',
+            headers: headerParameters,
+            query: queryParameters,
+            body: requestParameters['requestBody'],
+        }, initOverrides);
+
+        return new runtime.VoidApiResponse(response);
+    }
+
+    /**
+     * Set the list of administrator users.
+     */
+    async updateAdministrators(requestBody: Array<string>, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<void> {
+        await this.updateAdministratorsRaw({ requestBody: requestBody }, initOverrides);
+    }
+
+    /**
+     * Set the membership of a given team.
+     */
+    async updateTeamMembersRaw(requestParameters: UserApiUpdateTeamMembersRequest, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<runtime.ApiResponse<void>> {
+        if (requestParameters['team'] == null) {
+            throw new runtime.RequiredError(
+                'team',
+                'Required parameter "team" was null or undefined when calling updateTeamMembers().'
+            );
+        }
+
+        if (requestParameters['requestBody'] == null) {
+            throw new runtime.RequiredError(
+                'requestBody',
+                'Required parameter "requestBody" was null or undefined when calling updateTeamMembers().'
+            );
+        }
+
+        const queryParameters: any = {};
+
+        const headerParameters: runtime.HTTPHeaders = {};
+
+        headerParameters['Content-Type'] = 'application/json';
+
+        const response = await this.request({
+            path: `/api/user/team/{team}/members`.replace(`{${"team"}}`, encodeURIComponent(String(requestParameters['team']))),
+            method: 'POST',
+            headers: headerParameters,
+            query: queryParameters,
+            body: requestParameters['requestBody'],
+        }, initOverrides);
+
+        return new runtime.VoidApiResponse(response);
+    }
+
+    /**
+     * Set the membership of a given team.
+     */
+    async updateTeamMembers(team: string, requestBody: { [key: string]: Array<any>; }, initOverrides?: RequestInit | runtime.InitOverrideFunction): Promise<void> {
+        await this.updateTeamMembersRaw({ team: team, requestBody: requestBody }, initOverrides);
+    }
+
+}
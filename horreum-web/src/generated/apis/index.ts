@@ -0,0 +1,19 @@
+/* tslint:disable */
+/* eslint-disable */
+export * from './ActionApi';
+export * from './AlertingApi';
+export * from './BannerApi';
+export * from './ChangesApi';
+export * from './ConfigApi';
+export * from './DatasetApi';
+export * from './ExperimentApi';
+export * from './LogApi';
+export * from './NotificationsApi';
+export * from './ReportApi';
+export * from './RunApi';
+export * from './SchemaApi';
+export * from './SqlApi';
+export * from './SubscriptionsApi';
+export * from './TestApi';
+export * from './UiApi';
+export * from './UserApi';
@@ -0,0 +1,50 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.17
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+
+/**
+ * Resources have different visibility within the UI. 'PUBLIC', 'PROTECTED' and 'PRIVATE'. Restricted resources are not visible to users who do not have the correct permissions
+ * @export
+ */
+export const Access = {
+    Public: 'PUBLIC',
+    Protected: 'PROTECTED',
+    Private: 'PRIVATE'
+} as const;
+export type Access = typeof Access[keyof typeof Access];
+
+
+export function instanceOfAccess(value: any): boolean {
+    for (const key in Access) {
+        if (Object.prototype.hasOwnProperty.call(Access, key)) {
+            if (Access[key as keyof typeof Access] === value) {
+                return true;
+            }
+        }
+    }
+    return false;
+}
+
+export function AccessFromJSON(json: any): Access {
+    return AccessFromJSONTyped(json, false);
+}
+
+export function AccessFromJSONTyped(json: any, ignoreDiscriminator: boolean): Access {
+    return json as Access;
+}
+
+export function AccessToJSON(value?: Access | null): any {
+    return value as any;
+}
+
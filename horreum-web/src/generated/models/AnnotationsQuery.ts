@@ -0,0 +1,81 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.17
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+import type { AnnotationQuery } from './AnnotationQuery';
+import {
+    AnnotationQueryFromJSON,
+    AnnotationQueryFromJSONTyped,
+    AnnotationQueryToJSON,
+} from './AnnotationQuery';
+import type { Range } from './Range';
+import {
+    RangeFromJSON,
+    RangeFromJSONTyped,
+    RangeToJSON,
+} from './Range';
+
+/**
+ * 
+ * @export
+ * @interface AnnotationsQuery
+ */
+export interface AnnotationsQuery {
+    /**
+     * 
+     * @type {Range}
+     * @memberof AnnotationsQuery
+     */
+    range?: Range;
+    /**
+     * 
+     * @type {AnnotationQuery}
+     * @memberof AnnotationsQuery
+     */
+    annotation?: AnnotationQuery;
+}
+
+/**
+ * Check if a given object implements the AnnotationsQuery interface.
+ */
+export function instanceOfAnnotationsQuery(value: object): value is AnnotationsQuery {
+    return true;
+}
+
+export function AnnotationsQueryFromJSON(json: any): AnnotationsQuery {
+    return AnnotationsQueryFromJSONTyped(json, false);
+}
+
+export function AnnotationsQueryFromJSONTyped(json: any, ignoreDiscriminator: boolean): AnnotationsQuery {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'range': json['range'] == null ? undefined : RangeFromJSON(json['range']),
+        'annotation': json['annotation'] == null ? undefined : AnnotationQueryFromJSON(json['annotation']),
+    };
+}
+
+export function AnnotationsQueryToJSON(value?: AnnotationsQuery | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'range': RangeToJSON(value['range']),
+        'annotation': AnnotationQueryToJSON(value['annotation']),
+    };
+}
+
@@ -0,0 +1,103 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.17
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+/**
+ * 
+ * @export
+ * @interface Banner
+ */
+export interface Banner {
+    /**
+     * 
+     * @type {number}
+     * @memberof Banner
+     */
+    id?: number;
+    /**
+     * 
+     * @type {Date}
+     * @memberof Banner
+     */
+    created?: Date;
+    /**
+     * 
+     * @type {boolean}
+     * @memberof Banner
+     */
+    active: boolean;
+    /**
+     * 
+     * @type {string}
+     * @memberof Banner
+     */
+    severity: string;
+    /**
+     * 
+     * @type {string}
+     * @memberof Banner
+     */
+    title: string;
+    /**
+     * 
+     * @type {string}
+     * @memberof Banner
+     */
+    message?: string;
+}
+
+/**
+ * Check if a given object implements the Banner interface.
+ */
+export function instanceOfBanner(value: object): value is Banner {
+    if (!('active' in value) || value['active'] === undefined) return false;
+    if (!('severity' in value) || value['severity'] === undefined) return false;
+    if (!('title' in value) || value['title'] === undefined) return false;
+    return true;
+}
+
+export function BannerFromJSON(json: any): Banner {
+    return BannerFromJSONTyped(json, false);
+}
+
+export function BannerFromJSONTyped(json: any, ignoreDiscriminator: boolean): Banner {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'id': json['id'] == null ? undefined : json['id'],
+        'created': json['created'] == null ? undefined : (new Date(json['created'])),
+        'active': json['active'],
+        'severity': json['severity'],
+        'title': json['title'],
+        'message': json['message'] == null ? undefined : json['message'],
+    };
+}
+
+export function BannerToJSON(value?: Banner | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'id': value['id'],
+        'created': value['created'] == null ? undefined : ((value['created']).toISOString()),
+        'active': value['active'],
+        'severity': value['severity'],
+        'title': value['title'],
+        'message': value['message'],
+    };
+}
+
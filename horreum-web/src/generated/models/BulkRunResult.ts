@@ -0,0 +1,85 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.17
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+/**
+ * Result of a Run in a bulk upload, either the IDs or the error are set
+ * @export
+ * @interface BulkRunResult
+ */
+export interface BulkRunResult {
+    /**
+     * Position of the Run in the upload, starting at 0
+     * @type {number}
+     * @memberof BulkRunResult
+     */
+    index: number;
+    /**
+     * Run ID
+     * @type {number}
+     * @memberof BulkRunResult
+     */
+    runId?: number;
+    /**
+     * ID of the ingestion job transforming the Run
+     * @type {number}
+     * @memberof BulkRunResult
+     */
+    jobId?: number;
+    /**
+     * Reason why the Run was not persisted
+     * @type {string}
+     * @memberof BulkRunResult
+     */
+    error?: string;
+}
+
+/**
+ * Check if a given object implements the BulkRunResult interface.
+ */
+export function instanceOfBulkRunResult(value: object): value is BulkRunResult {
+    if (!('index' in value) || value['index'] === undefined) return false;
+    return true;
+}
+
+export function BulkRunResultFromJSON(json: any): BulkRunResult {
+    return BulkRunResultFromJSONTyped(json, false);
+}
+
+export function BulkRunResultFromJSONTyped(json: any, ignoreDiscriminator: boolean): BulkRunResult {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'index': json['index'],
+        'runId': json['runId'] == null ? undefined : json['runId'],
+        'jobId': json['jobId'] == null ? undefined : json['jobId'],
+        'error': json['error'] == null ? undefined : json['error'],
+    };
+}
+
+export function BulkRunResultToJSON(value?: BulkRunResult | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'index': value['index'],
+        'runId': value['runId'],
+        'jobId': value['jobId'],
+        'error': value['error'],
+    };
+}
+
@@ -0,0 +1,117 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.17
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+import type { Variable } from './Variable';
+import {
+    VariableFromJSON,
+    VariableFromJSONTyped,
+    VariableToJSON,
+} from './Variable';
+import type { DatasetInfo } from './DatasetInfo';
+import {
+    DatasetInfoFromJSON,
+    DatasetInfoFromJSONTyped,
+    DatasetInfoToJSON,
+} from './DatasetInfo';
+
+/**
+ * 
+ * @export
+ * @interface Change
+ */
+export interface Change {
+    /**
+     * 
+     * @type {number}
+     * @memberof Change
+     */
+    id: number;
+    /**
+     * 
+     * @type {Variable}
+     * @memberof Change
+     */
+    variable: Variable;
+    /**
+     * 
+     * @type {Date}
+     * @memberof Change
+     */
+    timestamp: Date;
+    /**
+     * 
+     * @type {boolean}
+     * @memberof Change
+     */
+    confirmed: boolean;
+    /**
+     * 
+     * @type {string}
+     * @memberof Change
+     */
+    description?: string;
+    /**
+     * 
+     * @type {DatasetInfo}
+     * @memberof Change
+     */
+    dataset?: DatasetInfo;
+}
+
+/**
+ * Check if a given object implements the Change interface.
+ */
+export function instanceOfChange(value: object): value is Change {
+    if (!('id' in value) || value['id'] === undefined) return false;
+    if (!('variable' in value) || value['variable'] === undefined) return false;
+    if (!('timestamp' in value) || value['timestamp'] === undefined) return false;
+    if (!('confirmed' in value) || value['confirmed'] === undefined) return false;
+    return true;
+}
+
+export function ChangeFromJSON(json: any): Change {
+    return ChangeFromJSONTyped(json, false);
+}
+
+export function ChangeFromJSONTyped(json: any, ignoreDiscriminator: boolean): Change {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'id': json['id'],
+        'variable': VariableFromJSON(json['variable']),
+        'timestamp': (new Date(json['timestamp'])),
+        'confirmed': json['confirmed'],
+        'description': json['description'] == null ? undefined : json['description'],
+        'dataset': json['dataset'] == null ? undefined : DatasetInfoFromJSON(json['dataset']),
+    };
+}
+
+export function ChangeToJSON(value?: Change | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'id': value['id'],
+        'variable': VariableToJSON(value['variable']),
+        'timestamp': ((value['timestamp']).toISOString()),
+        'confirmed': value['confirmed'],
+        'description': value['description'],
+        'dataset': DatasetInfoToJSON(value['dataset']),
+    };
+}
+
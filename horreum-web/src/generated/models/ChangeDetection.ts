@@ -0,0 +1,86 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.17
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+import type { ChangeDetectionConfig } from './ChangeDetectionConfig';
+import {
+    ChangeDetectionConfigFromJSON,
+    ChangeDetectionConfigFromJSONTyped,
+    ChangeDetectionConfigToJSON,
+} from './ChangeDetectionConfig';
+
+/**
+ * 
+ * @export
+ * @interface ChangeDetection
+ */
+export interface ChangeDetection {
+    /**
+     * 
+     * @type {number}
+     * @memberof ChangeDetection
+     */
+    id: number;
+    /**
+     * 
+     * @type {string}
+     * @memberof ChangeDetection
+     */
+    model: string;
+    /**
+     * 
+     * @type {ChangeDetectionConfig}
+     * @memberof ChangeDetection
+     */
+    config: ChangeDetectionConfig;
+}
+
+/**
+ * Check if a given object implements the ChangeDetection interface.
+ */
+export function instanceOfChangeDetection(value: object): value is ChangeDetection {
+    if (!('id' in value) || value['id'] === undefined) return false;
+    if (!('model' in value) || value['model'] === undefined) return false;
+    if (!('config' in value) || value['config'] === undefined) return false;
+    return true;
+}
+
+export function ChangeDetectionFromJSON(json: any): ChangeDetection {
+    return ChangeDetectionFromJSONTyped(json, false);
+}
+
+export function ChangeDetectionFromJSONTyped(json: any, ignoreDiscriminator: boolean): ChangeDetection {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'id': json['id'],
+        'model': json['model'],
+        'config': ChangeDetectionConfigFromJSON(json['config']),
+    };
+}
+
+export function ChangeDetectionToJSON(value?: ChangeDetection | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'id': value['id'],
+        'model': value['model'],
+        'config': ChangeDetectionConfigToJSON(value['config']),
+    };
+}
+
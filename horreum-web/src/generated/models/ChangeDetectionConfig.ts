@@ -0,0 +1,80 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.17
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import type { EDivisiveDetectionConfig } from './EDivisiveDetectionConfig';
+import {
+    instanceOfEDivisiveDetectionConfig,
+    EDivisiveDetectionConfigFromJSON,
+    EDivisiveDetectionConfigFromJSONTyped,
+    EDivisiveDetectionConfigToJSON,
+} from './EDivisiveDetectionConfig';
+import type { FixedThresholdDetectionConfig } from './FixedThresholdDetectionConfig';
+import {
+    instanceOfFixedThresholdDetectionConfig,
+    FixedThresholdDetectionConfigFromJSON,
+    FixedThresholdDetectionConfigFromJSONTyped,
+    FixedThresholdDetectionConfigToJSON,
+} from './FixedThresholdDetectionConfig';
+import type { RelativeDifferenceDetectionConfig } from './RelativeDifferenceDetectionConfig';
+import {
+    instanceOfRelativeDifferenceDetectionConfig,
+    RelativeDifferenceDetectionConfigFromJSON,
+    RelativeDifferenceDetectionConfigFromJSONTyped,
+    RelativeDifferenceDetectionConfigToJSON,
+} from './RelativeDifferenceDetectionConfig';
+
+/**
+ * @type ChangeDetectionConfig
+ * 
+ * @export
+ */
+export type ChangeDetectionConfig = { model: 'eDivisive' } & EDivisiveDetectionConfig | { model: 'fixedThreshold' } & FixedThresholdDetectionConfig | { model: 'relativeDifference' } & RelativeDifferenceDetectionConfig;
+
+export function ChangeDetectionConfigFromJSON(json: any): ChangeDetectionConfig {
+    return ChangeDetectionConfigFromJSONTyped(json, false);
+}
+
+export function ChangeDetectionConfigFromJSONTyped(json: any, ignoreDiscriminator: boolean): ChangeDetectionConfig {
+    if (json == null) {
+        return json;
+    }
+    switch (json['model']) {
+        case 'eDivisive':
+            return Object.assign({}, EDivisiveDetectionConfigFromJSONTyped(json, true), { model: 'eDivisive' } as const);
+        case 'fixedThreshold':
+            return Object.assign({}, FixedThresholdDetectionConfigFromJSONTyped(json, true), { model: 'fixedThreshold' } as const);
+        case 'relativeDifference':
+            return Object.assign({}, RelativeDifferenceDetectionConfigFromJSONTyped(json, true), { model: 'relativeDifference' } as const);
+        default:
+            throw new Error(`No variant of ChangeDetectionConfig exists with 'model=${json['model']}'`);
+    }
+}
+
+export function ChangeDetectionConfigToJSON(value?: ChangeDetectionConfig | null): any {
+    if (value == null) {
+        return value;
+    }
+    switch (value['model']) {
+        case 'eDivisive':
+            return EDivisiveDetectionConfigToJSON(value);
+        case 'fixedThreshold':
+            return FixedThresholdDetectionConfigToJSON(value);
+        case 'relativeDifference':
+            return RelativeDifferenceDetectionConfigToJSON(value);
+        default:
+            throw new Error(`No variant of ChangeDetectionConfig exists with 'model=${value['model']}'`);
+    }
+
+}
+
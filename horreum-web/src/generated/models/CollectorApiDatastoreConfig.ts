@@ -0,0 +1,79 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.17
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+/**
+ * Type of backend datastore
+ * @export
+ * @interface CollectorApiDatastoreConfig
+ */
+export interface CollectorApiDatastoreConfig {
+    /**
+     * Built In
+     * @type {boolean}
+     * @memberof CollectorApiDatastoreConfig
+     */
+    builtIn: boolean;
+    /**
+     * Collector API KEY
+     * @type {string}
+     * @memberof CollectorApiDatastoreConfig
+     */
+    apiKey: string;
+    /**
+     * Collector url, e.g. https://collector.foci.life/api/v1/image-stats
+     * @type {string}
+     * @memberof CollectorApiDatastoreConfig
+     */
+    url: string;
+}
+
+/**
+ * Check if a given object implements the CollectorApiDatastoreConfig interface.
+ */
+export function instanceOfCollectorApiDatastoreConfig(value: object): value is CollectorApiDatastoreConfig {
+    if (!('builtIn' in value) || value['builtIn'] === undefined) return false;
+    if (!('apiKey' in value) || value['apiKey'] === undefined) return false;
+    if (!('url' in value) || value['url'] === undefined) return false;
+    return true;
+}
+
+export function CollectorApiDatastoreConfigFromJSON(json: any): CollectorApiDatastoreConfig {
+    return CollectorApiDatastoreConfigFromJSONTyped(json, false);
+}
+
+export function CollectorApiDatastoreConfigFromJSONTyped(json: any, ignoreDiscriminator: boolean): CollectorApiDatastoreConfig {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'builtIn': json['builtIn'],
+        'apiKey': json['apiKey'],
+        'url': json['url'],
+    };
+}
+
+export function CollectorApiDatastoreConfigToJSON(value?: CollectorApiDatastoreConfig | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'builtIn': value['builtIn'],
+        'apiKey': value['apiKey'],
+        'url': value['url'],
+    };
+}
+
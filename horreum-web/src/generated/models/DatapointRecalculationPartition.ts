@@ -0,0 +1,88 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.17
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+/**
+ * 
+ * @export
+ * @interface DatapointRecalculationPartition
+ */
+export interface DatapointRecalculationPartition {
+    /**
+     * 
+     * @type {string}
+     * @memberof DatapointRecalculationPartition
+     */
+    fingerprint: string;
+    /**
+     * 
+     * @type {number}
+     * @memberof DatapointRecalculationPartition
+     */
+    totalDatasets: number;
+    /**
+     * 
+     * @type {number}
+     * @memberof DatapointRecalculationPartition
+     */
+    completedDatasets: number;
+    /**
+     * 
+     * @type {boolean}
+     * @memberof DatapointRecalculationPartition
+     */
+    done: boolean;
+}
+
+/**
+ * Check if a given object implements the DatapointRecalculationPartition interface.
+ */
+export function instanceOfDatapointRecalculationPartition(value: object): value is DatapointRecalculationPartition {
+    if (!('fingerprint' in value) || value['fingerprint'] === undefined) return false;
+    if (!('totalDatasets' in value) || value['totalDatasets'] === undefined) return false;
+    if (!('completedDatasets' in value) || value['completedDatasets'] === undefined) return false;
+    if (!('done' in value) || value['done'] === undefined) return false;
+    return true;
+}
+
+export function DatapointRecalculationPartitionFromJSON(json: any): DatapointRecalculationPartition {
+    return DatapointRecalculationPartitionFromJSONTyped(json, false);
+}
+
+export function DatapointRecalculationPartitionFromJSONTyped(json: any, ignoreDiscriminator: boolean): DatapointRecalculationPartition {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'fingerprint': json['fingerprint'],
+        'totalDatasets': json['totalDatasets'],
+        'completedDatasets': json['completedDatasets'],
+        'done': json['done'],
+    };
+}
+
+export function DatapointRecalculationPartitionToJSON(value?: DatapointRecalculationPartition | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'fingerprint': value['fingerprint'],
+        'totalDatasets': value['totalDatasets'],
+        'completedDatasets': value['completedDatasets'],
+        'done': value['done'],
+    };
+}
+
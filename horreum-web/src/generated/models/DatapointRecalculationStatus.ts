@@ -0,0 +1,117 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.17
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+import type { DatasetInfo } from './DatasetInfo';
+import {
+    DatasetInfoFromJSON,
+    DatasetInfoFromJSONTyped,
+    DatasetInfoToJSON,
+} from './DatasetInfo';
+import type { DatapointRecalculationPartition } from './DatapointRecalculationPartition';
+import {
+    DatapointRecalculationPartitionFromJSON,
+    DatapointRecalculationPartitionFromJSONTyped,
+    DatapointRecalculationPartitionToJSON,
+} from './DatapointRecalculationPartition';
+
+/**
+ * 
+ * @export
+ * @interface DatapointRecalculationStatus
+ */
+export interface DatapointRecalculationStatus {
+    /**
+     * 
+     * @type {number}
+     * @memberof DatapointRecalculationStatus
+     */
+    percentage: number;
+    /**
+     * 
+     * @type {boolean}
+     * @memberof DatapointRecalculationStatus
+     */
+    done: boolean;
+    /**
+     * 
+     * @type {number}
+     * @memberof DatapointRecalculationStatus
+     */
+    totalDatasets?: number;
+    /**
+     * 
+     * @type {number}
+     * @memberof DatapointRecalculationStatus
+     */
+    errors?: number;
+    /**
+     * 
+     * @type {Array<DatasetInfo>}
+     * @memberof DatapointRecalculationStatus
+     */
+    datasetsWithoutValue: Array<DatasetInfo>;
+    /**
+     * 
+     * @type {Array<DatapointRecalculationPartition>}
+     * @memberof DatapointRecalculationStatus
+     */
+    partitions: Array<DatapointRecalculationPartition>;
+}
+
+/**
+ * Check if a given object implements the DatapointRecalculationStatus interface.
+ */
+export function instanceOfDatapointRecalculationStatus(value: object): value is DatapointRecalculationStatus {
+    if (!('percentage' in value) || value['percentage'] === undefined) return false;
+    if (!('done' in value) || value['done'] === undefined) return false;
+    if (!('datasetsWithoutValue' in value) || value['datasetsWithoutValue'] === undefined) return false;
+    if (!('partitions' in value) || value['partitions'] === undefined) return false;
+    return true;
+}
+
+export function DatapointRecalculationStatusFromJSON(json: any): DatapointRecalculationStatus {
+    return DatapointRecalculationStatusFromJSONTyped(json, false);
+}
+
+export function DatapointRecalculationStatusFromJSONTyped(json: any, ignoreDiscriminator: boolean): DatapointRecalculationStatus {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'percentage': json['percentage'],
+        'done': json['done'],
+        'totalDatasets': json['totalDatasets'] == null ? undefined : json['totalDatasets'],
+        'errors': json['errors'] == null ? undefined : json['errors'],
+        'datasetsWithoutValue': ((json['datasetsWithoutValue'] as Array<any>).map(DatasetInfoFromJSON)),
+        'partitions': ((json['partitions'] as Array<any>).map(DatapointRecalculationPartitionFromJSON)),
+    };
+}
+
+export function DatapointRecalculationStatusToJSON(value?: DatapointRecalculationStatus | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'percentage': value['percentage'],
+        'done': value['done'],
+        'totalDatasets': value['totalDatasets'],
+        'errors': value['errors'],
+        'datasetsWithoutValue': ((value['datasetsWithoutValue'] as Array<any>).map(DatasetInfoToJSON)),
+        'partitions': ((value['partitions'] as Array<any>).map(DatapointRecalculationPartitionToJSON)),
+    };
+}
+
@@ -0,0 +1,88 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.17
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+/**
+ * 
+ * @export
+ * @interface DatasetInfo
+ */
+export interface DatasetInfo {
+    /**
+     * Dataset ID for Dataset
+     * @type {number}
+     * @memberof DatasetInfo
+     */
+    id: number;
+    /**
+     * Run ID that Dataset relates to
+     * @type {number}
+     * @memberof DatasetInfo
+     */
+    runId: number;
+    /**
+     * Ordinal position in ordered list
+     * @type {number}
+     * @memberof DatasetInfo
+     */
+    ordinal: number;
+    /**
+     * Test ID that Dataset relates to
+     * @type {number}
+     * @memberof DatasetInfo
+     */
+    testId: number;
+}
+
+/**
+ * Check if a given object implements the DatasetInfo interface.
+ */
+export function instanceOfDatasetInfo(value: object): value is DatasetInfo {
+    if (!('id' in value) || value['id'] === undefined) return false;
+    if (!('runId' in value) || value['runId'] === undefined) return false;
+    if (!('ordinal' in value) || value['ordinal'] === undefined) return false;
+    if (!('testId' in value) || value['testId'] === undefined) return false;
+    return true;
+}
+
+export function DatasetInfoFromJSON(json: any): DatasetInfo {
+    return DatasetInfoFromJSONTyped(json, false);
+}
+
+export function DatasetInfoFromJSONTyped(json: any, ignoreDiscriminator: boolean): DatasetInfo {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'id': json['id'],
+        'runId': json['runId'],
+        'ordinal': json['ordinal'],
+        'testId': json['testId'],
+    };
+}
+
+export function DatasetInfoToJSON(value?: DatasetInfo | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'id': value['id'],
+        'runId': value['runId'],
+        'ordinal': value['ordinal'],
+        'testId': value['testId'],
+    };
+}
+
@@ -0,0 +1,69 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.17
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import type { ElasticsearchDatastoreConfig } from './ElasticsearchDatastoreConfig';
+import {
+    instanceOfElasticsearchDatastoreConfig,
+    ElasticsearchDatastoreConfigFromJSON,
+    ElasticsearchDatastoreConfigFromJSONTyped,
+    ElasticsearchDatastoreConfigToJSON,
+} from './ElasticsearchDatastoreConfig';
+import type { PostgresDatastoreConfig } from './PostgresDatastoreConfig';
+import {
+    instanceOfPostgresDatastoreConfig,
+    PostgresDatastoreConfigFromJSON,
+    PostgresDatastoreConfigFromJSONTyped,
+    PostgresDatastoreConfigToJSON,
+} from './PostgresDatastoreConfig';
+
+/**
+ * @type DatastoreConfig
+ * 
+ * @export
+ */
+export type DatastoreConfig = ElasticsearchDatastoreConfig | PostgresDatastoreConfig;
+
+export function DatastoreConfigFromJSON(json: any): DatastoreConfig {
+    return DatastoreConfigFromJSONTyped(json, false);
+}
+
+export function DatastoreConfigFromJSONTyped(json: any, ignoreDiscriminator: boolean): DatastoreConfig {
+    if (json == null) {
+        return json;
+    }
+    if (instanceOfElasticsearchDatastoreConfig(json)) {
+        return ElasticsearchDatastoreConfigFromJSONTyped(json, true);
+    }
+    if (instanceOfPostgresDatastoreConfig(json)) {
+        return PostgresDatastoreConfigFromJSONTyped(json, true);
+    }
+
+    return {} as any;
+}
+
+export function DatastoreConfigToJSON(value?: DatastoreConfig | null): any {
+    if (value == null) {
+        return value;
+    }
+
+    if (instanceOfElasticsearchDatastoreConfig(value)) {
+        return ElasticsearchDatastoreConfigToJSON(value as ElasticsearchDatastoreConfig);
+    }
+    if (instanceOfPostgresDatastoreConfig(value)) {
+        return PostgresDatastoreConfigToJSON(value as PostgresDatastoreConfig);
+    }
+
+    return {};
+}
+
@@ -0,0 +1,50 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.17
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+
+/**
+ * Type of backend datastore
+ * @export
+ */
+export const DatastoreType = {
+    Postgres: 'POSTGRES',
+    Elasticsearch: 'ELASTICSEARCH',
+    Collectorapi: 'COLLECTORAPI'
+} as const;
+export type DatastoreType = typeof DatastoreType[keyof typeof DatastoreType];
+
+
+export function instanceOfDatastoreType(value: any): boolean {
+    for (const key in DatastoreType) {
+        if (Object.prototype.hasOwnProperty.call(DatastoreType, key)) {
+            if (DatastoreType[key as keyof typeof DatastoreType] === value) {
+                return true;
+            }
+        }
+    }
+    return false;
+}
+
+export function DatastoreTypeFromJSON(json: any): DatastoreType {
+    return DatastoreTypeFromJSONTyped(json, false);
+}
+
+export function DatastoreTypeFromJSONTyped(json: any, ignoreDiscriminator: boolean): DatastoreType {
+    return json as DatastoreType;
+}
+
+export function DatastoreTypeToJSON(value?: DatastoreType | null): any {
+    return value as any;
+}
+
@@ -0,0 +1,80 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.17
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+/**
+ * 
+ * @export
+ * @interface EDivisiveDetectionConfig
+ */
+export interface EDivisiveDetectionConfig {
+    /**
+     * Built In
+     * @type {boolean}
+     * @memberof EDivisiveDetectionConfig
+     */
+    builtIn: boolean;
+    /**
+     * 
+     * @type {string}
+     * @memberof EDivisiveDetectionConfig
+     */
+    model: EDivisiveDetectionConfigModelEnum;
+}
+
+
+/**
+ * @export
+ */
+export const EDivisiveDetectionConfigModelEnum = {
+    EDivisive: 'eDivisive'
+} as const;
+export type EDivisiveDetectionConfigModelEnum = typeof EDivisiveDetectionConfigModelEnum[keyof typeof EDivisiveDetectionConfigModelEnum];
+
+
+/**
+ * Check if a given object implements the EDivisiveDetectionConfig interface.
+ */
+export function instanceOfEDivisiveDetectionConfig(value: object): value is EDivisiveDetectionConfig {
+    if (!('builtIn' in value) || value['builtIn'] === undefined) return false;
+    if (!('model' in value) || value['model'] === undefined) return false;
+    return true;
+}
+
+export function EDivisiveDetectionConfigFromJSON(json: any): EDivisiveDetectionConfig {
+    return EDivisiveDetectionConfigFromJSONTyped(json, false);
+}
+
+export function EDivisiveDetectionConfigFromJSONTyped(json: any, ignoreDiscriminator: boolean): EDivisiveDetectionConfig {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'builtIn': json['builtIn'],
+        'model': json['model'],
+    };
+}
+
+export function EDivisiveDetectionConfigToJSON(value?: EDivisiveDetectionConfig | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'builtIn': value['builtIn'],
+        'model': value['model'],
+    };
+}
+
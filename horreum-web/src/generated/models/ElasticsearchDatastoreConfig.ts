@@ -0,0 +1,94 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.17
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+/**
+ * Type of backend datastore
+ * @export
+ * @interface ElasticsearchDatastoreConfig
+ */
+export interface ElasticsearchDatastoreConfig {
+    /**
+     * Built In
+     * @type {boolean}
+     * @memberof ElasticsearchDatastoreConfig
+     */
+    builtIn: boolean;
+    /**
+     * Elasticsearch API KEY
+     * @type {string}
+     * @memberof ElasticsearchDatastoreConfig
+     */
+    apiKey?: string;
+    /**
+     * Elasticsearch url
+     * @type {string}
+     * @memberof ElasticsearchDatastoreConfig
+     */
+    url: string;
+    /**
+     * Elasticsearch username
+     * @type {string}
+     * @memberof ElasticsearchDatastoreConfig
+     */
+    username?: string;
+    /**
+     * Elasticsearch password
+     * @type {string}
+     * @memberof ElasticsearchDatastoreConfig
+     */
+    password?: string;
+}
+
+/**
+ * Check if a given object implements the ElasticsearchDatastoreConfig interface.
+ */
+export function instanceOfElasticsearchDatastoreConfig(value: object): value is ElasticsearchDatastoreConfig {
+    if (!('builtIn' in value) || value['builtIn'] === undefined) return false;
+    if (!('url' in value) || value['url'] === undefined) return false;
+    return true;
+}
+
+export function ElasticsearchDatastoreConfigFromJSON(json: any): ElasticsearchDatastoreConfig {
+    return ElasticsearchDatastoreConfigFromJSONTyped(json, false);
+}
+
+export function ElasticsearchDatastoreConfigFromJSONTyped(json: any, ignoreDiscriminator: boolean): ElasticsearchDatastoreConfig {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'builtIn': json['builtIn'],
+        'apiKey': json['apiKey'] == null ? undefined : json['apiKey'],
+        'url': json['url'],
+        'username': json['username'] == null ? undefined : json['username'],
+        'password': json['password'] == null ? undefined : json['password'],
+    };
+}
+
+export function ElasticsearchDatastoreConfigToJSON(value?: ElasticsearchDatastoreConfig | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'builtIn': value['builtIn'],
+        'apiKey': value['apiKey'],
+        'url': value['url'],
+        'username': value['username'],
+        'password': value['password'],
+    };
+}
+
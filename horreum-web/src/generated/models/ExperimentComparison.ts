@@ -0,0 +1,87 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.17
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+/**
+ * 
+ * @export
+ * @interface ExperimentComparison
+ */
+export interface ExperimentComparison {
+    /**
+     * Name of comparison model
+     * @type {string}
+     * @memberof ExperimentComparison
+     */
+    model: string;
+    /**
+     * Model JSON configuration
+     * @type {string}
+     * @memberof ExperimentComparison
+     */
+    config: string;
+    /**
+     * Variable ID to run experiment against
+     * @type {number}
+     * @memberof ExperimentComparison
+     */
+    variableId: number;
+    /**
+     * Variable Name to run experiment against
+     * @type {string}
+     * @memberof ExperimentComparison
+     */
+    variableName?: string;
+}
+
+/**
+ * Check if a given object implements the ExperimentComparison interface.
+ */
+export function instanceOfExperimentComparison(value: object): value is ExperimentComparison {
+    if (!('model' in value) || value['model'] === undefined) return false;
+    if (!('config' in value) || value['config'] === undefined) return false;
+    if (!('variableId' in value) || value['variableId'] === undefined) return false;
+    return true;
+}
+
+export function ExperimentComparisonFromJSON(json: any): ExperimentComparison {
+    return ExperimentComparisonFromJSONTyped(json, false);
+}
+
+export function ExperimentComparisonFromJSONTyped(json: any, ignoreDiscriminator: boolean): ExperimentComparison {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'model': json['model'],
+        'config': json['config'],
+        'variableId': json['variableId'],
+        'variableName': json['variableName'] == null ? undefined : json['variableName'],
+    };
+}
+
+export function ExperimentComparisonToJSON(value?: ExperimentComparison | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'model': value['model'],
+        'config': value['config'],
+        'variableId': value['variableId'],
+        'variableName': value['variableName'],
+    };
+}
+
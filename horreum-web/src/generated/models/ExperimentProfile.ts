@@ -0,0 +1,136 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.17
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+import type { ExperimentComparison } from './ExperimentComparison';
+import {
+    ExperimentComparisonFromJSON,
+    ExperimentComparisonFromJSONTyped,
+    ExperimentComparisonToJSON,
+} from './ExperimentComparison';
+
+/**
+ * An Experiment Profile defines the labels and filters for the dataset and baseline
+ * @export
+ * @interface ExperimentProfile
+ */
+export interface ExperimentProfile {
+    /**
+     * Experiment Profile unique ID
+     * @type {number}
+     * @memberof ExperimentProfile
+     */
+    id: number;
+    /**
+     * Name of Experiment Profile
+     * @type {string}
+     * @memberof ExperimentProfile
+     */
+    name: string;
+    /**
+     * Test ID that Experiment Profile relates to
+     * @type {number}
+     * @memberof ExperimentProfile
+     */
+    testId?: number;
+    /**
+     * Array of selector labels
+     * @type {Array<string>}
+     * @memberof ExperimentProfile
+     */
+    selectorLabels: Array<string>;
+    /**
+     * Selector filter to apply to Selector label values
+     * @type {string}
+     * @memberof ExperimentProfile
+     */
+    selectorFilter?: string;
+    /**
+     * Array of selector labels for comparison Baseline
+     * @type {Array<string>}
+     * @memberof ExperimentProfile
+     */
+    baselineLabels: Array<string>;
+    /**
+     * Selector filter to apply to Baseline label values
+     * @type {string}
+     * @memberof ExperimentProfile
+     */
+    baselineFilter?: string;
+    /**
+     * Collection of Experiment Comparisons to run during an Experiment evaluation
+     * @type {Array<ExperimentComparison>}
+     * @memberof ExperimentProfile
+     */
+    comparisons: Array<ExperimentComparison>;
+    /**
+     * These labels are not used by Horreum but are added to the result event and therefore can be used e.g. when firing an Action.
+     * @type {Array<string>}
+     * @memberof ExperimentProfile
+     */
+    extraLabels?: Array<string>;
+}
+
+/**
+ * Check if a given object implements the ExperimentProfile interface.
+ */
+export function instanceOfExperimentProfile(value: object): value is ExperimentProfile {
+    if (!('id' in value) || value['id'] === undefined) return false;
+    if (!('name' in value) || value['name'] === undefined) return false;
+    if (!('selectorLabels' in value) || value['selectorLabels'] === undefined) return false;
+    if (!('baselineLabels' in value) || value['baselineLabels'] === undefined) return false;
+    if (!('comparisons' in value) || value['comparisons'] === undefined) return false;
+    return true;
+}
+
+export function ExperimentProfileFromJSON(json: any): ExperimentProfile {
+    return ExperimentProfileFromJSONTyped(json, false);
+}
+
+export function ExperimentProfileFromJSONTyped(json: any, ignoreDiscriminator: boolean): ExperimentProfile {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'id': json['id'],
+        'name': json['name'],
+        'testId': json['testId'] == null ? undefined : json['testId'],
+        'selectorLabels': json['selectorLabels'],
+        'selectorFilter': json['selectorFilter'] == null ? undefined : json['selectorFilter'],
+        'baselineLabels': json['baselineLabels'],
+        'baselineFilter': json['baselineFilter'] == null ? undefined : json['baselineFilter'],
+        'comparisons': ((json['comparisons'] as Array<any>).map(ExperimentComparisonFromJSON)),
+        'extraLabels': json['extraLabels'] == null ? undefined : json['extraLabels'],
+    };
+}
+
+export function ExperimentProfileToJSON(value?: ExperimentProfile | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'id': value['id'],
+        'name': value['name'],
+        'testId': value['testId'],
+        'selectorLabels': value['selectorLabels'],
+        'selectorFilter': value['selectorFilter'],
+        'baselineLabels': value['baselineLabels'],
+        'baselineFilter': value['baselineFilter'],
+        'comparisons': ((value['comparisons'] as Array<any>).map(ExperimentComparisonToJSON)),
+        'extraLabels': value['extraLabels'],
+    };
+}
+
@@ -0,0 +1,94 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.17
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+/**
+ * A map of label names to label values with the associated datasetId and runId
+ * @export
+ * @interface ExportedLabelValues
+ */
+export interface ExportedLabelValues {
+    /**
+     * a map of label name to value
+     * @type {object}
+     * @memberof ExportedLabelValues
+     */
+    values?: object;
+    /**
+     * the run id that created the dataset
+     * @type {number}
+     * @memberof ExportedLabelValues
+     */
+    runId?: number;
+    /**
+     * the unique dataset id
+     * @type {number}
+     * @memberof ExportedLabelValues
+     */
+    datasetId?: number;
+    /**
+     * Start timestamp
+     * @type {Date}
+     * @memberof ExportedLabelValues
+     */
+    start: Date;
+    /**
+     * Stop timestamp
+     * @type {Date}
+     * @memberof ExportedLabelValues
+     */
+    stop: Date;
+}
+
+/**
+ * Check if a given object implements the ExportedLabelValues interface.
+ */
+export function instanceOfExportedLabelValues(value: object): value is ExportedLabelValues {
+    if (!('start' in value) || value['start'] === undefined) return false;
+    if (!('stop' in value) || value['stop'] === undefined) return false;
+    return true;
+}
+
+export function ExportedLabelValuesFromJSON(json: any): ExportedLabelValues {
+    return ExportedLabelValuesFromJSONTyped(json, false);
+}
+
+export function ExportedLabelValuesFromJSONTyped(json: any, ignoreDiscriminator: boolean): ExportedLabelValues {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'values': json['values'] == null ? undefined : json['values'],
+        'runId': json['runId'] == null ? undefined : json['runId'],
+        'datasetId': json['datasetId'] == null ? undefined : json['datasetId'],
+        'start': (new Date(json['start'])),
+        'stop': (new Date(json['stop'])),
+    };
+}
+
+export function ExportedLabelValuesToJSON(value?: ExportedLabelValues | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'values': value['values'],
+        'runId': value['runId'],
+        'datasetId': value['datasetId'],
+        'start': ((value['start']).toISOString()),
+        'stop': ((value['stop']).toISOString()),
+    };
+}
+
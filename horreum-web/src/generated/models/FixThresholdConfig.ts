@@ -0,0 +1,79 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.17
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+/**
+ * 
+ * @export
+ * @interface FixThresholdConfig
+ */
+export interface FixThresholdConfig {
+    /**
+     * Threshold Value
+     * @type {number}
+     * @memberof FixThresholdConfig
+     */
+    value: number;
+    /**
+     * Threshold enabled/disabled
+     * @type {boolean}
+     * @memberof FixThresholdConfig
+     */
+    enabled: boolean;
+    /**
+     * Is threshold inclusive of defined value?
+     * @type {boolean}
+     * @memberof FixThresholdConfig
+     */
+    inclusive: boolean;
+}
+
+/**
+ * Check if a given object implements the FixThresholdConfig interface.
+ */
+export function instanceOfFixThresholdConfig(value: object): value is FixThresholdConfig {
+    if (!('value' in value) || value['value'] === undefined) return false;
+    if (!('enabled' in value) || value['enabled'] === undefined) return false;
+    if (!('inclusive' in value) || value['inclusive'] === undefined) return false;
+    return true;
+}
+
+export function FixThresholdConfigFromJSON(json: any): FixThresholdConfig {
+    return FixThresholdConfigFromJSONTyped(json, false);
+}
+
+export function FixThresholdConfigFromJSONTyped(json: any, ignoreDiscriminator: boolean): FixThresholdConfig {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'value': json['value'],
+        'enabled': json['enabled'],
+        'inclusive': json['inclusive'],
+    };
+}
+
+export function FixThresholdConfigToJSON(value?: FixThresholdConfig | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'value': value['value'],
+        'enabled': value['enabled'],
+        'inclusive': value['inclusive'],
+    };
+}
+
@@ -0,0 +1,105 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.17
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+import type { FixThresholdConfig } from './FixThresholdConfig';
+import {
+    FixThresholdConfigFromJSON,
+    FixThresholdConfigFromJSONTyped,
+    FixThresholdConfigToJSON,
+} from './FixThresholdConfig';
+
+/**
+ * 
+ * @export
+ * @interface FixedThresholdDetectionConfig
+ */
+export interface FixedThresholdDetectionConfig {
+    /**
+     * Built In
+     * @type {boolean}
+     * @memberof FixedThresholdDetectionConfig
+     */
+    builtIn: boolean;
+    /**
+     * 
+     * @type {string}
+     * @memberof FixedThresholdDetectionConfig
+     */
+    model: FixedThresholdDetectionConfigModelEnum;
+    /**
+     * Lower bound for acceptable datapoint values
+     * @type {FixThresholdConfig}
+     * @memberof FixedThresholdDetectionConfig
+     */
+    min: FixThresholdConfig;
+    /**
+     * Upper bound for acceptable datapoint values
+     * @type {FixThresholdConfig}
+     * @memberof FixedThresholdDetectionConfig
+     */
+    max: FixThresholdConfig;
+}
+
+
+/**
+ * @export
+ */
+export const FixedThresholdDetectionConfigModelEnum = {
+    FixedThreshold: 'fixedThreshold'
+} as const;
+export type FixedThresholdDetectionConfigModelEnum = typeof FixedThresholdDetectionConfigModelEnum[keyof typeof FixedThresholdDetectionConfigModelEnum];
+
+
+/**
+ * Check if a given object implements the FixedThresholdDetectionConfig interface.
+ */
+export function instanceOfFixedThresholdDetectionConfig(value: object): value is FixedThresholdDetectionConfig {
+    if (!('builtIn' in value) || value['builtIn'] === undefined) return false;
+    if (!('model' in value) || value['model'] === undefined) return false;
+    if (!('min' in value) || value['min'] === undefined) return false;
+    if (!('max' in value) || value['max'] === undefined) return false;
+    return true;
+}
+
+export function FixedThresholdDetectionConfigFromJSON(json: any): FixedThresholdDetectionConfig {
+    return FixedThresholdDetectionConfigFromJSONTyped(json, false);
+}
+
+export function FixedThresholdDetectionConfigFromJSONTyped(json: any, ignoreDiscriminator: boolean): FixedThresholdDetectionConfig {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'builtIn': json['builtIn'],
+        'model': json['model'],
+        'min': FixThresholdConfigFromJSON(json['min']),
+        'max': FixThresholdConfigFromJSON(json['max']),
+    };
+}
+
+export function FixedThresholdDetectionConfigToJSON(value?: FixedThresholdDetectionConfig | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'builtIn': value['builtIn'],
+        'model': value['model'],
+        'min': FixThresholdConfigToJSON(value['min']),
+        'max': FixThresholdConfigToJSON(value['max']),
+    };
+}
+
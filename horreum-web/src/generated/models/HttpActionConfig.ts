@@ -0,0 +1,70 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.17
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+/**
+ * 
+ * @export
+ * @interface HttpActionConfig
+ */
+export interface HttpActionConfig {
+    /**
+     * Action type
+     * @type {string}
+     * @memberof HttpActionConfig
+     */
+    type: string;
+    /**
+     * HTTP address
+     * @type {string}
+     * @memberof HttpActionConfig
+     */
+    url: string;
+}
+
+/**
+ * Check if a given object implements the HttpActionConfig interface.
+ */
+export function instanceOfHttpActionConfig(value: object): value is HttpActionConfig {
+    if (!('type' in value) || value['type'] === undefined) return false;
+    if (!('url' in value) || value['url'] === undefined) return false;
+    return true;
+}
+
+export function HttpActionConfigFromJSON(json: any): HttpActionConfig {
+    return HttpActionConfigFromJSONTyped(json, false);
+}
+
+export function HttpActionConfigFromJSONTyped(json: any, ignoreDiscriminator: boolean): HttpActionConfig {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'type': json['type'],
+        'url': json['url'],
+    };
+}
+
+export function HttpActionConfigToJSON(value?: HttpActionConfig | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'type': value['type'],
+        'url': value['url'],
+    };
+}
+
@@ -0,0 +1,51 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.17
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+
+/**
+ * 
+ * @export
+ */
+export const IngestionStatus = {
+    Queued: 'QUEUED',
+    Processing: 'PROCESSING',
+    Done: 'DONE',
+    Failed: 'FAILED'
+} as const;
+export type IngestionStatus = typeof IngestionStatus[keyof typeof IngestionStatus];
+
+
+export function instanceOfIngestionStatus(value: any): boolean {
+    for (const key in IngestionStatus) {
+        if (Object.prototype.hasOwnProperty.call(IngestionStatus, key)) {
+            if (IngestionStatus[key as keyof typeof IngestionStatus] === value) {
+                return true;
+            }
+        }
+    }
+    return false;
+}
+
+export function IngestionStatusFromJSON(json: any): IngestionStatus {
+    return IngestionStatusFromJSONTyped(json, false);
+}
+
+export function IngestionStatusFromJSONTyped(json: any, ignoreDiscriminator: boolean): IngestionStatus {
+    return json as IngestionStatus;
+}
+
+export function IngestionStatusToJSON(value?: IngestionStatus | null): any {
+    return value as any;
+}
+
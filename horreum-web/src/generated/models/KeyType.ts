@@ -0,0 +1,48 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.17
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+
+/**
+ * 
+ * @export
+ */
+export const KeyType = {
+    User: 'USER'
+} as const;
+export type KeyType = typeof KeyType[keyof typeof KeyType];
+
+
+export function instanceOfKeyType(value: any): boolean {
+    for (const key in KeyType) {
+        if (Object.prototype.hasOwnProperty.call(KeyType, key)) {
+            if (KeyType[key as keyof typeof KeyType] === value) {
+                return true;
+            }
+        }
+    }
+    return false;
+}
+
+export function KeyTypeFromJSON(json: any): KeyType {
+    return KeyTypeFromJSONTyped(json, false);
+}
+
+export function KeyTypeFromJSONTyped(json: any, ignoreDiscriminator: boolean): KeyType {
+    return json as KeyType;
+}
+
+export function KeyTypeToJSON(value?: KeyType | null): any {
+    return value as any;
+}
+
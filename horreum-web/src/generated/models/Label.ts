@@ -0,0 +1,147 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.17
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+import type { Access } from './Access';
+import {
+    AccessFromJSON,
+    AccessFromJSONTyped,
+    AccessToJSON,
+} from './Access';
+import type { Extractor } from './Extractor';
+import {
+    ExtractorFromJSON,
+    ExtractorFromJSONTyped,
+    ExtractorToJSON,
+} from './Extractor';
+
+/**
+ * A Label is a core component of Horreum, defining which components of the JSON document are part of a KPI and how the metric values are calculated
+ * @export
+ * @interface Label
+ */
+export interface Label {
+    /**
+     * Unique ID for Label
+     * @type {number}
+     * @memberof Label
+     */
+    id: number;
+    /**
+     * Name for label. NOTE: all Labels are considered to have the same semantic meaning throughout the entire system
+     * @type {string}
+     * @memberof Label
+     */
+    name: string;
+    /**
+     * A collection of Extractors, that will be combined in the Combination Function
+     * @type {Array<Extractor>}
+     * @memberof Label
+     */
+    extractors: Array<Extractor>;
+    /**
+     * A Combination Function that defines how values from Extractors are combined to produce a Label Value
+     * @type {string}
+     * @memberof Label
+     */
+    _function?: string;
+    /**
+     * Is Label a filtering label? Filtering labels contains values that are used to filter datasets for comparison
+     * @type {boolean}
+     * @memberof Label
+     */
+    filtering: boolean;
+    /**
+     * Is Label a metrics label? Metrics labels are contain Metrics that are used for comparison
+     * @type {boolean}
+     * @memberof Label
+     */
+    metrics: boolean;
+    /**
+     * Schema ID that the Label relates to
+     * @type {number}
+     * @memberof Label
+     */
+    schemaId: number;
+    /**
+     * Access rights for the test. This defines the visibility of the Test in the UI
+     * @type {Access}
+     * @memberof Label
+     */
+    access: Access;
+    /**
+     * Name of the team that owns the test. Users must belong to the team that owns a test to make modifications
+     * @type {string}
+     * @memberof Label
+     */
+    owner: string;
+}
+
+
+
+/**
+ * Check if a given object implements the Label interface.
+ */
+export function instanceOfLabel(value: object): value is Label {
+    if (!('id' in value) || value['id'] === undefined) return false;
+    if (!('name' in value) || value['name'] === undefined) return false;
+    if (!('extractors' in value) || value['extractors'] === undefined) return false;
+    if (!('filtering' in value) || value['filtering'] === undefined) return false;
+    if (!('metrics' in value) || value['metrics'] === undefined) return false;
+    if (!('schemaId' in value) || value['schemaId'] === undefined) return false;
+    if (!('access' in value) || value['access'] === undefined) return false;
+    if (!('owner' in value) || value['owner'] === undefined) return false;
+    return true;
+}
+
+export function LabelFromJSON(json: any): Label {
+    return LabelFromJSONTyped(json, false);
+}
+
+export function LabelFromJSONTyped(json: any, ignoreDiscriminator: boolean): Label {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'id': json['id'],
+        'name': json['name'],
+        'extractors': ((json['extractors'] as Array<any>).map(ExtractorFromJSON)),
+        '_function': json['function'] == null ? undefined : json['function'],
+        'filtering': json['filtering'],
+        'metrics': json['metrics'],
+        'schemaId': json['schemaId'],
+        'access': AccessFromJSON(json['access']),
+        'owner': json['owner'],
+    };
+}
+
+export function LabelToJSON(value?: Label | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'id': value['id'],
+        'name': value['name'],
+        'extractors': ((value['extractors'] as Array<any>).map(ExtractorToJSON)),
+        'function': value['_function'],
+        'filtering': value['filtering'],
+        'metrics': value['metrics'],
+        'schemaId': value['schemaId'],
+        'access': AccessToJSON(value['access']),
+        'owner': value['owner'],
+    };
+}
+
@@ -0,0 +1,108 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.17
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+/**
+ * 
+ * @export
+ * @interface LabelInReport
+ */
+export interface LabelInReport {
+    /**
+     * 
+     * @type {number}
+     * @memberof LabelInReport
+     */
+    configId?: number;
+    /**
+     * 
+     * @type {string}
+     * @memberof LabelInReport
+     */
+    title?: string;
+    /**
+     * 
+     * @type {string}
+     * @memberof LabelInReport
+     */
+    where?: string;
+    /**
+     * 
+     * @type {string}
+     * @memberof LabelInReport
+     */
+    name?: string;
+    /**
+     * Location of Label usage
+     * @type {string}
+     * @memberof LabelInReport
+     */
+    type?: string;
+    /**
+     * Unique ID for location that references Schema
+     * @type {number}
+     * @memberof LabelInReport
+     */
+    testId?: number;
+    /**
+     * Test name that references Schema
+     * @type {string}
+     * @memberof LabelInReport
+     */
+    testName?: string;
+}
+
+/**
+ * Check if a given object implements the LabelInReport interface.
+ */
+export function instanceOfLabelInReport(value: object): value is LabelInReport {
+    return true;
+}
+
+export function LabelInReportFromJSON(json: any): LabelInReport {
+    return LabelInReportFromJSONTyped(json, false);
+}
+
+export function LabelInReportFromJSONTyped(json: any, ignoreDiscriminator: boolean): LabelInReport {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'configId': json['configId'] == null ? undefined : json['configId'],
+        'title': json['title'] == null ? undefined : json['title'],
+        'where': json['where'] == null ? undefined : json['where'],
+        'name': json['name'] == null ? undefined : json['name'],
+        'type': json['type'] == null ? undefined : json['type'],
+        'testId': json['testId'] == null ? undefined : json['testId'],
+        'testName': json['testName'] == null ? undefined : json['testName'],
+    };
+}
+
+export function LabelInReportToJSON(value?: LabelInReport | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'configId': value['configId'],
+        'title': value['title'],
+        'where': value['where'],
+        'name': value['name'],
+        'type': value['type'],
+        'testId': value['testId'],
+        'testName': value['testName'],
+    };
+}
+
@@ -0,0 +1,79 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.17
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+import type { Access } from './Access';
+import {
+    AccessFromJSON,
+    AccessFromJSONTyped,
+    AccessToJSON,
+} from './Access';
+
+/**
+ * 
+ * @export
+ * @interface ProtectedType
+ */
+export interface ProtectedType {
+    /**
+     * Access rights for the test. This defines the visibility of the Test in the UI
+     * @type {Access}
+     * @memberof ProtectedType
+     */
+    access: Access;
+    /**
+     * Name of the team that owns the test. Users must belong to the team that owns a test to make modifications
+     * @type {string}
+     * @memberof ProtectedType
+     */
+    owner: string;
+}
+
+
+
+/**
+ * Check if a given object implements the ProtectedType interface.
+ */
+export function instanceOfProtectedType(value: object): value is ProtectedType {
+    if (!('access' in value) || value['access'] === undefined) return false;
+    if (!('owner' in value) || value['owner'] === undefined) return false;
+    return true;
+}
+
+export function ProtectedTypeFromJSON(json: any): ProtectedType {
+    return ProtectedTypeFromJSONTyped(json, false);
+}
+
+export function ProtectedTypeFromJSONTyped(json: any, ignoreDiscriminator: boolean): ProtectedType {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'access': AccessFromJSON(json['access']),
+        'owner': json['owner'],
+    };
+}
+
+export function ProtectedTypeToJSON(value?: ProtectedType | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'access': AccessToJSON(value['access']),
+        'owner': value['owner'],
+    };
+}
+
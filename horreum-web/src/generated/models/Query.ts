@@ -0,0 +1,83 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.17
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+import type { Target } from './Target';
+import {
+    TargetFromJSON,
+    TargetFromJSONTyped,
+    TargetToJSON,
+} from './Target';
+import type { Range } from './Range';
+import {
+    RangeFromJSON,
+    RangeFromJSONTyped,
+    RangeToJSON,
+} from './Range';
+
+/**
+ * 
+ * @export
+ * @interface Query
+ */
+export interface Query {
+    /**
+     * 
+     * @type {Range}
+     * @memberof Query
+     */
+    range: Range;
+    /**
+     * 
+     * @type {Array<Target>}
+     * @memberof Query
+     */
+    targets: Array<Target>;
+}
+
+/**
+ * Check if a given object implements the Query interface.
+ */
+export function instanceOfQuery(value: object): value is Query {
+    if (!('range' in value) || value['range'] === undefined) return false;
+    if (!('targets' in value) || value['targets'] === undefined) return false;
+    return true;
+}
+
+export function QueryFromJSON(json: any): Query {
+    return QueryFromJSONTyped(json, false);
+}
+
+export function QueryFromJSONTyped(json: any, ignoreDiscriminator: boolean): Query {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'range': RangeFromJSON(json['range']),
+        'targets': ((json['targets'] as Array<any>).map(TargetFromJSON)),
+    };
+}
+
+export function QueryToJSON(value?: Query | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'range': RangeToJSON(value['range']),
+        'targets': ((value['targets'] as Array<any>).map(TargetToJSON)),
+    };
+}
+
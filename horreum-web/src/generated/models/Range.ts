@@ -0,0 +1,78 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.17
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+/**
+ * 
+ * @export
+ * @interface Range
+ */
+export interface Range {
+    /**
+     * 
+     * @type {Date}
+     * @memberof Range
+     */
+    from: Date;
+    /**
+     * 
+     * @type {Date}
+     * @memberof Range
+     */
+    to: Date;
+    /**
+     * 
+     * @type {boolean}
+     * @memberof Range
+     */
+    oneBeforeAndAfter?: boolean;
+}
+
+/**
+ * Check if a given object implements the Range interface.
+ */
+export function instanceOfRange(value: object): value is Range {
+    if (!('from' in value) || value['from'] === undefined) return false;
+    if (!('to' in value) || value['to'] === undefined) return false;
+    return true;
+}
+
+export function RangeFromJSON(json: any): Range {
+    return RangeFromJSONTyped(json, false);
+}
+
+export function RangeFromJSONTyped(json: any, ignoreDiscriminator: boolean): Range {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'from': (new Date(json['from'])),
+        'to': (new Date(json['to'])),
+        'oneBeforeAndAfter': json['oneBeforeAndAfter'] == null ? undefined : json['oneBeforeAndAfter'],
+    };
+}
+
+export function RangeToJSON(value?: Range | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'from': ((value['from']).toISOString()),
+        'to': ((value['to']).toISOString()),
+        'oneBeforeAndAfter': value['oneBeforeAndAfter'],
+    };
+}
+
@@ -0,0 +1,88 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.17
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+/**
+ * 
+ * @export
+ * @interface RecalculationStatus
+ */
+export interface RecalculationStatus {
+    /**
+     * Recalculation timestamp
+     * @type {number}
+     * @memberof RecalculationStatus
+     */
+    timestamp: number;
+    /**
+     * Total number of Runs being recalculated
+     * @type {number}
+     * @memberof RecalculationStatus
+     */
+    totalRuns: number;
+    /**
+     * Total number of completed recalculations
+     * @type {number}
+     * @memberof RecalculationStatus
+     */
+    finished: number;
+    /**
+     * Total number of generated datasets
+     * @type {number}
+     * @memberof RecalculationStatus
+     */
+    datasets: number;
+}
+
+/**
+ * Check if a given object implements the RecalculationStatus interface.
+ */
+export function instanceOfRecalculationStatus(value: object): value is RecalculationStatus {
+    if (!('timestamp' in value) || value['timestamp'] === undefined) return false;
+    if (!('totalRuns' in value) || value['totalRuns'] === undefined) return false;
+    if (!('finished' in value) || value['finished'] === undefined) return false;
+    if (!('datasets' in value) || value['datasets'] === undefined) return false;
+    return true;
+}
+
+export function RecalculationStatusFromJSON(json: any): RecalculationStatus {
+    return RecalculationStatusFromJSONTyped(json, false);
+}
+
+export function RecalculationStatusFromJSONTyped(json: any, ignoreDiscriminator: boolean): RecalculationStatus {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'timestamp': json['timestamp'],
+        'totalRuns': json['totalRuns'],
+        'finished': json['finished'],
+        'datasets': json['datasets'],
+    };
+}
+
+export function RecalculationStatusToJSON(value?: RecalculationStatus | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'timestamp': value['timestamp'],
+        'totalRuns': value['totalRuns'],
+        'finished': value['finished'],
+        'datasets': value['datasets'],
+    };
+}
+
@@ -0,0 +1,116 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.17
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+/**
+ * 
+ * @export
+ * @interface RelativeDifferenceDetectionConfig
+ */
+export interface RelativeDifferenceDetectionConfig {
+    /**
+     * Built In
+     * @type {boolean}
+     * @memberof RelativeDifferenceDetectionConfig
+     */
+    builtIn: boolean;
+    /**
+     * 
+     * @type {string}
+     * @memberof RelativeDifferenceDetectionConfig
+     */
+    model: RelativeDifferenceDetectionConfigModelEnum;
+    /**
+     * Relative Difference Detection filter
+     * @type {string}
+     * @memberof RelativeDifferenceDetectionConfig
+     */
+    filter: string;
+    /**
+     * Number of most recent datapoints used for aggregating the value for comparison.
+     * @type {number}
+     * @memberof RelativeDifferenceDetectionConfig
+     */
+    window: number;
+    /**
+     * Maximum difference between the aggregated value of last <window> datapoints and the mean of preceding values.
+     * @type {number}
+     * @memberof RelativeDifferenceDetectionConfig
+     */
+    threshold: number;
+    /**
+     * Minimal number of preceding datapoints
+     * @type {number}
+     * @memberof RelativeDifferenceDetectionConfig
+     */
+    minPrevious: number;
+}
+
+
+/**
+ * @export
+ */
+export const RelativeDifferenceDetectionConfigModelEnum = {
+    RelativeDifference: 'relativeDifference'
+} as const;
+export type RelativeDifferenceDetectionConfigModelEnum = typeof RelativeDifferenceDetectionConfigModelEnum[keyof typeof RelativeDifferenceDetectionConfigModelEnum];
+
+
+/**
+ * Check if a given object implements the RelativeDifferenceDetectionConfig interface.
+ */
+export function instanceOfRelativeDifferenceDetectionConfig(value: object): value is RelativeDifferenceDetectionConfig {
+    if (!('builtIn' in value) || value['builtIn'] === undefined) return false;
+    if (!('model' in value) || value['model'] === undefined) return false;
+    if (!('filter' in value) || value['filter'] === undefined) return false;
+    if (!('window' in value) || value['window'] === undefined) return false;
+    if (!('threshold' in value) || value['threshold'] === undefined) return false;
+    if (!('minPrevious' in value) || value['minPrevious'] === undefined) return false;
+    return true;
+}
+
+export function RelativeDifferenceDetectionConfigFromJSON(json: any): RelativeDifferenceDetectionConfig {
+    return RelativeDifferenceDetectionConfigFromJSONTyped(json, false);
+}
+
+export function RelativeDifferenceDetectionConfigFromJSONTyped(json: any, ignoreDiscriminator: boolean): RelativeDifferenceDetectionConfig {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'builtIn': json['builtIn'],
+        'model': json['model'],
+        'filter': json['filter'],
+        'window': json['window'],
+        'threshold': json['threshold'],
+        'minPrevious': json['minPrevious'],
+    };
+}
+
+export function RelativeDifferenceDetectionConfigToJSON(value?: RelativeDifferenceDetectionConfig | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'builtIn': value['builtIn'],
+        'model': value['model'],
+        'filter': value['filter'],
+        'window': value['window'],
+        'threshold': value['threshold'],
+        'minPrevious': value['minPrevious'],
+    };
+}
+
@@ -0,0 +1,97 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.17
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+/**
+ * Report Log
+ * @export
+ * @interface ReportLog
+ */
+export interface ReportLog {
+    /**
+     * 
+     * @type {number}
+     * @memberof ReportLog
+     */
+    reportId: number;
+    /**
+     * 
+     * @type {number}
+     * @memberof ReportLog
+     */
+    id: number;
+    /**
+     * 
+     * @type {number}
+     * @memberof ReportLog
+     */
+    level: number;
+    /**
+     * 
+     * @type {Date}
+     * @memberof ReportLog
+     */
+    timestamp: Date;
+    /**
+     * 
+     * @type {string}
+     * @memberof ReportLog
+     */
+    message: string;
+}
+
+/**
+ * Check if a given object implements the ReportLog interface.
+ */
+export function instanceOfReportLog(value: object): value is ReportLog {
+    if (!('reportId' in value) || value['reportId'] === undefined) return false;
+    if (!('id' in value) || value['id'] === undefined) return false;
+    if (!('level' in value) || value['level'] === undefined) return false;
+    if (!('timestamp' in value) || value['timestamp'] === undefined) return false;
+    if (!('message' in value) || value['message'] === undefined) return false;
+    return true;
+}
+
+export function ReportLogFromJSON(json: any): ReportLog {
+    return ReportLogFromJSONTyped(json, false);
+}
+
+export function ReportLogFromJSONTyped(json: any, ignoreDiscriminator: boolean): ReportLog {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'reportId': json['reportId'],
+        'id': json['id'],
+        'level': json['level'],
+        'timestamp': (new Date(json['timestamp'])),
+        'message': json['message'],
+    };
+}
+
+export function ReportLogToJSON(value?: ReportLog | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'reportId': value['reportId'],
+        'id': value['id'],
+        'level': value['level'],
+        'timestamp': ((value['timestamp']).toISOString()),
+        'message': value['message'],
+    };
+}
+
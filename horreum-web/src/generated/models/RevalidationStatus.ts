@@ -0,0 +1,97 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.17
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+/**
+ * 
+ * @export
+ * @interface RevalidationStatus
+ */
+export interface RevalidationStatus {
+    /**
+     * Revalidation timestamp
+     * @type {number}
+     * @memberof RevalidationStatus
+     */
+    timestamp: number;
+    /**
+     * Total number of Runs being revalidated
+     * @type {number}
+     * @memberof RevalidationStatus
+     */
+    totalRuns: number;
+    /**
+     * Number of revalidated Runs
+     * @type {number}
+     * @memberof RevalidationStatus
+     */
+    finishedRuns: number;
+    /**
+     * Total number of Datasets being revalidated
+     * @type {number}
+     * @memberof RevalidationStatus
+     */
+    totalDatasets: number;
+    /**
+     * Number of revalidated Datasets
+     * @type {number}
+     * @memberof RevalidationStatus
+     */
+    finishedDatasets: number;
+}
+
+/**
+ * Check if a given object implements the RevalidationStatus interface.
+ */
+export function instanceOfRevalidationStatus(value: object): value is RevalidationStatus {
+    if (!('timestamp' in value) || value['timestamp'] === undefined) return false;
+    if (!('totalRuns' in value) || value['totalRuns'] === undefined) return false;
+    if (!('finishedRuns' in value) || value['finishedRuns'] === undefined) return false;
+    if (!('totalDatasets' in value) || value['totalDatasets'] === undefined) return false;
+    if (!('finishedDatasets' in value) || value['finishedDatasets'] === undefined) return false;
+    return true;
+}
+
+export function RevalidationStatusFromJSON(json: any): RevalidationStatus {
+    return RevalidationStatusFromJSONTyped(json, false);
+}
+
+export function RevalidationStatusFromJSONTyped(json: any, ignoreDiscriminator: boolean): RevalidationStatus {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'timestamp': json['timestamp'],
+        'totalRuns': json['totalRuns'],
+        'finishedRuns': json['finishedRuns'],
+        'totalDatasets': json['totalDatasets'],
+        'finishedDatasets': json['finishedDatasets'],
+    };
+}
+
+export function RevalidationStatusToJSON(value?: RevalidationStatus | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'timestamp': value['timestamp'],
+        'totalRuns': value['totalRuns'],
+        'finishedRuns': value['finishedRuns'],
+        'totalDatasets': value['totalDatasets'],
+        'finishedDatasets': value['finishedDatasets'],
+    };
+}
+
@@ -0,0 +1,94 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.17
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+/**
+ * 
+ * @export
+ * @interface RunExpectation
+ */
+export interface RunExpectation {
+    /**
+     * 
+     * @type {number}
+     * @memberof RunExpectation
+     */
+    id?: number;
+    /**
+     * 
+     * @type {number}
+     * @memberof RunExpectation
+     */
+    testId: number;
+    /**
+     * 
+     * @type {Date}
+     * @memberof RunExpectation
+     */
+    expectedBefore: Date;
+    /**
+     * 
+     * @type {string}
+     * @memberof RunExpectation
+     */
+    expectedBy?: string;
+    /**
+     * 
+     * @type {string}
+     * @memberof RunExpectation
+     */
+    backlink?: string;
+}
+
+/**
+ * Check if a given object implements the RunExpectation interface.
+ */
+export function instanceOfRunExpectation(value: object): value is RunExpectation {
+    if (!('testId' in value) || value['testId'] === undefined) return false;
+    if (!('expectedBefore' in value) || value['expectedBefore'] === undefined) return false;
+    return true;
+}
+
+export function RunExpectationFromJSON(json: any): RunExpectation {
+    return RunExpectationFromJSONTyped(json, false);
+}
+
+export function RunExpectationFromJSONTyped(json: any, ignoreDiscriminator: boolean): RunExpectation {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'id': json['id'] == null ? undefined : json['id'],
+        'testId': json['testId'],
+        'expectedBefore': (new Date(json['expectedBefore'])),
+        'expectedBy': json['expectedBy'] == null ? undefined : json['expectedBy'],
+        'backlink': json['backlink'] == null ? undefined : json['backlink'],
+    };
+}
+
+export function RunExpectationToJSON(value?: RunExpectation | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'id': value['id'],
+        'testId': value['testId'],
+        'expectedBefore': ((value['expectedBefore']).toISOString()),
+        'expectedBy': value['expectedBy'],
+        'backlink': value['backlink'],
+    };
+}
+
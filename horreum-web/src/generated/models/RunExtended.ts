@@ -0,0 +1,196 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.17
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+import type { SchemaUsage } from './SchemaUsage';
+import {
+    SchemaUsageFromJSON,
+    SchemaUsageFromJSONTyped,
+    SchemaUsageToJSON,
+} from './SchemaUsage';
+import type { Access } from './Access';
+import {
+    AccessFromJSON,
+    AccessFromJSONTyped,
+    AccessToJSON,
+} from './Access';
+import type { ValidationError } from './ValidationError';
+import {
+    ValidationErrorFromJSON,
+    ValidationErrorFromJSONTyped,
+    ValidationErrorToJSON,
+} from './ValidationError';
+
+/**
+ * 
+ * @export
+ * @interface RunExtended
+ */
+export interface RunExtended {
+    /**
+     * Access rights for the test. This defines the visibility of the Test in the UI
+     * @type {Access}
+     * @memberof RunExtended
+     */
+    access: Access;
+    /**
+     * Name of the team that owns the test. Users must belong to the team that owns a test to make modifications
+     * @type {string}
+     * @memberof RunExtended
+     */
+    owner: string;
+    /**
+     * Run Start timestamp
+     * @type {number}
+     * @memberof RunExtended
+     */
+    start: number;
+    /**
+     * Run Stop timestamp
+     * @type {number}
+     * @memberof RunExtended
+     */
+    stop: number;
+    /**
+     * Unique Run ID
+     * @type {number}
+     * @memberof RunExtended
+     */
+    id: number;
+    /**
+     * Run description
+     * @type {string}
+     * @memberof RunExtended
+     */
+    description?: string;
+    /**
+     * Test ID run relates to
+     * @type {number}
+     * @memberof RunExtended
+     */
+    testid: number;
+    /**
+     * Run result payload
+     * @type {string}
+     * @memberof RunExtended
+     */
+    data: string;
+    /**
+     * JSON metadata related to run, can be tool configuration etc
+     * @type {string}
+     * @memberof RunExtended
+     */
+    metadata?: string;
+    /**
+     * Has Run been deleted from UI
+     * @type {boolean}
+     * @memberof RunExtended
+     */
+    trashed: boolean;
+    /**
+     * Collection of Validation Errors in Run payload
+     * @type {Array<ValidationError>}
+     * @memberof RunExtended
+     */
+    validationErrors?: Array<ValidationError>;
+    /**
+     * List of Schema Usages
+     * @type {Array<SchemaUsage>}
+     * @memberof RunExtended
+     */
+    schemas: Array<SchemaUsage>;
+    /**
+     * Test name run references
+     * @type {string}
+     * @memberof RunExtended
+     */
+    testname: string;
+    /**
+     * List of DatasetIDs
+     * @type {Array<number>}
+     * @memberof RunExtended
+     */
+    datasets: Array<number>;
+}
+
+
+
+/**
+ * Check if a given object implements the RunExtended interface.
+ */
+export function instanceOfRunExtended(value: object): value is RunExtended {
+    if (!('access' in value) || value['access'] === undefined) return false;
+    if (!('owner' in value) || value['owner'] === undefined) return false;
+    if (!('start' in value) || value['start'] === undefined) return false;
+    if (!('stop' in value) || value['stop'] === undefined) return false;
+    if (!('id' in value) || value['id'] === undefined) return false;
+    if (!('testid' in value) || value['testid'] === undefined) return false;
+    if (!('data' in value) || value['data'] === undefined) return false;
+    if (!('trashed' in value) || value['trashed'] === undefined) return false;
+    if (!('schemas' in value) || value['schemas'] === undefined) return false;
+    if (!('testname' in value) || value['testname'] === undefined) return false;
+    if (!('datasets' in value) || value['datasets'] === undefined) return false;
+    return true;
+}
+
+export function RunExtendedFromJSON(json: any): RunExtended {
+    return RunExtendedFromJSONTyped(json, false);
+}
+
+export function RunExtendedFromJSONTyped(json: any, ignoreDiscriminator: boolean): RunExtended {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'access': AccessFromJSON(json['access']),
+        'owner': json['owner'],
+        'start': json['start'],
+        'stop': json['stop'],
+        'id': json['id'],
+        'description': json['description'] == null ? undefined : json['description'],
+        'testid': json['testid'],
+        'data': json['data'],
+        'metadata': json['metadata'] == null ? undefined : json['metadata'],
+        'trashed': json['trashed'],
+        'validationErrors': json['validationErrors'] == null ? undefined : ((json['validationErrors'] as Array<any>).map(ValidationErrorFromJSON)),
+        'schemas': ((json['schemas'] as Array<any>).map(SchemaUsageFromJSON)),
+        'testname': json['testname'],
+        'datasets': json['datasets'],
+    };
+}
+
+export function RunExtendedToJSON(value?: RunExtended | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'access': AccessToJSON(value['access']),
+        'owner': value['owner'],
+        'start': value['start'],
+        'stop': value['stop'],
+        'id': value['id'],
+        'description': value['description'],
+        'testid': value['testid'],
+        'data': value['data'],
+        'metadata': value['metadata'],
+        'trashed': value['trashed'],
+        'validationErrors': value['validationErrors'] == null ? undefined : ((value['validationErrors'] as Array<any>).map(ValidationErrorToJSON)),
+        'schemas': ((value['schemas'] as Array<any>).map(SchemaUsageToJSON)),
+        'testname': value['testname'],
+        'datasets': value['datasets'],
+    };
+}
+
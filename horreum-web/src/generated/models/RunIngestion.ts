@@ -0,0 +1,161 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.17
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+import type { IngestionStatus } from './IngestionStatus';
+import {
+    IngestionStatusFromJSON,
+    IngestionStatusFromJSONTyped,
+    IngestionStatusToJSON,
+} from './IngestionStatus';
+
+/**
+ * State of an asynchronous Run upload; durations are null until the stage completes
+ * @export
+ * @interface RunIngestion
+ */
+export interface RunIngestion {
+    /**
+     * Ingestion job ID
+     * @type {number}
+     * @memberof RunIngestion
+     */
+    id: number;
+    /**
+     * Test ID the Run is uploaded to
+     * @type {number}
+     * @memberof RunIngestion
+     */
+    testId: number;
+    /**
+     * Run ID
+     * @type {number}
+     * @memberof RunIngestion
+     */
+    runId?: number;
+    /**
+     * QUEUED until the transformation starts, PROCESSING until all Datasets have their label values calculated and are validated
+     * @type {IngestionStatus}
+     * @memberof RunIngestion
+     */
+    status: IngestionStatus;
+    /**
+     * Reason of the failure
+     * @type {string}
+     * @memberof RunIngestion
+     */
+    error?: string;
+    /**
+     * Upload received timestamp
+     * @type {number}
+     * @memberof RunIngestion
+     */
+    received: number;
+    /**
+     * Milliseconds spent persisting the Run, since the upload was received
+     * @type {number}
+     * @memberof RunIngestion
+     */
+    persist?: number;
+    /**
+     * Milliseconds the Run waited in the queue before the transformation
+     * @type {number}
+     * @memberof RunIngestion
+     */
+    queue?: number;
+    /**
+     * Milliseconds spent transforming the Run into Datasets
+     * @type {number}
+     * @memberof RunIngestion
+     */
+    transform?: number;
+    /**
+     * Milliseconds until label values of all Datasets were calculated, since the transformation
+     * @type {number}
+     * @memberof RunIngestion
+     */
+    labels?: number;
+    /**
+     * Milliseconds until all Datasets were validated, since their label values were calculated
+     * @type {number}
+     * @memberof RunIngestion
+     */
+    validation?: number;
+    /**
+     * Milliseconds since the upload was received until the job was done or failed
+     * @type {number}
+     * @memberof RunIngestion
+     */
+    total?: number;
+}
+
+
+
+/**
+ * Check if a given object implements the RunIngestion interface.
+ */
+export function instanceOfRunIngestion(value: object): value is RunIngestion {
+    if (!('id' in value) || value['id'] === undefined) return false;
+    if (!('testId' in value) || value['testId'] === undefined) return false;
+    if (!('status' in value) || value['status'] === undefined) return false;
+    if (!('received' in value) || value['received'] === undefined) return false;
+    return true;
+}
+
+export function RunIngestionFromJSON(json: any): RunIngestion {
+    return RunIngestionFromJSONTyped(json, false);
+}
+
+export function RunIngestionFromJSONTyped(json: any, ignoreDiscriminator: boolean): RunIngestion {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'id': json['id'],
+        'testId': json['testId'],
+        'runId': json['runId'] == null ? undefined : json['runId'],
+        'status': IngestionStatusFromJSON(json['status']),
+        'error': json['error'] == null ? undefined : json['error'],
+        'received': json['received'],
+        'persist': json['persist'] == null ? undefined : json['persist'],
+        'queue': json['queue'] == null ? undefined : json['queue'],
+        'transform': json['transform'] == null ? undefined : json['transform'],
+        'labels': json['labels'] == null ? undefined : json['labels'],
+        'validation': json['validation'] == null ? undefined : json['validation'],
+        'total': json['total'] == null ? undefined : json['total'],
+    };
+}
+
+export function RunIngestionToJSON(value?: RunIngestion | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'id': value['id'],
+        'testId': value['testId'],
+        'runId': value['runId'],
+        'status': IngestionStatusToJSON(value['status']),
+        'error': value['error'],
+        'received': value['received'],
+        'persist': value['persist'],
+        'queue': value['queue'],
+        'transform': value['transform'],
+        'labels': value['labels'],
+        'validation': value['validation'],
+        'total': value['total'],
+    };
+}
+
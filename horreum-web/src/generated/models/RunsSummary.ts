@@ -0,0 +1,85 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.17
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+import type { RunSummary } from './RunSummary';
+import {
+    RunSummaryFromJSON,
+    RunSummaryFromJSONTyped,
+    RunSummaryToJSON,
+} from './RunSummary';
+
+/**
+ * 
+ * @export
+ * @interface RunsSummary
+ */
+export interface RunsSummary {
+    /**
+     * Total count of Runs visible
+     * @type {number}
+     * @memberof RunsSummary
+     */
+    total: number;
+    /**
+     * List of Run Summaries
+     * @type {Array<RunSummary>}
+     * @memberof RunsSummary
+     */
+    runs: Array<RunSummary>;
+    /**
+     * Cursor for the next page, present when the page is full and the Runs are sorted by start, stop or id
+     * @type {string}
+     * @memberof RunsSummary
+     */
+    next?: string;
+}
+
+/**
+ * Check if a given object implements the RunsSummary interface.
+ */
+export function instanceOfRunsSummary(value: object): value is RunsSummary {
+    if (!('total' in value) || value['total'] === undefined) return false;
+    if (!('runs' in value) || value['runs'] === undefined) return false;
+    return true;
+}
+
+export function RunsSummaryFromJSON(json: any): RunsSummary {
+    return RunsSummaryFromJSONTyped(json, false);
+}
+
+export function RunsSummaryFromJSONTyped(json: any, ignoreDiscriminator: boolean): RunsSummary {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'total': json['total'],
+        'runs': ((json['runs'] as Array<any>).map(RunSummaryFromJSON)),
+        'next': json['next'] == null ? undefined : json['next'],
+    };
+}
+
+export function RunsSummaryToJSON(value?: RunsSummary | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'total': value['total'],
+        'runs': ((value['runs'] as Array<any>).map(RunSummaryToJSON)),
+        'next': value['next'],
+    };
+}
+
@@ -0,0 +1,122 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.17
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+import type { Access } from './Access';
+import {
+    AccessFromJSON,
+    AccessFromJSONTyped,
+    AccessToJSON,
+} from './Access';
+
+/**
+ * Data object that describes the schema definition for a test
+ * @export
+ * @interface Schema
+ */
+export interface Schema {
+    /**
+     * Unique Schema ID
+     * @type {number}
+     * @memberof Schema
+     */
+    id: number;
+    /**
+     * Unique, versioned schema URI
+     * @type {string}
+     * @memberof Schema
+     */
+    uri: string;
+    /**
+     * Schema name
+     * @type {string}
+     * @memberof Schema
+     */
+    name: string;
+    /**
+     * Schema Description
+     * @type {string}
+     * @memberof Schema
+     */
+    description?: string;
+    /**
+     * JSON validation schema. Used to validate uploaded JSON documents
+     * @type {string}
+     * @memberof Schema
+     */
+    schema?: string;
+    /**
+     * Access rights for the test. This defines the visibility of the Test in the UI
+     * @type {Access}
+     * @memberof Schema
+     */
+    access: Access;
+    /**
+     * Name of the team that owns the test. Users must belong to the team that owns a test to make modifications
+     * @type {string}
+     * @memberof Schema
+     */
+    owner: string;
+}
+
+
+
+/**
+ * Check if a given object implements the Schema interface.
+ */
+export function instanceOfSchema(value: object): value is Schema {
+    if (!('id' in value) || value['id'] === undefined) return false;
+    if (!('uri' in value) || value['uri'] === undefined) return false;
+    if (!('name' in value) || value['name'] === undefined) return false;
+    if (!('access' in value) || value['access'] === undefined) return false;
+    if (!('owner' in value) || value['owner'] === undefined) return false;
+    return true;
+}
+
+export function SchemaFromJSON(json: any): Schema {
+    return SchemaFromJSONTyped(json, false);
+}
+
+export function SchemaFromJSONTyped(json: any, ignoreDiscriminator: boolean): Schema {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'id': json['id'],
+        'uri': json['uri'],
+        'name': json['name'],
+        'description': json['description'] == null ? undefined : json['description'],
+        'schema': json['schema'] == null ? undefined : json['schema'],
+        'access': AccessFromJSON(json['access']),
+        'owner': json['owner'],
+    };
+}
+
+export function SchemaToJSON(value?: Schema | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'id': value['id'],
+        'uri': value['uri'],
+        'name': value['name'],
+        'description': value['description'],
+        'schema': value['schema'],
+        'access': AccessToJSON(value['access']),
+        'owner': value['owner'],
+    };
+}
+
@@ -0,0 +1,79 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.17
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+/**
+ * 
+ * @export
+ * @interface SchemaDescriptor
+ */
+export interface SchemaDescriptor {
+    /**
+     * Schema unique ID
+     * @type {number}
+     * @memberof SchemaDescriptor
+     */
+    id: number;
+    /**
+     * Schema name
+     * @type {string}
+     * @memberof SchemaDescriptor
+     */
+    name: string;
+    /**
+     * Schema name
+     * @type {string}
+     * @memberof SchemaDescriptor
+     */
+    uri: string;
+}
+
+/**
+ * Check if a given object implements the SchemaDescriptor interface.
+ */
+export function instanceOfSchemaDescriptor(value: object): value is SchemaDescriptor {
+    if (!('id' in value) || value['id'] === undefined) return false;
+    if (!('name' in value) || value['name'] === undefined) return false;
+    if (!('uri' in value) || value['uri'] === undefined) return false;
+    return true;
+}
+
+export function SchemaDescriptorFromJSON(json: any): SchemaDescriptor {
+    return SchemaDescriptorFromJSONTyped(json, false);
+}
+
+export function SchemaDescriptorFromJSONTyped(json: any, ignoreDiscriminator: boolean): SchemaDescriptor {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'id': json['id'],
+        'name': json['name'],
+        'uri': json['uri'],
+    };
+}
+
+export function SchemaDescriptorToJSON(value?: SchemaDescriptor | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'id': value['id'],
+        'name': value['name'],
+        'uri': value['uri'],
+    };
+}
+
@@ -0,0 +1,150 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.17
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+import type { Transformer } from './Transformer';
+import {
+    TransformerFromJSON,
+    TransformerFromJSONTyped,
+    TransformerToJSON,
+} from './Transformer';
+import type { Access } from './Access';
+import {
+    AccessFromJSON,
+    AccessFromJSONTyped,
+    AccessToJSON,
+} from './Access';
+import type { Label } from './Label';
+import {
+    LabelFromJSON,
+    LabelFromJSONTyped,
+    LabelToJSON,
+} from './Label';
+
+/**
+ * Represents a Schema with all associated data used for export/import operations.
+ * @export
+ * @interface SchemaExport
+ */
+export interface SchemaExport {
+    /**
+     * Array of Labels associated with schema
+     * @type {Array<Label>}
+     * @memberof SchemaExport
+     */
+    labels?: Array<Label>;
+    /**
+     * Array of Transformers associated with schema
+     * @type {Array<Transformer>}
+     * @memberof SchemaExport
+     */
+    transformers?: Array<Transformer>;
+    /**
+     * Unique Schema ID
+     * @type {number}
+     * @memberof SchemaExport
+     */
+    id: number;
+    /**
+     * Unique, versioned schema URI
+     * @type {string}
+     * @memberof SchemaExport
+     */
+    uri: string;
+    /**
+     * Schema name
+     * @type {string}
+     * @memberof SchemaExport
+     */
+    name: string;
+    /**
+     * Schema Description
+     * @type {string}
+     * @memberof SchemaExport
+     */
+    description?: string;
+    /**
+     * JSON validation schema. Used to validate uploaded JSON documents
+     * @type {string}
+     * @memberof SchemaExport
+     */
+    schema?: string;
+    /**
+     * Access rights for the test. This defines the visibility of the Test in the UI
+     * @type {Access}
+     * @memberof SchemaExport
+     */
+    access: Access;
+    /**
+     * Name of the team that owns the test. Users must belong to the team that owns a test to make modifications
+     * @type {string}
+     * @memberof SchemaExport
+     */
+    owner: string;
+}
+
+
+
+/**
+ * Check if a given object implements the SchemaExport interface.
+ */
+export function instanceOfSchemaExport(value: object): value is SchemaExport {
+    if (!('id' in value) || value['id'] === undefined) return false;
+    if (!('uri' in value) || value['uri'] === undefined) return false;
+    if (!('name' in value) || value['name'] === undefined) return false;
+    if (!('access' in value) || value['access'] === undefined) return false;
+    if (!('owner' in value) || value['owner'] === undefined) return false;
+    return true;
+}
+
+export function SchemaExportFromJSON(json: any): SchemaExport {
+    return SchemaExportFromJSONTyped(json, false);
+}
+
+export function SchemaExportFromJSONTyped(json: any, ignoreDiscriminator: boolean): SchemaExport {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'labels': json['labels'] == null ? undefined : ((json['labels'] as Array<any>).map(LabelFromJSON)),
+        'transformers': json['transformers'] == null ? undefined : ((json['transformers'] as Array<any>).map(TransformerFromJSON)),
+        'id': json['id'],
+        'uri': json['uri'],
+        'name': json['name'],
+        'description': json['description'] == null ? undefined : json['description'],
+        'schema': json['schema'] == null ? undefined : json['schema'],
+        'access': AccessFromJSON(json['access']),
+        'owner': json['owner'],
+    };
+}
+
+export function SchemaExportToJSON(value?: SchemaExport | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'labels': value['labels'] == null ? undefined : ((value['labels'] as Array<any>).map(LabelToJSON)),
+        'transformers': value['transformers'] == null ? undefined : ((value['transformers'] as Array<any>).map(TransformerToJSON)),
+        'id': value['id'],
+        'uri': value['uri'],
+        'name': value['name'],
+        'description': value['description'],
+        'schema': value['schema'],
+        'access': AccessToJSON(value['access']),
+        'owner': value['owner'],
+    };
+}
+
@@ -0,0 +1,77 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.17
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+import type { Schema } from './Schema';
+import {
+    SchemaFromJSON,
+    SchemaFromJSONTyped,
+    SchemaToJSON,
+} from './Schema';
+
+/**
+ * 
+ * @export
+ * @interface SchemaQueryResult
+ */
+export interface SchemaQueryResult {
+    /**
+     * Array of Schemas
+     * @type {Array<Schema>}
+     * @memberof SchemaQueryResult
+     */
+    schemas: Array<Schema>;
+    /**
+     * Count of available Schemas. This is a count of Schemas that the current user has access to
+     * @type {number}
+     * @memberof SchemaQueryResult
+     */
+    count: number;
+}
+
+/**
+ * Check if a given object implements the SchemaQueryResult interface.
+ */
+export function instanceOfSchemaQueryResult(value: object): value is SchemaQueryResult {
+    if (!('schemas' in value) || value['schemas'] === undefined) return false;
+    if (!('count' in value) || value['count'] === undefined) return false;
+    return true;
+}
+
+export function SchemaQueryResultFromJSON(json: any): SchemaQueryResult {
+    return SchemaQueryResultFromJSONTyped(json, false);
+}
+
+export function SchemaQueryResultFromJSONTyped(json: any, ignoreDiscriminator: boolean): SchemaQueryResult {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'schemas': ((json['schemas'] as Array<any>).map(SchemaFromJSON)),
+        'count': json['count'],
+    };
+}
+
+export function SchemaQueryResultToJSON(value?: SchemaQueryResult | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'schemas': ((value['schemas'] as Array<any>).map(SchemaToJSON)),
+        'count': value['count'],
+    };
+}
+
@@ -0,0 +1,114 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.17
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+/**
+ * 
+ * @export
+ * @interface SchemaUsage
+ */
+export interface SchemaUsage {
+    /**
+     * Schema unique ID
+     * @type {number}
+     * @memberof SchemaUsage
+     */
+    id: number;
+    /**
+     * Schema name
+     * @type {string}
+     * @memberof SchemaUsage
+     */
+    name: string;
+    /**
+     * Schema name
+     * @type {string}
+     * @memberof SchemaUsage
+     */
+    uri: string;
+    /**
+     * Source of schema usage, 0 is data, 1 is metadata. DataSets always use 0
+     * @type {number}
+     * @memberof SchemaUsage
+     */
+    source: number;
+    /**
+     * Location of Schema Usage, 0 for Run, 1 for Dataset
+     * @type {number}
+     * @memberof SchemaUsage
+     */
+    type: number;
+    /**
+     * Ordinal position of schema usage in Run/Dataset
+     * @type {string}
+     * @memberof SchemaUsage
+     */
+    key?: string;
+    /**
+     * Does schema have a JSON validation schema defined?
+     * @type {boolean}
+     * @memberof SchemaUsage
+     */
+    hasJsonSchema: boolean;
+}
+
+/**
+ * Check if a given object implements the SchemaUsage interface.
+ */
+export function instanceOfSchemaUsage(value: object): value is SchemaUsage {
+    if (!('id' in value) || value['id'] === undefined) return false;
+    if (!('name' in value) || value['name'] === undefined) return false;
+    if (!('uri' in value) || value['uri'] === undefined) return false;
+    if (!('source' in value) || value['source'] === undefined) return false;
+    if (!('type' in value) || value['type'] === undefined) return false;
+    if (!('hasJsonSchema' in value) || value['hasJsonSchema'] === undefined) return false;
+    return true;
+}
+
+export function SchemaUsageFromJSON(json: any): SchemaUsage {
+    return SchemaUsageFromJSONTyped(json, false);
+}
+
+export function SchemaUsageFromJSONTyped(json: any, ignoreDiscriminator: boolean): SchemaUsage {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'id': json['id'],
+        'name': json['name'],
+        'uri': json['uri'],
+        'source': json['source'],
+        'type': json['type'],
+        'key': json['key'] == null ? undefined : json['key'],
+        'hasJsonSchema': json['hasJsonSchema'],
+    };
+}
+
+export function SchemaUsageToJSON(value?: SchemaUsage | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'id': value['id'],
+        'name': value['name'],
+        'uri': value['uri'],
+        'source': value['source'],
+        'type': value['type'],
+        'key': value['key'],
+        'hasJsonSchema': value['hasJsonSchema'],
+    };
+}
+
@@ -0,0 +1,68 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.17
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+/**
+ * 
+ * @export
+ * @interface Secret
+ */
+export interface Secret {
+    /**
+     * 
+     * @type {string}
+     * @memberof Secret
+     */
+    token?: string;
+    /**
+     * 
+     * @type {boolean}
+     * @memberof Secret
+     */
+    modified?: boolean;
+}
+
+/**
+ * Check if a given object implements the Secret interface.
+ */
+export function instanceOfSecret(value: object): value is Secret {
+    return true;
+}
+
+export function SecretFromJSON(json: any): Secret {
+    return SecretFromJSONTyped(json, false);
+}
+
+export function SecretFromJSONTyped(json: any, ignoreDiscriminator: boolean): Secret {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'token': json['token'] == null ? undefined : json['token'],
+        'modified': json['modified'] == null ? undefined : json['modified'],
+    };
+}
+
+export function SecretToJSON(value?: Secret | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'token': value['token'],
+        'modified': value['modified'],
+    };
+}
+
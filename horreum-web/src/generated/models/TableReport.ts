@@ -0,0 +1,131 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.17
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+import type { TableReportLogsInner } from './TableReportLogsInner';
+import {
+    TableReportLogsInnerFromJSON,
+    TableReportLogsInnerFromJSONTyped,
+    TableReportLogsInnerToJSON,
+} from './TableReportLogsInner';
+import type { TableReportDataInner } from './TableReportDataInner';
+import {
+    TableReportDataInnerFromJSON,
+    TableReportDataInnerFromJSONTyped,
+    TableReportDataInnerToJSON,
+} from './TableReportDataInner';
+import type { TableReportCommentsInner } from './TableReportCommentsInner';
+import {
+    TableReportCommentsInnerFromJSON,
+    TableReportCommentsInnerFromJSONTyped,
+    TableReportCommentsInnerToJSON,
+} from './TableReportCommentsInner';
+import type { TableReportConfig } from './TableReportConfig';
+import {
+    TableReportConfigFromJSON,
+    TableReportConfigFromJSONTyped,
+    TableReportConfigToJSON,
+} from './TableReportConfig';
+
+/**
+ * Table Report
+ * @export
+ * @interface TableReport
+ */
+export interface TableReport {
+    /**
+     * 
+     * @type {number}
+     * @memberof TableReport
+     */
+    id: number;
+    /**
+     * 
+     * @type {TableReportConfig}
+     * @memberof TableReport
+     */
+    config: TableReportConfig;
+    /**
+     * Created timestamp
+     * @type {Date}
+     * @memberof TableReport
+     */
+    created: Date;
+    /**
+     * List of ReportComments
+     * @type {Array<TableReportCommentsInner>}
+     * @memberof TableReport
+     */
+    comments: Array<TableReportCommentsInner>;
+    /**
+     * List of TableReportData
+     * @type {Array<TableReportDataInner>}
+     * @memberof TableReport
+     */
+    data: Array<TableReportDataInner>;
+    /**
+     * List of ReportLogs
+     * @type {Array<TableReportLogsInner>}
+     * @memberof TableReport
+     */
+    logs: Array<TableReportLogsInner>;
+}
+
+/**
+ * Check if a given object implements the TableReport interface.
+ */
+export function instanceOfTableReport(value: object): value is TableReport {
+    if (!('id' in value) || value['id'] === undefined) return false;
+    if (!('config' in value) || value['config'] === undefined) return false;
+    if (!('created' in value) || value['created'] === undefined) return false;
+    if (!('comments' in value) || value['comments'] === undefined) return false;
+    if (!('data' in value) || value['data'] === undefined) return false;
+    if (!('logs' in value) || value['logs'] === undefined) return false;
+    return true;
+}
+
+export function TableReportFromJSON(json: any): TableReport {
+    return TableReportFromJSONTyped(json, false);
+}
+
+export function TableReportFromJSONTyped(json: any, ignoreDiscriminator: boolean): TableReport {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'id': json['id'],
+        'config': TableReportConfigFromJSON(json['config']),
+        'created': (new Date(json['created'])),
+        'comments': ((json['comments'] as Array<any>).map(TableReportCommentsInnerFromJSON)),
+        'data': ((json['data'] as Array<any>).map(TableReportDataInnerFromJSON)),
+        'logs': ((json['logs'] as Array<any>).map(TableReportLogsInnerFromJSON)),
+    };
+}
+
+export function TableReportToJSON(value?: TableReport | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'id': value['id'],
+        'config': TableReportConfigToJSON(value['config']),
+        'created': ((value['created']).toISOString()),
+        'comments': ((value['comments'] as Array<any>).map(TableReportCommentsInnerToJSON)),
+        'data': ((value['data'] as Array<any>).map(TableReportDataInnerToJSON)),
+        'logs': ((value['logs'] as Array<any>).map(TableReportLogsInnerToJSON)),
+    };
+}
+
@@ -0,0 +1,115 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.17
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+/**
+ * Table Report Data
+ * @export
+ * @interface TableReportData
+ */
+export interface TableReportData {
+    /**
+     * 
+     * @type {number}
+     * @memberof TableReportData
+     */
+    datasetId: number;
+    /**
+     * 
+     * @type {number}
+     * @memberof TableReportData
+     */
+    runId: number;
+    /**
+     * 
+     * @type {number}
+     * @memberof TableReportData
+     */
+    ordinal: number;
+    /**
+     * 
+     * @type {string}
+     * @memberof TableReportData
+     */
+    category: string;
+    /**
+     * 
+     * @type {string}
+     * @memberof TableReportData
+     */
+    series: string;
+    /**
+     * 
+     * @type {string}
+     * @memberof TableReportData
+     */
+    scale: string;
+    /**
+     * Array of values
+     * @type {Array<number>}
+     * @memberof TableReportData
+     */
+    values: Array<number>;
+}
+
+/**
+ * Check if a given object implements the TableReportData interface.
+ */
+export function instanceOfTableReportData(value: object): value is TableReportData {
+    if (!('datasetId' in value) || value['datasetId'] === undefined) return false;
+    if (!('runId' in value) || value['runId'] === undefined) return false;
+    if (!('ordinal' in value) || value['ordinal'] === undefined) return false;
+    if (!('category' in value) || value['category'] === undefined) return false;
+    if (!('series' in value) || value['series'] === undefined) return false;
+    if (!('scale' in value) || value['scale'] === undefined) return false;
+    if (!('values' in value) || value['values'] === undefined) return false;
+    return true;
+}
+
+export function TableReportDataFromJSON(json: any): TableReportData {
+    return TableReportDataFromJSONTyped(json, false);
+}
+
+export function TableReportDataFromJSONTyped(json: any, ignoreDiscriminator: boolean): TableReportData {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'datasetId': json['datasetId'],
+        'runId': json['runId'],
+        'ordinal': json['ordinal'],
+        'category': json['category'],
+        'series': json['series'],
+        'scale': json['scale'],
+        'values': json['values'],
+    };
+}
+
+export function TableReportDataToJSON(value?: TableReportData | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'datasetId': value['datasetId'],
+        'runId': value['runId'],
+        'ordinal': value['ordinal'],
+        'category': value['category'],
+        'series': value['series'],
+        'scale': value['scale'],
+        'values': value['values'],
+    };
+}
+
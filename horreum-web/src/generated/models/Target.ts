@@ -0,0 +1,92 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.17
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+/**
+ * 
+ * @export
+ * @interface Target
+ */
+export interface Target {
+    /**
+     * 
+     * @type {string}
+     * @memberof Target
+     */
+    target?: string;
+    /**
+     * 
+     * @type {string}
+     * @memberof Target
+     */
+    type?: string;
+    /**
+     * 
+     * @type {string}
+     * @memberof Target
+     */
+    refId?: string;
+    /**
+     * 
+     * @type {string}
+     * @memberof Target
+     */
+    data?: string;
+    /**
+     * 
+     * @type {Array<string>}
+     * @memberof Target
+     */
+    payload?: Array<string>;
+}
+
+/**
+ * Check if a given object implements the Target interface.
+ */
+export function instanceOfTarget(value: object): value is Target {
+    return true;
+}
+
+export function TargetFromJSON(json: any): Target {
+    return TargetFromJSONTyped(json, false);
+}
+
+export function TargetFromJSONTyped(json: any, ignoreDiscriminator: boolean): Target {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'target': json['target'] == null ? undefined : json['target'],
+        'type': json['type'] == null ? undefined : json['type'],
+        'refId': json['refId'] == null ? undefined : json['refId'],
+        'data': json['data'] == null ? undefined : json['data'],
+        'payload': json['payload'] == null ? undefined : json['payload'],
+    };
+}
+
+export function TargetToJSON(value?: Target | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'target': value['target'],
+        'type': value['type'],
+        'refId': value['refId'],
+        'data': value['data'],
+        'payload': value['payload'],
+    };
+}
+
@@ -0,0 +1,185 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.17
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+import type { Transformer } from './Transformer';
+import {
+    TransformerFromJSON,
+    TransformerFromJSONTyped,
+    TransformerToJSON,
+} from './Transformer';
+import type { Access } from './Access';
+import {
+    AccessFromJSON,
+    AccessFromJSONTyped,
+    AccessToJSON,
+} from './Access';
+
+/**
+ * Represents a Test. Tests are typically equivalent to a particular benchmark
+ * @export
+ * @interface Test
+ */
+export interface Test {
+    /**
+     * Unique Test id
+     * @type {number}
+     * @memberof Test
+     */
+    id: number;
+    /**
+     * Test name
+     * @type {string}
+     * @memberof Test
+     */
+    name: string;
+    /**
+     * Name of folder that the test is stored in. Folders allow tests to be organised in the UI
+     * @type {string}
+     * @memberof Test
+     */
+    folder?: string;
+    /**
+     * Description of the test
+     * @type {string}
+     * @memberof Test
+     */
+    description?: string;
+    /**
+     * backend ID for backing datastore
+     * @type {number}
+     * @memberof Test
+     */
+    datastoreId: number;
+    /**
+     * List of label names that are used for determining metric to use as the time series
+     * @type {Array<string>}
+     * @memberof Test
+     */
+    timelineLabels?: Array<string>;
+    /**
+     * Label function to modify timeline labels to a produce a value used for ordering datapoints
+     * @type {string}
+     * @memberof Test
+     */
+    timelineFunction?: string;
+    /**
+     * Array of Label names that are used to create a fingerprint 
+     * @type {Array<string>}
+     * @memberof Test
+     */
+    fingerprintLabels?: Array<string>;
+    /**
+     * Filter function to filter out datasets that are comparable for the purpose of change detection
+     * @type {string}
+     * @memberof Test
+     */
+    fingerprintFilter?: string;
+    /**
+     * URL to external service that can be called to compare runs.  This is typically an external reporting/visulization service
+     * @type {string}
+     * @memberof Test
+     */
+    compareUrl?: string;
+    /**
+     * Array for transformers defined for the Test
+     * @type {Array<Transformer>}
+     * @memberof Test
+     */
+    transformers?: Array<Transformer>;
+    /**
+     * Are notifications enabled for the test
+     * @type {boolean}
+     * @memberof Test
+     */
+    notificationsEnabled: boolean;
+    /**
+     * Access rights for the test. This defines the visibility of the Test in the UI
+     * @type {Access}
+     * @memberof Test
+     */
+    access: Access;
+    /**
+     * Name of the team that owns the test. Users must belong to the team that owns a test to make modifications
+     * @type {string}
+     * @memberof Test
+     */
+    owner: string;
+}
+
+
+
+/**
+ * Check if a given object implements the Test interface.
+ */
+export function instanceOfTest(value: object): value is Test {
+    if (!('id' in value) || value['id'] === undefined) return false;
+    if (!('name' in value) || value['name'] === undefined) return false;
+    if (!('datastoreId' in value) || value['datastoreId'] === undefined) return false;
+    if (!('notificationsEnabled' in value) || value['notificationsEnabled'] === undefined) return false;
+    if (!('access' in value) || value['access'] === undefined) return false;
+    if (!('owner' in value) || value['owner'] === undefined) return false;
+    return true;
+}
+
+export function TestFromJSON(json: any): Test {
+    return TestFromJSONTyped(json, false);
+}
+
+export function TestFromJSONTyped(json: any, ignoreDiscriminator: boolean): Test {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'id': json['id'],
+        'name': json['name'],
+        'folder': json['folder'] == null ? undefined : json['folder'],
+        'description': json['description'] == null ? undefined : json['description'],
+        'datastoreId': json['datastoreId'],
+        'timelineLabels': json['timelineLabels'] == null ? undefined : json['timelineLabels'],
+        'timelineFunction': json['timelineFunction'] == null ? undefined : json['timelineFunction'],
+        'fingerprintLabels': json['fingerprintLabels'] == null ? undefined : json['fingerprintLabels'],
+        'fingerprintFilter': json['fingerprintFilter'] == null ? undefined : json['fingerprintFilter'],
+        'compareUrl': json['compareUrl'] == null ? undefined : json['compareUrl'],
+        'transformers': json['transformers'] == null ? undefined : ((json['transformers'] as Array<any>).map(TransformerFromJSON)),
+        'notificationsEnabled': json['notificationsEnabled'],
+        'access': AccessFromJSON(json['access']),
+        'owner': json['owner'],
+    };
+}
+
+export function TestToJSON(value?: Test | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'id': value['id'],
+        'name': value['name'],
+        'folder': value['folder'],
+        'description': value['description'],
+        'datastoreId': value['datastoreId'],
+        'timelineLabels': value['timelineLabels'],
+        'timelineFunction': value['timelineFunction'],
+        'fingerprintLabels': value['fingerprintLabels'],
+        'fingerprintFilter': value['fingerprintFilter'],
+        'compareUrl': value['compareUrl'],
+        'transformers': value['transformers'] == null ? undefined : ((value['transformers'] as Array<any>).map(TransformerToJSON)),
+        'notificationsEnabled': value['notificationsEnabled'],
+        'access': AccessToJSON(value['access']),
+        'owner': value['owner'],
+    };
+}
+
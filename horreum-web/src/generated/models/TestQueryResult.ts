@@ -0,0 +1,77 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.17
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+import type { Test } from './Test';
+import {
+    TestFromJSON,
+    TestFromJSONTyped,
+    TestToJSON,
+} from './Test';
+
+/**
+ * 
+ * @export
+ * @interface TestQueryResult
+ */
+export interface TestQueryResult {
+    /**
+     * Array of Tests
+     * @type {Array<Test>}
+     * @memberof TestQueryResult
+     */
+    tests: Array<Test>;
+    /**
+     * Count of available tests. This is a count of tests that the current user has access to
+     * @type {number}
+     * @memberof TestQueryResult
+     */
+    count: number;
+}
+
+/**
+ * Check if a given object implements the TestQueryResult interface.
+ */
+export function instanceOfTestQueryResult(value: object): value is TestQueryResult {
+    if (!('tests' in value) || value['tests'] === undefined) return false;
+    if (!('count' in value) || value['count'] === undefined) return false;
+    return true;
+}
+
+export function TestQueryResultFromJSON(json: any): TestQueryResult {
+    return TestQueryResultFromJSONTyped(json, false);
+}
+
+export function TestQueryResultFromJSONTyped(json: any, ignoreDiscriminator: boolean): TestQueryResult {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'tests': ((json['tests'] as Array<any>).map(TestFromJSON)),
+        'count': json['count'],
+    };
+}
+
+export function TestQueryResultToJSON(value?: TestQueryResult | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'tests': ((value['tests'] as Array<any>).map(TestToJSON)),
+        'count': value['count'],
+    };
+}
+
@@ -0,0 +1,146 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.17
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+import type { Access } from './Access';
+import {
+    AccessFromJSON,
+    AccessFromJSONTyped,
+    AccessToJSON,
+} from './Access';
+
+/**
+ * 
+ * @export
+ * @interface TestSummary
+ */
+export interface TestSummary {
+    /**
+     * ID of tests
+     * @type {number}
+     * @memberof TestSummary
+     */
+    id: number;
+    /**
+     * Test name
+     * @type {string}
+     * @memberof TestSummary
+     */
+    name: string;
+    /**
+     * Name of folder that the test is stored in. Folders allow tests to be organised in the UI
+     * @type {string}
+     * @memberof TestSummary
+     */
+    folder?: string;
+    /**
+     * Description of the test
+     * @type {string}
+     * @memberof TestSummary
+     */
+    description?: string;
+    /**
+     * Total number of Datasets for the Test
+     * @type {number}
+     * @memberof TestSummary
+     */
+    datasets?: number;
+    /**
+     * Total number of Runs for the Test
+     * @type {number}
+     * @memberof TestSummary
+     */
+    runs?: number;
+    /**
+     * Subscriptions for each test for authenticated user
+     * @type {Set<string>}
+     * @memberof TestSummary
+     */
+    watching?: Set<string>;
+    /**
+     * Datastore id
+     * @type {number}
+     * @memberof TestSummary
+     */
+    datastoreId: number;
+    /**
+     * Access rights for the test. This defines the visibility of the Test in the UI
+     * @type {Access}
+     * @memberof TestSummary
+     */
+    access: Access;
+    /**
+     * Name of the team that owns the test. Users must belong to the team that owns a test to make modifications
+     * @type {string}
+     * @memberof TestSummary
+     */
+    owner: string;
+}
+
+
+
+/**
+ * Check if a given object implements the TestSummary interface.
+ */
+export function instanceOfTestSummary(value: object): value is TestSummary {
+    if (!('id' in value) || value['id'] === undefined) return false;
+    if (!('name' in value) || value['name'] === undefined) return false;
+    if (!('datastoreId' in value) || value['datastoreId'] === undefined) return false;
+    if (!('access' in value) || value['access'] === undefined) return false;
+    if (!('owner' in value) || value['owner'] === undefined) return false;
+    return true;
+}
+
+export function TestSummaryFromJSON(json: any): TestSummary {
+    return TestSummaryFromJSONTyped(json, false);
+}
+
+export function TestSummaryFromJSONTyped(json: any, ignoreDiscriminator: boolean): TestSummary {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'id': json['id'],
+        'name': json['name'],
+        'folder': json['folder'] == null ? undefined : json['folder'],
+        'description': json['description'] == null ? undefined : json['description'],
+        'datasets': json['datasets'] == null ? undefined : json['datasets'],
+        'runs': json['runs'] == null ? undefined : json['runs'],
+        'watching': json['watching'] == null ? undefined : json['watching'],
+        'datastoreId': json['datastoreId'],
+        'access': AccessFromJSON(json['access']),
+        'owner': json['owner'],
+    };
+}
+
+export function TestSummaryToJSON(value?: TestSummary | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'id': value['id'],
+        'name': value['name'],
+        'folder': value['folder'],
+        'description': value['description'],
+        'datasets': value['datasets'],
+        'runs': value['runs'],
+        'watching': value['watching'] == null ? undefined : Array.from(value['watching'] as Set<any>),
+        'datastoreId': value['datastoreId'],
+        'access': AccessToJSON(value['access']),
+        'owner': value['owner'],
+    };
+}
+
@@ -0,0 +1,97 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.17
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+/**
+ * 
+ * @export
+ * @interface TransformerInfo
+ */
+export interface TransformerInfo {
+    /**
+     * Schema ID
+     * @type {number}
+     * @memberof TransformerInfo
+     */
+    schemaId: number;
+    /**
+     * Schema uri
+     * @type {string}
+     * @memberof TransformerInfo
+     */
+    schemaUri: string;
+    /**
+     * Schema name
+     * @type {string}
+     * @memberof TransformerInfo
+     */
+    schemaName: string;
+    /**
+     * Transformer ID
+     * @type {number}
+     * @memberof TransformerInfo
+     */
+    transformerId: number;
+    /**
+     * Transformer name
+     * @type {string}
+     * @memberof TransformerInfo
+     */
+    transformerName: string;
+}
+
+/**
+ * Check if a given object implements the TransformerInfo interface.
+ */
+export function instanceOfTransformerInfo(value: object): value is TransformerInfo {
+    if (!('schemaId' in value) || value['schemaId'] === undefined) return false;
+    if (!('schemaUri' in value) || value['schemaUri'] === undefined) return false;
+    if (!('schemaName' in value) || value['schemaName'] === undefined) return false;
+    if (!('transformerId' in value) || value['transformerId'] === undefined) return false;
+    if (!('transformerName' in value) || value['transformerName'] === undefined) return false;
+    return true;
+}
+
+export function TransformerInfoFromJSON(json: any): TransformerInfo {
+    return TransformerInfoFromJSONTyped(json, false);
+}
+
+export function TransformerInfoFromJSONTyped(json: any, ignoreDiscriminator: boolean): TransformerInfo {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'schemaId': json['schemaId'],
+        'schemaUri': json['schemaUri'],
+        'schemaName': json['schemaName'],
+        'transformerId': json['transformerId'],
+        'transformerName': json['transformerName'],
+    };
+}
+
+export function TransformerInfoToJSON(value?: TransformerInfo | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'schemaId': value['schemaId'],
+        'schemaUri': value['schemaUri'],
+        'schemaName': value['schemaName'],
+        'transformerId': value['transformerId'],
+        'transformerName': value['transformerName'],
+    };
+}
+
@@ -0,0 +1,94 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.17
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+/**
+ * 
+ * @export
+ * @interface UserData
+ */
+export interface UserData {
+    /**
+     * 
+     * @type {string}
+     * @memberof UserData
+     */
+    id: string;
+    /**
+     * 
+     * @type {string}
+     * @memberof UserData
+     */
+    username: string;
+    /**
+     * 
+     * @type {string}
+     * @memberof UserData
+     */
+    firstName?: string;
+    /**
+     * 
+     * @type {string}
+     * @memberof UserData
+     */
+    lastName?: string;
+    /**
+     * 
+     * @type {string}
+     * @memberof UserData
+     */
+    email?: string;
+}
+
+/**
+ * Check if a given object implements the UserData interface.
+ */
+export function instanceOfUserData(value: object): value is UserData {
+    if (!('id' in value) || value['id'] === undefined) return false;
+    if (!('username' in value) || value['username'] === undefined) return false;
+    return true;
+}
+
+export function UserDataFromJSON(json: any): UserData {
+    return UserDataFromJSONTyped(json, false);
+}
+
+export function UserDataFromJSONTyped(json: any, ignoreDiscriminator: boolean): UserData {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'id': json['id'],
+        'username': json['username'],
+        'firstName': json['firstName'] == null ? undefined : json['firstName'],
+        'lastName': json['lastName'] == null ? undefined : json['lastName'],
+        'email': json['email'] == null ? undefined : json['email'],
+    };
+}
+
+export function UserDataToJSON(value?: UserData | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'id': value['id'],
+        'username': value['username'],
+        'firstName': value['firstName'],
+        'lastName': value['lastName'],
+        'email': value['email'],
+    };
+}
+
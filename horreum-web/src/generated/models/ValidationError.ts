@@ -0,0 +1,77 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.17
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+import type { ErrorDetails } from './ErrorDetails';
+import {
+    ErrorDetailsFromJSON,
+    ErrorDetailsFromJSONTyped,
+    ErrorDetailsToJSON,
+} from './ErrorDetails';
+
+/**
+ * 
+ * @export
+ * @interface ValidationError
+ */
+export interface ValidationError {
+    /**
+     * Schema ID that Validation Error relates to
+     * @type {number}
+     * @memberof ValidationError
+     */
+    schemaId: number;
+    /**
+     * Validation Error Details
+     * @type {ErrorDetails}
+     * @memberof ValidationError
+     */
+    error: ErrorDetails;
+}
+
+/**
+ * Check if a given object implements the ValidationError interface.
+ */
+export function instanceOfValidationError(value: object): value is ValidationError {
+    if (!('schemaId' in value) || value['schemaId'] === undefined) return false;
+    if (!('error' in value) || value['error'] === undefined) return false;
+    return true;
+}
+
+export function ValidationErrorFromJSON(json: any): ValidationError {
+    return ValidationErrorFromJSONTyped(json, false);
+}
+
+export function ValidationErrorFromJSONTyped(json: any, ignoreDiscriminator: boolean): ValidationError {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'schemaId': json['schemaId'],
+        'error': ErrorDetailsFromJSON(json['error']),
+    };
+}
+
+export function ValidationErrorToJSON(value?: ValidationError | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'schemaId': value['schemaId'],
+        'error': ErrorDetailsToJSON(value['error']),
+    };
+}
+
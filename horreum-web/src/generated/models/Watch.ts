@@ -0,0 +1,96 @@
+/* tslint:disable */
+/* eslint-disable */
+/**
+ * Horreum REST API
+ * Horreum automated change anomaly detection. For more information, please see [https://horreum.hyperfoil.io/](https://horreum.hyperfoil.io/)
+ *
+ * The version of the OpenAPI document: 0.17
+ * 
+ *
+ * NOTE: This class is auto generated by OpenAPI Generator (https://openapi-generator.tech).
+ * https://openapi-generator.tech
+ * Do not edit the class manually.
+ */
+
+import { mapValues } from '../runtime';
+/**
+ * 
+ * @export
+ * @interface Watch
+ */
+export interface Watch {
+    /**
+     * 
+     * @type {number}
+     * @memberof Watch
+     */
+    id?: number;
+    /**
+     * 
+     * @type {Array<string>}
+     * @memberof Watch
+     */
+    users: Array<string>;
+    /**
+     * 
+     * @type {Array<string>}
+     * @memberof Watch
+     */
+    optout: Array<string>;
+    /**
+     * 
+     * @type {Array<string>}
+     * @memberof Watch
+     */
+    teams: Array<string>;
+    /**
+     * 
+     * @type {number}
+     * @memberof Watch
+     */
+    testId: number;
+}
+
+/**
+ * Check if a given object implements the Watch interface.
+ */
+export function instanceOfWatch(value: object): value is Watch {
+    if (!('users' in value) || value['users'] === undefined) return false;
+    if (!('optout' in value) || value['optout'] === undefined) return false;
+    if (!('teams' in value) || value['teams'] === undefined) return false;
+    if (!('testId' in value) || value['testId'] === undefined) return false;
+    return true;
+}
+
+export function WatchFromJSON(json: any): Watch {
+    return WatchFromJSONTyped(json, false);
+}
+
+export function WatchFromJSONTyped(json: any, ignoreDiscriminator: boolean): Watch {
+    if (json == null) {
+        return json;
+    }
+    return {
+        
+        'id': json['id'] == null ? undefined : json['id'],
+        'users': json['users'],
+        'optout': json['optout'],
+        'teams': json['teams'],
+        'testId': json['testId'],
+    };
+}
+
+export function WatchToJSON(value?: Watch | null): any {
+    if (value == null) {
+        return value;
+    }
+    return {
+        
+        'id': value['id'],
+        'users': value['users'],
+        'optout': value['optout'],
+        'teams': value['teams'],
+        'testId': value['testId'],
+    };
+}
+
@@ -0,0 +1,127 @@
+/* tslint:disable */
+/* eslint-disable */
+export * from './Access';
+export * from './Action';
+export * from './ActionConfig';
+export * from './ActionLog';
+export * from './ActionType';
+export * from './AllTableReports';
+export * from './AllowedSite';
+export * from './AnnotationDefinition';
+export * from './AnnotationQuery';
+export * from './AnnotationsQuery';
+export * from './ApiKeyResponse';
+export * from './Banner';
+export * from './BetterOrWorse';
+export * from './BulkRunResult';
+export * from './Change';
+export * from './ChangeDetection';
+export * from './ChangeDetectionConfig';
+export * from './ChangeDetectionModelType';
+export * from './ChangeDetectionUpdate';
+export * from './CollectorApiDatastoreConfig';
+export * from './ComparisonResult';
+export * from './ConditionComponent';
+export * from './ConditionConfig';
+export * from './CreateUserRequest';
+export * from './DashboardInfo';
+export * from './DatapointLastTimestamp';
+export * from './DatapointRecalculationPartition';
+export * from './DatapointRecalculationStatus';
+export * from './Dataset';
+export * from './DatasetInfo';
+export * from './DatasetList';
+export * from './DatasetLog';
+export * from './DatasetSummary';
+export * from './Datastore';
+export * from './DatastoreConfig';
+export * from './DatastoreTestResponse';
+export * from './DatastoreType';
+export * from './EDivisiveDetectionConfig';
+export * from './ElasticsearchDatastoreConfig';
+export * from './ErrorDetails';
+export * from './ExperimentComparison';
+export * from './ExperimentProfile';
+export * from './ExperimentResult';
+export * from './ExportedLabelValues';
+export * from './Extractor';
+export * from './FingerprintValue';
+export * from './Fingerprints';
+export * from './FixThresholdConfig';
+export * from './FixedThresholdDetectionConfig';
+export * from './GithubIssueCommentActionConfig';
+export * from './GithubIssueCreateActionConfig';
+export * from './HttpActionConfig';
+export * from './IngestionStatus';
+export * from './JsonpathValidation';
+export * from './KeyType';
+export * from './KeycloakConfig';
+export * from './Label';
+export * from './LabelInFingerprint';
+export * from './LabelInReport';
+export * from './LabelInRule';
+export * from './LabelInVariable';
+export * from './LabelInView';
+export * from './LabelInfo';
+export * from './LabelLocation';
+export * from './LabelPreview';
+export * from './LabelValue';
+export * from './LastDatapointsParams';
+export * from './MissingDataRule';
+export * from './NewApiKeyRequest';
+export * from './NotificationSettings';
+export * from './PanelInfo';
+export * from './PersistentLog';
+export * from './PostgresDatastoreConfig';
+export * from './ProtectedTimeType';
+export * from './ProtectedType';
+export * from './Query';
+export * from './QueryResult';
+export * from './Range';
+export * from './RecalculationStatus';
+export * from './RelativeDifferenceDetectionConfig';
+export * from './ReportComment';
+export * from './ReportComponent';
+export * from './ReportLog';
+export * from './RevalidationStatus';
+export * from './Run';
+export * from './RunCount';
+export * from './RunExpectation';
+export * from './RunExtended';
+export * from './RunIngestion';
+export * from './RunSummary';
+export * from './RunsSummary';
+export * from './Schema';
+export * from './SchemaDescriptor';
+export * from './SchemaExport';
+export * from './SchemaQueryResult';
+export * from './SchemaUsage';
+export * from './Secret';
+export * from './SlackChannelMessageActionConfig';
+export * from './SortDirection';
+export * from './TableReport';
+export * from './TableReportCommentsInner';
+export * from './TableReportConfig';
+export * from './TableReportConfigComponentsInner';
+export * from './TableReportData';
+export * from './TableReportDataInner';
+export * from './TableReportLogsInner';
+export * from './TableReportSummary';
+export * from './TableReportSummaryItem';
+export * from './Target';
+export * from './Test';
+export * from './TestExport';
+export * from './TestListing';
+export * from './TestQueryResult';
+export * from './TestSummary';
+export * from './TimeseriesTarget';
+export * from './TransformationLog';
+export * from './Transformer';
+export * from './TransformerInfo';
+export * from './UserData';
+export * from './ValidationError';
+export * from './Variable';
+export * from './VersionInfo';
+export * from './View';
+export * from './ViewComponent';
+export * from './Watch';